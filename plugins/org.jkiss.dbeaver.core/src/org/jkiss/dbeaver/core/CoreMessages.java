@@ -622,6 +622,14 @@ public class CoreMessages extends NLS {
 
 	public static String data_transfer_wizard_output_checkbox_select_row_count;
 
+	public static String data_transfer_wizard_output_checkbox_resume_transfer;
+
+	public static String data_transfer_wizard_output_checkbox_resume_transfer_tip;
+
+	public static String data_transfer_wizard_output_checkbox_native_export;
+
+	public static String data_transfer_wizard_output_checkbox_native_export_tip;
+
 	public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
 
 	public static String data_transfer_wizard_output_combo_extract_type_item_single_query;
@@ -896,6 +904,8 @@ public class CoreMessages extends NLS {
 	public static String dialog_search_objects_message_objects_found;
 	public static String dialog_search_objects_spinner_max_results;
     public static String dialog_search_objects_case_sensitive;
+    public static String dialog_search_objects_search_in_source;
+    public static String dialog_search_objects_search_in_source_tip;
 	public static String dialog_search_objects_title;
 
 	public static String dialog_select_datasource_error_message;
@@ -1198,6 +1208,7 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_server_side_order;
 	public static String pref_page_database_resultsets_label_fetch_size;
+	public static String pref_page_database_resultsets_label_keep_cursor;
 
     public static String pref_page_query_manager_checkbox_ddl_executions;
 
@@ -1240,6 +1251,8 @@ public class CoreMessages extends NLS {
 	public static String pref_page_sql_editor_title_pattern;
 	public static String pref_page_sql_editor_checkbox_put_new_scripts;
 	public static String pref_page_sql_editor_checkbox_reset_cursor;
+	public static String pref_page_sql_editor_checkbox_batch_dml;
+	public static String pref_page_sql_editor_checkbox_batch_dml_tip;
 	public static String pref_page_sql_editor_checkbox_enable_sql_anonymous_parameters;
 	public static String pref_page_sql_editor_text_anonymous_parameter_mark;
 	public static String pref_page_sql_editor_text_named_parameter_prefix;
@@ -1301,6 +1314,7 @@ public class CoreMessages extends NLS {
 	public static String runtime_jobs_connect_status_connected;
 	public static String runtime_jobs_connect_status_error;
 	public static String runtime_jobs_connect_thread_name;
+	public static String runtime_jobs_connect_wait_slot;
 	public static String runtime_jobs_disconnect_error;
 	public static String runtime_jobs_disconnect_name;
 
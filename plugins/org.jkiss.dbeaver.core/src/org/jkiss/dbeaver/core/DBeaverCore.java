@@ -45,6 +45,8 @@ import org.jkiss.dbeaver.registry.datatype.DataTypeProviderRegistry;
 import org.jkiss.dbeaver.registry.editor.EntityEditorsRegistry;
 import org.jkiss.dbeaver.runtime.IPluginService;
 import org.jkiss.dbeaver.runtime.jobs.KeepAliveJob;
+import org.jkiss.dbeaver.runtime.jobs.SessionSamplerJob;
+import org.jkiss.dbeaver.runtime.sessions.SessionSampler;
 import org.jkiss.dbeaver.runtime.net.GlobalProxyAuthenticator;
 import org.jkiss.dbeaver.runtime.net.GlobalProxySelector;
 import org.jkiss.dbeaver.runtime.qm.QMControllerImpl;
@@ -218,6 +220,8 @@ public class DBeaverCore implements DBPApplication {
 
         // Keep-alive job
         new KeepAliveJob().scheduleMonitor();
+        // Active sessions sampler
+        new SessionSamplerJob().scheduleMonitor();
 
         log.debug("Core initialized (" + (System.currentTimeMillis() - startTime) + "ms)");
     }
@@ -256,6 +260,9 @@ public class DBeaverCore implements DBPApplication {
             //this.navigatorModel = null;
         }
 
+        // Close session samplers connections
+        SessionSampler.closeAll();
+
         // Dispose project registry
         // It will close all open connections
         if (this.projectRegistry != null) {
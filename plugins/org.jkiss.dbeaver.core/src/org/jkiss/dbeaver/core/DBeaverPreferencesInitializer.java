@@ -70,12 +70,14 @@ public class DBeaverPreferencesInitializer extends AbstractPreferenceInitializer
 
       // Common
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.KEEP_STATEMENT_OPEN, false);
+      PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.CONNECT_MAX_PARALLEL, 4);
 
       // SQL execution
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_COMMIT_TYPE, SQLScriptCommitType.NO_COMMIT.name());
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_COMMIT_LINES, 1000);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_ERROR_HANDLING, SQLScriptErrorHandling.STOP_ROLLBACK.name());
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS, true);
+      PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_BATCH_DML, false);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_AUTO_FOLDERS, false);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.SCRIPT_TITLE_PATTERN, SQLEditor.DEFAULT_PATTERN);
 
@@ -141,6 +143,9 @@ public class DBeaverPreferencesInitializer extends AbstractPreferenceInitializer
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT, true);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_MAX_ROWS, 200);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_CANCEL_TIMEOUT, 5000);
+      PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_PROGRESSIVE_FETCH_ROWS, 1000);
+      PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_PROGRESSIVE_FETCH_PERIOD, 500);
+      PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_KEEP_CURSOR, false);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_BINARY_EDITOR_TYPE, IValueController.EditType.EDITOR);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE, true);
       PrefUtils.setDefaultPreferenceValue(store, DBeaverPreferences.RESULT_SET_SHOW_ODD_ROWS, true);
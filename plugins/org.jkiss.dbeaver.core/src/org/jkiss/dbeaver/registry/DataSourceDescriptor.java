@@ -142,6 +142,8 @@ public class DataSourceDescriptor
     private volatile Date connectTime = null;
     private volatile boolean disposed = false;
     private volatile boolean connecting = false;
+    // Duration (ms) of each phase of the last connect
+    private volatile Map<String, Long> connectPhaseTimes = Collections.emptyMap();
     private final List<DBRProcessDescriptor> childProcesses = new ArrayList<>();
     private DBWTunnel tunnel;
     private String folderPath;
@@ -597,6 +599,9 @@ public class DataSourceDescriptor
 
         connecting = true;
         tunnelConnectionInfo = null;
+        final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+        final long connectStartTime = System.currentTimeMillis();
+        long phaseStartTime = connectStartTime;
         try {
             // Handle tunnel
             // Open tunnel and replace connection info with new one
@@ -619,10 +624,12 @@ public class DataSourceDescriptor
                     throw new DBCException("Can't initialize tunnel", e);
                 }
                 monitor.worked(1);
+                phaseStartTime = addPhaseTime(phaseTimes, "tunnel", phaseStartTime);
             }
             monitor.subTask("Connect to data source");
             dataSource = getDriver().getDataSourceProvider().openDataSource(monitor, this);
             monitor.worked(1);
+            phaseStartTime = addPhaseTime(phaseTimes, "open", phaseStartTime);
 
             if (initialize) {
                 monitor.subTask("Initialize data source");
@@ -631,10 +638,13 @@ public class DataSourceDescriptor
                 } catch (Throwable e) {
                     log.error("Error initializing datasource", e);
                 }
+                phaseStartTime = addPhaseTime(phaseTimes, "initialize", phaseStartTime);
 
                 // Change connection properties
                 initConnectionState(monitor);
+                addPhaseTime(phaseTimes, "state", phaseStartTime);
             }
+            connectPhaseTimes = phaseTimes;
 
             connectFailed = false;
             connectTime = new Date();
@@ -646,7 +656,7 @@ public class DataSourceDescriptor
                     DataSourceDescriptor.this,
                     true));
             }
-            log.debug("Connected (" + getId() + ")");
+            log.debug("Connected (" + getId() + ") in " + (System.currentTimeMillis() - connectStartTime) + "ms " + phaseTimes);
             return true;
         } catch (Exception e) {
             log.debug("Connection failed (" + getId() + ")");
@@ -669,6 +679,21 @@ public class DataSourceDescriptor
         }
     }
 
+    private static long addPhaseTime(Map<String, Long> phaseTimes, String phase, long startTime)
+    {
+        long curTime = System.currentTimeMillis();
+        phaseTimes.put(phase, curTime - startTime);
+        return curTime;
+    }
+
+    /**
+     * Durations (ms) of connect phases (tunnel, open, initialize, state) of the last successful connect
+     */
+    public Map<String, Long> getConnectPhaseTimes()
+    {
+        return connectPhaseTimes;
+    }
+
     private void initConnectionState(DBRProgressMonitor monitor) throws DBException {
         if (dataSource == null) {
             return;
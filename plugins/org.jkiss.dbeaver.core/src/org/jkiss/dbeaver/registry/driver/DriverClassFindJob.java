@@ -7,22 +7,16 @@ import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.connection.DBPDriverLibrary;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Enumeration;
-import java.util.List;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.*;
+import java.util.concurrent.*;
 
+/**
+ * Finds driver classes which implement specified interface (or extend specified class).
+ * Class hierarchy is read from per-jar class indexes (see {@link DriverClassIndex}).
+ */
 public class DriverClassFindJob implements IRunnableWithProgress {
 
     private static final Log log = Log.getLog(DriverClassFindJob.class);
@@ -51,17 +45,11 @@ public class DriverClassFindJob implements IRunnableWithProgress {
     }
 
     private void findDriverClasses(IProgressMonitor monitor) {
-        java.util.List<File> libFiles = new ArrayList<>();
-        java.util.List<URL> libURLs = new ArrayList<>();
+        final Set<File> libFiles = new LinkedHashSet<>();
         for (DBPDriverLibrary lib : driver.getDriverLibraries()) {
             File libFile = lib.getLocalFile();
             if (libFile != null && libFile.exists() && !libFile.isDirectory() && lib.getType() == DBPDriverLibrary.FileType.jar) {
                 libFiles.add(libFile);
-                try {
-                    libURLs.add(libFile.toURI().toURL());
-                } catch (MalformedURLException e) {
-                    log.debug(e);
-                }
             } else {
                 final Collection<DriverDescriptor.DriverFileInfo> files = driver.getLibraryFiles(lib);
                 if (files != null) {
@@ -73,89 +61,135 @@ public class DriverClassFindJob implements IRunnableWithProgress {
                 }
             }
         }
-        ClassLoader findCL = new URLClassLoader(libURLs.toArray(new URL[libURLs.size()]));
 
-        for (File libFile : libFiles) {
-            if (monitor.isCanceled()) {
-                break;
+        final List<DriverClassIndex> indexes = loadIndexes(monitor, new ArrayList<>(libFiles));
+        if (indexes == null) {
+            return;
+        }
+        monitor.beginTask("Find classes", indexes.size());
+        try {
+            // Hierarchy lookups are made in all driver jars (in classpath order)
+            final Map<String, Boolean> resolved = new HashMap<>();
+            for (DriverClassIndex index : indexes) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                for (Map.Entry<String, DriverClassIndex.ClassInfo> entry : index.getClasses().entrySet()) {
+                    final String className = entry.getKey();
+                    final int access = entry.getValue().access;
+                    if (className.contains("$") || (access & Opcodes.ACC_PUBLIC) == 0 || (access & Opcodes.ACC_ABSTRACT) != 0) {
+                        continue;
+                    }
+                    if (implementsInterface(indexes, resolved, className)) {
+                        driverClassNames.add(className.replace('/', '.'));
+                    }
+                }
+                monitor.worked(1);
             }
-            findDriverClasses(monitor, findCL, libFile);
+        } finally {
+            monitor.done();
         }
     }
 
-    private void findDriverClasses(IProgressMonitor monitor, ClassLoader findCL, File libFile) {
+    /**
+     * Loads class indexes of all library files. Jars which weren't indexed before are scanned in parallel.
+     * @return indexes in the same order as files or null if canceled
+     */
+    private List<DriverClassIndex> loadIndexes(IProgressMonitor monitor, List<File> libFiles) {
+        final List<DriverClassIndex> indexes = new ArrayList<>();
+        if (libFiles.isEmpty()) {
+            return indexes;
+        }
+        monitor.beginTask("Index driver libraries", libFiles.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(libFiles.size(), Runtime.getRuntime().availableProcessors())));
         try {
-            JarFile currentFile = new JarFile(libFile, false);
-            monitor.beginTask(libFile.getName(), currentFile.size());
-
-            for (Enumeration<?> e = currentFile.entries(); e.hasMoreElements(); ) {
-                {
+            final List<Future<DriverClassIndex>> futures = new ArrayList<>();
+            for (final File libFile : libFiles) {
+                futures.add(executor.submit(new Callable<DriverClassIndex>() {
+                    @Override
+                    public DriverClassIndex call() throws Exception {
+                        return DriverClassIndex.getIndex(libFile);
+                    }
+                }));
+            }
+            // Progress is reported from the caller thread only
+            for (int i = 0; i < futures.size(); i++) {
+                final Future<DriverClassIndex> future = futures.get(i);
+                monitor.subTask(libFiles.get(i).getName());
+                while (true) {
                     if (monitor.isCanceled()) {
-                        break;
+                        return null;
                     }
-                    JarEntry current = (JarEntry) e.nextElement();
-                    String fileName = current.getName();
-                    if (fileName.endsWith(CLASS_FILE_EXT) && !fileName.contains("$")) { //$NON-NLS-1$ //$NON-NLS-2$
-                        String className = fileName.replaceAll("/", ".").replace(CLASS_FILE_EXT, ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-                        monitor.subTask(className);
-                        try {
-                            if (implementsInterface(currentFile, current, 0)) {
-                                driverClassNames.add(className);
-                            }
-                        } catch (Throwable e1) {
-                            // do nothing
-                        }
-                        monitor.worked(1);
+                    try {
+                        indexes.add(future.get(100, TimeUnit.MILLISECONDS));
+                        break;
+                    } catch (TimeoutException e) {
+                        // Check for cancel and wait again
+                    } catch (ExecutionException e) {
+                        log.debug("Can't index driver library '" + libFiles.get(i).getAbsolutePath() + "'", e.getCause());
+                        break;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
                     }
                 }
+                monitor.worked(1);
             }
+        } finally {
+            executor.shutdownNow();
             monitor.done();
-        } catch (IOException e) {
-            log.debug(e);
         }
+        return indexes;
     }
 
-    private boolean implementsInterface(JarFile currentFile, JarEntry current, int depth) throws IOException {
-        try (InputStream classStream = currentFile.getInputStream(current)) {
-            ClassReader cr = new ClassReader(classStream);
-            int access = cr.getAccess();
-            if (depth == 0 && ((access & Opcodes.ACC_PUBLIC) == 0 || (access & Opcodes.ACC_ABSTRACT) != 0)) {
-                return false;
-            }
-            final String superName = cr.getSuperName();
+    /**
+     * Checks class hierarchy. Results are memoized, so each parent class is checked once per scan.
+     */
+    private boolean implementsInterface(List<DriverClassIndex> indexes, Map<String, Boolean> resolved, String className) {
+        final Boolean cached = resolved.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        // Prevents infinite recursion on broken hierarchies
+        resolved.put(className, Boolean.FALSE);
+
+        boolean result = false;
+        final DriverClassIndex.ClassInfo classInfo = findClass(indexes, className);
+        if (classInfo != null) {
+            final String superName = classInfo.superName;
             if (isInterface) {
-                String[] interfaces = cr.getInterfaces();
-                if (ArrayUtils.contains(interfaces, interfaceName)) {
-                    return true;
-                } else if (!CommonUtils.isEmpty(superName) && !superName.equals(OBJECT_CLASS_NAME)) {
-                    // Check recursively
-                    JarEntry jarEntry = currentFile.getJarEntry(superName + CLASS_FILE_EXT);
-                    if (jarEntry != null) {
-                        return implementsInterface(currentFile, jarEntry, depth + 1);
-                    }
-                }
-                for (String intName : interfaces) {
-                    JarEntry jarEntry = currentFile.getJarEntry(intName + CLASS_FILE_EXT);
-                    if (jarEntry != null) {
-                        if (implementsInterface(currentFile, jarEntry, depth + 1)) {
-                            return true;
+                if (ArrayUtils.contains(classInfo.interfaces, interfaceName)) {
+                    result = true;
+                } else if (!CommonUtils.isEmpty(superName) && !superName.equals(OBJECT_CLASS_NAME) &&
+                    implementsInterface(indexes, resolved, superName))
+                {
+                    result = true;
+                } else {
+                    for (String intName : classInfo.interfaces) {
+                        if (implementsInterface(indexes, resolved, intName)) {
+                            result = true;
+                            break;
                         }
                     }
                 }
             } else if (superName != null) {
                 // Superclass
-                if (interfaceName.equals(superName)) {
-                    return true;
-                }
-                JarEntry jarEntry = currentFile.getJarEntry(superName + CLASS_FILE_EXT);
-                if (jarEntry != null) {
-                    if (implementsInterface(currentFile, jarEntry, depth + 1)) {
-                        return true;
-                    }
-                }
+                result = interfaceName.equals(superName) || implementsInterface(indexes, resolved, superName);
+            }
+        }
+        resolved.put(className, result);
+        return result;
+    }
+
+    private static DriverClassIndex.ClassInfo findClass(List<DriverClassIndex> indexes, String className) {
+        for (DriverClassIndex index : indexes) {
+            DriverClassIndex.ClassInfo classInfo = index.getClass(className);
+            if (classInfo != null) {
+                return classInfo;
             }
         }
-        return false;
+        return null;
     }
 
 }
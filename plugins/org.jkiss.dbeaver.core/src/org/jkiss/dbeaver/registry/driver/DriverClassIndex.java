@@ -0,0 +1,259 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.registry.driver;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverActivator;
+import org.objectweb.asm.ClassReader;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Class hierarchy index of a driver library jar.
+ * Keeps access flags, superclass and interfaces of each class of the jar.
+ * Index is built once for each jar content (identified by the checksum of the jar directory)
+ * and saved in the workspace state folder, so jars are not scanned again on next runs.
+ */
+class DriverClassIndex {
+
+    private static final Log log = Log.getLog(DriverClassIndex.class);
+
+    private static final String INDEX_FOLDER = "driver-index";
+    private static final String INDEX_FILE_EXT = ".idx";
+    private static final int INDEX_MAGIC = 0x44434958;
+    private static final int INDEX_VERSION = 1;
+
+    private static final String[] EMPTY_INTERFACES = new String[0];
+
+    // Indexes loaded in this session, by jar path
+    private static final Map<String, DriverClassIndex> indexCache = new ConcurrentHashMap<>();
+
+    static class ClassInfo {
+        final int access;
+        @Nullable
+        final String superName;
+        @NotNull
+        final String[] interfaces;
+
+        ClassInfo(int access, @Nullable String superName, @NotNull String[] interfaces)
+        {
+            this.access = access;
+            this.superName = superName;
+            this.interfaces = interfaces;
+        }
+    }
+
+    private final long checksum;
+    // Classes by internal name (in jar order)
+    private final Map<String, ClassInfo> classes;
+
+    private DriverClassIndex(long checksum, Map<String, ClassInfo> classes)
+    {
+        this.checksum = checksum;
+        this.classes = classes;
+    }
+
+    @NotNull
+    Map<String, ClassInfo> getClasses()
+    {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    @Nullable
+    ClassInfo getClass(String className)
+    {
+        return classes.get(className);
+    }
+
+    /**
+     * Returns index of the specified jar. Index is taken from memory, from the index folder or built from the jar.
+     * Thread-safe, different jars may be indexed in parallel.
+     */
+    @NotNull
+    static DriverClassIndex getIndex(@NotNull File libFile) throws IOException
+    {
+        try (JarFile jarFile = new JarFile(libFile, false)) {
+            final long checksum = getChecksum(jarFile);
+            final String cacheKey = libFile.getAbsolutePath();
+            DriverClassIndex index = indexCache.get(cacheKey);
+            if (index != null && index.checksum == checksum) {
+                return index;
+            }
+            final File indexFile = getIndexFile(libFile, checksum);
+            if (indexFile != null && indexFile.exists()) {
+                try {
+                    index = loadIndex(indexFile, checksum);
+                } catch (IOException e) {
+                    log.debug("Can't read driver class index '" + indexFile.getAbsolutePath() + "'", e);
+                }
+            }
+            if (index == null) {
+                index = buildIndex(jarFile, checksum);
+                if (indexFile != null) {
+                    try {
+                        saveIndex(index, libFile, indexFile);
+                    } catch (IOException e) {
+                        log.debug("Can't save driver class index '" + indexFile.getAbsolutePath() + "'", e);
+                    }
+                }
+            }
+            indexCache.put(cacheKey, index);
+            return index;
+        }
+    }
+
+    /**
+     * Checksum of jar directory. Includes names, sizes and CRCs of all entries, so jar content is not read.
+     */
+    private static long getChecksum(JarFile jarFile)
+    {
+        long checksum = 1125899906842597L;
+        for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+            JarEntry entry = e.nextElement();
+            checksum = 31 * checksum + entry.getName().hashCode();
+            checksum = 31 * checksum + entry.getCrc();
+            checksum = 31 * checksum + entry.getSize();
+        }
+        return checksum;
+    }
+
+    private static DriverClassIndex buildIndex(JarFile jarFile, long checksum) throws IOException
+    {
+        final Map<String, ClassInfo> classes = new LinkedHashMap<>();
+        for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+            JarEntry entry = e.nextElement();
+            String fileName = entry.getName();
+            if (!fileName.endsWith(DriverClassFindJob.CLASS_FILE_EXT)) {
+                continue;
+            }
+            try (InputStream classStream = jarFile.getInputStream(entry)) {
+                // Only class header is parsed
+                ClassReader cr = new ClassReader(classStream);
+                String[] interfaces = cr.getInterfaces();
+                classes.put(
+                    fileName.substring(0, fileName.length() - DriverClassFindJob.CLASS_FILE_EXT.length()),
+                    new ClassInfo(
+                        cr.getAccess(),
+                        cr.getSuperName(),
+                        interfaces == null || interfaces.length == 0 ? EMPTY_INTERFACES : interfaces));
+            } catch (Exception e1) {
+                // Broken or unsupported class file - skip it
+            }
+        }
+        return new DriverClassIndex(checksum, classes);
+    }
+
+    @Nullable
+    private static File getIndexFolder()
+    {
+        DBeaverActivator activator = DBeaverActivator.getInstance();
+        if (activator == null) {
+            return null;
+        }
+        return new File(activator.getStateLocation().toFile(), INDEX_FOLDER);
+    }
+
+    @Nullable
+    private static File getIndexFile(File libFile, long checksum)
+    {
+        File indexFolder = getIndexFolder();
+        if (indexFolder == null) {
+            return null;
+        }
+        return new File(indexFolder, getIndexFilePrefix(libFile) + Long.toHexString(checksum) + INDEX_FILE_EXT);
+    }
+
+    private static String getIndexFilePrefix(File libFile)
+    {
+        return libFile.getName().replaceAll("[^\\w\\.\\-]", "_") + "-" +
+            Integer.toHexString(libFile.getAbsolutePath().hashCode()) + "-";
+    }
+
+    private static DriverClassIndex loadIndex(File indexFile, long checksum) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION || in.readLong() != checksum) {
+                throw new IOException("Bad index file format");
+            }
+            int classCount = in.readInt();
+            final Map<String, ClassInfo> classes = new LinkedHashMap<>(classCount * 4 / 3 + 1);
+            for (int i = 0; i < classCount; i++) {
+                String className = in.readUTF();
+                int access = in.readInt();
+                String superName = in.readUTF();
+                int interfaceCount = in.readShort();
+                String[] interfaces = interfaceCount == 0 ? EMPTY_INTERFACES : new String[interfaceCount];
+                for (int k = 0; k < interfaceCount; k++) {
+                    interfaces[k] = in.readUTF();
+                }
+                classes.put(className, new ClassInfo(access, superName.isEmpty() ? null : superName, interfaces));
+            }
+            return new DriverClassIndex(checksum, classes);
+        }
+    }
+
+    private static void saveIndex(DriverClassIndex index, File libFile, File indexFile) throws IOException
+    {
+        final File indexFolder = indexFile.getParentFile();
+        if (!indexFolder.exists() && !indexFolder.mkdirs()) {
+            throw new IOException("Can't create folder '" + indexFolder.getAbsolutePath() + "'");
+        }
+        // Remove indexes of previous versions of this jar
+        final String prefix = getIndexFilePrefix(libFile);
+        File[] oldFiles = indexFolder.listFiles();
+        if (oldFiles != null) {
+            for (File oldFile : oldFiles) {
+                if (oldFile.getName().startsWith(prefix) && !oldFile.equals(indexFile) && !oldFile.delete()) {
+                    log.debug("Can't delete old driver class index '" + oldFile.getAbsolutePath() + "'");
+                }
+            }
+        }
+        // Write in temp file to not leave partial index if we fail
+        File tempFile = new File(indexFolder, indexFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(index.checksum);
+            out.writeInt(index.classes.size());
+            for (Map.Entry<String, ClassInfo> entry : index.classes.entrySet()) {
+                ClassInfo info = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(info.access);
+                out.writeUTF(info.superName == null ? "" : info.superName);
+                out.writeShort(info.interfaces.length);
+                for (String intName : info.interfaces) {
+                    out.writeUTF(intName);
+                }
+            }
+        }
+        if (!tempFile.renameTo(indexFile)) {
+            tempFile.delete();
+            throw new IOException("Can't rename '" + tempFile.getAbsolutePath() + "' to '" + indexFile.getName() + "'");
+        }
+    }
+
+}
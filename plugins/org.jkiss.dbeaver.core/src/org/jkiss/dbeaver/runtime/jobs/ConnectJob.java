@@ -20,14 +20,20 @@ package org.jkiss.dbeaver.runtime.jobs;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
+import org.jkiss.dbeaver.DBeaverPreferences;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.CoreMessages;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.DBPPreferenceListener;
 import org.jkiss.dbeaver.model.connection.DBPConnectionEventType;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.registry.DataSourceDescriptor;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Connect job.
  * Always returns OK status.
@@ -37,6 +43,38 @@ public class ConnectJob extends EventProcessorJob
 {
     private static final Log log = Log.getLog(ConnectJob.class);
 
+    /**
+     * Limits number of background connects running at once (e.g. when many connections are opened together).
+     * Slots are given in request order. Number of slots follows preference changes.
+     */
+    private static class ConnectSlots extends Semaphore implements DBPPreferenceListener {
+        private int slotCount;
+
+        ConnectSlots(int slotCount)
+        {
+            super(slotCount, true);
+            this.slotCount = slotCount;
+        }
+
+        @Override
+        public synchronized void preferenceChange(PreferenceChangeEvent event)
+        {
+            if (!DBeaverPreferences.CONNECT_MAX_PARALLEL.equals(event.getProperty())) {
+                return;
+            }
+            int newSlotCount = getMaxParallelConnects();
+            if (newSlotCount > slotCount) {
+                release(newSlotCount - slotCount);
+            } else if (newSlotCount < slotCount) {
+                // Running connects keep their slots, new ones wait until enough slots are released
+                reducePermits(slotCount - newSlotCount);
+            }
+            slotCount = newSlotCount;
+        }
+    }
+
+    private static ConnectSlots connectSlots;
+
     private volatile Thread connectThread;
     protected boolean initialize = true;
     protected boolean reflect = true;
@@ -61,6 +99,23 @@ public class ConnectJob extends EventProcessorJob
     @Override
     protected IStatus run(DBRProgressMonitor monitor)
     {
+        // Synchronous connects are initiated by other jobs - do not make them wait
+        final boolean useSlot = reflect;
+        if (useSlot) {
+            monitor.subTask(CoreMessages.runtime_jobs_connect_wait_slot);
+            final Semaphore slots = getConnectSlots();
+            try {
+                while (!slots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    if (monitor.isCanceled()) {
+                        connectStatus = Status.CANCEL_STATUS;
+                        return Status.OK_STATUS;
+                    }
+                }
+            } catch (InterruptedException e) {
+                connectStatus = Status.CANCEL_STATUS;
+                return Status.OK_STATUS;
+            }
+        }
         try {
             connectThread = getThread();
             String oldName = connectThread.getName();
@@ -68,14 +123,20 @@ public class ConnectJob extends EventProcessorJob
                 connectThread.setName(NLS.bind(CoreMessages.runtime_jobs_connect_thread_name, container.getName()));
             }
 
-            processEvents(DBPConnectionEventType.BEFORE_CONNECT);
-
             try {
-                container.connect(monitor, initialize, reflect);
+                processEvents(DBPConnectionEventType.BEFORE_CONNECT);
+
+                try {
+                    container.connect(monitor, initialize, reflect);
+                } finally {
+                    if (connectThread != null) {
+                        connectThread.setName(oldName);
+                        connectThread = null;
+                    }
+                }
             } finally {
-                if (connectThread != null) {
-                    connectThread.setName(oldName);
-                    connectThread = null;
+                if (useSlot) {
+                    getConnectSlots().release();
                 }
             }
 
@@ -92,6 +153,20 @@ public class ConnectJob extends EventProcessorJob
         return Status.OK_STATUS;
     }
 
+    private static synchronized Semaphore getConnectSlots()
+    {
+        if (connectSlots == null) {
+            connectSlots = new ConnectSlots(getMaxParallelConnects());
+            DBeaverCore.getGlobalPreferenceStore().addPropertyChangeListener(connectSlots);
+        }
+        return connectSlots;
+    }
+
+    private static int getMaxParallelConnects()
+    {
+        return Math.max(1, DBeaverCore.getGlobalPreferenceStore().getInt(DBeaverPreferences.CONNECT_MAX_PARALLEL));
+    }
+
     public IStatus runSync(DBRProgressMonitor monitor)
     {
         AbstractJob curJob = CURRENT_JOB.get();
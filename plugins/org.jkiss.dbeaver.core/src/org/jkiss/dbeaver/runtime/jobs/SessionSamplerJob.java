@@ -0,0 +1,141 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.jobs;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.registry.DataSourceDescriptor;
+import org.jkiss.dbeaver.registry.DataSourceRegistry;
+import org.jkiss.dbeaver.registry.ProjectRegistry;
+import org.jkiss.dbeaver.runtime.sessions.SessionSampler;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Schedules active sessions sampling of connected datasources with enabled session sampler
+ */
+public class SessionSamplerJob extends AbstractJob
+{
+    public static final int MONITOR_INTERVAL = 1000; // once per second
+
+    private static final Log log = Log.getLog(SessionSamplerJob.class);
+
+    private final Set<String> sampleCache = new HashSet<>();
+
+    public SessionSamplerJob()
+    {
+        super("Session sampler monitor");
+        setUser(false);
+        setSystem(true);
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor)
+    {
+        if (DBeaverCore.isClosing()) {
+            return Status.OK_STATUS;
+        }
+        final DBeaverCore core = DBeaverCore.getInstance();
+        final ProjectRegistry projectRegistry = core.getProjectRegistry();
+        if (projectRegistry == null) {
+            return Status.OK_STATUS;
+        }
+        for (IProject project : core.getLiveProjects()) {
+            if (!project.isOpen()) {
+                continue;
+            }
+            final DataSourceRegistry dataSourceRegistry = projectRegistry.getDataSourceRegistry(project);
+            if (dataSourceRegistry != null) {
+                for (DataSourceDescriptor ds : dataSourceRegistry.getDataSources()) {
+                    checkDataSourceSampling(ds);
+                }
+            }
+        }
+        if (!DBeaverCore.isClosing()) {
+            scheduleMonitor();
+        }
+        return Status.OK_STATUS;
+    }
+
+    private void checkDataSourceSampling(DataSourceDescriptor dataSourceDescriptor)
+    {
+        if (!dataSourceDescriptor.isConnected() || !SessionSampler.isSamplingEnabled(dataSourceDescriptor)) {
+            SessionSampler sampler = SessionSampler.findSampler(dataSourceDescriptor);
+            if (sampler != null) {
+                sampler.closeContext();
+            }
+            return;
+        }
+        if (!SessionSampler.isSamplingSupported(dataSourceDescriptor.getDataSource())) {
+            return;
+        }
+        final String dsId = dataSourceDescriptor.getId();
+        synchronized (this) {
+            if (sampleCache.contains(dsId)) {
+                // Previous sample is still in progress
+                return;
+            }
+        }
+        final SessionSampler sampler = SessionSampler.getSampler(dataSourceDescriptor);
+        if (!sampler.isSampleRequired()) {
+            return;
+        }
+        AbstractJob sampleJob = new AbstractJob("Sample sessions of " + dataSourceDescriptor.getName()) {
+            {
+                setUser(false);
+                setSystem(true);
+            }
+
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor)
+            {
+                try {
+                    sampler.sample(monitor);
+                } catch (Exception e) {
+                    log.debug("Error sampling sessions of '" + dsId + "': " + e.getMessage());
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        sampleJob.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void done(IJobChangeEvent event) {
+                synchronized (SessionSamplerJob.this) {
+                    sampleCache.remove(dsId);
+                }
+            }
+        });
+        synchronized (this) {
+            sampleCache.add(dsId);
+        }
+        sampleJob.schedule();
+    }
+
+    public void scheduleMonitor() {
+        schedule(MONITOR_INTERVAL);
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.properties;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.meta.PropertyGroup;
+import org.jkiss.utils.BeanUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-class cache of annotated property methods and their accessors.
+ * Property sources are recreated for each object list/editor, so reflection results are shared here.
+ * Methods are invoked through method handles, with fallback to reflective invoke if handle can't be created.
+ * Cached data is bound to classes with ClassValue, so it doesn't prevent unloading of classes (e.g. of
+ * uninstalled driver plugins).
+ */
+final class ObjectAttributeCache {
+
+    private static final Log log = Log.getLog(ObjectAttributeCache.class);
+
+    /**
+     * Method annotated with Property or PropertyGroup
+     */
+    static class AnnotatedMethod {
+        final Method method;
+        final PropertyGroup groupInfo;
+        final Property propInfo;
+
+        AnnotatedMethod(Method method, PropertyGroup groupInfo, Property propInfo)
+        {
+            this.method = method;
+            this.groupInfo = groupInfo;
+            this.propInfo = propInfo;
+        }
+    }
+
+    private static class Accessor {
+        final Method method;
+        final MethodHandle handle;
+
+        Accessor(Method method, MethodHandle handle)
+        {
+            this.method = method;
+            this.handle = handle;
+        }
+    }
+
+    private static class SetterRef {
+        final Method setter;
+
+        SetterRef(Method setter)
+        {
+            this.setter = setter;
+        }
+    }
+
+    // Numeric types ordered by widening conversion
+    private static final Class<?>[] WRAPPER_TYPES = { Byte.class, Short.class, Character.class, Integer.class, Long.class, Float.class, Double.class };
+    private static final Class<?>[] PRIMITIVE_TYPES = { byte.class, short.class, char.class, int.class, long.class, float.class, double.class };
+
+    private static final ClassValue<List<AnnotatedMethod>> annotatedMethods = new ClassValue<List<AnnotatedMethod>>() {
+        @Override
+        protected List<AnnotatedMethod> computeValue(Class<?> type)
+        {
+            return findAnnotatedMethods(type);
+        }
+    };
+    // Setters and accessors of methods by declaring class
+    private static final ClassValue<Map<Method, SetterRef>> setters = new ClassValue<Map<Method, SetterRef>>() {
+        @Override
+        protected Map<Method, SetterRef> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ClassValue<Map<Method, Accessor>> accessors = new ClassValue<Map<Method, Accessor>>() {
+        @Override
+        protected Map<Method, Accessor> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ObjectAttributeCache()
+    {
+    }
+
+    @NotNull
+    static List<AnnotatedMethod> getAnnotatedMethods(@NotNull Class<?> theClass)
+    {
+        return annotatedMethods.get(theClass);
+    }
+
+    private static List<AnnotatedMethod> findAnnotatedMethods(Class<?> theClass)
+    {
+        List<AnnotatedMethod> result = new ArrayList<>();
+        for (Method method : theClass.getMethods()) {
+            if (method.getReturnType() == null) {
+                continue;
+            }
+            final PropertyGroup propGroupInfo = method.getAnnotation(PropertyGroup.class);
+            if (propGroupInfo != null) {
+                result.add(new AnnotatedMethod(method, propGroupInfo, null));
+            } else {
+                final Property propInfo = method.getAnnotation(Property.class);
+                if (propInfo != null && BeanUtils.isGetterName(method.getName())) {
+                    result.add(new AnnotatedMethod(method, null, propInfo));
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Finds setter of property in getter's declaring class or its superclasses
+     */
+    @Nullable
+    static Method getSetter(@NotNull Method getter, @NotNull String propertyName)
+    {
+        final Map<Method, SetterRef> classSetters = setters.get(getter.getDeclaringClass());
+        SetterRef setterRef = classSetters.get(getter);
+        if (setterRef == null) {
+            Method setter = null;
+            for (Class<?> c = getter.getDeclaringClass(); setter == null && c != Object.class && c != null; c = c.getSuperclass()) {
+                setter = BeanUtils.getSetMethod(c, propertyName);
+            }
+            setterRef = new SetterRef(setter);
+            classSetters.put(getter, setterRef);
+        }
+        return setterRef.setter;
+    }
+
+    static Object invoke(@NotNull Method method, Object object)
+        throws IllegalAccessException, InvocationTargetException
+    {
+        final Accessor accessor = getAccessor(method);
+        if (accessor.handle == null) {
+            return method.invoke(object);
+        }
+        checkReceiver(method, object);
+        try {
+            return (Object) accessor.handle.invokeExact(object);
+        } catch (Throwable e) {
+            throw makeInvocationException(e);
+        }
+    }
+
+    static Object invoke(@NotNull Method method, Object object, Object arg)
+        throws IllegalAccessException, InvocationTargetException
+    {
+        final Accessor accessor = getAccessor(method);
+        if (accessor.handle == null) {
+            return method.invoke(object, arg);
+        }
+        checkReceiver(method, object);
+        checkArgument(method.getParameterTypes()[0], arg);
+        try {
+            return (Object) accessor.handle.invokeExact(object, arg);
+        } catch (Throwable e) {
+            throw makeInvocationException(e);
+        }
+    }
+
+    private static Accessor getAccessor(Method method)
+    {
+        final Map<Method, Accessor> classAccessors = accessors.get(method.getDeclaringClass());
+        Accessor accessor = classAccessors.get(method);
+        if (accessor == null) {
+            MethodHandle handle = null;
+            try {
+                // Generic signature (Object[, Object])Object so handle may be called with invokeExact
+                handle = MethodHandles.publicLookup().unreflect(method).asType(
+                    MethodType.genericMethodType(method.getParameterTypes().length + 1));
+            } catch (Throwable e) {
+                log.debug("Can't create accessor for " + method + ", reflection will be used", e);
+            }
+            accessor = new Accessor(method, handle);
+            classAccessors.put(method, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * Method handle fails with ClassCastException/NullPointerException on wrong arguments.
+     * Validate them before call and throw exceptions as reflection does, so all exceptions thrown by handle
+     * are thrown by target method.
+     */
+    private static void checkReceiver(Method method, Object object)
+    {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return;
+        }
+        if (object == null) {
+            throw new NullPointerException("Null object for method " + method.getName());
+        }
+        if (!method.getDeclaringClass().isInstance(object)) {
+            throw new IllegalArgumentException("Object is not an instance of declaring class");
+        }
+    }
+
+    private static void checkArgument(Class<?> paramType, Object arg)
+    {
+        if (paramType.isPrimitive()) {
+            if (arg == null || !isPrimitiveAssignable(paramType, arg.getClass())) {
+                throw new IllegalArgumentException("Argument type mismatch");
+            }
+        } else if (arg != null && !paramType.isInstance(arg)) {
+            throw new IllegalArgumentException("Argument type mismatch");
+        }
+    }
+
+    /**
+     * Unboxing followed by identity or widening primitive conversion
+     */
+    private static boolean isPrimitiveAssignable(Class<?> paramType, Class<?> argType)
+    {
+        if (paramType == boolean.class) {
+            return argType == Boolean.class;
+        }
+        int argIndex = -1, paramIndex = -1;
+        for (int i = 0; i < WRAPPER_TYPES.length; i++) {
+            if (WRAPPER_TYPES[i] == argType) {
+                argIndex = i;
+            }
+            if (PRIMITIVE_TYPES[i] == paramType) {
+                paramIndex = i;
+            }
+        }
+        if (argIndex < 0 || paramIndex < 0) {
+            return false;
+        }
+        // Types are ordered by widening. Nothing can be widened to char.
+        return argIndex == paramIndex || (paramIndex > argIndex && paramType != char.class);
+    }
+
+    private static InvocationTargetException makeInvocationException(Throwable e)
+    {
+        // Method handles throw target exceptions as is. Wrap them as reflection does
+        if (e instanceof InvocationTargetException) {
+            return (InvocationTargetException) e;
+        }
+        return new InvocationTargetException(e);
+    }
+
+}
@@ -18,12 +18,12 @@
 package org.jkiss.dbeaver.runtime.properties;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPPropertySource;
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
 import org.jkiss.dbeaver.model.meta.IPropertyCacheValidator;
 import org.jkiss.dbeaver.model.meta.LazyProperty;
-import org.jkiss.dbeaver.model.meta.Property;
-import org.jkiss.dbeaver.model.meta.PropertyGroup;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.utils.BeanUtils;
 import org.jkiss.utils.CommonUtils;
@@ -52,8 +52,12 @@ public abstract class ObjectAttributeDescriptor {
     private Method getter;
     private boolean isLazy;
     private IPropertyCacheValidator cacheValidator;
+    private IPropertyBulkLoader<?> bulkLoader;
     private Class<?> declaringClass;
 
+    // Bulk loaders are stateless so they are shared between all descriptors
+    private static final Map<Class<?>, IPropertyBulkLoader<?>> bulkLoaders = new HashMap<>();
+
     public ObjectAttributeDescriptor(
         DBPPropertySource source,
         ObjectPropertyGroupDescriptor parent,
@@ -83,7 +87,27 @@ public abstract class ObjectAttributeDescriptor {
                 } catch (Exception e) {
                     log.warn("Can't instantiate lazy cache validator '" + lazyInfo.cacheValidator().getName() + "'", e);
                 }
+                if (lazyInfo.bulkLoader() != IPropertyBulkLoader.class) {
+                    bulkLoader = getBulkLoaderInstance(lazyInfo.bulkLoader());
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static IPropertyBulkLoader<?> getBulkLoaderInstance(Class<? extends IPropertyBulkLoader> loaderClass)
+    {
+        synchronized (bulkLoaders) {
+            IPropertyBulkLoader<?> loader = bulkLoaders.get(loaderClass);
+            if (loader == null) {
+                try {
+                    loader = loaderClass.newInstance();
+                    bulkLoaders.put(loaderClass, loader);
+                } catch (Exception e) {
+                    log.warn("Can't instantiate lazy property bulk loader '" + loaderClass.getName() + "'", e);
+                }
             }
+            return loader;
         }
     }
 
@@ -148,6 +172,19 @@ public abstract class ObjectAttributeDescriptor {
         return cacheValidator;
     }
 
+    /**
+     * Bulk loader of this property or of its top-level lazy group.
+     * Loader accepts owner objects of top-level property.
+     */
+    @Nullable
+    public IPropertyBulkLoader<?> getBulkLoader()
+    {
+        if (parent != null) {
+            return parent.getBulkLoader();
+        }
+        return bulkLoader;
+    }
+
     public ObjectPropertyGroupDescriptor getParent()
     {
         return parent;
@@ -182,20 +219,14 @@ public abstract class ObjectAttributeDescriptor {
 
     static void extractAnnotations(DBPPropertySource source, ObjectPropertyGroupDescriptor parent, Class<?> theClass, List<ObjectPropertyDescriptor> annoProps, IPropertyFilter filter)
     {
-        Method[] methods = theClass.getMethods();
-        for (Method method : methods) {
-            final PropertyGroup propGroupInfo = method.getAnnotation(PropertyGroup.class);
-            if (propGroupInfo != null && method.getReturnType() != null) {
+        for (ObjectAttributeCache.AnnotatedMethod annotatedMethod : ObjectAttributeCache.getAnnotatedMethods(theClass)) {
+            if (annotatedMethod.groupInfo != null) {
                 // Property group
-                ObjectPropertyGroupDescriptor groupDescriptor = new ObjectPropertyGroupDescriptor(source, parent, method, propGroupInfo, filter);
+                ObjectPropertyGroupDescriptor groupDescriptor = new ObjectPropertyGroupDescriptor(source, parent, annotatedMethod.method, annotatedMethod.groupInfo, filter);
                 annoProps.addAll(groupDescriptor.getChildren());
             } else {
-                final Property propInfo = method.getAnnotation(Property.class);
-                if (propInfo == null || !BeanUtils.isGetterName(method.getName()) || method.getReturnType() == null) {
-                    continue;
-                }
                 // Single property
-                ObjectPropertyDescriptor desc = new ObjectPropertyDescriptor(source, parent, propInfo, method);
+                ObjectPropertyDescriptor desc = new ObjectPropertyDescriptor(source, parent, annotatedMethod.propInfo, annotatedMethod.method);
                 if (filter != null && !filter.select(desc)) {
                     continue;
                 }
@@ -65,15 +65,7 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
 
         final String propertyName = BeanUtils.getPropertyNameFromGetter(getter.getName());
         declaringClass = getter.getDeclaringClass();
-        Class<?> c = declaringClass;
-        while (setter == null && c != Object.class && c != null) {
-            this.setter = BeanUtils.getSetMethod(
-                c,
-                propertyName);
-            if (setter == null) {
-                c = c.getSuperclass();
-            }
-        }
+        this.setter = ObjectAttributeCache.getSetter(getter, propertyName);
 
         // Obtain value transformer
         Class<? extends IPropertyValueTransformer> valueTransformerClass = propInfo.valueTransformer();
@@ -224,9 +216,9 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
             if (isLazy(object, true) && progressMonitor == null && !supportsPreview()) {
                 throw new IllegalAccessException("Lazy property can't be read with null progress monitor");
             }
-            value = getGetter().invoke(object, progressMonitor);
+            value = ObjectAttributeCache.invoke(getGetter(), object, progressMonitor);
         } else {
-            value = getGetter().invoke(object);
+            value = ObjectAttributeCache.invoke(getGetter(), object);
         }
         if (valueRenderer != null) {
             value = valueRenderer.transform(object, value);
@@ -267,7 +259,7 @@ public class ObjectPropertyDescriptor extends ObjectAttributeDescriptor implemen
                     value = ' ';
                 }
             }
-            setter.invoke(object, value);
+            ObjectAttributeCache.invoke(setter, object, value);
         } else {
             throw new IllegalAccessError("No setter found for property " + getId());
         }
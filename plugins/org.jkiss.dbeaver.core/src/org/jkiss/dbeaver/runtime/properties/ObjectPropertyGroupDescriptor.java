@@ -76,9 +76,9 @@ public class ObjectPropertyGroupDescriptor extends ObjectAttributeDescriptor
             }
         }
         if (isLazy()) {
-            return getGetter().invoke(object, progressMonitor);
+            return ObjectAttributeCache.invoke(getGetter(), object, progressMonitor);
         } else {
-            return getGetter().invoke(object);
+            return ObjectAttributeCache.invoke(getGetter(), object);
         }
     }
 }
@@ -0,0 +1,440 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Rolling history of active sessions samples.
+ * Samples are kept in a bounded ring buffer of primitive arrays. Strings (queries, users, waits) are stored
+ * once in a dictionary. Samples evicted from the buffer are spilled to disk (if spill file is specified).
+ */
+public class SessionActivityHistory {
+
+    private static final Log log = Log.getLog(SessionActivityHistory.class);
+
+    public enum GroupBy {
+        QUERY,
+        USER,
+        WAIT
+    }
+
+    public static final String WAIT_CPU = "CPU";
+
+    private static final int MAX_QUERY_LENGTH = 2000;
+    private static final long MAX_SPILL_FILE_SIZE = 20 * 1024 * 1024;
+    // Marks sampling tick record (sampler ran at this time)
+    private static final int TICK = -1;
+    private static final int NULL_ID = -2;
+
+    /**
+     * Activity of a single group (query, user or wait state)
+     */
+    public static class ActivityGroup {
+        private final String name;
+        private int sampleCount;
+        private final int[] timeline;
+
+        ActivityGroup(String name, int bucketCount)
+        {
+            this.name = name;
+            this.timeline = new int[bucketCount];
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Number of times sessions of this group were seen active
+         */
+        public int getSampleCount()
+        {
+            return sampleCount;
+        }
+
+        /**
+         * Samples count by time buckets
+         */
+        public int[] getTimeline()
+        {
+            return timeline;
+        }
+    }
+
+    /**
+     * Aggregated activity for time period
+     */
+    public static class ActivityReport {
+        private final long startTime;
+        private final long endTime;
+        private final int[] bucketTicks;
+        private int tickCount;
+        private final List<ActivityGroup> groups = new ArrayList<>();
+
+        ActivityReport(long startTime, long endTime, int bucketCount)
+        {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.bucketTicks = new int[bucketCount];
+        }
+
+        public long getStartTime()
+        {
+            return startTime;
+        }
+
+        public long getEndTime()
+        {
+            return endTime;
+        }
+
+        /**
+         * Number of sampler runs in the period
+         */
+        public int getTickCount()
+        {
+            return tickCount;
+        }
+
+        /**
+         * Number of sampler runs by time buckets
+         */
+        public int[] getBucketTicks()
+        {
+            return bucketTicks;
+        }
+
+        /**
+         * Groups ordered by activity (top first)
+         */
+        public List<ActivityGroup> getGroups()
+        {
+            return groups;
+        }
+
+        int getBucket(long time)
+        {
+            int bucket = (int) ((time - startTime) * bucketTicks.length / Math.max(1, endTime - startTime));
+            return Math.max(0, Math.min(bucketTicks.length - 1, bucket));
+        }
+    }
+
+    private final long[] times;
+    private final int[] queries;
+    private final int[] users;
+    private final int[] waits;
+    private int head;
+    private int size;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    @Nullable
+    private final File spillFile;
+    private DataOutputStream spillStream;
+
+    public SessionActivityHistory(int capacity, @Nullable File spillFile)
+    {
+        capacity = Math.max(capacity, 100);
+        this.times = new long[capacity];
+        this.queries = new int[capacity];
+        this.users = new int[capacity];
+        this.waits = new int[capacity];
+        this.spillFile = spillFile;
+    }
+
+    public synchronized int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Time of the oldest sample kept in memory
+     */
+    public synchronized long getFirstSampleTime()
+    {
+        return size == 0 ? 0 : times[(head - size + times.length) % times.length];
+    }
+
+    /**
+     * Adds results of one sampler run
+     */
+    public synchronized void addSample(long time, @NotNull Collection<? extends DBAServerSession> sessions)
+    {
+        addRecord(time, TICK, NULL_ID, NULL_ID);
+        for (DBAServerSession session : sessions) {
+            String user = null, wait = null;
+            if (session instanceof DBAServerSessionActivity) {
+                DBAServerSessionActivity activity = (DBAServerSessionActivity) session;
+                if (!activity.isSessionActive()) {
+                    continue;
+                }
+                user = activity.getSessionUser();
+                wait = activity.getSessionWait();
+            }
+            String query = session.getActiveQuery();
+            if (query != null) {
+                // Normalize whitespaces so the same query is grouped together
+                query = query.replaceAll("\\s+", " ").trim();
+                if (query.length() > MAX_QUERY_LENGTH) {
+                    query = query.substring(0, MAX_QUERY_LENGTH);
+                }
+            }
+            addRecord(time, getStringId(query), getStringId(user), getStringId(wait));
+        }
+    }
+
+    /**
+     * Aggregates samples of specified period.
+     * Spilled samples are read from disk if period starts before the oldest sample in memory.
+     */
+    public ActivityReport buildReport(GroupBy groupBy, long startTime, long endTime, int bucketCount)
+    {
+        ActivityReport report = new ActivityReport(startTime, endTime, bucketCount);
+        Map<String, ActivityGroup> groups = new HashMap<>();
+        synchronized (this) {
+            if (size == 0 || startTime < getFirstSampleTime()) {
+                readSpilledSamples(report, groups, groupBy);
+            }
+            for (int i = 0; i < size; i++) {
+                int index = (head - size + i + times.length) % times.length;
+                long time = times[index];
+                if (time < startTime || time > endTime) {
+                    continue;
+                }
+                if (queries[index] == TICK) {
+                    addTick(report, time);
+                } else {
+                    int groupId = groupBy == GroupBy.QUERY ? queries[index] : (groupBy == GroupBy.USER ? users[index] : waits[index]);
+                    addGroupSample(report, groups, groupBy, time, groupId == NULL_ID ? null : dictionary.get(groupId));
+                }
+            }
+        }
+        report.groups.addAll(groups.values());
+        Collections.sort(report.groups, new Comparator<ActivityGroup>() {
+            @Override
+            public int compare(ActivityGroup o1, ActivityGroup o2)
+            {
+                return o2.sampleCount - o1.sampleCount;
+            }
+        });
+        return report;
+    }
+
+    public synchronized void close()
+    {
+        if (spillStream != null) {
+            ContentUtils.close(spillStream);
+            spillStream = null;
+        }
+    }
+
+    private void addRecord(long time, int query, int user, int wait)
+    {
+        if (size == times.length) {
+            // Buffer is full - evict the oldest record
+            spillRecord(head);
+        } else {
+            size++;
+        }
+        times[head] = time;
+        queries[head] = query;
+        users[head] = user;
+        waits[head] = wait;
+        head = (head + 1) % times.length;
+        if (size == times.length && head == 0 && dictionary.size() > times.length) {
+            compactDictionary();
+        }
+    }
+
+    private int getStringId(String value)
+    {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = dictionaryIndex.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, id);
+        }
+        return id;
+    }
+
+    /**
+     * Removes strings which are not referenced by samples anymore
+     */
+    private void compactDictionary()
+    {
+        List<String> oldDictionary = new ArrayList<>(dictionary);
+        dictionary.clear();
+        dictionaryIndex.clear();
+        for (int i = 0; i < size; i++) {
+            queries[i] = remapId(oldDictionary, queries[i]);
+            users[i] = remapId(oldDictionary, users[i]);
+            waits[i] = remapId(oldDictionary, waits[i]);
+        }
+    }
+
+    private int remapId(List<String> oldDictionary, int id)
+    {
+        return id < 0 ? id : getStringId(oldDictionary.get(id));
+    }
+
+    private void addTick(ActivityReport report, long time)
+    {
+        report.tickCount++;
+        report.bucketTicks[report.getBucket(time)]++;
+    }
+
+    private static void addGroupSample(ActivityReport report, Map<String, ActivityGroup> groups, GroupBy groupBy, long time, String name)
+    {
+        if (name == null) {
+            name = groupBy == GroupBy.WAIT ? WAIT_CPU : "";
+        }
+        ActivityGroup group = groups.get(name);
+        if (group == null) {
+            group = new ActivityGroup(name, report.bucketTicks.length);
+            groups.put(name, group);
+        }
+        group.sampleCount++;
+        group.timeline[report.getBucket(time)]++;
+    }
+
+    ////////////////////////////////////////////////
+    // Spill file
+
+    private void spillRecord(int index)
+    {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            if (spillStream == null) {
+                if (spillFile.exists() && spillFile.length() > MAX_SPILL_FILE_SIZE) {
+                    rotateSpillFile();
+                }
+                spillStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile, true)));
+            }
+            spillStream.writeLong(times[index]);
+            if (queries[index] == TICK) {
+                spillStream.writeBoolean(true);
+            } else {
+                spillStream.writeBoolean(false);
+                writeString(spillStream, queries[index]);
+                writeString(spillStream, users[index]);
+                writeString(spillStream, waits[index]);
+            }
+            if (spillStream.size() > MAX_SPILL_FILE_SIZE) {
+                ContentUtils.close(spillStream);
+                spillStream = null;
+                rotateSpillFile();
+            }
+        } catch (IOException e) {
+            log.debug("Can't write session samples to '" + spillFile.getAbsolutePath() + "': " + e.getMessage());
+            ContentUtils.close(spillStream);
+            spillStream = null;
+        }
+    }
+
+    private void rotateSpillFile()
+    {
+        File oldFile = getOldSpillFile();
+        if (oldFile.exists() && !oldFile.delete()) {
+            log.debug("Can't delete '" + oldFile.getAbsolutePath() + "'");
+        }
+        if (!spillFile.renameTo(oldFile)) {
+            log.debug("Can't rename '" + spillFile.getAbsolutePath() + "'");
+        }
+    }
+
+    private File getOldSpillFile()
+    {
+        return new File(spillFile.getParentFile(), spillFile.getName() + ".old");
+    }
+
+    private void writeString(DataOutputStream out, int id) throws IOException
+    {
+        if (id == NULL_ID) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeUTF(dictionary.get(id));
+        }
+    }
+
+    private void readSpilledSamples(ActivityReport report, Map<String, ActivityGroup> groups, GroupBy groupBy)
+    {
+        if (spillFile == null) {
+            return;
+        }
+        if (spillStream != null) {
+            try {
+                spillStream.flush();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+        }
+        for (File file : new File[] {getOldSpillFile(), spillFile}) {
+            if (!file.exists()) {
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                for (;;) {
+                    long time;
+                    try {
+                        time = in.readLong();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    boolean tick = in.readBoolean();
+                    if (tick) {
+                        if (time >= report.startTime && time <= report.endTime) {
+                            addTick(report, time);
+                        }
+                        continue;
+                    }
+                    String query = readString(in);
+                    String user = readString(in);
+                    String wait = readString(in);
+                    if (time >= report.startTime && time <= report.endTime) {
+                        addGroupSample(report, groups, groupBy, time, groupBy == GroupBy.QUERY ? query : (groupBy == GroupBy.USER ? user : wait));
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Error reading session samples from '" + file.getAbsolutePath() + "': " + e.getMessage());
+            }
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+}
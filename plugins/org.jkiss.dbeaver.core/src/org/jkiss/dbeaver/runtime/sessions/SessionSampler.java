@@ -0,0 +1,178 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.core.DBeaverActivator;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Active sessions sampler.
+ * Periodically reads active sessions from datasource session manager using a dedicated connection
+ * and stores them in the rolling activity history.
+ */
+public class SessionSampler {
+
+    private static final Map<String, SessionSampler> samplers = new HashMap<>();
+
+    private final DBPDataSourceContainer container;
+    private final SessionActivityHistory history;
+    private DBCExecutionContext samplerContext;
+    private volatile long lastSampleTime;
+
+    private SessionSampler(DBPDataSourceContainer container)
+    {
+        this.container = container;
+        String fileName = "session-activity-" + container.getId().replaceAll("[^\\w\\-\\.]", "_") + ".dat";
+        this.history = new SessionActivityHistory(
+            container.getPreferenceStore().getInt(ModelPreferences.SESSION_SAMPLER_HISTORY_SIZE),
+            DBeaverActivator.getConfigurationFile(fileName));
+    }
+
+    /**
+     * Returns sampler of specified datasource (creates new sampler if needed)
+     */
+    @NotNull
+    public static SessionSampler getSampler(@NotNull DBPDataSourceContainer container)
+    {
+        synchronized (samplers) {
+            SessionSampler sampler = samplers.get(container.getId());
+            if (sampler == null) {
+                sampler = new SessionSampler(container);
+                samplers.put(container.getId(), sampler);
+            }
+            return sampler;
+        }
+    }
+
+    @Nullable
+    public static SessionSampler findSampler(@NotNull DBPDataSourceContainer container)
+    {
+        synchronized (samplers) {
+            return samplers.get(container.getId());
+        }
+    }
+
+    public static boolean isSamplingEnabled(@NotNull DBPDataSourceContainer container)
+    {
+        return container.getPreferenceStore().getBoolean(ModelPreferences.SESSION_SAMPLER_ENABLED);
+    }
+
+    /**
+     * Sampling interval in seconds
+     */
+    public static int getSamplingInterval(@NotNull DBPDataSourceContainer container)
+    {
+        return Math.max(1, container.getPreferenceStore().getInt(ModelPreferences.SESSION_SAMPLER_INTERVAL));
+    }
+
+    public static boolean isSamplingSupported(@Nullable DBPDataSource dataSource)
+    {
+        return DBUtils.getAdapter(DBAServerSessionManager.class, dataSource) != null;
+    }
+
+    public DBPDataSourceContainer getContainer()
+    {
+        return container;
+    }
+
+    public SessionActivityHistory getHistory()
+    {
+        return history;
+    }
+
+    public long getLastSampleTime()
+    {
+        return lastSampleTime;
+    }
+
+    public boolean isSampleRequired()
+    {
+        return System.currentTimeMillis() - lastSampleTime >= getSamplingInterval(container) * 1000L;
+    }
+
+    /**
+     * Reads active sessions and adds them to history
+     */
+    public synchronized void sample(DBRProgressMonitor monitor) throws DBException
+    {
+        DBPDataSource dataSource = container.getDataSource();
+        DBAServerSessionManager<?> sessionManager = DBUtils.getAdapter(DBAServerSessionManager.class, dataSource);
+        if (dataSource == null || sessionManager == null) {
+            closeContext();
+            return;
+        }
+        lastSampleTime = System.currentTimeMillis();
+        if (samplerContext != null && (samplerContext.getDataSource() != dataSource || !samplerContext.isConnected())) {
+            closeContext();
+        }
+        if (samplerContext == null) {
+            samplerContext = dataSource.openIsolatedContext(monitor, "Session sampler");
+        }
+        Map<String, Object> options = new HashMap<>();
+        options.put(DBAServerSessionManager.OPTION_ACTIVE_ONLY, true);
+        try (DBCSession session = samplerContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Sample active sessions")) {
+            Collection<? extends DBAServerSession> sessions = sessionManager.getSessions(session, options);
+            history.addSample(System.currentTimeMillis(), sessions);
+        } catch (DBException e) {
+            // Reopen connection on next sample
+            closeContext();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes dedicated sampler connection
+     */
+    public synchronized void closeContext()
+    {
+        if (samplerContext != null) {
+            samplerContext.close();
+            samplerContext = null;
+        }
+    }
+
+    public static void closeAll()
+    {
+        List<SessionSampler> allSamplers;
+        synchronized (samplers) {
+            allSamplers = new ArrayList<>(samplers.values());
+            samplers.clear();
+        }
+        for (SessionSampler sampler : allSamplers) {
+            sampler.closeContext();
+            sampler.history.close();
+        }
+    }
+
+}
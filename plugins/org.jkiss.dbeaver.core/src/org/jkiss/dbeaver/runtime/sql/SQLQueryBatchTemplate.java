@@ -0,0 +1,270 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parameterized form of a query.
+ * String and numeric literals are replaced with parameter marks, so queries which differ only
+ * in literal values have the same template and may be executed as a batch of one prepared statement.
+ * Each literal is bound with its own SQL type: strings as VARCHAR, integers as BIGINT (NUMERIC if too long),
+ * decimals as NUMERIC and numbers with exponent as DOUBLE. Queries are grouped by both text and literal types.
+ * Literals which can't be bound without changing their meaning (typed, prefixed or with escapes) are kept as is.
+ * Whitespaces are normalized, comments and quoted identifiers are kept as is.
+ */
+class SQLQueryBatchTemplate {
+
+    // Integers with more digits may not fit in long
+    private static final int MAX_LONG_DIGITS = 18;
+    // Keywords of typed literals (DATE '2000-01-01')
+    private static final String[] TYPED_LITERAL_KEYWORDS = { "DATE", "TIME", "TIMESTAMP", "INTERVAL" };
+
+    @NotNull
+    private final String queryText;
+    @NotNull
+    private final Object[] values;
+    @NotNull
+    private final String batchKey;
+
+    private SQLQueryBatchTemplate(@NotNull String queryText, @NotNull Object[] values)
+    {
+        this.queryText = queryText;
+        this.values = values;
+        StringBuilder key = new StringBuilder(queryText.length() + values.length + 1);
+        key.append(queryText).append('\n');
+        for (Object value : values) {
+            key.append(value.getClass().getSimpleName().charAt(0));
+        }
+        this.batchKey = key.toString();
+    }
+
+    /**
+     * Query text with parameter marks instead of literals
+     */
+    @NotNull
+    String getQueryText()
+    {
+        return queryText;
+    }
+
+    /**
+     * Literal values (String, Long, BigDecimal or Double) in the order of parameter marks
+     */
+    @NotNull
+    Object[] getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Queries with the same key may be executed in one batch: they have the same text and the same literal types
+     */
+    @NotNull
+    String getBatchKey()
+    {
+        return batchKey;
+    }
+
+    /**
+     * Makes template of the query.
+     * @return template or null if query can't be parameterized (e.g. it contains parameter marks)
+     */
+    @Nullable
+    static SQLQueryBatchTemplate build(@NotNull String query)
+    {
+        final int length = query.length();
+        final StringBuilder text = new StringBuilder(length);
+        final List<Object> values = new ArrayList<>();
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; ) {
+            final char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (pendingSpace && text.length() > 0) {
+                text.append(' ');
+            }
+            pendingSpace = false;
+            final char next = i < length - 1 ? query.charAt(i + 1) : 0;
+            final char prev = i > 0 ? query.charAt(i - 1) : 0;
+            int end;
+            if (c == '-' && next == '-') {
+                // Line comment
+                end = query.indexOf('\n', i);
+                end = end < 0 ? length : end + 1;
+                text.append(query, i, end);
+            } else if (c == '/' && next == '*') {
+                // Block comment
+                end = query.indexOf("*/", i + 2);
+                if (end < 0) {
+                    return null;
+                }
+                end += 2;
+                text.append(query, i, end);
+            } else if (c == '"' || c == '`' || c == '[') {
+                // Quoted identifier
+                end = query.indexOf(c == '[' ? ']' : c, i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                end++;
+                text.append(query, i, end);
+            } else if (c == '\'') {
+                end = findStringEnd(query, i);
+                if (end < 0) {
+                    return null;
+                }
+                final String value = query.substring(i + 1, end - 1);
+                if (isIdentifierPart(prev) || value.indexOf('\\') >= 0 || isTypedLiteral(text)) {
+                    // Prefixed literal (N'', X'', E''), literal with escapes or typed literal - keep it as is
+                    text.append(query, i, end);
+                } else {
+                    text.append('?');
+                    values.add(value.replace("''", "'"));
+                }
+            } else if ((isDigit(c) || (c == '.' && isDigit(next))) && !isIdentifierPart(prev) && prev != '.' && prev != ':') {
+                end = findNumberEnd(query, i);
+                if (end < length && isIdentifierPart(query.charAt(end))) {
+                    // Not a number
+                    end = i + 1;
+                    text.append(c);
+                } else {
+                    text.append('?');
+                    values.add(parseNumber(query.substring(i, end)));
+                }
+            } else if (c == '?') {
+                // Parameter mark or operator - can't be parameterized
+                return null;
+            } else {
+                end = i + 1;
+                text.append(c);
+            }
+            i = end;
+        }
+        return new SQLQueryBatchTemplate(text.toString(), values.toArray());
+    }
+
+    private static Object parseNumber(String number)
+    {
+        boolean integer = true;
+        for (int i = 0; i < number.length(); i++) {
+            final char c = number.charAt(i);
+            if (c == 'e' || c == 'E') {
+                return Double.valueOf(number);
+            }
+            if (!isDigit(c)) {
+                integer = false;
+            }
+        }
+        if (integer && number.length() <= MAX_LONG_DIGITS) {
+            return Long.valueOf(number);
+        }
+        return new BigDecimal(number);
+    }
+
+    /**
+     * Checks whether template ends with keyword of typed literal
+     */
+    private static boolean isTypedLiteral(StringBuilder text)
+    {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && isIdentifierPart(text.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || (start > 0 && text.charAt(start - 1) == '.')) {
+            return false;
+        }
+        final String word = text.substring(start, end).toUpperCase(Locale.ENGLISH);
+        for (String keyword : TYPED_LITERAL_KEYWORDS) {
+            if (keyword.equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns position after closing quote or -1
+     */
+    private static int findStringEnd(String query, int start)
+    {
+        for (int i = start + 1; i < query.length(); i++) {
+            if (query.charAt(i) == '\'') {
+                if (i < query.length() - 1 && query.charAt(i + 1) == '\'') {
+                    // Escaped quote
+                    i++;
+                } else {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int findNumberEnd(String query, int start)
+    {
+        final int length = query.length();
+        int i = start;
+        while (i < length && isDigit(query.charAt(i))) {
+            i++;
+        }
+        if (i < length && query.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(query.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < length - 1 && (query.charAt(i) == 'e' || query.charAt(i) == 'E')) {
+            int expStart = i + 1;
+            if (query.charAt(expStart) == '+' || query.charAt(expStart) == '-') {
+                expStart++;
+            }
+            if (expStart < length && isDigit(query.charAt(expStart))) {
+                i = expStart;
+                while (i < length && isDigit(query.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierPart(char c)
+    {
+        return c != 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '@');
+    }
+
+}
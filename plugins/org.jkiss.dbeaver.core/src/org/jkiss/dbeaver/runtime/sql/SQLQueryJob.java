@@ -34,6 +34,8 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.local.StatResultSet;
 import org.jkiss.dbeaver.model.qm.QMUtils;
@@ -43,6 +45,7 @@ import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.sql.SQLQueryParameter;
 import org.jkiss.dbeaver.model.sql.SQLQueryResult;
+import org.jkiss.dbeaver.model.sql.SQLQueryType;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -54,9 +57,8 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.Closeable;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.*;
 
 /**
  * SQLQueryJob
@@ -69,6 +71,9 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
 
     public static final Object STATS_RESULTS = new Object();
 
+    // Maximum number of queries in one DML batch
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final DBSDataContainer dataContainer;
     private final List<SQLQuery> queries;
     private final SQLResultsConsumer resultsConsumer;
@@ -83,6 +88,7 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
     private boolean fetchResultSets;
     private long rsOffset;
     private long rsMaxRows;
+    private boolean batchDML;
 
     private DBCStatement curStatement;
     private final List<DBCResultSet> curResultSets = new ArrayList<>();
@@ -93,6 +99,10 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
     private int resultSetNumber;
     private SQLQuery lastGoodQuery;
 
+    // Templates of failed batches
+    private final Set<String> failedBatchTemplates = new HashSet<>();
+    private int batchDisabledBefore;
+
     public SQLQueryJob(
         @NotNull IWorkbenchPartSite partSite,
         @NotNull String name,
@@ -116,6 +126,7 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
             this.errorHandling = SQLScriptErrorHandling.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_ERROR_HANDLING));
             this.fetchResultSets = queries.size() == 1 || preferenceStore.getBoolean(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS);
             this.rsMaxRows = preferenceStore.getInt(DBeaverPreferences.RESULT_SET_MAX_ROWS);
+            this.batchDML = queries.size() > 1 && preferenceStore.getBoolean(DBeaverPreferences.SCRIPT_BATCH_DML);
         }
     }
 
@@ -176,6 +187,17 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
 
                 resultSetNumber = 0;
                 for (int queryNum = 0; queryNum < queries.size(); ) {
+                    if (batchDML && queryNum >= batchDisabledBefore) {
+                        int executedCount = executeQueryBatch(session, queryNum);
+                        if (executedCount > 0) {
+                            monitor.worked(executedCount);
+                            queryNum += executedCount;
+                            if (monitor.isCanceled()) {
+                                break;
+                            }
+                            continue;
+                        }
+                    }
                     // Execute query
                     SQLQuery query = queries.get(queryNum);
 
@@ -430,6 +452,172 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
         return true;
     }
 
+    /**
+     * Executes consecutive DML queries which differ only in literal values as a batch of one prepared statement.
+     * Literals are bound as parameters with their own types (see {@link SQLQueryBatchTemplate}).
+     * Batch always runs in a transaction: auto-commit is disabled for the batch, otherwise batch is bounded by a savepoint.
+     * Some drivers continue batch after the failed query or commit part of it, so failed batch is rolled back completely
+     * and its queries are executed one by one (errors are reported and handled for each query as usual).
+     * @return number of executed queries: the whole batch or 0 if queries must be executed one by one
+     */
+    private int executeQueryBatch(@NotNull DBCSession session, int firstQuery)
+    {
+        if (!(session instanceof JDBCSession)) {
+            return 0;
+        }
+        final DBCExecutionContext executionContext = getExecutionContext();
+        final DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
+        if (txnManager == null) {
+            return 0;
+        }
+        // Collect queries with the same template
+        final List<SQLQueryBatchTemplate> templates = new ArrayList<>();
+        String batchKey = null;
+        for (int i = firstQuery; i < queries.size() && templates.size() < MAX_BATCH_SIZE; i++) {
+            final SQLQuery query = queries.get(i);
+            if (!isBatchQuery(query)) {
+                break;
+            }
+            final SQLQueryBatchTemplate template = SQLQueryBatchTemplate.build(query.getQuery());
+            if (template == null || (batchKey != null && !batchKey.equals(template.getBatchKey()))) {
+                break;
+            }
+            if (batchKey == null) {
+                if (failedBatchTemplates.contains(template.getBatchKey())) {
+                    break;
+                }
+                batchKey = template.getBatchKey();
+            }
+            templates.add(template);
+        }
+        if (batchKey == null || templates.size() < 2) {
+            return 0;
+        }
+        final int batchSize = templates.size();
+        final String batchText = templates.get(0).getQueryText();
+        final boolean autoCommit;
+        try {
+            autoCommit = txnManager.isAutoCommit();
+        } catch (DBCException e) {
+            log.debug("Can't read transaction mode", e);
+            return 0;
+        }
+        if (!autoCommit && !txnManager.supportsSavepoints()) {
+            // Failed batch can't be rolled back without previous queries of the transaction
+            return 0;
+        }
+
+        final DBRProgressMonitor monitor = session.getProgressMonitor();
+        monitor.subTask("Execute batch of " + batchSize + " queries");
+        long startTime = System.currentTimeMillis();
+        int[] updateCounts = null;
+        Throwable batchError = null;
+        boolean autoCommitDisabled = false;
+        DBCSavepoint savepoint = null;
+        try {
+            if (autoCommit) {
+                txnManager.setAutoCommit(monitor, false);
+                autoCommitDisabled = true;
+            } else {
+                savepoint = txnManager.setSavepoint(monitor, null);
+            }
+            closeStatement();
+            final SQLQuery batchQuery = new SQLQuery(batchText);
+            DBCExecutionSource source = new AbstractExecutionSource(dataContainer, executionContext, partSite.getPart(), batchQuery);
+            curStatement = DBUtils.prepareStatement(source, session, DBCStatementType.QUERY, batchQuery, -1, -1);
+            if (!(curStatement instanceof JDBCPreparedStatement)) {
+                throw new DBCException("Prepared statement batches are not supported");
+            }
+            final JDBCPreparedStatement dbStat = (JDBCPreparedStatement) curStatement;
+            for (SQLQueryBatchTemplate template : templates) {
+                final Object[] values = template.getValues();
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] instanceof Long) {
+                        dbStat.setLong(i + 1, (Long) values[i]);
+                    } else if (values[i] instanceof BigDecimal) {
+                        dbStat.setBigDecimal(i + 1, (BigDecimal) values[i]);
+                    } else if (values[i] instanceof Double) {
+                        dbStat.setDouble(i + 1, (Double) values[i]);
+                    } else {
+                        dbStat.setString(i + 1, (String) values[i]);
+                    }
+                }
+                dbStat.addBatch();
+            }
+            updateCounts = dbStat.executeBatch();
+            if (autoCommitDisabled) {
+                txnManager.commit(session);
+            }
+        } catch (Throwable e) {
+            batchError = e;
+            try {
+                txnManager.rollback(session, savepoint);
+            } catch (Throwable e1) {
+                log.debug("Can't rollback failed batch", e1);
+            }
+        } finally {
+            closeStatement();
+            if (autoCommitDisabled) {
+                try {
+                    txnManager.setAutoCommit(monitor, true);
+                } catch (Throwable e) {
+                    log.error("Can't restore auto-commit mode", e);
+                }
+            }
+        }
+        if (batchError != null) {
+            log.debug("Batch execution failed. Execute queries one by one", batchError);
+            failedBatchTemplates.add(batchKey);
+            batchDisabledBefore = firstQuery + batchSize;
+            return 0;
+        }
+        if (savepoint != null) {
+            try {
+                txnManager.releaseSavepoint(monitor, savepoint);
+            } catch (Throwable e) {
+                // Not supported by some drivers
+                log.debug("Can't release savepoint", e);
+            }
+        }
+
+        final long executeTime = System.currentTimeMillis() - startTime;
+        statistics.setQueryText(batchText);
+        statistics.addExecuteTime(executeTime);
+        long updateCount = 0;
+        for (int i = 0; i < batchSize; i++) {
+            // Negative counts mean that driver doesn't report number of rows
+            final long queryUpdateCount = updateCounts != null && i < updateCounts.length && updateCounts[i] > 0 ? updateCounts[i] : 0;
+            updateCount += queryUpdateCount;
+            statistics.addStatementsCount();
+
+            if (listener != null) {
+                // Each query is reported with its own update count. Batch time is shared by all queries.
+                final SQLQuery query = queries.get(firstQuery + i);
+                SQLQueryResult curResult = new SQLQueryResult(query);
+                curResult.setUpdateCount(queryUpdateCount);
+                curResult.setQueryTime(executeTime / batchSize);
+                try {
+                    listener.onStartQuery(query);
+                    listener.onEndQuery(curResult);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+            }
+        }
+        statistics.addRowsUpdated(updateCount);
+        lastError = null;
+        lastGoodQuery = queries.get(firstQuery + batchSize - 1);
+        return batchSize;
+    }
+
+    private boolean isBatchQuery(@NotNull SQLQuery query)
+    {
+        final SQLQueryType queryType = query.getType();
+        return
+            (queryType == SQLQueryType.INSERT || queryType == SQLQueryType.UPDATE || queryType == SQLQueryType.DELETE) &&
+            CommonUtils.isEmpty(query.getParameters());
+    }
+
     private void showExecutionResult(DBCSession session) {
         if (statistics.getStatementsCount() > 1 || resultSetNumber == 0) {
             SQLQuery query = new SQLQuery("", -1, -1);
@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.tools.compare;
+
+import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.xml.XMLBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders differences of compare report as XML.
+ * Only missing objects and properties with different values are written.
+ */
+public class CompareDiffRenderer {
+
+    public void renderDiff(DBRProgressMonitor monitor, CompareReport report, OutputStream outputStream) throws IOException
+    {
+        XMLBuilder xml = new XMLBuilder(outputStream, "utf-8", true);
+        xml.setButify(true);
+        xml.startElement("compare-diff");
+
+        List<DBNDatabaseNode> nodes = report.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            xml.startElement("source");
+            xml.addAttribute("id", i + 1);
+            xml.addAttribute("name", nodes.get(i).getNodeFullName());
+            xml.endElement();
+        }
+
+        List<String> path = new ArrayList<>();
+        for (CompareReportLine line : report.getReportLines()) {
+            monitor.worked(1);
+            while (path.size() >= line.depth) {
+                path.remove(path.size() - 1);
+            }
+            path.add(line.structure.getNodeName());
+            if (!line.hasDifference) {
+                continue;
+            }
+            xml.startElement("object");
+            xml.addAttribute("type", line.structure.getNodeType());
+            xml.addAttribute("path", makePath(path));
+            for (int k = 0; k < line.nodes.length; k++) {
+                if (line.nodes[k] == null) {
+                    xml.startElement("missing");
+                    xml.addAttribute("source", k + 1);
+                    xml.endElement();
+                }
+            }
+            if (line.properties != null) {
+                for (CompareReportProperty reportProperty : line.properties) {
+                    if (!isDifferent(line, reportProperty)) {
+                        continue;
+                    }
+                    xml.startElement("property");
+                    xml.addAttribute("id", reportProperty.property.getId());
+                    xml.addAttribute("name", reportProperty.property.getDisplayName());
+                    for (int k = 0; k < line.nodes.length; k++) {
+                        if (line.nodes[k] == null) {
+                            continue;
+                        }
+                        xml.startElement("value");
+                        xml.addAttribute("source", k + 1);
+                        Object value = reportProperty.values[k];
+                        if (value != null) {
+                            xml.addText(value.toString());
+                        }
+                        xml.endElement();
+                    }
+                    xml.endElement();
+                }
+            }
+            xml.endElement();
+        }
+
+        xml.endElement();
+        xml.flush();
+    }
+
+    private static boolean isDifferent(CompareReportLine line, CompareReportProperty reportProperty)
+    {
+        boolean hasFirstValue = false;
+        Object firstValue = null;
+        for (int k = 0; k < reportProperty.values.length; k++) {
+            if (line.nodes[k] == null) {
+                // Ignore properties of missing objects
+                continue;
+            }
+            if (!hasFirstValue) {
+                firstValue = reportProperty.values[k];
+                hasFirstValue = true;
+            } else if (!CompareUtils.equalPropertyValues(reportProperty.values[k], firstValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String makePath(List<String> path)
+    {
+        StringBuilder result = new StringBuilder();
+        for (String name : path) {
+            if (result.length() > 0) {
+                result.append('/');
+            }
+            result.append(name);
+        }
+        return result.toString();
+    }
+
+}
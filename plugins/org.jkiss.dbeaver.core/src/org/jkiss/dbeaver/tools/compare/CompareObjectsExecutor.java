@@ -17,317 +17,319 @@
  */
 package org.jkiss.dbeaver.tools.compare;
 
-import org.eclipse.core.runtime.IStatus;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSource;
-import org.jkiss.dbeaver.model.DBPPropertyDescriptor;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPSystemObject;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseFolder;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.meta.DBXTreeNode;
-import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.runtime.properties.*;
 
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.*;
 
+/**
+ * Compares objects trees.
+ * Metadata of all compared trees is loaded first. Trees from different data sources are loaded concurrently.
+ * Each loaded object gets fingerprint (digest) of the whole subtree: object class, property values and children.
+ * Subtrees with the same fingerprints are identical and are skipped without comparing their objects.
+ */
 public class CompareObjectsExecutor {
 
     private static final Log log = Log.getLog(CompareObjectsExecutor.class);
 
-    private final Object PROPS_LOCK = new Object();
+    /**
+     * Loaded state of compared object
+     */
+    private static class ObjectSnapshot {
+        final DBNDatabaseNode node;
+        List<ObjectPropertyDescriptor> properties;
+        // Property values by property id
+        Map<String, Object> propertyValues;
+        // Null if subtree has values without canonical form or children which can't be read
+        byte[] subtreeFingerprint;
+        // Children by node names
+        Map<String, ObjectSnapshot> children;
+
+        ObjectSnapshot(DBNDatabaseNode node)
+        {
+            this.node = node;
+        }
+    }
 
     private CompareObjectsSettings settings;
 
     private final List<DBNDatabaseNode> rootNodes;
     private final Map<DBPDataSource, DataSourcePropertyFilter> dataSourceFilters = new IdentityHashMap<>();
 
-    private final DBRProgressListener initializeFinisher;
-    private final ILazyPropertyLoadListener lazyPropertyLoadListener;
-
-    private volatile int initializedCount = 0;
-    private volatile IStatus initializeError;
-    private final Map<Object, Map<DBPPropertyDescriptor, Object>> propertyValues = new IdentityHashMap<>();
-
     private final List<CompareReportLine> reportLines = new ArrayList<>();
-    private int reportDepth = 0;
-    private CompareReportLine lastLine;
-
-    private void reportObjectsCompareBegin(List<DBNDatabaseNode> objects)
-    {
-        reportDepth++;
-        lastLine = new CompareReportLine();
-        lastLine.depth = reportDepth;
-        lastLine.structure = objects.get(0);
-        lastLine.nodes = new DBNDatabaseNode[rootNodes.size()];
-        for (int i = 0; i < rootNodes.size(); i++) {
-            for (DBNDatabaseNode node : objects) {
-                if (node == rootNodes.get(i) || node.isChildOf(rootNodes.get(i))) {
-                    lastLine.nodes[i] = node;
-                    break;
-                }
-            }
-        }
-        for (DBNDatabaseNode node : lastLine.nodes) {
-            if (node == null) {
-                lastLine.hasDifference = true;
-                break;
-            }
-        }
-        reportLines.add(lastLine);
-    }
-
-    private void reportPropertyCompare(ObjectPropertyDescriptor property)
-    {
-        CompareReportProperty reportProperty = new CompareReportProperty(property);
-        reportProperty.values = new Object[rootNodes.size()];
-        for (int i = 0; i < lastLine.nodes.length; i++) {
-            DBNDatabaseNode node = lastLine.nodes[i];
-            if (node == null) {
-                continue;
-            }
-            Map<DBPPropertyDescriptor, Object> valueMap = propertyValues.get(node.getObject());
-            if (valueMap != null) {
-                reportProperty.values[i] = valueMap.get(property);
-            }
-        }
-        if (lastLine.properties == null) {
-            lastLine.properties = new ArrayList<>();
-        }
-        lastLine.properties.add(reportProperty);
-
-        Object firstValue = reportProperty.values[0];
-        for (int i = 1; i < rootNodes.size(); i++) {
-            if (!CompareUtils.equalPropertyValues(reportProperty.values[i], firstValue)) {
-                lastLine.hasDifference = true;
-                break;
-            }
-        }
-    }
-
-    private void reportObjectsCompareEnd()
-    {
-        reportDepth--;
-    }
 
     public CompareObjectsExecutor(CompareObjectsSettings settings)
     {
         this.settings = settings;
         this.rootNodes = settings.getNodes();
-
-        initializeFinisher = new DBRProgressListener() {
-            @Override
-            public void onTaskFinished(IStatus status)
-            {
-                if (!status.isOK()) {
-                    initializeError = status;
-                } else {
-                    initializedCount++;
-                }
-            }
-        };
-        lazyPropertyLoadListener = new ILazyPropertyLoadListener() {
-            @Override
-            public void handlePropertyLoad(Object object, DBPPropertyDescriptor property, Object propertyValue, boolean completed)
-            {
-                synchronized (propertyValues) {
-                    Map<DBPPropertyDescriptor, Object> objectProps = propertyValues.get(object);
-                    if (objectProps != null) {
-                        objectProps.put(property, propertyValue);
-                    }
-                }
-            }
-        };
-        PropertiesContributor.getInstance().addLazyListener(lazyPropertyLoadListener);
-    }
-
-    IStatus getInitializeError()
-    {
-        return initializeError;
-    }
-
-    void dispose()
-    {
-        PropertiesContributor.getInstance().removeLazyListener(lazyPropertyLoadListener);
     }
 
     public CompareReport compareObjects(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
         throws DBException, InterruptedException
     {
         reportLines.clear();
-        lastLine = null;
 
-        compareNodes(monitor, nodes);
+        ObjectSnapshot[] snapshots = loadSnapshots(monitor, nodes);
+        monitor.subTask("Compare objects");
+        compareSnapshots(monitor, snapshots, 1);
         return new CompareReport(rootNodes, reportLines);
     }
 
-    private void compareNodes(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+    /**
+     * Loads trees of all nodes. Nodes of different data sources are loaded in parallel.
+     */
+    private ObjectSnapshot[] loadSnapshots(final DBRProgressMonitor monitor, final List<DBNDatabaseNode> nodes)
         throws DBException, InterruptedException
     {
-        reportObjectsCompareBegin(nodes);
+        final ObjectSnapshot[] snapshots = new ObjectSnapshot[nodes.size()];
+        // Metadata of one data source is read in one thread
+        Map<DBPDataSourceContainer, List<Integer>> dataSourceNodes = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            DBPDataSourceContainer container = nodes.get(i).getDataSourceContainer();
+            List<Integer> indexes = dataSourceNodes.get(container);
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+                dataSourceNodes.put(container, indexes);
+            }
+            indexes.add(i);
+        }
+        if (dataSourceNodes.size() == 1) {
+            for (int i = 0; i < nodes.size(); i++) {
+                snapshots[i] = loadSnapshot(monitor, nodes.get(i));
+            }
+            return snapshots;
+        }
 
+        ExecutorService executorService = Executors.newFixedThreadPool(dataSourceNodes.size());
         try {
-            if (nodes.size() > 1) {
-                // Go deeper only if we have more than one node
-                if (!settings.isCompareOnlyStructure() && !(nodes.get(0) instanceof DBNDatabaseFolder)) {
-                    compareProperties(monitor, nodes);
+            List<Future<?>> futures = new ArrayList<>();
+            for (final List<Integer> indexes : dataSourceNodes.values()) {
+                futures.add(executorService.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception
+                    {
+                        DBRProgressMonitor loadMonitor = new ProxyProgressMonitor(monitor);
+                        for (int index : indexes) {
+                            snapshots[index] = loadSnapshot(loadMonitor, nodes.get(index));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof InterruptedException) {
+                        throw (InterruptedException) cause;
+                    } else if (cause instanceof DBException) {
+                        throw (DBException) cause;
+                    }
+                    throw new DBException("Error loading objects for compare", cause);
                 }
-
-                compareChildren(monitor, nodes);
             }
         } finally {
-            reportObjectsCompareEnd();
+            executorService.shutdownNow();
         }
+        return snapshots;
     }
 
-    private void compareProperties(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
+    private ObjectSnapshot loadSnapshot(DBRProgressMonitor monitor, DBNDatabaseNode node)
+        throws DBException, InterruptedException
     {
-        // Clear compare singletons
-        this.initializedCount = 0;
-        this.initializeError = null;
-        this.propertyValues.clear();
+        if (monitor.isCanceled()) {
+            throw new InterruptedException();
+        }
+        monitor.subTask("Load " + node.getNodeFullName());
+        ObjectSnapshot snapshot = new ObjectSnapshot(node);
+        node.initializeNode(monitor, null);
+        if (!settings.isCompareOnlyStructure() && !(node instanceof DBNDatabaseFolder)) {
+            loadProperties(monitor, snapshot);
+        }
 
-        StringBuilder title = new StringBuilder();
-        // Initialize nodes
-        {
-            monitor.subTask("Initialize nodes");
-            for (DBNDatabaseNode node : nodes) {
-                if (title.length() > 0) title.append(", ");
-                title.append(node.getNodeFullName());
-                node.initializeNode(null, initializeFinisher);
-                monitor.worked(1);
-            }
-            while (initializedCount != nodes.size()) {
-                if (initializeError != null) {
-                    throw new DBException(initializeError.getMessage());
+        // Cache structure if possible
+        DBSObject object = node.getObject();
+        if (object instanceof DBSObjectContainer) {
+            ((DBSObjectContainer) object).cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        }
+        DBNDatabaseNode[] children = null;
+        boolean childrenLoaded = true;
+        try {
+            children = node.getChildren(monitor);
+        } catch (Exception e) {
+            log.warn("Error reading child nodes for compare", e);
+            childrenLoaded = false;
+        }
+        if (children != null) {
+            snapshot.children = new LinkedHashMap<>();
+            for (DBNDatabaseNode child : children) {
+                DBXTreeNode meta = child.getMeta();
+                if (meta.isVirtual()) {
+                    // Skip virtual nodes
+                    continue;
                 }
-                Thread.sleep(100);
-                if (monitor.isCanceled()) {
-                    throw new InterruptedException();
+                if (settings.isSkipSystemObjects() && child.getObject() instanceof DBPSystemObject && ((DBPSystemObject) child.getObject()).isSystem()) {
+                    // Skip system objects
+                    continue;
+                }
+                if (!snapshot.children.containsKey(child.getNodeName())) {
+                    snapshot.children.put(child.getNodeName(), loadSnapshot(monitor, child));
                 }
             }
         }
-
-        monitor.subTask("Compare " + title.toString());
-        boolean compareLazyProperties = false;
-
-        DBNDatabaseNode firstNode = nodes.get(0);
-        List<ObjectPropertyDescriptor> properties = ObjectPropertyDescriptor.extractAnnotations(
-            null,
-            firstNode.getObject().getClass(),
-            getDataSourceFilter(firstNode));
-        for (ObjectPropertyDescriptor prop : properties) {
-            if (prop.isLazy()) {
-                compareLazyProperties = true;
-                break;
-            }
+        if (childrenLoaded) {
+            snapshot.subtreeFingerprint = makeSubtreeFingerprint(snapshot);
         }
-        compareLazyProperties = compareLazyProperties && settings.isCompareLazyProperties();
+        monitor.worked(1);
+        return snapshot;
+    }
 
-        // Load all properties
-        for (DBNDatabaseNode node : nodes) {
-            if (monitor.isCanceled()) {
-                throw new InterruptedException();
-            }
-            DBSObject databaseObject = node.getObject();
-            Map<DBPPropertyDescriptor, Object> nodeProperties = propertyValues.get(databaseObject);
-            if (nodeProperties == null) {
-                nodeProperties = new IdentityHashMap<>();
-                propertyValues.put(databaseObject, nodeProperties);
+    private static byte[] makeSubtreeFingerprint(ObjectSnapshot snapshot)
+    {
+        MessageDigest digest = CompareUtils.createFingerprintDigest();
+        if (snapshot.propertyValues == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            CompareUtils.updateFingerprint(digest, snapshot.node.getObject().getClass().getName());
+            for (ObjectPropertyDescriptor prop : snapshot.properties) {
+                CompareUtils.updateFingerprint(digest, prop.getId());
+                if (!CompareUtils.updateFingerprint(digest, snapshot.propertyValues.get(prop.getId()))) {
+                    return null;
+                }
             }
-            PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties);
-            for (ObjectPropertyDescriptor prop : properties) {
-                Object propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop);
-                synchronized (PROPS_LOCK) {
-                    nodeProperties.put(prop, propertyValue);
+        }
+        if (snapshot.children == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            // Children are matched by names so their order doesn't matter
+            List<String> childNames = new ArrayList<>(snapshot.children.keySet());
+            Collections.sort(childNames);
+            for (String childName : childNames) {
+                byte[] childFingerprint = snapshot.children.get(childName).subtreeFingerprint;
+                if (childFingerprint == null) {
+                    return null;
                 }
+                CompareUtils.updateFingerprint(digest, childName);
+                digest.update(childFingerprint);
             }
-            monitor.worked(1);
         }
+        return digest.digest();
+    }
 
-        // Compare properties
-        for (ObjectPropertyDescriptor prop : properties) {
-            reportPropertyCompare(prop);
+    private void loadProperties(DBRProgressMonitor monitor, ObjectSnapshot snapshot)
+    {
+        DBSObject databaseObject = snapshot.node.getObject();
+        snapshot.properties = ObjectPropertyDescriptor.extractAnnotations(
+            null,
+            databaseObject.getClass(),
+            getDataSourceFilter(snapshot.node));
+        snapshot.propertyValues = new HashMap<>();
+        boolean compareLazyProperties = settings.isCompareLazyProperties();
+        PropertyCollector propertySource = new PropertyCollector(databaseObject, compareLazyProperties);
+        for (ObjectPropertyDescriptor prop : snapshot.properties) {
+            Object propertyValue = null;
+            if (compareLazyProperties || !prop.isLazy()) {
+                propertyValue = propertySource.getPropertyValue(monitor, databaseObject, prop);
+            }
+            snapshot.propertyValues.put(prop.getId(), propertyValue);
         }
     }
 
-    private void compareChildren(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes) throws DBException, InterruptedException
+    /**
+     * Adds report line for objects with the same name (missing objects are nulls) and for their children.
+     */
+    private void compareSnapshots(DBRProgressMonitor monitor, ObjectSnapshot[] snapshots, int depth)
+        throws InterruptedException
     {
-        // Compare children
-        int nodeCount = nodes.size();
-        List<DBNDatabaseNode[]> allChildren = new ArrayList<>(nodeCount);
-        for (int i = 0; i < nodeCount; i++) {
-            DBNDatabaseNode node = nodes.get(i);
-            // Cache structure if possible
-            if (node.getObject() instanceof DBSObjectContainer) {
-                ((DBSObjectContainer) node.getObject()).cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+        if (monitor.isCanceled()) {
+            throw new InterruptedException();
+        }
+        CompareReportLine line = new CompareReportLine();
+        line.depth = depth;
+        line.nodes = new DBNDatabaseNode[snapshots.length];
+        ObjectSnapshot firstSnapshot = null;
+        int objectCount = 0;
+        boolean sameSubtrees = true;
+        for (int i = 0; i < snapshots.length; i++) {
+            ObjectSnapshot snapshot = snapshots[i];
+            if (snapshot == null) {
+                line.hasDifference = true;
+                continue;
             }
-            try {
-                DBNDatabaseNode[] children = node.getChildren(monitor);
-                allChildren.add(children);
-            } catch (Exception e) {
-                log.warn("Error reading child nodes for compare", e);
-                allChildren.add(null);
+            line.nodes[i] = snapshot.node;
+            if (firstSnapshot == null) {
+                firstSnapshot = snapshot;
+                line.structure = snapshot.node;
+            } else if (snapshot.subtreeFingerprint == null || !Arrays.equals(snapshot.subtreeFingerprint, firstSnapshot.subtreeFingerprint)) {
+                sameSubtrees = false;
             }
+            objectCount++;
         }
-
-        Set<String> allChildNames = new LinkedHashSet<>();
-        for (DBNDatabaseNode[] childList : allChildren) {
-            if (childList == null) continue;
-            for (DBNDatabaseNode child : childList) {
-                DBXTreeNode meta = child.getMeta();
-                if (meta.isVirtual()) {
-                    // Skip virtual nodes
-                    continue;
-                }
-                if (settings.isSkipSystemObjects() && child.getObject() instanceof DBPSystemObject && ((DBPSystemObject) child.getObject()).isSystem()) {
-                    // Skip system objects
-                    continue;
-                }
-                allChildNames.add(child.getNodeName());
-            }
+        reportLines.add(line);
+        if (objectCount < 2) {
+            // Go deeper only if we have more than one object
+            return;
         }
 
-        for (String childName : allChildNames) {
-            int[] childIndexes = new int[nodeCount];
-            for (int i = 0; i < nodeCount; i++) {
-                childIndexes[i] = -1;
-                DBNDatabaseNode[] childList = allChildren.get(i);
-                if (childList == null) continue;
-                for (int k = 0; k < childList.length; k++) {
-                    DBNDatabaseNode child = childList[k];
-                    if (child.getNodeName().equals(childName)) {
-                        childIndexes[i] = k;
-                        break;
+        if (firstSnapshot.properties != null) {
+            line.properties = new ArrayList<>(firstSnapshot.properties.size());
+            for (ObjectPropertyDescriptor property : firstSnapshot.properties) {
+                CompareReportProperty reportProperty = new CompareReportProperty(property);
+                reportProperty.values = new Object[snapshots.length];
+                for (int i = 0; i < snapshots.length; i++) {
+                    if (snapshots[i] != null && snapshots[i].propertyValues != null) {
+                        reportProperty.values[i] = snapshots[i].propertyValues.get(property.getId());
                     }
                 }
-            }
-
-            List<DBNDatabaseNode> nodesToCompare = new ArrayList<>(nodeCount);
-            for (int i = 0; i < nodeCount; i++) {
-                if (childIndexes[i] == -1) {
-                    // Missing
-                } else {
-                    for (int k = 0; k < nodeCount; k++) {
-                        if (k != i && childIndexes[k] != childIndexes[i]) {
-                            // Wrong index - add to report
+                line.properties.add(reportProperty);
+                if (!line.hasDifference) {
+                    Object firstValue = reportProperty.values[0];
+                    for (int i = 1; i < snapshots.length; i++) {
+                        if (!CompareUtils.equalPropertyValues(reportProperty.values[i], firstValue)) {
+                            line.hasDifference = true;
                             break;
                         }
                     }
-                    final DBNDatabaseNode[] childList = allChildren.get(i);
-                    if (childList != null) {
-                        nodesToCompare.add(childList[childIndexes[i]]);
-                    }
                 }
             }
-            // Compare children recursively
-            compareNodes(monitor, nodesToCompare);
         }
-    }
 
+        if (sameSubtrees && !line.hasDifference && settings.isShowOnlyDifferences()) {
+            // Identical subtrees - nothing to report
+            return;
+        }
+        Set<String> allChildNames = new LinkedHashSet<>();
+        for (ObjectSnapshot snapshot : snapshots) {
+            if (snapshot != null && snapshot.children != null) {
+                allChildNames.addAll(snapshot.children.keySet());
+            }
+        }
+        for (String childName : allChildNames) {
+            ObjectSnapshot[] children = new ObjectSnapshot[snapshots.length];
+            for (int i = 0; i < snapshots.length; i++) {
+                if (snapshots[i] != null && snapshots[i].children != null) {
+                    children[i] = snapshots[i].children.get(childName);
+                }
+            }
+            compareSnapshots(monitor, children, depth + 1);
+        }
+    }
 
     private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
@@ -335,12 +337,14 @@ public class CompareObjectsExecutor {
         if (dataSource == null) {
             return null;
         }
-        DataSourcePropertyFilter filter = dataSourceFilters.get(dataSource);
-        if (filter == null) {
-            filter = new DataSourcePropertyFilter(dataSource);
-            dataSourceFilters.put(dataSource, filter);
+        synchronized (dataSourceFilters) {
+            DataSourcePropertyFilter filter = dataSourceFilters.get(dataSource);
+            if (filter == null) {
+                filter = new DataSourcePropertyFilter(dataSource);
+                dataSourceFilters.put(dataSource, filter);
+            }
+            return filter;
         }
-        return filter;
     }
 
-}
\ No newline at end of file
+}
@@ -92,7 +92,7 @@ class CompareObjectsPageOutput extends ActiveWizardPage<CompareObjectsWizard> {
                     for (CompareObjectsSettings.OutputType outputType : CompareObjectsSettings.OutputType.values()) {
                         if (outputType.ordinal() == reportTypeCombo.getSelectionIndex()) {
                             settings.setOutputType(outputType);
-                            UIUtils.enableWithChildren(outputFolderText.getParent(), outputType == CompareObjectsSettings.OutputType.FILE);
+                            UIUtils.enableWithChildren(outputFolderText.getParent(), outputType != CompareObjectsSettings.OutputType.BROWSER);
                             break;
                         }
                     }
@@ -101,7 +101,7 @@ class CompareObjectsPageOutput extends ActiveWizardPage<CompareObjectsWizard> {
 
             outputFolderText = DialogUtils.createOutputFolderChooser(outputSettings, null, null);
             outputFolderText.setText(settings.getOutputFolder());
-            UIUtils.enableWithChildren(outputFolderText.getParent(), settings.getOutputType() == CompareObjectsSettings.OutputType.FILE);
+            UIUtils.enableWithChildren(outputFolderText.getParent(), settings.getOutputType() != CompareObjectsSettings.OutputType.BROWSER);
             outputFolderText.addModifyListener(new ModifyListener() {
                 @Override
                 public void modifyText(ModifyEvent e)
@@ -30,7 +30,8 @@ public class CompareObjectsSettings {
 
     public enum OutputType {
         BROWSER("Open in browser"),
-        FILE("Save to file");
+        FILE("Save to file"),
+        DIFF("Save differences to XML file");
         private final String title;
 
         private OutputType(String title)
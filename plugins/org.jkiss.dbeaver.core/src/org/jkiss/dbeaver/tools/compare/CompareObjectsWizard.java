@@ -113,18 +113,12 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
             });
             UIUtils.showMessageBox(getShell(), "Objects compare", "Objects compare finished", SWT.ICON_INFORMATION);
         } catch (InvocationTargetException e) {
-            if (executor.getInitializeError() != null) {
-                showError(executor.getInitializeError().getMessage());
-            } else {
-                log.error(e.getTargetException());
-                showError(e.getTargetException().getMessage());
-            }
+            log.error(e.getTargetException());
+            showError(e.getTargetException().getMessage());
             return false;
         } catch (InterruptedException e) {
             showError("Compare interrupted");
             return false;
-        } finally {
-            executor.dispose();
         }
 
         // Done
@@ -146,6 +140,7 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
             switch (settings.getOutputType()) {
                 case BROWSER:
                     reportFile = File.createTempFile("compare-report", ".html");
+                    reportFile.deleteOnExit();
                     break;
                 default:
                 {
@@ -153,18 +148,25 @@ public class CompareObjectsWizard extends Wizard implements IExportWizard {
                     for (DBNDatabaseNode node : report.getNodes()) {
                         fileName.append("-").append(CommonUtils.escapeIdentifier(node.getName()));
                     }
-                    fileName.append("-report.html");
+                    if (settings.getOutputType() == CompareObjectsSettings.OutputType.DIFF) {
+                        fileName.append("-diff.xml");
+                    } else {
+                        fileName.append("-report.html");
+                    }
                     reportFile = new File(settings.getOutputFolder(), fileName.toString());
                     break;
                 }
             }
 
-            reportFile.deleteOnExit();
             OutputStream outputStream = new FileOutputStream(reportFile);
             try {
                 monitor.beginTask("Render report", report.getReportLines().size());
-                CompareReportRenderer reportRenderer = new CompareReportRenderer();
-                reportRenderer.renderReport(monitor, report, getSettings(), outputStream);
+                if (settings.getOutputType() == CompareObjectsSettings.OutputType.DIFF) {
+                    new CompareDiffRenderer().renderDiff(monitor, report, outputStream);
+                } else {
+                    CompareReportRenderer reportRenderer = new CompareReportRenderer();
+                    reportRenderer.renderReport(monitor, report, getSettings(), outputStream);
+                }
                 monitor.done();
             } finally {
                 ContentUtils.close(outputStream);
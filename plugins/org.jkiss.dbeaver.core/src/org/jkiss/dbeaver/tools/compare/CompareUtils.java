@@ -21,11 +21,18 @@ import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.utils.CommonUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+
 /**
  * Compare utils
  */
 public class CompareUtils {
 
+    private static final String FINGERPRINT_ALGORITHM = "SHA-1";
+
     public static boolean equalPropertyValues(Object value1, Object value2)
     {
         if (value1 instanceof DBSObject && value2 instanceof DBSObject) {
@@ -49,4 +56,65 @@ public class CompareUtils {
         }
     }
 
+    /**
+     * Creates digest for objects fingerprints.
+     * Digest is collision resistant, so objects with the same fingerprints are considered identical.
+     */
+    public static MessageDigest createFingerprintDigest()
+    {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Fingerprint algorithm " + FINGERPRINT_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * Adds string to fingerprint. Strings are prefixed with length so their sequence is unambiguous.
+     */
+    public static void updateFingerprint(MessageDigest digest, String value)
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    /**
+     * Adds canonical string of property value to fingerprint.
+     * Values which are equal according to {@link #equalPropertyValues(Object, Object)} have the same canonical strings,
+     * different values have different ones.
+     * @return false if value has no canonical string. Fingerprint can't be used to compare objects then.
+     */
+    public static boolean updateFingerprint(MessageDigest digest, Object value)
+    {
+        if (value == null) {
+            updateFingerprint(digest, "N");
+        } else if (value instanceof DBSObject) {
+            updateFingerprint(digest, "O");
+            for (DBSObject object = (DBSObject) value; object != null; object = object.getParentObject()) {
+                updateFingerprint(digest, object.getClass().getName());
+                if (object instanceof DBPDataSourceContainer) {
+                    break;
+                }
+                updateFingerprint(digest, CommonUtils.notEmpty(object.getName()));
+            }
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean ||
+            value instanceof Character || value instanceof Enum)
+        {
+            updateFingerprint(digest, "V");
+            updateFingerprint(digest, value.getClass().getName());
+            updateFingerprint(digest, value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        } else if (value instanceof Date) {
+            updateFingerprint(digest, "V");
+            updateFingerprint(digest, value.getClass().getName());
+            updateFingerprint(digest, String.valueOf(((Date) value).getTime()));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
 }
@@ -0,0 +1,206 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverActivator;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.util.Properties;
+
+/**
+ * Data transfer journal.
+ * Keeps the last committed position of each transfer pipe so a failed transfer may be resumed
+ * from its last checkpoint instead of being restarted from scratch.
+ * Pipes which finished successfully are removed from the journal.
+ */
+public class DataTransferJournal {
+
+    private static final Log log = Log.getLog(DataTransferJournal.class);
+
+    private static final String JOURNAL_FILE_NAME = "transfer-journal.properties"; //$NON-NLS-1$
+
+    private static final String PROP_ROW_OFFSET = ".rowOffset"; //$NON-NLS-1$
+    private static final String PROP_OUTPUT_FILE = ".outputFile"; //$NON-NLS-1$
+    private static final String PROP_OUTPUT_LENGTH = ".outputLength"; //$NON-NLS-1$
+
+    private static DataTransferJournal instance;
+
+    /**
+     * Consumer which can continue transfer from a checkpoint
+     */
+    public interface CheckpointTarget {
+        /**
+         * Describes consumer target and output settings (target container, output file, format, etc).
+         * Checkpoints are resumed only by transfers with the same target.
+         */
+        @NotNull
+        String getCheckpointTarget();
+    }
+
+    /**
+     * Position of the pipe at its last commit
+     */
+    public static class Checkpoint {
+        private final long rowOffset;
+        private final String outputFile;
+        private final long outputLength;
+
+        public Checkpoint(long rowOffset)
+        {
+            this(rowOffset, null, 0);
+        }
+
+        public Checkpoint(long rowOffset, @Nullable String outputFile, long outputLength)
+        {
+            this.rowOffset = rowOffset;
+            this.outputFile = outputFile;
+            this.outputLength = outputLength;
+        }
+
+        /**
+         * Number of source rows which were completely processed by consumer
+         */
+        public long getRowOffset()
+        {
+            return rowOffset;
+        }
+
+        /**
+         * Partially written output file (stream consumers only)
+         */
+        @Nullable
+        public String getOutputFile()
+        {
+            return outputFile;
+        }
+
+        /**
+         * Length of output file at the moment of checkpoint
+         */
+        public long getOutputLength()
+        {
+            return outputLength;
+        }
+    }
+
+    private final File journalFile;
+    private final Properties entries = new Properties();
+
+    public static synchronized DataTransferJournal getInstance()
+    {
+        if (instance == null) {
+            instance = new DataTransferJournal(
+                new File(DBeaverActivator.getInstance().getStateLocation().toFile(), JOURNAL_FILE_NAME));
+        }
+        return instance;
+    }
+
+    private DataTransferJournal(File journalFile)
+    {
+        this.journalFile = journalFile;
+        if (journalFile.exists()) {
+            try (InputStream is = new FileInputStream(journalFile)) {
+                entries.load(is);
+            } catch (IOException e) {
+                log.warn("Can't read data transfer journal", e);
+            }
+        }
+    }
+
+    /**
+     * Makes pipe identifier. Identifier includes consumer target description (but not consumer target name because
+     * target names may contain timestamps, e.g. stream output file names).
+     */
+    @NotNull
+    public static String makePipeId(@NotNull DBSObject sourceObject, @NotNull IDataTransferConsumer consumer)
+    {
+        StringBuilder pipeId = new StringBuilder();
+        DBPDataSource dataSource = sourceObject.getDataSource();
+        if (dataSource != null) {
+            pipeId.append(dataSource.getContainer().getId()).append(':');
+        }
+        pipeId.append(DBUtils.getObjectFullName(sourceObject));
+        pipeId.append("->").append(consumer.getClass().getSimpleName());
+        if (consumer instanceof CheckpointTarget) {
+            pipeId.append(':').append(((CheckpointTarget) consumer).getCheckpointTarget());
+        }
+        return pipeId.toString();
+    }
+
+    @Nullable
+    public synchronized Checkpoint getCheckpoint(@NotNull String pipeId)
+    {
+        String rowOffset = entries.getProperty(pipeId + PROP_ROW_OFFSET);
+        if (CommonUtils.isEmpty(rowOffset)) {
+            return null;
+        }
+        return new Checkpoint(
+            CommonUtils.toLong(rowOffset),
+            entries.getProperty(pipeId + PROP_OUTPUT_FILE),
+            CommonUtils.toLong(entries.getProperty(pipeId + PROP_OUTPUT_LENGTH)));
+    }
+
+    public synchronized void saveCheckpoint(@NotNull String pipeId, @NotNull Checkpoint checkpoint)
+    {
+        entries.setProperty(pipeId + PROP_ROW_OFFSET, String.valueOf(checkpoint.getRowOffset()));
+        if (checkpoint.getOutputFile() != null) {
+            entries.setProperty(pipeId + PROP_OUTPUT_FILE, checkpoint.getOutputFile());
+            entries.setProperty(pipeId + PROP_OUTPUT_LENGTH, String.valueOf(checkpoint.getOutputLength()));
+        } else {
+            entries.remove(pipeId + PROP_OUTPUT_FILE);
+            entries.remove(pipeId + PROP_OUTPUT_LENGTH);
+        }
+        flush();
+    }
+
+    public synchronized void removeCheckpoint(@NotNull String pipeId)
+    {
+        if (entries.remove(pipeId + PROP_ROW_OFFSET) != null) {
+            entries.remove(pipeId + PROP_OUTPUT_FILE);
+            entries.remove(pipeId + PROP_OUTPUT_LENGTH);
+            flush();
+        }
+    }
+
+    private void flush()
+    {
+        // Write into temp file first so crash in the middle of write won't break the journal
+        File tmpFile = new File(journalFile.getParentFile(), journalFile.getName() + ".tmp");
+        try {
+            try (OutputStream os = new FileOutputStream(tmpFile)) {
+                entries.store(os, "DBeaver data transfer journal");
+            }
+            if (journalFile.exists() && !journalFile.delete()) {
+                log.warn("Can't delete old data transfer journal");
+            }
+            if (!tmpFile.renameTo(journalFile)) {
+                log.warn("Can't save data transfer journal");
+            }
+        } catch (IOException e) {
+            log.warn("Can't write data transfer journal", e);
+        }
+    }
+
+}
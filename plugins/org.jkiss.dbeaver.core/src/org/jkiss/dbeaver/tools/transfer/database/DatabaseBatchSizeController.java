@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+/**
+ * Controls number of rows inserted (and committed) at once by database consumer.
+ * In adaptive mode measures each batch round trip and resizes next batches so that
+ * one round trip takes 1-2 seconds. Size always stays within configured bounds.
+ */
+public class DatabaseBatchSizeController {
+
+    // Target round trip time
+    private static final long TARGET_MIN_TIME = 1000;
+    private static final long TARGET_MAX_TIME = 2000;
+    private static final long TARGET_TIME = (TARGET_MIN_TIME + TARGET_MAX_TIME) / 2;
+    // Batch may grow at most twice per round trip
+    private static final double MAX_GROW_FACTOR = 2.0;
+    // Weight of the last measurement in average row time
+    private static final double SMOOTH_FACTOR = 0.5;
+
+    private final boolean adaptive;
+    private final int minSize;
+    private final int maxSize;
+    private int batchSize;
+
+    private double avgRowTime = -1;
+    private long totalRows;
+    private long totalTime;
+    private long batchCount;
+    private int minUsedSize = Integer.MAX_VALUE;
+    private int maxUsedSize;
+
+    public DatabaseBatchSizeController(DatabaseConsumerSettings settings)
+    {
+        this.adaptive = settings.isAdaptiveCommit();
+        this.minSize = Math.max(1, settings.getMinCommitRows());
+        this.maxSize = Math.max(this.minSize, settings.getMaxCommitRows());
+        this.batchSize = adaptive ?
+            Math.min(maxSize, Math.max(minSize, settings.getCommitAfterRows())) :
+            Math.max(1, settings.getCommitAfterRows());
+    }
+
+    public boolean isAdaptive()
+    {
+        return adaptive;
+    }
+
+    /**
+     * Number of rows to collect before next flush and commit
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Registers finished batch and calculates size of the next one.
+     * @param rowCount rows in batch
+     * @param time     batch insert and commit time (ms)
+     */
+    public void batchFinished(int rowCount, long time)
+    {
+        if (rowCount <= 0) {
+            return;
+        }
+        totalRows += rowCount;
+        totalTime += time;
+        batchCount++;
+        minUsedSize = Math.min(minUsedSize, rowCount);
+        maxUsedSize = Math.max(maxUsedSize, rowCount);
+
+        if (!adaptive || rowCount < batchSize) {
+            // Fixed size or the last (incomplete) batch - nothing to learn
+            return;
+        }
+        double rowTime = (double) Math.max(time, 1) / rowCount;
+        avgRowTime = avgRowTime < 0 ? rowTime : SMOOTH_FACTOR * rowTime + (1 - SMOOTH_FACTOR) * avgRowTime;
+        if (time >= TARGET_MIN_TIME && time <= TARGET_MAX_TIME) {
+            // Good enough
+            return;
+        }
+        long newSize = Math.round(TARGET_TIME / avgRowTime);
+        newSize = Math.min(newSize, Math.round(batchSize * MAX_GROW_FACTOR));
+        batchSize = (int) Math.min(maxSize, Math.max(minSize, newSize));
+    }
+
+    public long getBatchCount()
+    {
+        return batchCount;
+    }
+
+    /**
+     * Rows per second
+     */
+    public long getThroughput()
+    {
+        return totalTime <= 0 ? 0 : totalRows * 1000 / totalTime;
+    }
+
+    public String getSummary()
+    {
+        if (batchCount == 0) {
+            return "no batches";
+        }
+        return batchCount + " batches, size " +
+            (minUsedSize == maxUsedSize ? String.valueOf(minUsedSize) : minUsedSize + ".." + maxUsedSize) +
+            ", last " + batchSize + ", avg " + (totalRows / batchCount) + " rows/batch, " +
+            getThroughput() + " rows/s";
+    }
+
+}
@@ -87,6 +87,45 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
                 }
             });
             commitAfterEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button adaptiveCommitCheck = UIUtils.createLabelCheckbox(
+                performanceSettings,
+                "Adaptive commit size",
+                "Resize batches to keep each insert/commit round trip within 1-2 seconds",
+                settings.isAdaptiveCommit());
+            adaptiveCommitCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Spinner minCommitEdit = UIUtils.createLabelSpinner(performanceSettings, "Min rows in commit", settings.getMinCommitRows(), 1, Integer.MAX_VALUE);
+            minCommitEdit.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setMinCommitRows(minCommitEdit.getSelection());
+                }
+            });
+            minCommitEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Spinner maxCommitEdit = UIUtils.createLabelSpinner(performanceSettings, "Max rows in commit", settings.getMaxCommitRows(), 1, Integer.MAX_VALUE);
+            maxCommitEdit.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setMaxCommitRows(maxCommitEdit.getSelection());
+                }
+            });
+            maxCommitEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            minCommitEdit.setEnabled(settings.isAdaptiveCommit());
+            maxCommitEdit.setEnabled(settings.isAdaptiveCommit());
+            adaptiveCommitCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setAdaptiveCommit(adaptiveCommitCheck.getSelection());
+                    minCommitEdit.setEnabled(adaptiveCommitCheck.getSelection());
+                    maxCommitEdit.setEnabled(adaptiveCommitCheck.getSelection());
+                }
+            });
         }
 
         {
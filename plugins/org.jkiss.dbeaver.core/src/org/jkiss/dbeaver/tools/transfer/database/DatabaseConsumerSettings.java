@@ -59,6 +59,9 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
     private boolean openNewConnections = true;
     private boolean useTransactions = true;
     private int commitAfterRows = 10000;
+    private boolean adaptiveCommit = false;
+    private int minCommitRows = 100;
+    private int maxCommitRows = 100000;
     private boolean openTableOnFinish = true;
 
     public DatabaseConsumerSettings()
@@ -151,6 +154,36 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.commitAfterRows = commitAfterRows;
     }
 
+    public boolean isAdaptiveCommit()
+    {
+        return adaptiveCommit;
+    }
+
+    public void setAdaptiveCommit(boolean adaptiveCommit)
+    {
+        this.adaptiveCommit = adaptiveCommit;
+    }
+
+    public int getMinCommitRows()
+    {
+        return minCommitRows;
+    }
+
+    public void setMinCommitRows(int minCommitRows)
+    {
+        this.minCommitRows = minCommitRows;
+    }
+
+    public int getMaxCommitRows()
+    {
+        return maxCommitRows;
+    }
+
+    public void setMaxCommitRows(int maxCommitRows)
+    {
+        this.maxCommitRows = maxCommitRows;
+    }
+
     @Nullable
     DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping)
     {
@@ -177,6 +210,15 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (dialogSettings.get("commitAfterRows") != null) {
             commitAfterRows = dialogSettings.getInt("commitAfterRows");
         }
+        if (dialogSettings.get("adaptiveCommit") != null) {
+            adaptiveCommit = dialogSettings.getBoolean("adaptiveCommit");
+        }
+        if (dialogSettings.get("minCommitRows") != null) {
+            minCommitRows = dialogSettings.getInt("minCommitRows");
+        }
+        if (dialogSettings.get("maxCommitRows") != null) {
+            maxCommitRows = dialogSettings.getInt("maxCommitRows");
+        }
         if (dialogSettings.get("openTableOnFinish") != null) {
             openTableOnFinish = dialogSettings.getBoolean("openTableOnFinish");
         }
@@ -205,6 +247,9 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("useTransactions", useTransactions);
         dialogSettings.put("commitAfterRows", commitAfterRows);
+        dialogSettings.put("adaptiveCommit", adaptiveCommit);
+        dialogSettings.put("minCommitRows", minCommitRows);
+        dialogSettings.put("maxCommitRows", maxCommitRows);
         dialogSettings.put("openTableOnFinish", openTableOnFinish);
     }
 
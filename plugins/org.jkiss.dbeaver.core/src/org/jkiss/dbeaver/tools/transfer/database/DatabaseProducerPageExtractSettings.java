@@ -41,6 +41,8 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
     private Text segmentSizeText;
     private Button newConnectionCheckbox;
     private Button rowCountCheckbox;
+    private Button resumeCheckbox;
+    private Button nativeExportCheckbox;
 
     public DatabaseProducerPageExtractSettings() {
         super("Extraction settings");
@@ -136,6 +138,26 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 }
             });
             rowCountCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            resumeCheckbox = UIUtils.createLabelCheckbox(generalSettings, CoreMessages.data_transfer_wizard_output_checkbox_resume_transfer, false);
+            resumeCheckbox.setToolTipText(CoreMessages.data_transfer_wizard_output_checkbox_resume_transfer_tip);
+            resumeCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setResumeTransfer(resumeCheckbox.getSelection());
+                }
+            });
+            resumeCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            nativeExportCheckbox = UIUtils.createLabelCheckbox(generalSettings, CoreMessages.data_transfer_wizard_output_checkbox_native_export, false);
+            nativeExportCheckbox.setToolTipText(CoreMessages.data_transfer_wizard_output_checkbox_native_export_tip);
+            nativeExportCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setNativeExport(nativeExportCheckbox.getSelection());
+                }
+            });
+            nativeExportCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
         }
 
         setControl(composite);
@@ -149,6 +171,8 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
 
         newConnectionCheckbox.setSelection(settings.isOpenNewConnections());
         rowCountCheckbox.setSelection(settings.isQueryRowCount());
+        resumeCheckbox.setSelection(settings.isResumeTransfer());
+        nativeExportCheckbox.setSelection(settings.isNativeExport());
 
         if (segmentSizeText != null) {
             segmentSizeText.setText(String.valueOf(settings.getSegmentSize()));
@@ -39,6 +39,8 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
     private boolean openNewConnections = true;
     private boolean queryRowCount = true;
+    private boolean resumeTransfer = false;
+    private boolean nativeExport = false;
     private ExtractType extractType = ExtractType.SINGLE_QUERY;
 
     public DatabaseProducerSettings()
@@ -77,6 +79,26 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         this.openNewConnections = openNewConnections;
     }
 
+    public boolean isResumeTransfer()
+    {
+        return resumeTransfer;
+    }
+
+    public void setResumeTransfer(boolean resumeTransfer)
+    {
+        this.resumeTransfer = resumeTransfer;
+    }
+
+    public boolean isNativeExport()
+    {
+        return nativeExport;
+    }
+
+    public void setNativeExport(boolean nativeExport)
+    {
+        this.nativeExport = nativeExport;
+    }
+
     public ExtractType getExtractType()
     {
         return extractType;
@@ -108,6 +130,12 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         if (!CommonUtils.isEmpty(dialogSettings.get("queryRowCount"))) {
             queryRowCount = dialogSettings.getBoolean("queryRowCount");
         }
+        if (!CommonUtils.isEmpty(dialogSettings.get("resumeTransfer"))) {
+            resumeTransfer = dialogSettings.getBoolean("resumeTransfer");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("nativeExport"))) {
+            nativeExport = dialogSettings.getBoolean("nativeExport");
+        }
     }
 
     @Override
@@ -117,5 +145,7 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         dialogSettings.put("segmentSize", segmentSize);
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("queryRowCount", queryRowCount);
+        dialogSettings.put("resumeTransfer", resumeTransfer);
+        dialogSettings.put("nativeExport", nativeExport);
     }
 }
@@ -17,6 +17,8 @@
  */
 package org.jkiss.dbeaver.tools.transfer.database;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.DBeaverUI;
@@ -31,6 +33,7 @@ import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+import org.jkiss.dbeaver.tools.transfer.DataTransferJournal;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
 import org.jkiss.dbeaver.ui.UIUtils;
@@ -44,7 +47,7 @@ import java.util.*;
 /**
 * Stream transfer consumer
 */
-public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor> {
+public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor>, DataTransferJournal.CheckpointTarget {
 
     private static final Log log = Log.getLog(DatabaseTransferConsumer.class);
 
@@ -57,6 +60,10 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
     private long rowsExported = 0;
+    private String pipeId;
+    private long resumeOffset;
+    private DatabaseBatchSizeController batchController;
+    private int rowsInBatch = 0;
     private boolean ignoreErrors = false;
     private List<DBSEntityAttribute> targetAttributes;
 
@@ -85,6 +92,13 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     @Override
     public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
     {
+        if (pipeId == null) {
+            // Producer already decided whether we resume previous transfer or not
+            pipeId = DataTransferJournal.makePipeId(sourceObject, this);
+            DataTransferJournal.Checkpoint checkpoint = DataTransferJournal.getInstance().getCheckpoint(pipeId);
+            resumeOffset = checkpoint == null ? 0 : checkpoint.getRowOffset();
+            batchController = new DatabaseBatchSizeController(settings);
+        }
         initExporter(session.getProgressMonitor());
         DBCResultSetMetaData metaData = resultSet.getMeta();
         List<DBCAttributeMetaData> rsAttributes = metaData.getAttributes();
@@ -134,20 +148,27 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         executeBatch.add(rowValues);
 
         rowsExported++;
+        rowsInBatch++;
 
         insertBatch(false);
     }
 
     private void insertBatch(boolean force) throws DBCException
     {
-        boolean needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
-        if (needCommit && executeBatch != null) {
+        boolean needCommit = force || rowsInBatch >= batchController.getBatchSize();
+        if (!needCommit) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        boolean hasErrors = false;
+        if (executeBatch != null) {
             boolean retryInsert;
             do {
                 retryInsert = false;
                 try {
                     executeBatch.execute(targetSession);
                 } catch (Throwable e) {
+                    hasErrors = true;
                     log.error("Error inserting row", e);
                     if (!ignoreErrors) {
                         ExecutionQueueErrorResponse response = ExecutionQueueErrorJob.showError(
@@ -175,18 +196,29 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 }
             } while (retryInsert);
         }
-        if (settings.isUseTransactions() && needCommit) {
+        if (settings.isUseTransactions()) {
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
             if (txnManager != null && !txnManager.isAutoCommit()) {
                 txnManager.commit(targetSession);
             }
         }
+        if (!hasErrors) {
+            // Time spent in error dialogs says nothing about the target performance
+            batchController.batchFinished(rowsInBatch, System.currentTimeMillis() - startTime);
+        }
+        rowsInBatch = 0;
+        if (pipeId != null) {
+            // All rows up to this one are in target now
+            DataTransferJournal.getInstance().saveCheckpoint(
+                pipeId,
+                new DataTransferJournal.Checkpoint(resumeOffset + rowsExported));
+        }
     }
 
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
     {
-        if (rowsExported > 0) {
+        if (rowsInBatch > 0) {
             insertBatch(true);
         }
         if (executeBatch != null) {
@@ -422,6 +454,12 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     @Override
     public void finishTransfer(DBRProgressMonitor monitor, boolean last)
     {
+        if (!last) {
+            String summary = getTransferSummary();
+            if (summary != null) {
+                log.info("Data load " + summary);
+            }
+        }
         if (!last && settings.isOpenTableOnFinish()) {
             if (containerMapping != null && containerMapping.getTarget() != null) {
                 UIUtils.runInUI(DBeaverUI.getActiveWorkbenchShell(), new Runnable() {
@@ -435,11 +473,49 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
     }
 
+    /**
+     * Rows and commit batch sizes used to load data into target table.
+     * @return null if nothing was loaded
+     */
+    @Nullable
+    public String getTransferSummary()
+    {
+        if (batchController == null || containerMapping == null) {
+            return null;
+        }
+        return "into " + DBUtils.getObjectFullName(containerMapping.getTarget()) + ": " +
+            rowsExported + " rows, " + batchController.getSummary() +
+            (batchController.isAdaptive() ? " (adaptive)" : "");
+    }
+
     public DBSDataManipulator getTargetObject()
     {
         return targetObject;
     }
 
+    @NotNull
+    @Override
+    public String getCheckpointTarget()
+    {
+        // Target container and table
+        StringBuilder target = new StringBuilder();
+        DBSObject targetContainer = targetObject != null ? targetObject : settings.getContainer();
+        if (targetContainer != null) {
+            DBPDataSource targetDataSource = targetContainer.getDataSource();
+            if (targetDataSource != null) {
+                target.append(targetDataSource.getContainer().getId()).append(':');
+            }
+            target.append(DBUtils.getObjectFullName(targetContainer));
+        }
+        if (targetObject == null) {
+            DatabaseMappingContainer dataMapping = settings.getDataMapping(sourceObject);
+            if (dataMapping != null) {
+                target.append('/').append(dataMapping.getTargetName());
+            }
+        }
+        return target.toString();
+    }
+
     @Override
     public String getTargetName()
     {
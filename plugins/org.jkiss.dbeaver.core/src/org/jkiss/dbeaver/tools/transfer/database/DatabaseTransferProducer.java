@@ -30,8 +30,11 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.tools.transfer.DataTransferJournal;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamNativeCSVSource;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferConsumer;
 
 /**
  * Data container transfer producer
@@ -71,6 +74,21 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         String contextTask = CoreMessages.data_transfer_wizard_job_task_export;
         DBPDataSource dataSource = getSourceObject().getDataSource();
         assert (dataSource != null);
+
+        // Resume from the last checkpoint if previous transfer of this pipe has failed
+        long resumeOffset = 0;
+        DataTransferJournal journal = DataTransferJournal.getInstance();
+        String pipeId = DataTransferJournal.makePipeId(dataContainer, consumer);
+        if (settings.isResumeTransfer()) {
+            DataTransferJournal.Checkpoint checkpoint = journal.getCheckpoint(pipeId);
+            if (checkpoint != null) {
+                resumeOffset = checkpoint.getRowOffset();
+                log.debug("Resume transfer of '" + dataContainer.getName() + "' from row " + resumeOffset);
+            }
+        } else {
+            journal.removeCheckpoint(pipeId);
+        }
+
         boolean newConnection = settings.isOpenNewConnections();
         DBCExecutionContext context = newConnection ?
             dataSource.openIsolatedContext(monitor, "Data transfer producer") : dataSource.getDefaultContext(false);
@@ -96,7 +114,7 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                 if (settings.isQueryRowCount() && (dataContainer.getSupportedFeatures() & DBSDataContainer.DATA_COUNT) != 0) {
                     monitor.beginTask(CoreMessages.data_transfer_wizard_job_task_retrieve, 1);
                     try {
-                        totalRows = dataContainer.countData(transferSource, session, dataFilter);
+                        totalRows = dataContainer.countData(transferSource, session, dataFilter) - resumeOffset;
                     } catch (Throwable e) {
                         log.warn("Can't retrieve row count from '" + dataContainer.getName() + "'", e);
                     } finally {
@@ -108,12 +126,15 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                 try {
                     // Perform export
-                    if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                    if (resumeOffset == 0 && exportNative(session, consumer, settings)) {
+                        // Data was exported by the database itself
+                    } else if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY && resumeOffset == 0) {
                         // Just do it in single query
                         dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, DBSDataContainer.FLAG_NONE);
                     } else {
-                        // Read all data by segments
-                        long offset = 0;
+                        // Read all data by segments.
+                        // Resumed transfers are always read by segments because plain query can't skip rows
+                        long offset = resumeOffset;
                         int segmentSize = settings.getSegmentSize();
                         for (; ; ) {
                             DBCStatistics statistics = dataContainer.readData(
@@ -148,4 +169,16 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
         }
     }
 
+    private boolean exportNative(DBCSession session, IDataTransferConsumer consumer, DatabaseProducerSettings settings)
+        throws DBCException
+    {
+        if (!settings.isNativeExport() ||
+            !(dataContainer instanceof IStreamNativeCSVSource) ||
+            !(consumer instanceof StreamTransferConsumer))
+        {
+            return false;
+        }
+        return ((StreamTransferConsumer) consumer).exportNativeCSV(session, (IStreamNativeCSVSource) dataContainer, dataFilter);
+    }
+
 }
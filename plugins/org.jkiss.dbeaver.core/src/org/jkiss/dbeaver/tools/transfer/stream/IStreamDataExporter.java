@@ -35,6 +35,14 @@ public interface IStreamDataExporter extends IDataTransferProcessor {
     void exportHeader(DBRProgressMonitor monitor)
         throws DBException, IOException;
 
+    /**
+     * Continues export into partially written output. Called instead of exportHeader.
+     * @param monitor monitor
+     * @param rowCount number of rows which are already in the output
+     */
+    void resumeExport(DBRProgressMonitor monitor, long rowCount)
+        throws DBException, IOException;
+
     void exportRow(DBRProgressMonitor monitor, Object[] row)
         throws DBException, IOException;
 
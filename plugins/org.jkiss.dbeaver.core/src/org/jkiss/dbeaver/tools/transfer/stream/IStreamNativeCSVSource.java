@@ -0,0 +1,50 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+import java.io.Writer;
+
+/**
+ * Data container which can export its data in CSV format by means of the database (e.g. PostgreSQL COPY).
+ * Values are formatted by the database, not by data formatters.
+ */
+public interface IStreamNativeCSVSource {
+
+    /**
+     * Checks whether native export is possible in this session (e.g. it may depend on the driver version)
+     */
+    boolean isNativeCSVSupported(@NotNull DBCSession session);
+
+    /**
+     * Writes data rows in CSV format.
+     * @return number of exported rows
+     */
+    long exportNativeCSV(
+        @NotNull DBCSession session,
+        @Nullable DBDDataFilter dataFilter,
+        @NotNull StreamCSVFormat format,
+        @NotNull Writer writer)
+        throws DBCException;
+
+}
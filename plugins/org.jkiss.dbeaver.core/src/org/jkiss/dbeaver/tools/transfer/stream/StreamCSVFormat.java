@@ -0,0 +1,66 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * CSV output format.
+ * Used to write CSV produced by the database directly into the output.
+ */
+public class StreamCSVFormat {
+
+    private final char delimiter;
+    private final char quoteChar;
+    private final boolean header;
+    @NotNull
+    private final String rowDelimiter;
+
+    public StreamCSVFormat(char delimiter, char quoteChar, boolean header, @NotNull String rowDelimiter)
+    {
+        this.delimiter = delimiter;
+        this.quoteChar = quoteChar;
+        this.header = header;
+        this.rowDelimiter = rowDelimiter;
+    }
+
+    public char getDelimiter()
+    {
+        return delimiter;
+    }
+
+    public char getQuoteChar()
+    {
+        return quoteChar;
+    }
+
+    /**
+     * Column names must be written in the first row
+     */
+    public boolean isHeader()
+    {
+        return header;
+    }
+
+    @NotNull
+    public String getRowDelimiter()
+    {
+        return rowDelimiter;
+    }
+
+}
@@ -18,6 +18,7 @@
 package org.jkiss.dbeaver.tools.transfer.stream;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.eclipse.swt.dnd.Clipboard;
 import org.eclipse.swt.dnd.TextTransfer;
@@ -30,6 +31,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
 import org.jkiss.dbeaver.model.exec.DBCException;
@@ -38,7 +40,9 @@ import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.tools.transfer.DataTransferJournal;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.impl.DataExporterCSV;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
@@ -54,12 +58,15 @@ import java.util.zip.ZipOutputStream;
 /**
 * Stream transfer consumer
 */
-public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter> {
+public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter>, DataTransferJournal.CheckpointTarget {
 
     private static final Log log = Log.getLog(StreamTransferConsumer.class);
 
     private static final String LOB_DIRECTORY_NAME = "files"; //$NON-NLS-1$
 
+    // Stream output has no commits so we flush it and save checkpoint each N rows
+    private static final int CHECKPOINT_ROWS = 10000;
+
     private IStreamDataExporter processor;
     private StreamConsumerSettings settings;
     private DBSObject sourceObject;
@@ -75,6 +82,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private Map<Object, Object> processorProperties;
     private StringWriter outputBuffer;
     private boolean initialized = false;
+    private String pipeId;
+    private long resumeOffset;
+    private long rowsExported;
 
     public StreamTransferConsumer()
     {
@@ -99,7 +109,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         if (!initialized) {
             try {
-                processor.exportHeader(session.getProgressMonitor());
+                if (resumeOffset > 0) {
+                    processor.resumeExport(session.getProgressMonitor(), resumeOffset);
+                } else {
+                    processor.exportHeader(session.getProgressMonitor());
+                }
             } catch (DBException e) {
                 log.warn("Error while exporting table header", e);
             } catch (IOException e) {
@@ -141,6 +155,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
             // Export row
             processor.exportRow(session.getProgressMonitor(), row);
+            rowsExported++;
+            if (pipeId != null && rowsExported % CHECKPOINT_ROWS == 0) {
+                saveCheckpoint();
+            }
         } catch (DBException e) {
             throw new DBCException("Error while exporting table row", e);
         } catch (IOException e) {
@@ -160,6 +178,31 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         row = null;
     }
 
+    /**
+     * Exports data in CSV produced by the source itself. Possible only for CSV output which doesn't need rows processing.
+     * @return false if native export is not possible. Then data should be transferred as usual.
+     */
+    public boolean exportNativeCSV(@NotNull DBCSession session, @NotNull IStreamNativeCSVSource source, @Nullable DBDDataFilter dataFilter)
+        throws DBCException
+    {
+        if (initialized || !(processor instanceof DataExporterCSV) || !source.isNativeCSVSupported(session)) {
+            return false;
+        }
+        final StreamCSVFormat format = DataExporterCSV.getNativeFormat(processorProperties, settings.getFormatterProfile());
+        if (format == null) {
+            return false;
+        }
+        initExporter(session);
+        initialized = true;
+        if (resumeOffset > 0) {
+            // Native export can't skip rows
+            throw new DBCException("Native export can't continue previous transfer");
+        }
+        rowsExported += source.exportNativeCSV(session, dataFilter, format, writer);
+        writer.flush();
+        return true;
+    }
+
     private File saveContentToFile(DBRProgressMonitor monitor, DBDContent content)
         throws IOException, DBCException
     {
@@ -176,10 +219,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 }
             }
         }
-        lobCount++;
         Boolean extractImages = (Boolean) processorProperties.get(StreamConsumerSettings.PROP_EXTRACT_IMAGES);
         String fileExt = (extractImages != null && extractImages) ? ".jpg" : ".data";
-        File lobFile = new File(lobDirectory, outputFile.getName() + "-" + lobCount + fileExt); //$NON-NLS-1$ //$NON-NLS-2$
+        File lobFile;
+        do {
+            lobCount++;
+            lobFile = new File(lobDirectory, outputFile.getName() + "-" + lobCount + fileExt); //$NON-NLS-1$ //$NON-NLS-2$
+            // Resumed transfer must not overwrite files of the previous attempt
+        } while (resumeOffset > 0 && lobFile.exists());
         try (InputStream cs = contents.getContentStream()) {
             ContentUtils.saveContentToFile(cs, lobFile, monitor);
         }
@@ -196,14 +243,27 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         // Open output streams
         boolean outputClipboard = settings.isOutputClipboard();
-        outputFile = outputClipboard ? null : makeOutputFile();
+        DataTransferJournal.Checkpoint checkpoint = null;
+        if (isResumable()) {
+            // Checkpoint was validated in startTransfer, producer has already skipped committed rows
+            pipeId = DataTransferJournal.makePipeId(sourceObject, this);
+            checkpoint = DataTransferJournal.getInstance().getCheckpoint(pipeId);
+        }
+        outputFile = outputClipboard ? null : (checkpoint != null ? new File(checkpoint.getOutputFile()) : makeOutputFile());
         try {
             if (outputClipboard) {
                 this.outputBuffer = new StringWriter(2048);
                 this.writer = new PrintWriter(this.outputBuffer, true);
             } else {
+                if (checkpoint != null) {
+                    // Cut everything written after the last checkpoint
+                    try (RandomAccessFile raf = new RandomAccessFile(outputFile, "rw")) {
+                        raf.setLength(checkpoint.getOutputLength());
+                    }
+                    resumeOffset = checkpoint.getRowOffset();
+                }
                 this.outputStream = new BufferedOutputStream(
-                    new FileOutputStream(outputFile),
+                    new FileOutputStream(outputFile, checkpoint != null),
                     10000);
                 if (settings.isCompressResults()) {
                     zipStream = new ZipOutputStream(this.outputStream);
@@ -214,7 +274,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
 
             // Check for BOM
-            if (!outputClipboard && settings.isOutputEncodingBOM()) {
+            if (!outputClipboard && checkpoint == null && settings.isOutputEncodingBOM()) {
                 byte[] bom = GeneralUtils.getCharsetBOM(settings.getOutputEncoding());
                 if (bom != null) {
                     outputStream.write(bom);
@@ -234,6 +294,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    private void saveCheckpoint() throws IOException
+    {
+        exportSite.flush();
+        DataTransferJournal.getInstance().saveCheckpoint(
+            pipeId,
+            new DataTransferJournal.Checkpoint(resumeOffset + rowsExported, outputFile.getAbsolutePath(), outputFile.length()));
+    }
+
     private void closeExporter()
     {
         if (exportSite != null) {
@@ -286,7 +354,58 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     @Override
     public void startTransfer(DBRProgressMonitor monitor)
     {
-        // do nothing
+        // Remove checkpoints which can't be continued. Otherwise producer will skip rows which aren't in the output.
+        DataTransferJournal journal = DataTransferJournal.getInstance();
+        String checkpointPipeId = DataTransferJournal.makePipeId(sourceObject, this);
+        DataTransferJournal.Checkpoint checkpoint = journal.getCheckpoint(checkpointPipeId);
+        if (checkpoint != null) {
+            if (!isResumable() || checkpoint.getOutputFile() == null || !isCheckpointOutput(new File(checkpoint.getOutputFile())) ||
+                new File(checkpoint.getOutputFile()).length() < checkpoint.getOutputLength())
+            {
+                log.warn("Output of previous transfer of '" + sourceObject.getName() + "' can't be continued. Start from the beginning.");
+                journal.removeCheckpoint(checkpointPipeId);
+            }
+        }
+    }
+
+    private boolean isResumable()
+    {
+        // Only plain files may be appended
+        return !settings.isOutputClipboard() && !settings.isCompressResults();
+    }
+
+    /**
+     * Checks that checkpoint output file matches current output folder and file extension
+     */
+    private boolean isCheckpointOutput(File checkpointFile)
+    {
+        if (!checkpointFile.getAbsoluteFile().getParentFile().equals(new File(settings.getOutputFolder()).getAbsoluteFile())) {
+            return false;
+        }
+        Object extension = processorProperties.get(StreamConsumerSettings.PROP_FILE_EXTENSION);
+        return extension == null || checkpointFile.getName().endsWith("." + extension);
+    }
+
+    @NotNull
+    @Override
+    public String getCheckpointTarget()
+    {
+        // Output file name pattern (not the file name itself which may contain timestamp), format and its settings
+        StringBuilder target = new StringBuilder();
+        target.append(new File(settings.getOutputFolder(), settings.getOutputFilePattern()).getAbsolutePath());
+        target.append(';').append(processor.getClass().getName());
+        target.append(';').append(settings.getOutputEncoding());
+        if (settings.isCompressResults()) {
+            target.append(";zip");
+        }
+        if (processorProperties != null) {
+            Map<String, String> props = new TreeMap<>();
+            for (Map.Entry<Object, Object> prop : processorProperties.entrySet()) {
+                props.put(String.valueOf(prop.getKey()), String.valueOf(prop.getValue()));
+            }
+            target.append(';').append(props);
+        }
+        return target.toString();
     }
 
     @Override
@@ -17,14 +17,19 @@
  */
 package org.jkiss.dbeaver.tools.transfer.stream.impl;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDDataFormatterProfile;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamCSVFormat;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
@@ -34,6 +39,8 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * CSV Exporter
@@ -43,6 +50,7 @@ public class DataExporterCSV extends StreamExporterAbstract {
     private static final String PROP_DELIMITER = "delimiter";
     private static final String PROP_HEADER = "header";
     private static final String PROP_QUOTE_CHAR = "quoteChar";
+    private static final String PROP_ESCAPE = "escape";
     public static final char DEF_DELIMITER = ',';
     public static final String DEF_QUOTE_CHAR = "\"";
 
@@ -66,33 +74,91 @@ public class DataExporterCSV extends StreamExporterAbstract {
     public void init(IStreamDataExporterSite site) throws DBException
     {
         super.init(site);
-        String delimString = String.valueOf(site.getProperties().get(PROP_DELIMITER));
+        delimiter = getDelimiter(site.getProperties());
+        quoteChar = getQuoteChar(site.getProperties());
+        useQuotes = quoteChar != ' ';
+        out = site.getWriter();
+        rowDelimiter = GeneralUtils.getDefaultLineSeparator();
+        headerPosition = getHeaderPosition(site.getProperties());
+    }
+
+    /**
+     * Returns format of CSV which may be written into the output as is (without rows processing).
+     * Native CSV contains database text representation of values, NULLs as empty strings and column names in header.
+     * Returns null if output differs from the one this exporter produces: dates/numbers are formatted
+     * (export format isn't native or custom formatter profile is set), quotes are disabled or escaped with '\',
+     * line feed delimiter or header at the bottom.
+     */
+    @Nullable
+    public static StreamCSVFormat getNativeFormat(Map<Object, Object> properties, @Nullable DBDDataFormatterProfile formatterProfile)
+    {
+        if (formatterProfile != null || getExportFormat(properties) != DBDDisplayFormat.NATIVE) {
+            return null;
+        }
+        Object escape = properties.get(PROP_ESCAPE);
+        if (escape != null && !"quotes".equals(escape.toString())) {
+            return null;
+        }
+        char delimiter = getDelimiter(properties);
+        char quoteChar = getQuoteChar(properties);
+        HeaderPosition headerPosition = getHeaderPosition(properties);
+        if (quoteChar == ' ' || delimiter == quoteChar || delimiter == '\n' || delimiter == '\r' ||
+            headerPosition == HeaderPosition.bottom || headerPosition == HeaderPosition.both)
+        {
+            return null;
+        }
+        return new StreamCSVFormat(
+            delimiter,
+            quoteChar,
+            headerPosition == HeaderPosition.top,
+            GeneralUtils.getDefaultLineSeparator());
+    }
+
+    private static DBDDisplayFormat getExportFormat(Map<Object, Object> properties)
+    {
+        Object formatProp = properties.get(StreamConsumerSettings.PROP_FORMAT);
+        try {
+            return formatProp == null ? DBDDisplayFormat.UI : DBDDisplayFormat.valueOf(formatProp.toString().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return DBDDisplayFormat.UI;
+        }
+    }
+
+    private static char getDelimiter(Map<Object, Object> properties)
+    {
+        String delimString = String.valueOf(properties.get(PROP_DELIMITER));
         if (delimString == null || delimString.isEmpty()) {
-            delimiter = DEF_DELIMITER;
+            return DEF_DELIMITER;
         } else if (delimString.length() == 1) {
-            delimiter = delimString.charAt(0);
+            return delimString.charAt(0);
         } else if (delimString.charAt(0) == '\\') {
             switch (delimString.charAt(1)) {
-                case 't': delimiter = '\t'; break;
-                case 'n': delimiter = '\n'; break;
-                case 'r': delimiter = '\r'; break;
-                default: delimiter = DEF_DELIMITER;
+                case 't': return '\t';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                default: return DEF_DELIMITER;
             }
         } else {
-            delimiter = DEF_DELIMITER;
+            return DEF_DELIMITER;
         }
-        Object quoteProp = site.getProperties().get(PROP_QUOTE_CHAR);
+    }
+
+    private static char getQuoteChar(Map<Object, Object> properties)
+    {
+        Object quoteProp = properties.get(PROP_QUOTE_CHAR);
         String quoteStr = quoteProp == null ? DEF_QUOTE_CHAR : quoteProp.toString();
         if (!CommonUtils.isEmpty(quoteStr)) {
-            quoteChar = quoteStr.charAt(0);
+            return quoteStr.charAt(0);
         }
-        useQuotes = quoteChar != ' ';
-        out = site.getWriter();
-        rowDelimiter = GeneralUtils.getDefaultLineSeparator();
+        return '"';
+    }
+
+    private static HeaderPosition getHeaderPosition(Map<Object, Object> properties)
+    {
         try {
-            headerPosition = HeaderPosition.valueOf(String.valueOf(site.getProperties().get(PROP_HEADER)));
+            return HeaderPosition.valueOf(String.valueOf(properties.get(PROP_HEADER)));
         } catch (Exception e) {
-            headerPosition = HeaderPosition.top;
+            return HeaderPosition.top;
         }
     }
 
@@ -112,6 +178,12 @@ public class DataExporterCSV extends StreamExporterAbstract {
         }
     }
 
+    @Override
+    public void resumeExport(DBRProgressMonitor monitor, long rowCount) throws DBException, IOException
+    {
+        columns = getSite().getAttributes();
+    }
+
     private void printHeader()
     {
         for (int i = 0, columnsSize = columns.size(); i < columnsSize; i++) {
@@ -69,6 +69,13 @@ public class DataExporterHTML extends StreamExporterAbstract {
         printHeader();
     }
 
+    @Override
+    public void resumeExport(DBRProgressMonitor monitor, long rowCount) throws DBException, IOException
+    {
+        columns = getSite().getAttributes();
+        this.rowCount = (int) rowCount;
+    }
+
     private void printHeader()
     {
         out.write("<html>");
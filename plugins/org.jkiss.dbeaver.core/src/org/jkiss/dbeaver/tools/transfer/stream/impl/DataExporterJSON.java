@@ -83,6 +83,14 @@ public class DataExporterJSON extends StreamExporterAbstract {
         printHeader();
     }
 
+    @Override
+    public void resumeExport(DBRProgressMonitor monitor, long rowCount) throws DBException, IOException
+    {
+        columns = getSite().getAttributes();
+        tableName = getSite().getSource().getName();
+        rowNum = (int) rowCount;
+    }
+
     private void printHeader()
     {
         if (printTableName) {
@@ -100,6 +100,15 @@ public class DataExporterSQL extends StreamExporterAbstract {
         rowCount = 0;
     }
 
+    @Override
+    public void resumeExport(DBRProgressMonitor monitor, long rowCount) throws DBException, IOException
+    {
+        // Header doesn't write anything, just initializes table name
+        exportHeader(monitor);
+        // Multi-row statements are split by row number so we just continue counting
+        this.rowCount = rowCount;
+    }
+
     @Override
     public void exportRow(DBRProgressMonitor monitor, Object[] row) throws DBException, IOException
     {
@@ -67,6 +67,13 @@ public class DataExporterXML extends StreamExporterAbstract {
         printHeader();
     }
 
+    @Override
+    public void resumeExport(DBRProgressMonitor monitor, long rowCount) throws DBException, IOException
+    {
+        columns = getSite().getAttributes();
+        tableName = escapeXmlElementName(getSite().getSource().getName());
+    }
+
     private void printHeader()
     {
         out.write("<?xml version=\"1.0\" ?>\n");
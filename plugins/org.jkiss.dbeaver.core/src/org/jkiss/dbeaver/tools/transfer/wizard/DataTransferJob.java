@@ -27,9 +27,11 @@ import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
+import org.jkiss.dbeaver.tools.transfer.DataTransferJournal;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
+import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
 import org.jkiss.dbeaver.ui.UIUtils;
 
 /**
@@ -58,6 +60,7 @@ public class DataTransferJob extends AbstractJob {
     {
         boolean hasErrors = false;
         long startTime = System.currentTimeMillis();
+        StringBuilder summary = new StringBuilder();
         for (; ;) {
             DataTransferPipe transferPipe = settings.acquireDataPipe(monitor);
             if (transferPipe == null) {
@@ -66,12 +69,18 @@ public class DataTransferJob extends AbstractJob {
             if (!transferData(monitor, transferPipe)) {
                 hasErrors = true;
             }
+            if (transferPipe.getConsumer() instanceof DatabaseTransferConsumer) {
+                String loadSummary = ((DatabaseTransferConsumer) transferPipe.getConsumer()).getTransferSummary();
+                if (loadSummary != null) {
+                    summary.append("\nLoaded ").append(loadSummary);
+                }
+            }
         }
-        showResult(System.currentTimeMillis() - startTime, hasErrors);
+        showResult(System.currentTimeMillis() - startTime, hasErrors, summary.toString());
         return Status.OK_STATUS;
     }
 
-    private void showResult(final long time, final boolean hasErrors)
+    private void showResult(final long time, final boolean hasErrors, final String summary)
     {
         final Shell shell = DBeaverUI.getActiveWorkbenchShell();
         shell.getDisplay().asyncExec(new Runnable() {
@@ -81,7 +90,7 @@ public class DataTransferJob extends AbstractJob {
                 UIUtils.showMessageBox(
                     shell,
                     "Data transfer",
-                    "Data transfer completed " +  (hasErrors ? "with errors " : "") + "(" + RuntimeUtils.formatExecutionTime(time) + ")",
+                    "Data transfer completed " +  (hasErrors ? "with errors " : "") + "(" + RuntimeUtils.formatExecutionTime(time) + ")" + summary,
                     hasErrors ? SWT.ICON_ERROR : SWT.ICON_INFORMATION);
             }
         });
@@ -106,6 +115,9 @@ public class DataTransferJob extends AbstractJob {
                 consumer,
                 nodeSettings);
             consumer.finishTransfer(monitor, false);
+            // Pipe is complete. Nothing to resume.
+            DataTransferJournal.getInstance().removeCheckpoint(
+                DataTransferJournal.makePipeId(producer.getSourceObject(), consumer));
             return true;
         } catch (Exception e) {
             new DataTransferErrorJob(e).schedule();
@@ -19,9 +19,14 @@ package org.jkiss.dbeaver.ui.actions.datasource;
 
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.handlers.HandlerUtil;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.registry.DataSourceDescriptor;
 import org.jkiss.dbeaver.ui.actions.AbstractDataSourceHandler;
+import org.jkiss.dbeaver.ui.navigator.NavigatorUtils;
 
 public class DataSourceConnectHandler extends AbstractDataSourceHandler
 {
@@ -30,6 +35,16 @@ public class DataSourceConnectHandler extends AbstractDataSourceHandler
     @Override
     public Object execute(ExecutionEvent event) throws ExecutionException
     {
+        ISelection selection = HandlerUtil.getCurrentSelection(event);
+        if (selection instanceof IStructuredSelection && ((IStructuredSelection) selection).size() > 1) {
+            // Connect all selected connections. Connect jobs run in parallel (number of parallel connects is limited)
+            for (DBSObject object : NavigatorUtils.getSelectedObjects((IStructuredSelection) selection)) {
+                if (object instanceof DataSourceDescriptor) {
+                    DataSourceHandler.connectToDataSource(null, (DataSourceDescriptor) object, null);
+                }
+            }
+            return null;
+        }
         final DataSourceDescriptor dataSourceContainer = (DataSourceDescriptor) getDataSourceContainer(event, false);
         if (dataSourceContainer != null) {
             DataSourceHandler.connectToDataSource(null, dataSourceContainer, null);
@@ -117,7 +117,7 @@ public class DataSourceHandler
                     }
                     if (onFinish != null) {
                         onFinish.onTaskFinished(result);
-                    } else if (!result.isOK()) {
+                    } else if (!result.isOK() && result.getSeverity() != IStatus.CANCEL) {
                         DBUserInterface.getInstance().showError(
                             connectJob.getName(),
                             null,//NLS.bind(CoreMessages.runtime_jobs_connect_status_error, dataSourceContainer.getName()),
@@ -35,11 +35,13 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.IDataSourceContainerProvider;
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.properties.*;
@@ -982,6 +984,64 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
             super(CoreMessages.controls_object_list_job_props_read);
         }
 
+        /**
+         * Loads lazy properties which support bulk load for all requested objects at once.
+         * Values are then read from object caches without extra queries.
+         */
+        private void loadBulkProperties(DBRProgressMonitor monitor, Map<OBJECT_TYPE, List<ObjectColumn>> objectMap)
+        {
+            final Map<IPropertyBulkLoader<?>, List<Object>> bulkObjects = new LinkedHashMap<>();
+            for (Map.Entry<OBJECT_TYPE, List<ObjectColumn>> entry : objectMap.entrySet()) {
+                Object object = getObjectValue(entry.getKey());
+                if (object == null) {
+                    continue;
+                }
+                for (ObjectColumn column : entry.getValue()) {
+                    ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
+                    if (prop == null || !prop.isLazy(object, true)) {
+                        continue;
+                    }
+                    IPropertyBulkLoader<?> loader = prop.getBulkLoader();
+                    if (loader == null) {
+                        continue;
+                    }
+                    List<Object> loaderObjects = bulkObjects.get(loader);
+                    if (loaderObjects == null) {
+                        loaderObjects = new ArrayList<>();
+                        bulkObjects.put(loader, loaderObjects);
+                    }
+                    if (loaderObjects.isEmpty() || loaderObjects.get(loaderObjects.size() - 1) != object) {
+                        loaderObjects.add(object);
+                    }
+                }
+            }
+            for (Map.Entry<IPropertyBulkLoader<?>, List<Object>> entry : bulkObjects.entrySet()) {
+                if (monitor.isCanceled() || isDisposed()) {
+                    break;
+                }
+                if (entry.getValue().size() < 2) {
+                    // Nothing to gain
+                    continue;
+                }
+                try {
+                    loadLazyProperties(monitor, entry.getKey(), entry.getValue());
+                } catch (Throwable e) {
+                    // Properties will be read one by one
+                    log.debug("Error loading lazy properties of " + entry.getValue().size() + " objects", e);
+                }
+            }
+        }
+
+        /**
+         * Objects are owners of properties which declare this loader, so they are of loader's type
+         */
+        @SuppressWarnings("unchecked")
+        private <T> void loadLazyProperties(DBRProgressMonitor monitor, IPropertyBulkLoader<T> loader, List<Object> objects)
+            throws DBException
+        {
+            loader.loadLazyProperties(monitor, (Collection<T>) objects);
+        }
+
         @Override
         protected IStatus run(final DBRProgressMonitor monitor)
         {
@@ -990,6 +1050,7 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
                 return Status.OK_STATUS;
             }
             monitor.beginTask(CoreMessages.controls_object_list_monitor_load_lazy_props, objectMap.size());
+            loadBulkProperties(monitor, objectMap);
             for (Map.Entry<OBJECT_TYPE, List<ObjectColumn>> entry : objectMap.entrySet()) {
                 if (monitor.isCanceled() || isDisposed()) {
                     break;
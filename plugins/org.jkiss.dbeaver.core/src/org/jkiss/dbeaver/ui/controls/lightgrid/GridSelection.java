@@ -0,0 +1,543 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.jkiss.code.NotNull;
+
+import java.util.*;
+
+/**
+ * Grid cells selection.
+ * Selected rows of each column are kept as a sorted list of row ranges so selection of whole
+ * columns or of the entire grid takes constant memory.
+ * Iteration order is the same as of {@link GridPos.PosComparator} (by rows, then by columns).
+ */
+class GridSelection extends AbstractSet<GridPos> {
+
+    /**
+     * Sorted set of non-overlapping and non-adjacent int ranges
+     */
+    static class RangeSet {
+        // Range starts (inclusive) and ends (exclusive)
+        private int[] starts = new int[4];
+        private int[] ends = new int[4];
+        private int count;
+
+        RangeSet()
+        {
+        }
+
+        RangeSet(RangeSet copy)
+        {
+            this.starts = Arrays.copyOf(copy.starts, Math.max(copy.count, 4));
+            this.ends = Arrays.copyOf(copy.ends, Math.max(copy.count, 4));
+            this.count = copy.count;
+        }
+
+        boolean isEmpty()
+        {
+            return count == 0;
+        }
+
+        int getRangeCount()
+        {
+            return count;
+        }
+
+        int getStart(int range)
+        {
+            return starts[range];
+        }
+
+        int getEnd(int range)
+        {
+            return ends[range];
+        }
+
+        int size()
+        {
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                size += ends[i] - starts[i];
+            }
+            return size;
+        }
+
+        boolean contains(int value)
+        {
+            int range = findRange(value);
+            return range >= 0 && value < ends[range];
+        }
+
+        /**
+         * Returns the smallest value >= from or -1
+         */
+        int nextValue(int from)
+        {
+            int range = findRange(from);
+            if (range >= 0 && from < ends[range]) {
+                return from;
+            }
+            return range + 1 < count ? starts[range + 1] : -1;
+        }
+
+        /**
+         * Adds range [from, to).
+         * @return number of added values
+         */
+        int add(int from, int to)
+        {
+            if (from >= to) {
+                return 0;
+            }
+            int sizeBefore = size();
+            // First range which may be merged with new one (its end >= from)
+            int first = findRange(from);
+            if (first < 0 || ends[first] < from) {
+                first++;
+            }
+            // Last range which may be merged (its start <= to)
+            int last = findRange(to);
+            if (first <= last) {
+                from = Math.min(from, starts[first]);
+                to = Math.max(to, ends[last]);
+            }
+            replaceRanges(first, last, new int[] {from}, new int[] {to});
+            return size() - sizeBefore;
+        }
+
+        /**
+         * Removes range [from, to).
+         * @return number of removed values
+         */
+        int remove(int from, int to)
+        {
+            if (from >= to || count == 0) {
+                return 0;
+            }
+            int sizeBefore = size();
+            int first = findRange(from);
+            if (first < 0 || ends[first] <= from) {
+                first++;
+            }
+            int last = findRange(to - 1);
+            if (first > last) {
+                return 0;
+            }
+            int[] newStarts = new int[2], newEnds = new int[2];
+            int newCount = 0;
+            if (starts[first] < from) {
+                newStarts[newCount] = starts[first];
+                newEnds[newCount] = from;
+                newCount++;
+            }
+            if (ends[last] > to) {
+                newStarts[newCount] = to;
+                newEnds[newCount] = ends[last];
+                newCount++;
+            }
+            replaceRanges(first, last, Arrays.copyOf(newStarts, newCount), Arrays.copyOf(newEnds, newCount));
+            return sizeBefore - size();
+        }
+
+        void addAll(RangeSet set)
+        {
+            for (int i = 0; i < set.count; i++) {
+                add(set.starts[i], set.ends[i]);
+            }
+        }
+
+        void clear()
+        {
+            count = 0;
+        }
+
+        /**
+         * Index of the last range which starts at or before value, or -1
+         */
+        private int findRange(int value)
+        {
+            int low = 0, high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        private void replaceRanges(int first, int last, int[] newStarts, int[] newEnds)
+        {
+            int removed = last - first + 1;
+            int newCount = count - removed + newStarts.length;
+            if (newCount > starts.length) {
+                int capacity = Math.max(newCount, starts.length * 2);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            int tail = count - last - 1;
+            System.arraycopy(starts, last + 1, starts, first + newStarts.length, tail);
+            System.arraycopy(ends, last + 1, ends, first + newStarts.length, tail);
+            System.arraycopy(newStarts, 0, starts, first, newStarts.length);
+            System.arraycopy(newEnds, 0, ends, first, newEnds.length);
+            count = newCount;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof RangeSet)) {
+                return false;
+            }
+            RangeSet set = (RangeSet) obj;
+            if (count != set.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (starts[i] != set.starts[i] || ends[i] != set.ends[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = count;
+            for (int i = 0; i < count; i++) {
+                hash = hash * 31 + starts[i] * 17 + ends[i];
+            }
+            return hash;
+        }
+
+        /**
+         * Sum of {@link GridPos#hashCode()} (col ^ row) of all cells of the column.
+         * Calculated per range without iterating over rows.
+         */
+        int cellHashSum(int col)
+        {
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += cellHashSum(col, ends[i]) - cellHashSum(col, starts[i]);
+            }
+            return (int) sum;
+        }
+
+        /**
+         * Sum of (col ^ row) for rows [0, rowCount). Each bit is summed separately:
+         * bit k of row repeats 2^k zeros then 2^k ones. Overflow is fine as only low 32 bits are used.
+         */
+        private static long cellHashSum(int col, long rowCount)
+        {
+            long sum = 0;
+            for (int bit = 0; bit < 32; bit++) {
+                long half = 1L << bit, period = half << 1;
+                long ones = (rowCount / period) * half + Math.max(0, rowCount % period - half);
+                long bitCount = (col & half) != 0 ? rowCount - ones : ones;
+                sum += bitCount << bit;
+            }
+            return sum;
+        }
+    }
+
+    // Selected rows of each column (by column index)
+    private final List<RangeSet> columns = new ArrayList<>();
+    private int size;
+
+    GridSelection()
+    {
+    }
+
+    GridSelection(GridSelection copy)
+    {
+        for (RangeSet rows : copy.columns) {
+            columns.add(rows == null ? null : new RangeSet(rows));
+        }
+        this.size = copy.size;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (!(o instanceof GridPos)) {
+            return false;
+        }
+        GridPos pos = (GridPos) o;
+        return contains(pos.col, pos.row);
+    }
+
+    boolean contains(int col, int row)
+    {
+        if (col < 0 || col >= columns.size()) {
+            return false;
+        }
+        RangeSet rows = columns.get(col);
+        return rows != null && rows.contains(row);
+    }
+
+    @Override
+    public boolean add(GridPos pos)
+    {
+        return addRange(pos.col, pos.col, pos.row, pos.row) > 0;
+    }
+
+    /**
+     * Adds all cells of specified rectangle. Bounds are inclusive.
+     * @return number of added cells
+     */
+    int addRange(int fromCol, int toCol, int fromRow, int toRow)
+    {
+        if (fromCol < 0 || fromRow < 0) {
+            return 0;
+        }
+        int added = 0;
+        for (int col = fromCol; col <= toCol; col++) {
+            added += getColumnRows(col, true).add(fromRow, toRow + 1);
+        }
+        size += added;
+        return added;
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        if (!(o instanceof GridPos)) {
+            return false;
+        }
+        GridPos pos = (GridPos) o;
+        RangeSet rows = getColumnRows(pos.col, false);
+        if (rows != null && rows.remove(pos.row, pos.row + 1) > 0) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all cells which are below specified row
+     */
+    void removeRowsAfter(int row)
+    {
+        for (RangeSet rows : columns) {
+            if (rows != null) {
+                size -= rows.remove(row + 1, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends GridPos> c)
+    {
+        if (c instanceof GridSelection) {
+            GridSelection selection = (GridSelection) c;
+            int sizeBefore = size;
+            for (int col = 0; col < selection.columns.size(); col++) {
+                RangeSet rows = selection.columns.get(col);
+                if (rows != null && !rows.isEmpty()) {
+                    RangeSet thisRows = getColumnRows(col, true);
+                    int thisSize = thisRows.size();
+                    thisRows.addAll(rows);
+                    size += thisRows.size() - thisSize;
+                }
+            }
+            return size != sizeBefore;
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    public void clear()
+    {
+        columns.clear();
+        size = 0;
+    }
+
+    /**
+     * Indexes of columns which have at least one selected cell
+     */
+    @NotNull
+    List<Integer> getSelectedColumns()
+    {
+        List<Integer> result = new ArrayList<>();
+        for (int col = 0; col < columns.size(); col++) {
+            RangeSet rows = columns.get(col);
+            if (rows != null && !rows.isEmpty()) {
+                result.add(col);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rows which have at least one selected cell
+     */
+    @NotNull
+    RangeSet getSelectedRows()
+    {
+        RangeSet result = new RangeSet();
+        for (RangeSet rows : columns) {
+            if (rows != null) {
+                result.addAll(rows);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof GridSelection) {
+            GridSelection selection = (GridSelection) o;
+            if (size != selection.size) {
+                return false;
+            }
+            int maxColumns = Math.max(columns.size(), selection.columns.size());
+            for (int col = 0; col < maxColumns; col++) {
+                RangeSet rows1 = getColumnRows(col, false), rows2 = selection.getColumnRows(col, false);
+                boolean empty1 = rows1 == null || rows1.isEmpty(), empty2 = rows2 == null || rows2.isEmpty();
+                if (empty1 != empty2 || (!empty1 && !rows1.equals(rows2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Same value as {@link AbstractSet#hashCode()} (sum of cell hashes) but calculated from row ranges
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = 0;
+        for (int col = 0; col < columns.size(); col++) {
+            RangeSet rows = columns.get(col);
+            if (rows != null) {
+                hash += rows.cellHashSum(col);
+            }
+        }
+        return hash;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<GridPos> iterator()
+    {
+        return new CellIterator();
+    }
+
+    private RangeSet getColumnRows(int col, boolean create)
+    {
+        if (col < columns.size()) {
+            RangeSet rows = columns.get(col);
+            if (rows == null && create) {
+                rows = new RangeSet();
+                columns.set(col, rows);
+            }
+            return rows;
+        }
+        if (!create) {
+            return null;
+        }
+        while (columns.size() < col) {
+            columns.add(null);
+        }
+        RangeSet rows = new RangeSet();
+        columns.add(rows);
+        return rows;
+    }
+
+    /**
+     * Iterates over rows which have selected cells, then over columns.
+     * Removal of returned cell doesn't affect iteration.
+     */
+    private class CellIterator implements Iterator<GridPos> {
+        private final RangeSet rows = getSelectedRows();
+        private int row;
+        private int col = -1;
+        private GridPos next;
+        private GridPos last;
+
+        CellIterator()
+        {
+            row = rows.nextValue(0);
+            advance();
+        }
+
+        private void advance()
+        {
+            next = null;
+            while (row >= 0) {
+                for (col++; col < columns.size(); col++) {
+                    if (contains(col, row)) {
+                        next = new GridPos(col, row);
+                        return;
+                    }
+                }
+                col = -1;
+                row = rows.nextValue(row + 1);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public GridPos next()
+        {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            GridSelection.this.remove(last);
+            last = null;
+        }
+    }
+
+}
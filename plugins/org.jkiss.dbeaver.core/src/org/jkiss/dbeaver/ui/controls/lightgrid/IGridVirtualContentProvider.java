@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package  org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Content provider with index based (virtual) rows.
+ * Grid doesn't copy all rows on refresh but reads rows by index when it needs them.
+ */
+public interface IGridVirtualContentProvider extends IGridContentProvider {
+
+    /**
+     * Returns true if rows are flat (have no children) and may be read by index.
+     * Otherwise rows are read with {@link #getElements(boolean)}.
+     */
+    boolean isVirtualRows();
+
+    int getRowCount();
+
+    @NotNull
+    Object getRowElement(int index);
+
+    /**
+     * Returns row index or -1 if element doesn't belong to rows
+     */
+    int getRowIndex(@NotNull Object element);
+
+}
@@ -29,7 +29,6 @@ import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
-import org.jkiss.utils.IntKeyMap;
 
 import java.util.*;
 import java.util.List;
@@ -63,6 +62,8 @@ public abstract class LightGrid extends Canvas {
     private static final int COLUMN_RESIZER_THRESHOLD = 4;
     private static final int DEFAULT_ROW_HEADER_WIDTH = 30;
     private static final int MAX_ROW_HEADER_WIDTH = 400;
+    // Number of first/last virtual rows used to compute row header width
+    private static final int MAX_MEASURED_ROWS = 100;
 
 
     /**
@@ -117,10 +118,10 @@ public abstract class LightGrid extends Canvas {
      */
     private int focusItem = -1;
 
-    private final Set<GridPos> selectedCells = new TreeSet<>(new GridPos.PosComparator());
-    private final List<GridPos> selectedCellsBeforeRangeSelect = new ArrayList<>();
+    private final GridSelection selectedCells = new GridSelection();
+    private final GridSelection selectedCellsBeforeRangeSelect = new GridSelection();
     private final List<GridColumn> selectedColumns = new ArrayList<>();
-    private final IntKeyMap<Boolean> selectedRows = new IntKeyMap<>();
+    private GridSelection.RangeSet selectedRows = new GridSelection.RangeSet();
 
     private boolean cellDragSelectionOccurring = false;
     private boolean cellRowDragSelectionOccurring = false;
@@ -146,6 +147,10 @@ public abstract class LightGrid extends Canvas {
     protected Object[] columnElements = new Object[0];
     protected Object[] rowElements = new Object[0];
     private GridNode[] parentNodes = new GridNode[0];
+    // Index based rows. If set then rowElements are not used
+    @Nullable
+    private IGridVirtualContentProvider virtualRows;
+    private int virtualRowCount;
     private final Map<Object, GridNode> rowNodes = new IdentityHashMap<>();
 
     private int maxColumnDefWidth = 1000;
@@ -452,8 +457,17 @@ public abstract class LightGrid extends Canvas {
             bottomIndex = -1;
         }
         IGridContentProvider contentProvider = getContentProvider();
-        {
+        if (contentProvider instanceof IGridVirtualContentProvider && ((IGridVirtualContentProvider) contentProvider).isVirtualRows()) {
+            // Rows will be read by index
+            this.virtualRows = (IGridVirtualContentProvider) contentProvider;
+            this.virtualRowCount = virtualRows.getRowCount();
+            this.rowNodes.clear();
+            this.rowElements = new Object[0];
+            this.parentNodes = new GridNode[0];
+        } else {
             // Prepare rows
+            this.virtualRows = null;
+            this.virtualRowCount = 0;
             Object[] initialElements = contentProvider.getElements(false);
             this.rowNodes.clear();
             List<Object> realRows = new ArrayList<>(initialElements.length);
@@ -558,14 +572,14 @@ public abstract class LightGrid extends Canvas {
         if (pos.col < 0 || pos.row < 0) {
             return null;
         }
-        return new GridCell(columnElements[pos.col], rowElements[pos.row]);
+        return new GridCell(columnElements[pos.col], getRowElement(pos.row));
     }
 
     @NotNull
     public GridPos cellToPos(GridCell cell)
     {
         int colIndex = ArrayUtils.indexOf(columnElements, cell.col);
-        int rowIndex = ArrayUtils.indexOf(rowElements, cell.row);
+        int rowIndex = virtualRows != null ? virtualRows.getRowIndex(cell.row) : ArrayUtils.indexOf(rowElements, cell.row);
         return new GridPos(colIndex, rowIndex);
     }
 
@@ -578,7 +592,12 @@ public abstract class LightGrid extends Canvas {
     }
 
     public Object getRowElement(int row) {
-        return rowElements[row];
+        return virtualRows != null ? virtualRows.getRowElement(row) : rowElements[row];
+    }
+
+    @Nullable
+    private GridNode getParentNode(int row) {
+        return row < parentNodes.length ? parentNodes[row] : null;
     }
 
     @Override
@@ -863,7 +882,7 @@ public abstract class LightGrid extends Canvas {
      */
     public int getItemCount()
     {
-        return rowElements.length;
+        return virtualRows != null ? virtualRowCount : rowElements.length;
     }
 
     /**
@@ -1272,6 +1291,8 @@ public abstract class LightGrid extends Canvas {
         columns.clear();
         columnElements = new Object[0];
         rowElements = new Object[0];
+        virtualRows = null;
+        virtualRowCount = 0;
     }
 
     /**
@@ -1727,9 +1748,14 @@ public abstract class LightGrid extends Canvas {
 
         // Row header width
         rowHeaderWidth = DEFAULT_ROW_HEADER_WIDTH;
-        for (int i = 0; i < rowElements.length; i++) {
-            Object row = rowElements[i];
-            GridNode parentNode = parentNodes[i];
+        final int itemCount = getItemCount();
+        for (int i = 0; i < itemCount; i++) {
+            if (virtualRows != null && i == MAX_MEASURED_ROWS && itemCount > MAX_MEASURED_ROWS * 2) {
+                // Flat rows have no nesting levels - measure only the first and the last rows
+                i = itemCount - MAX_MEASURED_ROWS;
+            }
+            Object row = getRowElement(i);
+            GridNode parentNode = getParentNode(i);
             GridNode nr = rowNodes.get(row);
             int width = rowHeaderRenderer.computeHeaderWidth(
                 row, nr != null ? nr.level : parentNode == null ? 0 : parentNode.level + 1);
@@ -2009,7 +2035,7 @@ public abstract class LightGrid extends Canvas {
             // get the item to draw
             if (row >= 0 && row < getItemCount()) {
 
-                boolean cellInRowSelected = selectedRows.containsKey(row);
+                boolean cellInRowSelected = selectedRows.contains(row);
 
                 if (rowHeaderVisible) {
 
@@ -2038,7 +2064,7 @@ public abstract class LightGrid extends Canvas {
                             selectedCells.contains(testPos),
                             focusItem == row && focusColumn == column,
                             column.getElement(),
-                            rowElements[row]);
+                            getRowElement(row));
 
                         //gc.setClipping((Rectangle) null);
                     }
@@ -2052,8 +2078,8 @@ public abstract class LightGrid extends Canvas {
 
                 x = 0;
 
-                GridNode rowNode = this.rowNodes.get(rowElements[row]);
-                GridNode parentNode = this.parentNodes[row];
+                GridNode rowNode = this.rowNodes.get(getRowElement(row));
+                GridNode parentNode = getParentNode(row);
                 if (rowHeaderVisible) {
 
                     if (y >= headerHeight) {
@@ -2067,7 +2093,7 @@ public abstract class LightGrid extends Canvas {
                             cellInRowSelected,
                             parentNode == null ? 0 : parentNode.level,
                             rowNode == null ? IGridContentProvider.ElementState.NONE : rowNode.state,
-                            rowElements[row]);
+                            getRowElement(row));
                     }
                     x += rowHeaderWidth;
                 }
@@ -2318,7 +2344,7 @@ public abstract class LightGrid extends Canvas {
             shiftSelectionAnchorItem = -1;
         }
 
-        List<GridPos> oldSelection = null;
+        GridSelection oldSelection = null;
         if (!shift && !ctrl) {
             if (newCells.size() == 1 &&
                 newCells.size() == selectedCells.size() &&
@@ -2335,7 +2361,7 @@ public abstract class LightGrid extends Canvas {
         } else if (shift) {
 
             GridPos newCell = newCells.get(0); //shift selection should only occur with one cell, ignoring others
-            oldSelection = new ArrayList<>(selectedCells);
+            oldSelection = new GridSelection(selectedCells);
 
             if ((focusColumn == null) || (focusItem < 0)) {
                 return null;
@@ -2352,60 +2378,17 @@ public abstract class LightGrid extends Canvas {
             }
 
 
-            GridColumn currentColumn = focusColumn;
             int currentItem = focusItem;
-
-            GridColumn endColumn = getColumn(newCell.col);
             int endItem = newCell.row;
 
-            Point newRange = getSelectionRange(currentItem, currentColumn, endItem, endColumn);
-
-            currentColumn = getColumn(newRange.x);
-            endColumn = getColumn(newRange.y);
-
-            GridColumn startCol = currentColumn;
-
-            if (currentItem > endItem) {
-                int temp = currentItem;
-                currentItem = endItem;
-                endItem = temp;
-            }
-
-            boolean firstLoop = true;
-            do {
-                if (!firstLoop) {
-                    currentItem++;
-                }
+            Point newRange = getSelectionRange(currentItem, focusColumn, endItem, getColumn(newCell.col));
 
-                firstLoop = false;
-
-                boolean firstLoop2 = true;
-
-                currentColumn = startCol;
-
-                do {
-                    if (!firstLoop2) {
-                        int index = indexOf(currentColumn) + 1;
-
-                        if (index < columns.size()) {
-                            currentColumn = columns.get(index);
-                        } else {
-                            currentColumn = null;
-                        }
-
-                        if (currentColumn != null)
-                            if (indexOf(currentColumn) > indexOf(endColumn))
-                                currentColumn = null;
-                    }
-
-                    firstLoop2 = false;
-
-                    if (currentColumn != null) {
-                        GridPos cell = new GridPos(indexOf(currentColumn), currentItem);
-                        addToCellSelection(cell);
-                    }
-                } while (currentColumn != endColumn && currentColumn != null);
-            } while (currentItem != endItem);
+            // Select the whole rectangle at once
+            selectedCells.addRange(
+                newRange.x,
+                Math.min(newRange.y, columns.size() - 1),
+                Math.min(currentItem, endItem),
+                Math.min(Math.max(currentItem, endItem), getItemCount() - 1));
 
             if (selectedCells.equals(newCells)) {
                 return null;
@@ -2430,7 +2413,7 @@ public abstract class LightGrid extends Canvas {
                 }
             }
         }
-        if (oldSelection != null && oldSelection.size() == selectedCells.size() && selectedCells.containsAll(oldSelection)) {
+        if (oldSelection != null && selectedCells.equals(oldSelection)) {
             return null;
         }
 
@@ -2463,22 +2446,12 @@ public abstract class LightGrid extends Canvas {
     {
         //Update the list of which columns have all their cells selected
         selectedColumns.clear();
-        selectedRows.clear();
-
-        IntKeyMap<Boolean> columnIndices = new IntKeyMap<>();
-        for (GridPos cell : selectedCells) {
-            columnIndices.put(cell.col, Boolean.TRUE);
-            selectedRows.put(cell.row, Boolean.TRUE);
-        }
-        for (Integer columnIndex : columnIndices.keySet()) {
-            selectedColumns.add(columns.get(columnIndex));
-        }
-        Collections.sort(selectedColumns, new Comparator<GridColumn>() {
-            @Override
-            public int compare(GridColumn o1, GridColumn o2) {
-                return o1.getIndex() - o2.getIndex();
+        for (Integer columnIndex : selectedCells.getSelectedColumns()) {
+            if (columnIndex < columns.size()) {
+                selectedColumns.add(columns.get(columnIndex));
             }
-        });
+        }
+        selectedRows = selectedCells.getSelectedRows();
     }
 
     /**
@@ -2724,8 +2697,8 @@ public abstract class LightGrid extends Canvas {
                 }
 
                 if (e.button == 1 && !shift && !ctrl) {
-                    GridNode node = rowNodes.get(rowElements[row]);
-                    GridNode parentNode = parentNodes[row];
+                    GridNode node = rowNodes.get(getRowElement(row));
+                    GridNode parentNode = getParentNode(row);
                     if (node != null && node.state != IGridContentProvider.ElementState.NONE) {
                         if (GridRowRenderer.isOverExpander(e.x, parentNode == null ? 0 : parentNode.level))
                         {
@@ -2817,7 +2790,7 @@ public abstract class LightGrid extends Canvas {
         if (selectionEvent != null) {
             selectionEvent.stateMask = e.stateMask;
             selectionEvent.button = e.button;
-            selectionEvent.data = new GridCell(col == null ? null : col.getElement(), row < 0 ? null : rowElements[row]);
+            selectionEvent.data = new GridCell(col == null ? null : col.getElement(), row < 0 ? null : getRowElement(row));
             selectionEvent.x = e.x;
             selectionEvent.y = e.y;
             notifyListeners(SWT.Selection, selectionEvent);
@@ -2856,12 +2829,7 @@ public abstract class LightGrid extends Canvas {
         if (focusItem > row) {
             focusItem = row;
         }
-        for (Iterator<GridPos> iter = selectedCells.iterator(); iter.hasNext(); ) {
-            GridPos pos = iter.next();
-            if (pos.row > row) {
-                iter.remove();
-            }
-        }
+        selectedCells.removeRowsAfter(row);
         updateSelectionCache();
         computeHeaderSizes();
         this.scrollValuesObsolete = true;
@@ -2892,13 +2860,13 @@ public abstract class LightGrid extends Canvas {
                 if (col != null) {
                     if (isListening(SWT.DefaultSelection)) {
                         Event newEvent = new Event();
-                        newEvent.data = new GridCell(col.getElement(), rowElements[row]);
+                        newEvent.data = new GridCell(col.getElement(), getRowElement(row));
 
                         notifyListeners(SWT.DefaultSelection, newEvent);
                     }
                 } else {
-                    GridNode node = rowNodes.get(rowElements[row]);
-                    GridNode parentNode = parentNodes[row];
+                    GridNode node = rowNodes.get(getRowElement(row));
+                    GridNode parentNode = getParentNode(row);
                     if (node != null && node.state != IGridContentProvider.ElementState.NONE) {
                         if (!GridRowRenderer.isOverExpander(e.x, parentNode == null ? 0 : parentNode.level))
                         {
@@ -2924,7 +2892,7 @@ public abstract class LightGrid extends Canvas {
                 event.x = e.x;
                 event.y = e.y;
                 event.stateMask = e.stateMask;
-                event.data = new GridCell(focusColumn.getElement(), rowElements[focusItem]);
+                event.data = new GridCell(focusColumn.getElement(), getRowElement(focusItem));
                 notifyListeners(Event_NavigateLink, event);
                 return;
             }
@@ -2966,7 +2934,7 @@ public abstract class LightGrid extends Canvas {
                 GridColumn column = getColumn(point);
                 int rowIndex = getRow(point);
                 if (column != null && rowIndex >= 0) {
-                    se.data = new GridCell(column.getElement(), rowElements[rowIndex]);
+                    se.data = new GridCell(column.getElement(), getRowElement(rowIndex));
                 }
                 se.stateMask = e.stateMask;
                 se.x = e.x;
@@ -3123,7 +3091,7 @@ public abstract class LightGrid extends Canvas {
             GridColumn column = getColumn(point);
             int rowIndex = getRow(point);
             if (column != null && rowIndex >= 0) {
-                selectionEvent.data = new GridCell(column.getElement(), rowElements[rowIndex]);
+                selectionEvent.data = new GridCell(column.getElement(), getRowElement(rowIndex));
             }
             selectionEvent.x = e.x;
             selectionEvent.y = e.y;
@@ -3186,9 +3154,9 @@ public abstract class LightGrid extends Canvas {
             focusColumn = getColumn(0);
         }
 
-        if (e.character == '\r' && focusItem >= 0 && focusItem < rowElements.length) {
+        if (e.character == '\r' && focusItem >= 0 && focusItem < getItemCount()) {
             Event newEvent = new Event();
-            newEvent.data = new GridCell(focusColumn.getElement(), rowElements[focusItem]);
+            newEvent.data = new GridCell(focusColumn.getElement(), getRowElement(focusItem));
 
             notifyListeners(SWT.DefaultSelection, newEvent);
             return;
@@ -3321,7 +3289,7 @@ public abstract class LightGrid extends Canvas {
             case SWT.KEYPAD_ADD:
             case SWT.KEYPAD_SUBTRACT:
                 if (focusItem >= 0) {
-                    GridNode node = rowNodes.get(rowElements[focusItem]);
+                    GridNode node = rowNodes.get(getRowElement(focusItem));
                     if (node != null) {
                         boolean isPlus = (e.keyCode == '+' || e.keyCode == '=' || e.keyCode == SWT.KEYPAD_ADD);
                         if ((node.state == IGridContentProvider.ElementState.EXPANDED && !isPlus) ||
@@ -3365,7 +3333,7 @@ public abstract class LightGrid extends Canvas {
 
             GridCell newPos;
             if (newSelection >= 0) {
-                newPos = new GridCell(newColumnFocus.getElement(), rowElements[newSelection]);
+                newPos = new GridCell(newColumnFocus.getElement(), getRowElement(newSelection));
             } else {
                 newPos = null;
             }
@@ -3618,10 +3586,10 @@ public abstract class LightGrid extends Canvas {
 
     @Nullable
     public Object getFocusRowElement() {
-        if (focusItem < 0 || focusItem >= rowElements.length) {
+        if (focusItem < 0 || focusItem >= getItemCount()) {
             return null;
         }
-        return rowElements[focusItem];
+        return getRowElement(focusItem);
     }
 
     @Nullable
@@ -3750,9 +3718,19 @@ public abstract class LightGrid extends Canvas {
         focusColumn = columns.get(0);
         focusItem = 0;
 
-        List<GridPos> cells = new ArrayList<>();
-        getAllCells(cells);
-        Event selectionEvent = updateCellSelection(cells, stateMask, false, true, EventSource.KEYBOARD);
+        Event selectionEvent;
+        if ((stateMask & (SWT.MOD1 | SWT.MOD2)) == 0) {
+            // Plain select all. Do not enumerate cells
+            shiftSelectionAnchorColumn = null;
+            shiftSelectionAnchorItem = -1;
+            selectedCells.clear();
+            selectedCells.addRange(0, columns.size() - 1, 0, getItemCount() - 1);
+            selectionEvent = new Event();
+        } else {
+            List<GridPos> cells = new ArrayList<>();
+            getAllCells(cells);
+            selectionEvent = updateCellSelection(cells, stateMask, false, true, EventSource.KEYBOARD);
+        }
 
         focusColumn = oldFocusColumn;
         focusItem = oldFocusItem;
@@ -3834,7 +3812,40 @@ public abstract class LightGrid extends Canvas {
      */
     public Collection<Integer> getRowSelection()
     {
-        return Collections.unmodifiableCollection(selectedRows.keySet());
+        final GridSelection.RangeSet rows = selectedRows;
+        return new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    int next = rows.nextValue(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        int row = next;
+                        next = rows.nextValue(row + 1);
+                        return row;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
     }
 
     private void getCells(GridColumn col, List<GridPos> cells)
@@ -4042,7 +4053,7 @@ public abstract class LightGrid extends Canvas {
     @Nullable
     public String getCellToolTip(GridColumn col, int row)
     {
-        String toolTip = getCellText(columnElements[col.getIndex()], rowElements[row]);
+        String toolTip = getCellText(columnElements[col.getIndex()], getRowElement(row));
         if (toolTip == null) {
             return null;
         }
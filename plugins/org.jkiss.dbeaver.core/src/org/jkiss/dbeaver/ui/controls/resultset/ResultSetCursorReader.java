@@ -0,0 +1,468 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.swt.widgets.Control;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCFetchSizeTuner;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads result set from the cursor which is kept open in an isolated execution context.
+ * The query is executed once: the first page is passed to the viewer's data receiver,
+ * then the same cursor is read by segments. One segment is prefetched ahead of the viewer and the cursor
+ * waits until the viewer takes it.
+ * Execution context (and its transaction) is kept until the viewer releases data - values like LOB locators depend on it.
+ */
+class ResultSetCursorReader extends AbstractJob {
+
+    private static final Log log = Log.getLog(ResultSetCursorReader.class);
+
+    // Number of segments read ahead of the viewer
+    private static final int PREFETCH_SEGMENTS = 1;
+
+    private final ResultSetViewer viewer;
+    private final ResultSetDataReceiver pageReceiver;
+    private final DBSDataContainer dataContainer;
+    private final DBDDataFilter dataFilter;
+    private final int firstPageSize;
+    private final int segmentSize;
+
+    private final Deque<List<Object[]>> segments = new ArrayDeque<>();
+    private DBCExecutionContext executionContext;
+    private boolean autoCommitDisabled;
+    private long firstPageRows = -1;
+    private boolean finished;
+    private boolean stopped;
+    private boolean closed;
+    private boolean segmentRequested;
+    private Throwable error;
+
+    ResultSetCursorReader(
+        @NotNull ResultSetViewer viewer,
+        @NotNull ResultSetDataReceiver pageReceiver,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBDDataFilter dataFilter,
+        int firstPageSize,
+        int segmentSize)
+    {
+        super("Read cursor [" + dataContainer + "]");
+        this.viewer = viewer;
+        this.pageReceiver = pageReceiver;
+        this.dataContainer = dataContainer;
+        this.dataFilter = dataFilter;
+        this.firstPageSize = firstPageSize;
+        this.segmentSize = segmentSize;
+        setSystem(true);
+        setUser(false);
+    }
+
+    /**
+     * Cursor is usable while it didn't fail and wasn't stopped.
+     * Otherwise viewer has to read next segment with a new query.
+     */
+    synchronized boolean isValid()
+    {
+        return !stopped && !closed && error == null;
+    }
+
+    /**
+     * Executes query and reads the first page into the viewer's data receiver.
+     * Called by data pump job. Returns when the first page was read, the cursor remains open for next segments.
+     */
+    DBCStatistics readFirstPage(@NotNull DBRProgressMonitor monitor)
+        throws DBException
+    {
+        long startTime = System.currentTimeMillis();
+        schedule();
+        synchronized (this) {
+            while (firstPageRows < 0 && !finished) {
+                if (monitor.isCanceled() && !stopped) {
+                    // Reader finishes the page with rows read so far
+                    stopped = true;
+                    cancel();
+                }
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (firstPageRows < 0) {
+                if (error instanceof DBException) {
+                    throw (DBException) error;
+                }
+                throw new DBException("Can't read result set", error);
+            }
+        }
+        DBCStatistics statistics = new DBCStatistics();
+        statistics.setRowsFetched(firstPageRows);
+        statistics.setExecuteTime(System.currentTimeMillis() - startTime);
+        statistics.addStatementsCount();
+        return statistics;
+    }
+
+    /**
+     * Passes next segment to the viewer. Called in UI thread.
+     * If segment is already prefetched it is appended immediately, otherwise it is appended once read.
+     */
+    void readNextSegment()
+    {
+        List<Object[]> segment;
+        boolean hasMoreData;
+        synchronized (this) {
+            segment = segments.pollFirst();
+            if (segment == null) {
+                if (!finished) {
+                    segmentRequested = true;
+                    return;
+                }
+                segment = Collections.emptyList();
+            }
+            hasMoreData = hasMoreData(segment);
+            // Let cursor read the next segment
+            notifyAll();
+        }
+        viewer.appendCursorSegment(this, segment, hasMoreData);
+    }
+
+    /**
+     * Stops reading. Execution context stays open because rows already passed to the viewer may depend on it.
+     */
+    void stopReading()
+    {
+        synchronized (this) {
+            if (stopped || finished) {
+                stopped = true;
+                return;
+            }
+            stopped = true;
+            segments.clear();
+            notifyAll();
+        }
+        cancel();
+    }
+
+    /**
+     * Stops reading, ends cursor transaction and closes the context.
+     * Called when viewer releases data.
+     */
+    void close()
+    {
+        boolean closeContext;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stopped = true;
+            segments.clear();
+            closeContext = finished;
+            notifyAll();
+        }
+        cancel();
+        if (closeContext) {
+            AbstractJob closeJob = new AbstractJob("Close result set cursor") {
+                @Override
+                protected IStatus run(DBRProgressMonitor monitor)
+                {
+                    closeContext(monitor);
+                    return Status.OK_STATUS;
+                }
+            };
+            closeJob.setSystem(true);
+            closeJob.schedule();
+        }
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor)
+    {
+        try {
+            executionContext = dataContainer.getDataSource().openIsolatedContext(monitor, "Result set cursor");
+            // Some drivers keep server-side cursor only in transactional mode
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
+            if (txnManager != null) {
+                try {
+                    if (txnManager.isAutoCommit()) {
+                        txnManager.setAutoCommit(monitor, false);
+                        autoCommitDisabled = true;
+                    }
+                } catch (DBCException e) {
+                    log.debug("Can't disable auto-commit in cursor context", e);
+                }
+            }
+            DBCExecutionPurpose purpose = dataFilter != null && dataFilter.hasFilters() ?
+                DBCExecutionPurpose.USER_FILTERED : DBCExecutionPurpose.USER;
+            try (DBCSession session = executionContext.openSession(monitor, purpose, "Read " + dataContainer)) {
+                dataContainer.readData(
+                    new AbstractExecutionSource(dataContainer, executionContext, viewer),
+                    session,
+                    new CursorReceiver(),
+                    dataFilter,
+                    0,
+                    -1,
+                    DBSDataContainer.FLAG_READ_PSEUDO);
+            }
+        } catch (Throwable e) {
+            log.debug("Result set cursor failed", e);
+            synchronized (this) {
+                error = e;
+            }
+        } finally {
+            finishRead(monitor);
+        }
+        return Status.OK_STATUS;
+    }
+
+    private void finishRead(DBRProgressMonitor monitor)
+    {
+        boolean closeContext, notifyViewer;
+        synchronized (this) {
+            finished = true;
+            if (monitor.isCanceled() && !stopped && error == null) {
+                // Cursor wasn't read till the end
+                error = new DBCException("Result set read canceled");
+            }
+            closeContext = closed;
+            notifyViewer = segmentRequested && !stopped;
+            segmentRequested = false;
+            notifyAll();
+        }
+        if (closeContext) {
+            closeContext(monitor);
+        }
+        if (notifyViewer) {
+            runInUI(new Runnable() {
+                @Override
+                public void run() {
+                    if (isValid()) {
+                        readNextSegment();
+                    } else {
+                        viewer.cursorReaderFailed(ResultSetCursorReader.this);
+                    }
+                }
+            });
+        }
+    }
+
+    private void closeContext(DBRProgressMonitor monitor)
+    {
+        if (executionContext == null) {
+            return;
+        }
+        if (autoCommitDisabled) {
+            // Cursor only reads data - end its transaction and restore original mode
+            DBCTransactionManager txnManager = DBUtils.getTransactionManager(executionContext);
+            if (txnManager != null) {
+                try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, "End result set cursor")) {
+                    txnManager.rollback(session, null);
+                    txnManager.setAutoCommit(monitor, true);
+                } catch (Throwable e) {
+                    log.debug("Can't end cursor transaction", e);
+                }
+            }
+            autoCommitDisabled = false;
+        }
+        executionContext.close();
+        executionContext = null;
+    }
+
+    private boolean hasMoreData(List<Object[]> segment)
+    {
+        return segment.size() >= segmentSize && !(finished && segments.isEmpty());
+    }
+
+    /**
+     * Adds read segment to the queue. Waits while viewer didn't take previously read segments.
+     * @return false if reading must be stopped
+     */
+    private boolean pushSegment(DBRProgressMonitor monitor, List<Object[]> segment)
+    {
+        final List<Object[]> requestedSegment;
+        final boolean hasMoreData;
+        synchronized (this) {
+            while (segments.size() >= PREFETCH_SEGMENTS && !stopped && !monitor.isCanceled()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            if (stopped || monitor.isCanceled()) {
+                return false;
+            }
+            if (!segmentRequested) {
+                segments.add(segment);
+                return true;
+            }
+            segmentRequested = false;
+            requestedSegment = segment;
+            hasMoreData = segment.size() >= segmentSize;
+        }
+        // Viewer waits for this segment
+        runInUI(new Runnable() {
+            @Override
+            public void run() {
+                viewer.appendCursorSegment(ResultSetCursorReader.this, requestedSegment, hasMoreData);
+            }
+        });
+        return true;
+    }
+
+    private void runInUI(Runnable runnable)
+    {
+        Control control = viewer.getControl();
+        if (!control.isDisposed()) {
+            control.getDisplay().asyncExec(runnable);
+        }
+    }
+
+    /**
+     * Passes the first page to the viewer's data receiver, then collects next rows by segments
+     */
+    private class CursorReceiver implements DBDDataReceiver {
+
+        private boolean firstPage = true;
+        private long pageRows;
+        private DBDAttributeBindingMeta[] bindings;
+        private List<Object[]> rows = new ArrayList<>();
+        private boolean[] errorReported;
+        private boolean readStopped;
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows)
+            throws DBCException
+        {
+            pageReceiver.fetchStart(session, resultSet, 0, firstPageSize);
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet)
+            throws DBCException
+        {
+            if (readStopped) {
+                session.getProgressMonitor().setCanceled(true);
+                return;
+            }
+            if (firstPage) {
+                if (pageRows < firstPageSize) {
+                    pageReceiver.fetchRow(session, resultSet);
+                    pageRows++;
+                    return;
+                }
+                // There are more rows than fit the first page - keep cursor for the next segments
+                endFirstPage(session, resultSet);
+            }
+            Object[] row = new Object[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                try {
+                    row[i] = bindings[i].getValueHandler().fetchValueObject(
+                        session,
+                        resultSet,
+                        bindings[i].getAttribute(),
+                        bindings[i].getOrdinalPosition());
+                } catch (Exception e) {
+                    if (!errorReported[i]) {
+                        log.warn("Can't read column '" + bindings[i].getName() + "' value", e);
+                        errorReported[i] = true;
+                    }
+                }
+            }
+            rows.add(row);
+            if (rows.size() >= segmentSize) {
+                List<Object[]> segment = rows;
+                rows = new ArrayList<>();
+                if (!pushSegment(session.getProgressMonitor(), segment)) {
+                    readStopped = true;
+                }
+            }
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet)
+            throws DBCException
+        {
+            if (firstPage) {
+                endFirstPage(session, resultSet);
+            } else if (!readStopped && !rows.isEmpty()) {
+                pushSegment(session.getProgressMonitor(), rows);
+            }
+            rows = new ArrayList<>();
+        }
+
+        @Override
+        public void close()
+        {
+            if (firstPage) {
+                // Read failed before the first page was finished
+                pageReceiver.close();
+            }
+        }
+
+        private void endFirstPage(DBCSession session, DBCResultSet resultSet)
+            throws DBCException
+        {
+            firstPage = false;
+            try {
+                pageReceiver.fetchEnd(session, resultSet);
+            } finally {
+                pageReceiver.close();
+            }
+            bindings = pageReceiver.getMetaColumns();
+            errorReported = new boolean[bindings.length];
+            if (resultSet instanceof JDBCResultSet) {
+                try {
+                    // Wide rows (e.g. LOBs) are fetched by smaller portions
+                    ((JDBCResultSet) resultSet).setFetchSize(
+                        JDBCFetchSizeTuner.getMaxFetchSize(Arrays.asList(bindings), segmentSize));
+                } catch (Exception e) {
+                    // Not supported by driver
+                }
+            }
+            synchronized (ResultSetCursorReader.this) {
+                firstPageRows = pageRows;
+                ResultSetCursorReader.this.notifyAll();
+            }
+        }
+    }
+
+}
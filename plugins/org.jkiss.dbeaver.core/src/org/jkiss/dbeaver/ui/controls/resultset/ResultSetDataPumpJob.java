@@ -71,6 +71,7 @@ class ResultSetDataPumpJob extends DataSourceJob implements DBCExecutionSource {
     private Composite progressControl;
     private int offset;
     private int maxRows;
+    private ResultSetCursorReader cursorReader;
     private Throwable error;
     private DBCStatistics statistics;
     private long pumpStartTime;
@@ -98,6 +99,11 @@ class ResultSetDataPumpJob extends DataSourceJob implements DBCExecutionSource {
         this.maxRows = maxRows;
     }
 
+    void setCursorReader(ResultSetCursorReader cursorReader)
+    {
+        this.cursorReader = cursorReader;
+    }
+
     public Throwable getError()
     {
         return error;
@@ -130,21 +136,28 @@ class ResultSetDataPumpJob extends DataSourceJob implements DBCExecutionSource {
         if (dataFilter.hasFilters()) {
             purpose = DBCExecutionPurpose.USER_FILTERED;
         }
-        try (DBCSession session = getExecutionContext().openSession(
-            proxyMonitor,
-            purpose,
-            NLS.bind(CoreMessages.controls_rs_pump_job_context_name, dataContainer.toString())))
-        {
+        try {
             visualizer.schedule(PROGRESS_VISUALIZE_PERIOD * 2);
-            statistics = dataContainer.readData(
-                this,
-                session,
-                controller.getDataReceiver(),
-                dataFilter,
-                offset,
-                maxRows,
-                DBSDataContainer.FLAG_READ_PSEUDO
-            );
+            if (cursorReader != null) {
+                // First page is read from the cursor which stays open for the next segments
+                statistics = cursorReader.readFirstPage(proxyMonitor);
+            } else {
+                try (DBCSession session = getExecutionContext().openSession(
+                    proxyMonitor,
+                    purpose,
+                    NLS.bind(CoreMessages.controls_rs_pump_job_context_name, dataContainer.toString())))
+                {
+                    statistics = dataContainer.readData(
+                        this,
+                        session,
+                        controller.getDataReceiver(),
+                        dataFilter,
+                        offset,
+                        maxRows,
+                        DBSDataContainer.FLAG_READ_PSEUDO
+                    );
+                }
+            }
         } catch (DBException e) {
             error = e;
         } finally {
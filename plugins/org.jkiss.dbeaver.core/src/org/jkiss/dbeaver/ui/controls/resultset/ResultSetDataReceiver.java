@@ -18,11 +18,14 @@
 package org.jkiss.dbeaver.ui.controls.resultset;
 
 import org.eclipse.swt.widgets.Control;
+import org.jkiss.dbeaver.DBeaverPreferences;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBindingMeta;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -30,12 +33,17 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Data pump for SQL queries
+ * Data pump for SQL queries.
+ * Fetched rows are pushed to the viewer by chunks (each N rows or T milliseconds) so big result sets
+ * become visible before fetch ends. Fetch waits if viewer can't keep up with data.
  */
 class ResultSetDataReceiver implements DBDDataReceiver {
 
     private static final Log log = Log.getLog(ResultSetDataReceiver.class);
 
+    // Max number of chunks queued to UI thread. Fetch is suspended when this limit is reached.
+    private static final int MAX_PENDING_CHUNKS = 2;
+
     private ResultSetViewer resultSetViewer;
     private int columnsCount;
     private DBDAttributeBindingMeta[] metaColumns;
@@ -45,6 +53,14 @@ class ResultSetDataReceiver implements DBDDataReceiver {
     private long offset;
     private long maxRows;
 
+    private long fetchedRows;
+    private boolean dataPublished;
+    private int chunkRows;
+    private long chunkPeriod;
+    private long lastPublishTime;
+    private int pendingChunks;
+    private final Object chunkLock = new Object();
+
     private Map<DBCAttributeMetaData, List<String>> errors = new HashMap<>();
 
     ResultSetDataReceiver(ResultSetViewer resultSetViewer)
@@ -64,13 +80,24 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         this.nextSegmentRead = nextSegmentRead;
     }
 
+    DBDAttributeBindingMeta[] getMetaColumns() {
+        return metaColumns;
+    }
+
     @Override
     public void fetchStart(DBCSession session, final DBCResultSet resultSet, long offset, long maxRows)
         throws DBCException
     {
-        this.rows.clear();
+        this.rows = new ArrayList<>();
         this.offset = offset;
         this.maxRows = maxRows;
+        this.fetchedRows = 0;
+        this.dataPublished = false;
+
+        DBPPreferenceStore preferenceStore = resultSetViewer.getPreferenceStore();
+        this.chunkRows = preferenceStore.getInt(DBeaverPreferences.RESULT_SET_PROGRESSIVE_FETCH_ROWS);
+        this.chunkPeriod = preferenceStore.getInt(DBeaverPreferences.RESULT_SET_PROGRESSIVE_FETCH_PERIOD);
+        this.lastPublishTime = System.currentTimeMillis();
 
         if (!nextSegmentRead) {
             // Get columns metadata
@@ -122,34 +149,101 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             }
         }
         rows.add(row);
+        fetchedRows++;
+
+        if (chunkRows > 0 && isChunkReady()) {
+            publishRows(session, resultSet, false);
+        }
+    }
+
+    private boolean isChunkReady()
+    {
+        int rowCount = rows.size();
+        if (!nextSegmentRead && !dataPublished && rowCount < 2) {
+            // Viewer chooses grid or record mode by the first rows - do not show single row before we know there are more
+            return false;
+        }
+        return rowCount >= chunkRows ||
+            (chunkPeriod > 0 && System.currentTimeMillis() - lastPublishTime >= chunkPeriod);
     }
 
     @Override
     public void fetchEnd(DBCSession session, final DBCResultSet resultSet)
         throws DBCException
     {
-        if (!nextSegmentRead) {
+        publishRows(session, resultSet, true);
+    }
+
+    /**
+     * Pushes rows fetched since last call into the viewer.
+     * The first chunk of a new result set replaces viewer data, all others are appended.
+     */
+    private void publishRows(DBCSession session, final DBCResultSet resultSet, final boolean lastChunk)
+    {
+        final boolean replaceData = !nextSegmentRead && !dataPublished;
+        if (replaceData) {
             // Read locators' metadata
             ResultSetUtils.bindAttributes(session, resultSet, metaColumns, rows);
         }
 
         final List<Object[]> tmpRows = rows;
+        final long totalRows = fetchedRows;
+        rows = new ArrayList<>();
+        dataPublished = true;
 
-        final boolean nextSegmentRead = this.nextSegmentRead;
-        runInUI(new Runnable() {
+        waitForUI(session.getProgressMonitor());
+        synchronized (chunkLock) {
+            pendingChunks++;
+        }
+        boolean scheduled = runInUI(new Runnable() {
             @Override
             public void run() {
-                // Push data into viewer
-                if (!nextSegmentRead) {
-                    resultSetViewer.updatePresentation(resultSet);
-                    resultSetViewer.setData(tmpRows);
-                } else {
-                    resultSetViewer.appendData(tmpRows);
+                try {
+                    // Push data into viewer
+                    if (replaceData) {
+                        resultSetViewer.updatePresentation(resultSet);
+                        resultSetViewer.setData(tmpRows);
+                    } else if (!tmpRows.isEmpty()) {
+                        resultSetViewer.appendData(tmpRows);
+                    }
+                    if (lastChunk) {
+                        // Check for more data
+                        hasMoreData = maxRows > 0 && totalRows >= maxRows;
+                    }
+                } finally {
+                    releaseChunk();
                 }
-                // Check for more data
-                hasMoreData = maxRows > 0 && tmpRows.size() >= maxRows;
             }
         });
+        if (!scheduled) {
+            releaseChunk();
+        }
+        lastPublishTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Waits while UI thread processes previous chunks
+     */
+    private void waitForUI(DBRProgressMonitor monitor)
+    {
+        synchronized (chunkLock) {
+            while (pendingChunks >= MAX_PENDING_CHUNKS && !monitor.isCanceled() && !resultSetViewer.getControl().isDisposed()) {
+                try {
+                    chunkLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void releaseChunk()
+    {
+        synchronized (chunkLock) {
+            pendingChunks--;
+            chunkLock.notifyAll();
+        }
     }
 
     @Override
@@ -161,11 +255,13 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         rows = new ArrayList<>();
     }
 
-    private void runInUI(Runnable runnable) {
+    private boolean runInUI(Runnable runnable) {
         Control control = resultSetViewer.getControl();
         if (!control.isDisposed()) {
             control.getDisplay().asyncExec(runnable);
+            return true;
         }
+        return false;
     }
 
 }
@@ -53,8 +53,10 @@ public class ResultSetModel {
     private DBDDataFilter dataFilter;
     private boolean singleSourceCells;
 
-    // Data
+    // Data. Rows are kept in visual order
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Physical number of the next added row
+    private int nextRowNumber = 0;
     private int changesCount = 0;
     private volatile boolean hasData = false;
     // Flag saying that edited values update is in progress
@@ -596,8 +598,9 @@ public class ResultSetModel {
         int firstRowNum = curRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
         for (int i = 0; i < rowCount; i++) {
-            newRows.add(
-                new ResultSetRow(firstRowNum + i, rows.get(i)));
+            ResultSetRow row = new ResultSetRow(nextRowNumber++, rows.get(i));
+            row.setVisualNumber(firstRowNum + i);
+            newRows.add(row);
         }
         curRows.addAll(newRows);
         updateRowColors(newRows);
@@ -607,6 +610,7 @@ public class ResultSetModel {
         // Refresh all rows
         this.releaseAll();
         this.curRows = new ArrayList<>();
+        this.nextRowNumber = 0;
 
         hasData = false;
     }
@@ -640,11 +644,11 @@ public class ResultSetModel {
     }
 
     ResultSetRow addNewRow(int rowNum, @NotNull Object[] data) {
-        ResultSetRow newRow = new ResultSetRow(curRows.size(), data);
+        ResultSetRow newRow = new ResultSetRow(nextRowNumber++, data);
         newRow.setVisualNumber(rowNum);
         newRow.setState(ResultSetRow.STATE_ADDED);
-        shiftRows(newRow, 1);
         curRows.add(rowNum, newRow);
+        renumberRows(rowNum + 1);
         changesCount++;
         return newRow;
     }
@@ -669,23 +673,35 @@ public class ResultSetModel {
     }
 
     void cleanupRow(@NotNull ResultSetRow row) {
+        final int visualNumber = row.getVisualNumber();
         row.release();
-        this.curRows.remove(row.getVisualNumber());
-        this.shiftRows(row, -1);
+        this.curRows.remove(visualNumber);
+        renumberRows(visualNumber);
+        compactRowNumbers();
     }
 
     boolean cleanupRows(Collection<ResultSetRow> rows) {
         if (rows != null && !rows.isEmpty()) {
-            // Remove rows (in descending order to prevent concurrent modification errors)
-            List<ResultSetRow> rowsToRemove = new ArrayList<>(rows);
-            Collections.sort(rowsToRemove, new Comparator<ResultSetRow>() {
-                @Override
-                public int compare(ResultSetRow o1, ResultSetRow o2) {
-                    return o1.getVisualNumber() - o2.getVisualNumber();
+            // Remove all rows in one pass
+            Set<ResultSetRow> rowsToRemove = Collections.newSetFromMap(new IdentityHashMap<ResultSetRow, Boolean>());
+            rowsToRemove.addAll(rows);
+            int firstRemoved = -1;
+            int rowCount = curRows.size(), newRowCount = 0;
+            for (int i = 0; i < rowCount; i++) {
+                ResultSetRow row = curRows.get(i);
+                if (rowsToRemove.contains(row)) {
+                    row.release();
+                    if (firstRemoved < 0) {
+                        firstRemoved = i;
+                    }
+                } else {
+                    curRows.set(newRowCount++, row);
                 }
-            });
-            for (ResultSetRow row : rowsToRemove) {
-                cleanupRow(row);
+            }
+            if (firstRemoved >= 0) {
+                curRows.subList(newRowCount, rowCount).clear();
+                renumberRows(firstRemoved);
+                compactRowNumbers();
             }
             return true;
         } else {
@@ -693,15 +709,30 @@ public class ResultSetModel {
         }
     }
 
-    private void shiftRows(@NotNull ResultSetRow relative, int delta) {
+    /**
+     * Renumbers rows which follow inserted or removed rows.
+     */
+    private void renumberRows(int fromRow) {
+        for (int i = fromRow, rowCount = curRows.size(); i < rowCount; i++) {
+            curRows.get(i).setVisualNumber(i);
+        }
+    }
+
+    /**
+     * Compacts physical row numbers after rows removal. Order of row numbers is preserved.
+     */
+    private void compactRowNumbers() {
+        ResultSetRow[] numberedRows = new ResultSetRow[nextRowNumber];
         for (ResultSetRow row : curRows) {
-            if (row.getVisualNumber() >= relative.getVisualNumber()) {
-                row.setVisualNumber(row.getVisualNumber() + delta);
-            }
-            if (row.getRowNumber() >= relative.getRowNumber()) {
-                row.setRowNumber(row.getRowNumber() + delta);
+            numberedRows[row.getRowNumber()] = row;
+        }
+        int rowNumber = 0;
+        for (ResultSetRow row : numberedRows) {
+            if (row != null) {
+                row.setRowNumber(rowNumber++);
             }
         }
+        nextRowNumber = rowNumber;
     }
 
     private void releaseAll() {
@@ -791,48 +822,14 @@ public class ResultSetModel {
     }
 
     public void resetOrdering() {
-        final boolean hasOrdering = dataFilter.hasOrdering();
-        // Sort locally
-        final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
-        Collections.sort(curRows, new Comparator<ResultSetRow>() {
-            @Override
-            public int compare(ResultSetRow row1, ResultSetRow row2) {
-                if (!hasOrdering) {
-                    return row1.getRowNumber() - row2.getRowNumber();
-                }
-                int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
-                    final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
-                    if (binding == null) {
-                        continue;
-                    }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
-                    if (cell1 == cell2) {
-                        result = 0;
-                    } else if (DBUtils.isNullValue(cell1)) {
-                        result = 1;
-                    } else if (DBUtils.isNullValue(cell2)) {
-                        result = -1;
-                    } else if (cell1 instanceof Comparable) {
-                        result = ((Comparable) cell1).compareTo(cell2);
-                    } else {
-                        String str1 = String.valueOf(cell1);
-                        String str2 = String.valueOf(cell2);
-                        result = str1.compareTo(str2);
-                    }
-                    if (co.isOrderDescending()) {
-                        result = -result;
-                    }
-                    if (result != 0) {
-                        break;
-                    }
-                }
-                return result;
-            }
-        });
-        for (int i = 0; i < curRows.size(); i++) {
-            curRows.get(i).setVisualNumber(i);
+        // Sort locally. Without ordering restore physical order of rows
+        final ResultSetRow[] sortedRows = ResultSetSorter.sortRows(
+            this,
+            curRows,
+            dataFilter.hasOrdering() ? dataFilter.getOrderConstraints() : null);
+        for (int i = 0; i < sortedRows.length; i++) {
+            curRows.set(i, sortedRows[i]);
+            sortedRows[i].setVisualNumber(i);
         }
     }
 
@@ -211,8 +211,15 @@ class ResultSetPersister {
             DBSEntity table = rowIdentifier.getEntity();
             {
                 DataStatementInfo statement = new DataStatementInfo(DBSManipulationType.UPDATE, row, table);
-                // Updated columns
-                for (DBDAttributeBinding changedAttr : row.changes.keySet()) {
+                // Updated columns. Keep them in column order so rows with the same changed columns produce the same statement
+                List<DBDAttributeBinding> changedAttrs = new ArrayList<>(row.changes.keySet());
+                Collections.sort(changedAttrs, new Comparator<DBDAttributeBinding>() {
+                    @Override
+                    public int compare(DBDAttributeBinding o1, DBDAttributeBinding o2) {
+                        return o1.getOrdinalPosition() - o2.getOrdinalPosition();
+                    }
+                });
+                for (DBDAttributeBinding changedAttr : changedAttrs) {
                     statement.updateAttributes.add(
                         new DBDAttributeValue(
                             changedAttr,
@@ -281,37 +288,29 @@ class ResultSetPersister {
     }
 
     // Reflect data changes in viewer
-    // Changes affects only rows which statements executed successfully
+    // Changes affects only rows which statements executed successfully.
+    // Each row has at most one statement so we just walk through statements.
     private boolean reflectChanges()
     {
-        boolean rowsChanged = false;
-        for (ResultSetRow row : changedRows) {
-            for (DataStatementInfo stat : updateStatements) {
-                if (stat.executed && stat.row == row) {
-                    reflectKeysUpdate(stat);
-                    row.changes = null;
-                    break;
-                }
+        for (DataStatementInfo stat : updateStatements) {
+            if (stat.executed) {
+                reflectKeysUpdate(stat);
+                stat.row.changes = null;
             }
         }
-        for (ResultSetRow row : addedRows) {
-            for (DataStatementInfo stat : insertStatements) {
-                if (stat.executed && stat.row == row) {
-                    reflectKeysUpdate(stat);
-                    row.setState(ResultSetRow.STATE_NORMAL);
-                    break;
-                }
+        for (DataStatementInfo stat : insertStatements) {
+            if (stat.executed) {
+                reflectKeysUpdate(stat);
+                stat.row.setState(ResultSetRow.STATE_NORMAL);
             }
         }
-        for (ResultSetRow row : deletedRows) {
-            for (DataStatementInfo stat : deleteStatements) {
-                if (stat.executed && stat.row == row) {
-                    model.cleanupRow(row);
-                    rowsChanged = true;
-                    break;
-                }
+        List<ResultSetRow> removedRows = new ArrayList<>(deleteStatements.size());
+        for (DataStatementInfo stat : deleteStatements) {
+            if (stat.executed) {
+                removedRows.add(stat.row);
             }
         }
+        boolean rowsChanged = model.cleanupRows(removedRows);
         model.refreshChangeCount();
         return rowsChanged;
     }
@@ -328,6 +327,38 @@ class ResultSetPersister {
         }
     }
 
+    /**
+     * Splits statements into groups which may be executed in one batch:
+     * statements of the same entity with the same key and changed attributes.
+     * Inserts which read generated keys are executed one by one.
+     * Statements order within the group is preserved.
+     */
+    private static Collection<List<DataStatementInfo>> groupStatements(List<DataStatementInfo> statements)
+    {
+        Map<List<Object>, List<DataStatementInfo>> groups = new LinkedHashMap<>();
+        for (DataStatementInfo statement : statements) {
+            List<Object> groupKey = new ArrayList<>();
+            groupKey.add(statement.entity);
+            if (statement.type == DBSManipulationType.INSERT && statement.needKeys()) {
+                groupKey.add(statement);
+            }
+            for (DBDAttributeValue attr : statement.keyAttributes) {
+                groupKey.add(attr.getAttribute());
+            }
+            groupKey.add(null);
+            for (DBDAttributeValue attr : statement.updateAttributes) {
+                groupKey.add(attr.getAttribute());
+            }
+            List<DataStatementInfo> group = groups.get(groupKey);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(groupKey, group);
+            }
+            group.add(statement);
+        }
+        return groups.values();
+    }
+
     @NotNull
     private DBDRowIdentifier getDefaultRowIdentifier() throws DBCException {
         DBDRowIdentifier rowIdentifier = columns[0].getRowIdentifier();
@@ -446,95 +477,14 @@ class ResultSetPersister {
                     }
                 }
                 try {
-                    for (DataStatementInfo statement : ResultSetPersister.this.deleteStatements) {
-                        if (monitor.isCanceled()) break;
-                        try {
-                            DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                            DBSDataManipulator.ExecuteBatch batch = dataContainer.deleteData(
-                                session,
-                                DBDAttributeValue.getAttributes(statement.keyAttributes),
-                                new ExecutionSource(dataContainer));
-                            try {
-                                batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                                if (generateScript) {
-                                    batch.generatePersistActions(session, script);
-                                } else {
-                                    deleteStats.accumulate(batch.execute(session));
-                                }
-                            } finally {
-                                batch.close();
-                            }
-                            processStatementChanges(statement);
-                        } catch (DBException e) {
-                            processStatementError(statement, session);
-                            return e;
-                        }
-                        monitor.worked(1);
-                    }
-                    for (DataStatementInfo statement : ResultSetPersister.this.insertStatements) {
-                        if (monitor.isCanceled()) break;
-                        try {
-                            DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                            DBSDataManipulator.ExecuteBatch batch = dataContainer.insertData(
-                                session,
-                                DBDAttributeValue.getAttributes(statement.keyAttributes),
-                                statement.needKeys() ? new KeyDataReceiver(statement) : null,
-                                new ExecutionSource(dataContainer));
-                            try {
-                                batch.add(DBDAttributeValue.getValues(statement.keyAttributes));
-                                if (generateScript) {
-                                    batch.generatePersistActions(session, script);
-                                } else {
-                                    insertStats.accumulate(batch.execute(session));
-                                }
-                            } finally {
-                                batch.close();
-                            }
-                            processStatementChanges(statement);
-                        } catch (DBException e) {
-                            processStatementError(statement, session);
-                            return e;
-                        }
-                        monitor.worked(1);
+                    DBException execError = executeStatements(monitor, session, ResultSetPersister.this.deleteStatements, deleteStats);
+                    if (execError == null) {
+                        execError = executeStatements(monitor, session, ResultSetPersister.this.insertStatements, insertStats);
                     }
-                    for (DataStatementInfo statement : ResultSetPersister.this.updateStatements) {
-                        if (monitor.isCanceled()) break;
-                        try {
-                            DBSDataManipulator dataContainer = getDataManipulator(statement.entity);
-                            DBSDataManipulator.ExecuteBatch batch = dataContainer.updateData(
-                                session,
-                                DBDAttributeValue.getAttributes(statement.updateAttributes),
-                                DBDAttributeValue.getAttributes(statement.keyAttributes),
-                                null,
-                                new ExecutionSource(dataContainer));
-                            try {
-                                // Make single array of values
-                                Object[] attributes = new Object[statement.updateAttributes.size() + statement.keyAttributes.size()];
-                                for (int i = 0; i < statement.updateAttributes.size(); i++) {
-                                    attributes[i] = statement.updateAttributes.get(i).getValue();
-                                }
-                                for (int i = 0; i < statement.keyAttributes.size(); i++) {
-                                    attributes[statement.updateAttributes.size() + i] = statement.keyAttributes.get(i).getValue();
-                                }
-                                // Execute
-                                batch.add(attributes);
-                                if (generateScript) {
-                                    batch.generatePersistActions(session, script);
-                                } else {
-                                    updateStats.accumulate(batch.execute(session));
-                                }
-                            } finally {
-                                batch.close();
-                            }
-                            processStatementChanges(statement);
-                        } catch (DBException e) {
-                            processStatementError(statement, session);
-                            return e;
-                        }
-                        monitor.worked(1);
+                    if (execError == null) {
+                        execError = executeStatements(monitor, session, ResultSetPersister.this.updateStatements, updateStats);
                     }
-
-                    return null;
+                    return execError;
                 } finally {
                     if (!generateScript && txnManager != null && this.savepoint != null) {
                         try {
@@ -550,19 +500,97 @@ class ResultSetPersister {
             }
         }
 
-        private void processStatementChanges(DataStatementInfo statement)
+        /**
+         * Executes statements group by group. Each group is executed as a single batch.
+         * @return error or null
+         */
+        @Nullable
+        private DBException executeStatements(DBRProgressMonitor monitor, DBCSession session, List<DataStatementInfo> statements, DBCStatistics statistics)
+        {
+            for (List<DataStatementInfo> group : groupStatements(statements)) {
+                if (monitor.isCanceled()) break;
+                try {
+                    executeStatementGroup(session, group, statistics);
+                    processStatementChanges(group);
+                } catch (DBException e) {
+                    processStatementError(group, session);
+                    return e;
+                }
+                monitor.worked(group.size());
+            }
+            return null;
+        }
+
+        private void executeStatementGroup(DBCSession session, List<DataStatementInfo> group, DBCStatistics statistics)
+            throws DBException
+        {
+            DataStatementInfo firstStatement = group.get(0);
+            DBSDataManipulator dataContainer = getDataManipulator(firstStatement.entity);
+            DBSDataManipulator.ExecuteBatch batch;
+            switch (firstStatement.type) {
+                case DELETE:
+                    batch = dataContainer.deleteData(
+                        session,
+                        DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
+                        new ExecutionSource(dataContainer));
+                    break;
+                case INSERT:
+                    batch = dataContainer.insertData(
+                        session,
+                        DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
+                        firstStatement.needKeys() ? new KeyDataReceiver(firstStatement) : null,
+                        new ExecutionSource(dataContainer));
+                    break;
+                case UPDATE:
+                    batch = dataContainer.updateData(
+                        session,
+                        DBDAttributeValue.getAttributes(firstStatement.updateAttributes),
+                        DBDAttributeValue.getAttributes(firstStatement.keyAttributes),
+                        null,
+                        new ExecutionSource(dataContainer));
+                    break;
+                default:
+                    throw new DBCException("Unsupported manipulation type: " + firstStatement.type);
+            }
+            try {
+                for (DataStatementInfo statement : group) {
+                    batch.add(statement.getValues());
+                }
+                if (generateScript) {
+                    batch.generatePersistActions(session, script);
+                } else {
+                    try {
+                        statistics.accumulate(batch.execute(session));
+                    } catch (DBException e) {
+                        // Rows executed before the error. In auto-commit mode they are saved already.
+                        boolean[] executedRows = batch.getExecutedRows();
+                        for (int i = 0; i < group.size(); i++) {
+                            group.get(i).executed = executedRows != null && i < executedRows.length && executedRows[i];
+                        }
+                        throw e;
+                    }
+                }
+            } finally {
+                batch.close();
+            }
+        }
+
+        private void processStatementChanges(List<DataStatementInfo> group)
         {
-            statement.executed = true;
+            for (DataStatementInfo statement : group) {
+                statement.executed = true;
+            }
         }
 
-        private void processStatementError(DataStatementInfo statement, DBCSession session)
+        private void processStatementError(List<DataStatementInfo> group, DBCSession session)
         {
-            statement.executed = false;
+            boolean rolledBack = generateScript;
             if (!generateScript) {
                 DBCTransactionManager txnManager = DBUtils.getTransactionManager(getExecutionContext());
                 if (txnManager != null) {
                     try {
                         if (!txnManager.isAutoCommit()) {
+                            rolledBack = true;
                             txnManager.rollback(session, savepoint);
                         }
                     } catch (Throwable e) {
@@ -570,6 +598,13 @@ class ResultSetPersister {
                     }
                 }
             }
+            if (rolledBack) {
+                // Nothing was saved
+                for (DataStatementInfo statement : group) {
+                    statement.executed = false;
+                }
+            }
+            // Otherwise rows executed before the error are committed and stay saved. Failed and later rows stay dirty.
         }
 
     }
@@ -675,6 +710,19 @@ class ResultSetPersister {
             this.row = row;
             this.entity = entity;
         }
+        Object[] getValues()
+        {
+            // Update values go first, then keys
+            Object[] values = new Object[updateAttributes.size() + keyAttributes.size()];
+            for (int i = 0; i < updateAttributes.size(); i++) {
+                values[i] = updateAttributes.get(i).getValue();
+            }
+            for (int i = 0; i < keyAttributes.size(); i++) {
+                values[updateAttributes.size() + i] = keyAttributes.get(i).getValue();
+            }
+            return values;
+        }
+
         boolean needKeys()
         {
             for (DBDAttributeValue col : keyAttributes) {
@@ -0,0 +1,341 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Local (client-side) sorter of result set rows.
+ * Sort keys of each ordered attribute are extracted once and stored in typed arrays,
+ * then row indexes are sorted with stable merge sort.
+ * Big result sets are sorted in parallel.
+ */
+class ResultSetSorter {
+
+    // Rows count from which sort is split between processors
+    private static final int PARALLEL_SORT_THRESHOLD = 50000;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static ForkJoinPool sortPool;
+
+    private abstract static class SortKey {
+        final boolean[] nulls;
+        final boolean descending;
+
+        SortKey(boolean[] nulls, boolean descending)
+        {
+            this.nulls = nulls;
+            this.descending = descending;
+        }
+
+        int compare(int row1, int row2)
+        {
+            boolean null1 = nulls[row1], null2 = nulls[row2];
+            if (null1 || null2) {
+                // Nulls go last in both directions
+                return null1 == null2 ? 0 : (null1 ? 1 : -1);
+            }
+            int result = compareValues(row1, row2);
+            return descending ? -result : result;
+        }
+
+        abstract int compareValues(int row1, int row2);
+    }
+
+    private static class LongKey extends SortKey {
+        final long[] values;
+
+        LongKey(long[] values, boolean[] nulls, boolean descending)
+        {
+            super(nulls, descending);
+            this.values = values;
+        }
+
+        @Override
+        int compareValues(int row1, int row2)
+        {
+            long v1 = values[row1], v2 = values[row2];
+            return v1 < v2 ? -1 : (v1 == v2 ? 0 : 1);
+        }
+    }
+
+    private static class DoubleKey extends SortKey {
+        final double[] values;
+
+        DoubleKey(double[] values, boolean[] nulls, boolean descending)
+        {
+            super(nulls, descending);
+            this.values = values;
+        }
+
+        @Override
+        int compareValues(int row1, int row2)
+        {
+            return Double.compare(values[row1], values[row2]);
+        }
+    }
+
+    private static class StringKey extends SortKey {
+        final String[] values;
+
+        StringKey(String[] values, boolean[] nulls, boolean descending)
+        {
+            super(nulls, descending);
+            this.values = values;
+        }
+
+        @Override
+        int compareValues(int row1, int row2)
+        {
+            return values[row1].compareTo(values[row2]);
+        }
+    }
+
+    private static class ObjectKey extends SortKey {
+        final Object[] values;
+
+        ObjectKey(Object[] values, boolean[] nulls, boolean descending)
+        {
+            super(nulls, descending);
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        int compareValues(int row1, int row2)
+        {
+            Object v1 = values[row1], v2 = values[row2];
+            if (v1 == v2) {
+                return 0;
+            }
+            if (v1 instanceof Comparable) {
+                try {
+                    return ((Comparable) v1).compareTo(v2);
+                } catch (ClassCastException e) {
+                    // Values of different types - compare them as strings
+                }
+            }
+            return String.valueOf(v1).compareTo(String.valueOf(v2));
+        }
+    }
+
+    private static class RowComparator {
+        final SortKey[] keys;
+
+        RowComparator(SortKey[] keys)
+        {
+            this.keys = keys;
+        }
+
+        int compare(int row1, int row2)
+        {
+            for (SortKey key : keys) {
+                int result = key.compare(row1, row2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Sorts rows.
+     * @param orderConstraints order constraints or null to restore physical order of rows
+     * @return sorted rows. Order of equal rows is preserved.
+     */
+    @NotNull
+    static ResultSetRow[] sortRows(@NotNull ResultSetModel model, @NotNull List<ResultSetRow> rows, @Nullable List<DBDAttributeConstraint> orderConstraints)
+    {
+        ResultSetRow[] rowArray = rows.toArray(new ResultSetRow[rows.size()]);
+        List<SortKey> keys = new ArrayList<>();
+        if (orderConstraints == null) {
+            long[] rowNumbers = new long[rowArray.length];
+            for (int i = 0; i < rowArray.length; i++) {
+                rowNumbers[i] = rowArray[i].getRowNumber();
+            }
+            keys.add(new LongKey(rowNumbers, new boolean[rowArray.length], false));
+        } else {
+            for (DBDAttributeConstraint co : orderConstraints) {
+                final DBDAttributeBinding binding = model.getAttributeBinding(co.getAttribute());
+                if (binding != null) {
+                    keys.add(makeSortKey(model, binding, rowArray, co.isOrderDescending()));
+                }
+            }
+        }
+        if (keys.isEmpty() || rowArray.length < 2) {
+            return rowArray;
+        }
+
+        int[] index = new int[rowArray.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        RowComparator comparator = new RowComparator(keys.toArray(new SortKey[keys.size()]));
+        int[] aux = new int[index.length];
+        if (index.length >= PARALLEL_SORT_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            getSortPool().invoke(new SortTask(index, aux, 0, index.length, comparator));
+        } else {
+            mergeSort(index, aux, 0, index.length, comparator);
+        }
+
+        ResultSetRow[] result = new ResultSetRow[rowArray.length];
+        for (int i = 0; i < index.length; i++) {
+            result[i] = rowArray[index[i]];
+        }
+        return result;
+    }
+
+    private static SortKey makeSortKey(ResultSetModel model, DBDAttributeBinding binding, ResultSetRow[] rows, boolean descending)
+    {
+        final int rowCount = rows.length;
+        Object[] values = new Object[rowCount];
+        boolean[] nulls = new boolean[rowCount];
+        boolean allIntegers = true, allFloats = true, allStrings = true;
+        for (int i = 0; i < rowCount; i++) {
+            Object value = model.getCellValue(binding, rows[i]);
+            if (DBUtils.isNullValue(value)) {
+                nulls[i] = true;
+                continue;
+            }
+            values[i] = value;
+            if (allIntegers && !(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+                allIntegers = false;
+            }
+            if (allFloats && !(value instanceof Double || value instanceof Float)) {
+                allFloats = false;
+            }
+            if (allStrings && !(value instanceof String)) {
+                allStrings = false;
+            }
+        }
+        if (allIntegers) {
+            long[] longValues = new long[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                if (!nulls[i]) {
+                    longValues[i] = ((Number) values[i]).longValue();
+                }
+            }
+            return new LongKey(longValues, nulls, descending);
+        } else if (allFloats) {
+            double[] doubleValues = new double[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                if (!nulls[i]) {
+                    doubleValues[i] = ((Number) values[i]).doubleValue();
+                }
+            }
+            return new DoubleKey(doubleValues, nulls, descending);
+        } else if (allStrings) {
+            String[] stringValues = new String[rowCount];
+            System.arraycopy(values, 0, stringValues, 0, rowCount);
+            return new StringKey(stringValues, nulls, descending);
+        } else {
+            return new ObjectKey(values, nulls, descending);
+        }
+    }
+
+    private static synchronized ForkJoinPool getSortPool()
+    {
+        if (sortPool == null) {
+            sortPool = new ForkJoinPool();
+        }
+        return sortPool;
+    }
+
+    private static class SortTask extends RecursiveAction {
+        private final int[] index;
+        private final int[] aux;
+        private final int from;
+        private final int to;
+        private final RowComparator comparator;
+
+        SortTask(int[] index, int[] aux, int from, int to, RowComparator comparator)
+        {
+            this.index = index;
+            this.aux = aux;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= PARALLEL_SORT_THRESHOLD / 2) {
+                mergeSort(index, aux, from, to, comparator);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new SortTask(index, aux, from, middle, comparator),
+                new SortTask(index, aux, middle, to, comparator));
+            merge(index, aux, from, middle, to, comparator);
+        }
+    }
+
+    private static void mergeSort(int[] index, int[] aux, int from, int to, RowComparator comparator)
+    {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = index[i];
+                int k = i - 1;
+                while (k >= from && comparator.compare(index[k], row) > 0) {
+                    index[k + 1] = index[k];
+                    k--;
+                }
+                index[k + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(index, aux, from, middle, comparator);
+        mergeSort(index, aux, middle, to, comparator);
+        merge(index, aux, from, middle, to, comparator);
+    }
+
+    private static void merge(int[] index, int[] aux, int from, int middle, int to, RowComparator comparator)
+    {
+        if (comparator.compare(index[middle - 1], index[middle]) <= 0) {
+            // Already ordered
+            return;
+        }
+        System.arraycopy(index, from, aux, from, to - from);
+        int i = from, k = middle;
+        for (int pos = from; pos < to; pos++) {
+            if (i >= middle) {
+                index[pos] = aux[k++];
+            } else if (k >= to) {
+                index[pos] = aux[i++];
+            } else if (comparator.compare(aux[k], aux[i]) < 0) {
+                index[pos] = aux[k++];
+            } else {
+                index[pos] = aux[i++];
+            }
+        }
+    }
+
+}
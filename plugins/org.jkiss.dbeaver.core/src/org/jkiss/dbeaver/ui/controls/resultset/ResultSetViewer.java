@@ -158,6 +158,8 @@ public class ResultSetViewer extends Viewer
     private final List<IResultSetListener> listeners = new ArrayList<>();
 
     private volatile ResultSetDataPumpJob dataPumpJob;
+    @Nullable
+    private ResultSetCursorReader cursorReader;
 
     private final ResultSetModel model = new ResultSetModel();
     private HistoryStateItem curState = null;
@@ -1059,6 +1061,8 @@ public class ResultSetViewer extends Viewer
     {
         savePresentationSettings();
 
+        closeCursorReader();
+
         clearData();
 
         if (mainToolbar != null) {
@@ -2053,6 +2057,14 @@ public class ResultSetViewer extends Viewer
         DBSDataContainer dataContainer = getDataContainer();
         if (dataContainer != null && !model.isUpdateInProgress() && dataPumpJob == null) {
             dataReceiver.setHasMoreData(false);
+            if (cursorReader != null) {
+                if (cursorReader.isValid()) {
+                    // Take segment from the open cursor
+                    cursorReader.readNextSegment();
+                    return;
+                }
+                // Cursor failed - read next segment with a new query
+            }
             dataReceiver.setNextSegmentRead(true);
 
             runDataPump(
@@ -2065,6 +2077,50 @@ public class ResultSetViewer extends Viewer
         }
     }
 
+    /**
+     * Appends segment read by cursor reader
+     */
+    void appendCursorSegment(@NotNull ResultSetCursorReader reader, @NotNull List<Object[]> rows, boolean hasMoreData)
+    {
+        if (reader != cursorReader || viewerPanel.isDisposed()) {
+            // Obsolete reader
+            return;
+        }
+        if (!rows.isEmpty()) {
+            appendData(rows);
+        }
+        // Cursor context is kept until data is released - fetched values (e.g. LOBs) may depend on it
+        dataReceiver.setHasMoreData(hasMoreData);
+        updateToolbar();
+    }
+
+    void cursorReaderFailed(@NotNull ResultSetCursorReader reader)
+    {
+        if (reader != cursorReader || viewerPanel.isDisposed()) {
+            return;
+        }
+        dataReceiver.setHasMoreData(true);
+        readNextSegment();
+    }
+
+    /**
+     * Checks whether data should be read from the cursor kept open for next segments.
+     * Only entities are supported - query containers of SQL editor read data through the shared query job.
+     */
+    private boolean isKeepCursor(@NotNull DBSDataContainer dataContainer)
+    {
+        return dataContainer instanceof DBSEntity &&
+            getPreferenceStore().getBoolean(DBeaverPreferences.RESULT_SET_KEEP_CURSOR);
+    }
+
+    private void closeCursorReader()
+    {
+        if (cursorReader != null) {
+            cursorReader.close();
+            cursorReader = null;
+        }
+    }
+
     @Override
     public void readAllData() {
         if (!dataReceiver.isHasMoreData()) {
@@ -2114,6 +2170,13 @@ public class ResultSetViewer extends Viewer
             UIUtils.showMessageBox(viewerPanel.getShell(), "Data read", "Data read is in progress - can't run another", SWT.ICON_WARNING);
             return false;
         }
+        if (offset == 0) {
+            // Data is replaced - release the cursor and its context
+            closeCursorReader();
+        } else if (cursorReader != null) {
+            // Rows are appended by a new query, but values read before may still depend on the cursor context
+            cursorReader.stopReading();
+        }
         // Read data
         final DBDDataFilter useDataFilter = dataFilter != null ? dataFilter :
             (dataContainer == getDataContainer() ? model.getDataFilter() : null);
@@ -2128,6 +2191,10 @@ public class ResultSetViewer extends Viewer
             this,
             getExecutionContext(),
             progressControl);
+        if (offset == 0 && maxRows > 0 && isKeepCursor(dataContainer)) {
+            cursorReader = new ResultSetCursorReader(this, dataReceiver, dataContainer, useDataFilter, maxRows, getSegmentMaxRows());
+            dataPumpJob.setCursorReader(cursorReader);
+        }
         dataPumpJob.addJobChangeListener(new JobChangeAdapter() {
             @Override
             public void aboutToRun(IJobChangeEvent event) {
@@ -2191,6 +2258,9 @@ public class ResultSetViewer extends Viewer
                                 model.updateDataFilter(dataFilter);
                                 activePresentation.refreshData(true, false);
                             }
+                            if (error != null && offset == 0) {
+                                closeCursorReader();
+                            }
                             updateFiltersText(error == null);
                             updateToolbar();
                             fireResultSetLoad();
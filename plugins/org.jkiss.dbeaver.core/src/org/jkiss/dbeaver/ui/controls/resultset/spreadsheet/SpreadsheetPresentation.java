@@ -85,8 +85,8 @@ import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.PropertyPageStandard;
 import org.jkiss.dbeaver.ui.controls.lightgrid.GridCell;
 import org.jkiss.dbeaver.ui.controls.lightgrid.GridPos;
-import org.jkiss.dbeaver.ui.controls.lightgrid.IGridContentProvider;
 import org.jkiss.dbeaver.ui.controls.lightgrid.IGridLabelProvider;
+import org.jkiss.dbeaver.ui.controls.lightgrid.IGridVirtualContentProvider;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.panel.ViewValuePanel;
 import org.jkiss.dbeaver.ui.data.IMultiController;
@@ -1098,7 +1098,36 @@ public class SpreadsheetPresentation extends AbstractPresentation implements IRe
         }
     }
 
-    private class ContentProvider implements IGridContentProvider {
+    private class ContentProvider implements IGridVirtualContentProvider {
+
+        @Override
+        public boolean isVirtualRows() {
+            // In record mode rows are attributes which may have nested attributes
+            return !controller.isRecordMode();
+        }
+
+        @Override
+        public int getRowCount() {
+            return controller.getModel().getRowCount();
+        }
+
+        @NotNull
+        @Override
+        public Object getRowElement(int index) {
+            return controller.getModel().getRow(index);
+        }
+
+        @Override
+        public int getRowIndex(@NotNull Object element) {
+            if (element instanceof ResultSetRow) {
+                ResultSetModel model = controller.getModel();
+                int index = ((ResultSetRow) element).getVisualNumber();
+                if (index >= 0 && index < model.getRowCount() && model.getRow(index) == element) {
+                    return index;
+                }
+            }
+            return -1;
+        }
 
         @NotNull
         @Override
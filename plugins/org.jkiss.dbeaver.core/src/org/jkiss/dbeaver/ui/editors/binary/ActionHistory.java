@@ -50,7 +50,7 @@ public class ActionHistory {
 
     private BinaryContent.Range actionLastRange = null;
     private BinaryContent content = null;
-    private List<Integer> deletedList = null;  // of Integers
+    private ByteList deletedList = null;
     private boolean isBackspace = false;
     private List<Object[]> actionList = null;  // contains ArrayLists (from currentAction)
     private int actionsIndex = 0;
@@ -106,38 +106,38 @@ public class ActionHistory {
 
 
     /**
-     * Adds a list of deleted integers to the current action. If possible, merges integerList with the list
+     * Adds deleted bytes to the current action. If possible, merges them with the bytes
      * in the previous call to this method.
      *
      * @param position    starting delete point
-     * @param integerList deleted integers
-     * @param isSingle    used when integerList.size == 1 to tell whether it is a single or a piece of a block
-     *                    delete. When integerList.size() > 1 (a block delete for sure) isSingle is ignored.
+     * @param deleted     deleted bytes. The buffer is not copied.
+     * @param isSingle    used when one byte is deleted to tell whether it is a single or a piece of a block
+     *                    delete. When more bytes are deleted (a block delete for sure) isSingle is ignored.
      */
-    void addDeleted(long position, List<Integer> integerList, boolean isSingle)
+    void addDeleted(long position, ByteBuffer deleted, boolean isSingle)
     {
-        if (integerList.size() > 1L || !isSingle) {  // block delete
-            BinaryContent.Range range = newRangeFromIntegerList(position, integerList);
+        if (deleted.remaining() > 1 || !isSingle) {  // block delete
+            BinaryContent.Range range = new BinaryContent.Range(position, deleted, true);
             List<Range> oneElementList = new ArrayList<>();
             oneElementList.add(range);
             addLostRanges(oneElementList);
         } else {
-            addLostByte(position, integerList.get(0));
+            addLostByte(position, deleted.get(deleted.position()) & 0x0ff);
         }
         previousTime = System.currentTimeMillis();
     }
 
 
-    void addLostByte(long position, Integer integer)
+    void addLostByte(long position, int value)
     {
         if (deletedList == null)
-            deletedList = new ArrayList<>();
+            deletedList = new ByteList();
 
         updateNewRange(position);
         if (isBackspace) {
-            deletedList.add(0, integer);
+            deletedList.add(0, value);
         } else {  // delete(Del) or overwrite
-            deletedList.add(integer);
+            deletedList.add(value);
         }
         previousTime = System.currentTimeMillis();
     }
@@ -331,21 +331,9 @@ public class ActionHistory {
     }
 
 
-    private ByteBuffer newBufferFromIntegerList(List<Integer> integerList)
+    private BinaryContent.Range newRangeFromByteList(long position, ByteList byteList)
     {
-        ByteBuffer store = ByteBuffer.allocate(integerList.size());
-        for (Integer anIntegerList : integerList) {
-            store.put(anIntegerList.byteValue());
-        }
-        store.position(0);
-
-        return store;
-    }
-
-
-    private BinaryContent.Range newRangeFromIntegerList(long position, List<Integer> integerList)
-    {
-        ByteBuffer store = newBufferFromIntegerList(integerList);
+        ByteBuffer store = byteList.toBuffer(0, byteList.size());
 
         return new BinaryContent.Range(position, store, true);
     }
@@ -358,7 +346,7 @@ public class ActionHistory {
             if (deletedList == null)
                 return;
 
-            newRange = newRangeFromIntegerList(newRangePosition, deletedList);
+            newRange = newRangeFromByteList(newRangePosition, deletedList);
             deletedList = null;
         } else {  // currentActionType == INSERT || currentActionType == OVERWRITE
             if (newRangePosition < 0L)
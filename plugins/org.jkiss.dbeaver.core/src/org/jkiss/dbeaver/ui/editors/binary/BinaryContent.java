@@ -33,6 +33,8 @@ import java.util.*;
  * A binary content provider. Content backed by files has no effect on memory footprint. Content
  * backed by memory buffers is limited by amount of memory. Notifies ModifyListeners when it has been
  * modified.
+ * Content is a piece table: sorted ranges which refer to read-only file data (big files are memory mapped
+ * by segments) or to memory buffers. Pending byte edits are kept in a primitive byte list.
  * Keeps track of the positions where changes have been done. Files that back this content must not be
  * modified while the content is still in use.
  *
@@ -53,7 +55,7 @@ public class BinaryContent {
 
 
     /**
-     * A subset of data contained in a ByteBuffer or a File
+     * A subset of data contained in a ByteBuffer or a file (MappedFileData)
      */
     final static class Range implements Comparable<Range>, Cloneable {
         long position = -1L;
@@ -76,13 +78,10 @@ public class BinaryContent {
             dirty = isDirty;
         }
 
-        Range(long aPosition, File aFile, boolean isDirty)
-            throws IOException
+        Range(long aPosition, MappedFileData aFile, boolean isDirty)
         {
             this(aPosition, aFile.length());
-            if (length < 0L) throw new IOException("File error");
-
-            data = new RandomAccessFile(aFile, "r");
+            data = aFile;
             dirty = isDirty;
         }
 
@@ -133,11 +132,13 @@ public class BinaryContent {
     private long exclusiveEnd = -1L;
     private long lastUpperNibblePosition = -1L;
     private List<ModifyListener> listeners = null;
-    private List<Integer> changeList = null;
+    private ByteList changeList = null;
     private boolean changesInserted = false;
     private long changesPosition = -1L;
     private TreeSet<Range> ranges = new TreeSet<>();
     private Iterator<Range> tailTree = null;
+    // All files opened by this content (including ones referenced by action history only)
+    private List<MappedFileData> files = new ArrayList<>();
 
     /**
      * Create new empty content.
@@ -159,7 +160,16 @@ public class BinaryContent {
         if (aFile == null || aFile.length() < 1L)
             return;
 
-        ranges.add(new Range(0L, aFile, false));
+        ranges.add(new Range(0L, openFile(aFile), false));
+    }
+
+
+    private MappedFileData openFile(File aFile)
+        throws IOException
+    {
+        MappedFileData fileData = new MappedFileData(aFile);
+        files.add(fileData);
+        return fileData;
     }
 
 
@@ -215,11 +225,7 @@ public class BinaryContent {
     {
         if (changeList == null) return;
 
-        ByteBuffer store = ByteBuffer.allocate(changeList.size());
-        for (Integer myChange : changeList) {
-            store.put(myChange.byteValue());
-        }
-        store.position(0);
+        ByteBuffer store = changeList.toBuffer(0, changeList.size());
         changeList = null;
         if (changesInserted)
             insertRange(new Range(changesPosition, store, true));
@@ -250,13 +256,13 @@ public class BinaryContent {
         if (changeList != null && changesInserted && changesPosition <= position &&
             changesPosition + changeList.size() >= position + length) {
             int deleteStart = (int) (position - changesPosition);
-            List<Integer> subList = changeList.subList(deleteStart, deleteStart + (int) length);
+            int deleteEnd = deleteStart + (int) length;
             if (actions != null) {
-                actions.addDeleted(position, subList, length == 1L);
+                actions.addDeleted(position, changeList.toBuffer(deleteStart, deleteEnd), length == 1L);
                 if (length > 1) actions.endAction();
             }
             if (length < changeList.size()) {
-                subList.clear();
+                changeList.remove(deleteStart, deleteEnd);
             } else {  // length == changeList.size()
                 changeList = null;
 //			splitAndShift(position, 0);  // mark them as dirty
@@ -361,6 +367,10 @@ public class BinaryContent {
                 ContentUtils.close((Closeable) value.data);
             }
         }
+        for (MappedFileData fileData : files) {
+            fileData.dispose();
+        }
+        files.clear();
 
         if (actions != null) {
             actions.dispose();
@@ -371,20 +381,14 @@ public class BinaryContent {
     }
 
 
-    int fillWithChanges(ByteBuffer dst, long position)
+    int fillWithChanges(ByteBuffer dst, long position, int maxCopyLength)
     {
         long relativePosition = position - changesPosition;
         int changesSize = changeList.size();
         if (relativePosition < 0L || relativePosition >= changesSize)
             return 0;
 
-        int remaining = dst.remaining();
-        int i = (int) relativePosition;
-        for (; remaining > 0 && i < changesSize; ++i, --remaining) {
-            dst.put(changeList.get(i).byteValue());
-        }
-
-        return i - (int) relativePosition;
+        return changeList.copyTo(dst, (int) relativePosition, maxCopyLength);
     }
 
 
@@ -392,6 +396,9 @@ public class BinaryContent {
         throws IOException
     {
         int dstInitialPosition = dst.position();
+        if (overlapBytes >= sourceRange.length) {
+            return 0;
+        }
         if (sourceRange.data instanceof ByteBuffer) {
             ByteBuffer src = (ByteBuffer) sourceRange.data;
             src.limit((int) (sourceRange.dataOffset + sourceRange.length));
@@ -400,18 +407,11 @@ public class BinaryContent {
                 src.limit(src.position() + Math.min(dst.remaining(), maxCopyLength));
             }
             dst.put(src);
-        } else if (sourceRange.data instanceof RandomAccessFile) {
-            RandomAccessFile src = (RandomAccessFile) sourceRange.data;
+        } else if (sourceRange.data instanceof MappedFileData) {
+            MappedFileData src = (MappedFileData) sourceRange.data;
             long start = sourceRange.dataOffset + overlapBytes;
             int length = (int) Math.min(sourceRange.length - overlapBytes, maxCopyLength);
-            int limit = -1;
-            if (dst.remaining() > length) {
-                limit = dst.limit();
-                dst.limit(dst.position() + length);
-            }
-            src.getChannel().read(dst, start);
-            if (limit > 0)
-                dst.limit(limit);
+            src.read(dst, start, length);
         }
 
         return dst.position() - dstInitialPosition;
@@ -433,7 +433,9 @@ public class BinaryContent {
         long changesPosition = positionSoFar;
         if (changeList != null && positionSoFar >= this.changesPosition &&
             positionSoFar < this.changesPosition + changeList.size() && overlapBytes < sourceRange.length) {
-            changesAdded = fillWithChanges(dst, positionSoFar);
+            // Overwritten bytes which are beyond this range are filled with the next range
+            changesAdded = fillWithChanges(dst, positionSoFar, changesInserted ?
+                Integer.MAX_VALUE : (int) Math.min(sourceRange.length - overlapBytes, Integer.MAX_VALUE));
             if (changesInserted)
                 positionSoFar += changesAdded;
             else
@@ -517,7 +519,7 @@ public class BinaryContent {
         }
         if (dst.remaining() > 0 && changeList != null &&
             positionSoFar + positionShift < changesPosition + changeList.size()) {
-            int size = fillWithChanges(dst, positionSoFar + positionShift);
+            int size = fillWithChanges(dst, positionSoFar + positionShift, Integer.MAX_VALUE);
             if (rangesModified != null) {
                 rangesModified.add(positionSoFar + positionShift);
                 rangesModified.add((long)size);
@@ -612,15 +614,12 @@ public class BinaryContent {
         Range range = getRangeAt(position);
         if (range != null) {
             Object value = range.data;
+            long dataPosition = range.dataOffset + position - range.position;
             if (value instanceof ByteBuffer) {
                 ByteBuffer data = (ByteBuffer) value;
-                data.limit(data.capacity());
-                data.position((int) range.dataOffset);
-                result = data.get((int) (position - range.position)) & 0x0ff;
-            } else if (value instanceof RandomAccessFile) {
-                RandomAccessFile randomFile = (RandomAccessFile) value;
-                randomFile.seek(position);
-                result = randomFile.read();
+                result = data.get((int) dataPosition) & 0x0ff;
+            } else if (value instanceof MappedFileData) {
+                result = ((MappedFileData) value).get(dataPosition);
             }
         }
 
@@ -710,7 +709,7 @@ public class BinaryContent {
         long fileLength = aFile.length();
         if (fileLength < 1L || position > length()) return;
 
-        Range newRange = new Range(position, aFile, true);
+        Range newRange = new Range(position, openFile(aFile), true);
         dirty = true;
         lastUpperNibblePosition = -1L;
         if (actions != null)
@@ -878,7 +877,7 @@ public class BinaryContent {
         throws IOException
     {
         if (aFile.length() > 0L && position < length())
-            overwriteInternal(new Range(position, aFile, true));
+            overwriteInternal(new Range(position, openFile(aFile), true));
     }
 
 
@@ -1081,7 +1080,7 @@ public class BinaryContent {
                 commitChanges();
             }
         }
-        changeList = new ArrayList<>();
+        changeList = new ByteList();
         changeList.add(getFromRanges(position));
         changesInserted = insert;
         changesPosition = position;
@@ -48,6 +48,8 @@ import org.jkiss.dbeaver.utils.ContentUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -247,12 +249,35 @@ public class BinaryEditor extends EditorPart implements ISelectionProvider, IMen
         if (file != null) {
             final IPath absolutePath = file.getLocation();
             File systemFile = absolutePath.toFile();
-            // Save to file
+            // Content reads unchanged bytes from the file itself (big files are memory mapped),
+            // so it is saved into temporary file which replaces the original file after content releases it
+            File tempFile = null;
             try {
-                manager.getContent().get(systemFile);
+                tempFile = File.createTempFile(systemFile.getName(), ".tmp", systemFile.getParentFile());
+                manager.getContent().get(tempFile);
             }
             catch (IOException e) {
                 log.error("Can't save binary content", e);
+                if (tempFile != null && !tempFile.delete()) {
+                    log.warn("Can't delete temporary file '" + tempFile.getAbsolutePath() + "'");
+                }
+                return;
+            }
+            manager.closeFile();
+            try {
+                Files.move(tempFile.toPath(), systemFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                loadBinaryContent();
+            }
+            catch (IOException e) {
+                // File is still in use (e.g. mapping isn't released yet) - keep edited content in temporary file
+                log.error("Can't replace file '" + systemFile.getAbsolutePath() + "' with saved content", e);
+                tempFile.deleteOnExit();
+                try {
+                    manager.openFile(tempFile, GeneralUtils.DEFAULT_FILE_CHARSET_NAME);
+                }
+                catch (IOException e1) {
+                    log.error("Can't open saved binary content", e1);
+                }
             }
             // Sync file changes
             ContentUtils.syncFile(RuntimeUtils.makeMonitor(monitor), file);
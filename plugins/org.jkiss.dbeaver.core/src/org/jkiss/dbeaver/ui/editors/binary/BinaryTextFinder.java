@@ -21,6 +21,8 @@ package org.jkiss.dbeaver.ui.editors.binary;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,13 +32,15 @@ import java.util.regex.Pattern;
  * Given a literal, finds its position in the file. It is possible to get subsequent finds.
  * The search is either binary or text based. Text based search uses standard java unicode (all of big
  * and little endian, odd and even address) plus ascii when the literal falls within ascii char limits.
+ * Byte sequences are searched with Boyer-Moore-Horspool algorithm. Regular expressions are used only for
+ * case insensitive unicode search.
  *
  * @author Jordi
  */
 public class BinaryTextFinder {
 
 
-    public static final int MAP_SIZE = 64 * 1024;
+    public static final int MAP_SIZE = 1024 * 1024;
     public static final int MAX_SEQUENCE_SIZE = 2 * 1024;  // a search string of 2K should be enough
 
     private long bufferPosition = -1L;
@@ -45,6 +49,8 @@ public class BinaryTextFinder {
     private boolean currentPartFoundIsUnicode = false;
     private long currentPosition = 0L;  // absolute value, start of forward finds, end(exclusive) of backward finds
     private byte[] byteFindSequence = null;
+    private HorspoolMatcher byteMatcher = null;
+    private HorspoolMatcher[] unicodeMatchers = null;  // little and big endian
     private boolean caseSensitive = true;
     private BinaryContent content = null;
     private boolean directionForward = true;
@@ -106,39 +112,26 @@ public class BinaryTextFinder {
     {
         if (byteFindSequence == null) return -1;
 
-        int start = 0;
-        int inclusiveEnd = byteBuffer.limit() - byteFindSequence.length;
-        if (!directionForward) {
-            start = inclusiveEnd;
-            inclusiveEnd = 0;
+        if (byteMatcher == null) {
+            byteMatcher = new HorspoolMatcher(byteFindSequence, !caseSensitive);
         }
-
-        for (int i = start;
-            directionForward && i <= inclusiveEnd || !directionForward && i >= inclusiveEnd;
-            i += directionForward ? 1 : -1)
-        {
-            boolean matchesSoFar = true;
-            for (int j = 0; j < byteFindSequence.length && matchesSoFar; ++j) {
-                byte existing = byteBuffer.get(i + j);
-                byte matcher = byteFindSequence[j];
-                if (existing != matcher) {
-                    if (caseSensitive || existing < 'A' || existing > 'z' || matcher < 'A' ||
-                        matcher > 'z' || existing - matcher != 32 && matcher - existing != 32)
-                        matchesSoFar = false;
-                }
-            }
-            if (matchesSoFar) {
-                return i;
-            }
-        }
-
-        return -1;
+        return byteMatcher.find(byteBuffer, directionForward);
     }
 
 
     private int findUnicodeMatchInPart()
         throws IOException
     {
+        if (unicodeMatchers != null) {
+            int result = -1;
+            for (HorspoolMatcher matcher : unicodeMatchers) {
+                int index = matcher.find(byteBuffer, directionForward);
+                if (index >= 0 && (result < 0 || directionForward && index < result || !directionForward && index > result)) {
+                    result = index;
+                }
+            }
+            return result;
+        }
         if (pattern == null) return -1;
 
         int result = Integer.MAX_VALUE;
@@ -225,6 +218,7 @@ public class BinaryTextFinder {
         }
 
         literalByteLength = byteFindSequence.length;
+        byteMatcher = null;
     }
 
 
@@ -268,6 +262,18 @@ public class BinaryTextFinder {
         if (!caseSensitive) ignoreCaseFlags = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
         pattern = Pattern.compile(regex.toString(), ignoreCaseFlags);
 
+        if (caseSensitive) {
+            // Byte matchers check both even and odd addresses, like the regex over 4 char views does
+            String text = literal.toString();
+            unicodeMatchers = new HorspoolMatcher[] {
+                new HorspoolMatcher(text.getBytes(Charset.forName("UTF-16LE")), false),
+                new HorspoolMatcher(text.getBytes(Charset.forName("UTF-16BE")), false)
+            };
+        } else {
+            unicodeMatchers = null;
+        }
+
+        byteMatcher = null;
         if (isAsciiCompatible)
             byteFindSequence = tmpBytes;
     }
@@ -341,6 +347,7 @@ public class BinaryTextFinder {
         if (caseSensitive == beSensitive) return;
 
         caseSensitive = beSensitive;
+        byteMatcher = null;
         if (literal != null)
             initSearchUnicodeAscii();
     }
@@ -384,4 +391,90 @@ public class BinaryTextFinder {
     {
         stopSearching = true;
     }
+
+
+    /**
+     * Boyer-Moore-Horspool matcher of a byte sequence. Optionally ignores case of ascii letters.
+     */
+    static final class HorspoolMatcher {
+        private final byte[] sequence;
+        private final boolean ignoreCase;
+        // Shifts by the last byte of window (forward search) and by the first byte (backward search)
+        private final int[] forwardShift = new int[256];
+        private final int[] backwardShift = new int[256];
+
+        HorspoolMatcher(byte[] sequence, boolean ignoreCase)
+        {
+            this.ignoreCase = ignoreCase;
+            int length = sequence.length;
+            this.sequence = new byte[length];
+            for (int i = 0; i < length; i++) {
+                this.sequence[i] = fold(sequence[i]);
+            }
+            Arrays.fill(forwardShift, length);
+            Arrays.fill(backwardShift, length);
+            for (int i = 0; i < length - 1; i++) {
+                forwardShift[this.sequence[i] & 0x0ff] = length - 1 - i;
+            }
+            for (int i = length - 1; i > 0; i--) {
+                backwardShift[this.sequence[i] & 0x0ff] = i;
+            }
+        }
+
+        /**
+         * Finds first (or last for backward search) match between buffer start and its limit
+         *
+         * @return match position or -1
+         */
+        int find(ByteBuffer buffer, boolean forward)
+        {
+            int length = sequence.length;
+            int limit = buffer.limit();
+            if (length == 0 || limit < length) {
+                return -1;
+            }
+            byte[] data;
+            int base;
+            if (buffer.hasArray()) {
+                data = buffer.array();
+                base = buffer.arrayOffset();
+            } else {
+                data = new byte[limit];
+                for (int i = 0; i < limit; i++) {
+                    data[i] = buffer.get(i);
+                }
+                base = 0;
+            }
+            int last = length - 1;
+            if (forward) {
+                for (int i = 0; i <= limit - length; ) {
+                    int j = last;
+                    while (j >= 0 && fold(data[base + i + j]) == sequence[j]) {
+                        j--;
+                    }
+                    if (j < 0) {
+                        return i;
+                    }
+                    i += forwardShift[fold(data[base + i + last]) & 0x0ff];
+                }
+            } else {
+                for (int i = limit - length; i >= 0; ) {
+                    int j = 0;
+                    while (j < length && fold(data[base + i + j]) == sequence[j]) {
+                        j++;
+                    }
+                    if (j == length) {
+                        return i;
+                    }
+                    i -= backwardShift[fold(data[base + i]) & 0x0ff];
+                }
+            }
+            return -1;
+        }
+
+        private byte fold(byte value)
+        {
+            return ignoreCase && value >= 'a' && value <= 'z' ? (byte) (value - 32) : value;
+        }
+    }
 }
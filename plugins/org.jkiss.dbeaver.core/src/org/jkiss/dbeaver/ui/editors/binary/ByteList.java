@@ -0,0 +1,120 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable list of bytes. Used to keep pending edits without boxing each byte.
+ * Values are passed as ints in range 0..255.
+ */
+final class ByteList {
+
+    private byte[] data;
+    private int size;
+
+    ByteList()
+    {
+        data = new byte[16];
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    int get(int index)
+    {
+        checkIndex(index, size);
+        return data[index] & 0x0ff;
+    }
+
+    void set(int index, int value)
+    {
+        checkIndex(index, size);
+        data[index] = (byte) value;
+    }
+
+    void add(int value)
+    {
+        ensureCapacity(size + 1);
+        data[size++] = (byte) value;
+    }
+
+    void add(int index, int value)
+    {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = (byte) value;
+        size++;
+    }
+
+    /**
+     * Removes bytes in range [from, to)
+     */
+    void remove(int from, int to)
+    {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of " + size);
+        }
+        System.arraycopy(data, to, data, from, size - to);
+        size -= to - from;
+    }
+
+    /**
+     * Copies up to maxCount bytes starting at specified index into the buffer
+     * @return number of copied bytes
+     */
+    int copyTo(ByteBuffer dst, int from, int maxCount)
+    {
+        int count = Math.min(Math.min(dst.remaining(), size - from), maxCount);
+        if (count <= 0) {
+            return 0;
+        }
+        dst.put(data, from, count);
+        return count;
+    }
+
+    /**
+     * Returns new buffer with copy of bytes in range [from, to)
+     */
+    ByteBuffer toBuffer(int from, int to)
+    {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of " + size);
+        }
+        return ByteBuffer.wrap(Arrays.copyOfRange(data, from, to));
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    private static void checkIndex(int index, int bound)
+    {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + bound);
+        }
+    }
+
+}
@@ -446,6 +446,20 @@ public class HexManager {
         hexEditControl.setContentProvider(content);
     }
 
+    /**
+     * Releases file of the current content. Content is replaced with empty one.
+     */
+    public void closeFile()
+    {
+        if (content != null) {
+            content.dispose();
+        }
+        content = new BinaryContent();
+        if (hexEditControl != null) {
+            hexEditControl.setContentProvider(content);
+        }
+    }
+
     /**
      * Causes the text areas to have the keyboard focus
      */
@@ -0,0 +1,148 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Read-only file data of binary content.
+ * Big files are mapped into memory by segments. Segment is mapped on first access so opening
+ * of huge file costs nothing. Small files and files which can't be mapped (e.g. when address space
+ * is exhausted) are read through the file channel.
+ * Is not closeable by purpose: the same data is shared by content ranges and action history,
+ * it is disposed by content owner only.
+ */
+final class MappedFileData {
+
+    static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+    // Smaller files are read directly. They are often overwritten by editor itself
+    // and some OSes do not allow to change length of mapped files.
+    static final long MAP_THRESHOLD = 32L * 1024 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+    private MappedByteBuffer[] segments;
+
+    MappedFileData(File aFile)
+        throws IOException
+    {
+        this.file = new RandomAccessFile(aFile, "r");
+        this.channel = file.getChannel();
+        this.length = channel.size();
+        if (length >= MAP_THRESHOLD) {
+            this.segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        }
+    }
+
+    long length()
+    {
+        return length;
+    }
+
+    /**
+     * Reads single byte
+     */
+    int get(long offset)
+        throws IOException
+    {
+        ByteBuffer segment = getSegment(offset);
+        if (segment != null) {
+            return segment.get((int) (offset % SEGMENT_SIZE)) & 0x0ff;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        if (channel.read(buffer, offset) < 1) {
+            return 0;
+        }
+        return buffer.get(0) & 0x0ff;
+    }
+
+    /**
+     * Reads up to length bytes into the buffer
+     * @return number of read bytes
+     */
+    int read(ByteBuffer dst, long offset, int length)
+        throws IOException
+    {
+        int total = 0;
+        while (total < length && dst.hasRemaining()) {
+            long position = offset + total;
+            int count = Math.min(length - total, dst.remaining());
+            ByteBuffer segment = getSegment(position);
+            if (segment != null) {
+                int segmentOffset = (int) (position % SEGMENT_SIZE);
+                count = Math.min(count, segment.capacity() - segmentOffset);
+                ByteBuffer src = segment.duplicate();
+                src.limit(segmentOffset + count);
+                src.position(segmentOffset);
+                dst.put(src);
+            } else {
+                int limit = dst.limit();
+                dst.limit(dst.position() + count);
+                try {
+                    count = channel.read(dst, position);
+                } finally {
+                    dst.limit(limit);
+                }
+                if (count <= 0) {
+                    break;
+                }
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    void dispose()
+    {
+        segments = null;
+        ContentUtils.close(file);
+    }
+
+    private ByteBuffer getSegment(long offset)
+    {
+        MappedByteBuffer[] segments = this.segments;
+        if (segments == null || offset < 0 || offset >= length) {
+            return null;
+        }
+        int index = (int) (offset / SEGMENT_SIZE);
+        MappedByteBuffer segment = segments[index];
+        if (segment == null) {
+            long start = index * SEGMENT_SIZE;
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+            } catch (IOException e) {
+                // Can't map any more - read the rest directly
+                Arrays.fill(segments, null);
+                this.segments = null;
+                return null;
+            }
+            segments[index] = segment;
+        }
+        return segment;
+    }
+
+}
@@ -22,6 +22,7 @@ import org.eclipse.jface.action.*;
 import org.eclipse.jface.text.*;
 import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.ITokenScanner;
 import org.eclipse.jface.text.source.*;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
 import org.eclipse.jface.text.source.projection.ProjectionSupport;
@@ -30,6 +31,7 @@ import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.PlatformUI;
@@ -55,6 +57,7 @@ import org.jkiss.dbeaver.ui.ICommentsSupport;
 import org.jkiss.dbeaver.ui.TextUtils;
 import org.jkiss.dbeaver.ui.editors.sql.syntax.SQLPartitionScanner;
 import org.jkiss.dbeaver.ui.editors.sql.syntax.SQLRuleManager;
+import org.jkiss.dbeaver.ui.editors.sql.syntax.SQLTokenIndex;
 import org.jkiss.dbeaver.ui.editors.sql.syntax.tokens.*;
 import org.jkiss.dbeaver.ui.editors.sql.templates.SQLTemplatesPage;
 import org.jkiss.dbeaver.ui.editors.sql.util.SQLSymbolInserter;
@@ -65,7 +68,6 @@ import org.jkiss.utils.Pair;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Set;
 
 /**
  * SQL Executor
@@ -77,6 +79,8 @@ public abstract class SQLEditorBase extends BaseTextEditor {
     private final SQLSyntaxManager syntaxManager;
     @NotNull
     private final SQLRuleManager ruleManager;
+    @NotNull
+    private final SQLTokenIndex tokenIndex;
     private ProjectionSupport projectionSupport;
 
     private ProjectionAnnotationModel annotationModel;
@@ -92,6 +96,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         super();
         syntaxManager = new SQLSyntaxManager();
         ruleManager = new SQLRuleManager(syntaxManager);
+        tokenIndex = new SQLTokenIndex(syntaxManager);
         themeListener = new IPropertyChangeListener() {
             @Override
             public void propertyChange(PropertyChangeEvent event)
@@ -150,6 +155,14 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         return ruleManager;
     }
 
+    /**
+     * Token index of the editor document. May be accessed only in UI thread.
+     */
+    @NotNull
+    public SQLTokenIndex getTokenIndex() {
+        return tokenIndex;
+    }
+
     public ProjectionAnnotationModel getAnnotationModel()
     {
         return annotationModel;
@@ -306,6 +319,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
             PlatformUI.getWorkbench().getThemeManager().removePropertyChangeListener(themeListener);
             themeListener = null;
         }
+        tokenIndex.dispose();
 
         super.dispose();
     }
@@ -389,6 +403,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
 
         syntaxManager.init(dialect, getActivePreferenceStore());
         ruleManager.refreshRules(getDataSource());
+        tokenIndex.refreshRules(getDataSource());
 
         Document document = getDocument();
         if (document != null) {
@@ -502,50 +517,36 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         int startPos = 0;
         int endPos = document.getLength();
         boolean useBlankLines = syntaxManager.isBlankLineDelimiter();
-        final Set<String> statementDelimiters = syntaxManager.getStatementDelimiters();
 
         try {
             int currentLine = document.getLineOfOffset(currentPos);
             int lineOffset = document.getLineOffset(currentLine);
-            int linesCount = document.getNumberOfLines();
-            int firstLine = currentLine, lastLine = currentLine;
-            while (firstLine > 0) {
-                if (useBlankLines) {
+            if (useBlankLines) {
+                int linesCount = document.getNumberOfLines();
+                int firstLine = currentLine, lastLine = currentLine;
+                while (firstLine > 0) {
                     if (TextUtils.isEmptyLine(document, firstLine) &&
                         isDefaultPartition(partitioner, document.getLineOffset(firstLine))) {
                         break;
                     }
-                } else {
-                    for (String delim : statementDelimiters) {
-                        final int offset = TextUtils.getOffsetOf(document, firstLine, delim);
-                        if (offset >= 0 && isDefaultPartition(partitioner, offset)) {
-                            break;
-                        }
-                    }
+                    firstLine--;
                 }
-                firstLine--;
-            }
-            while (lastLine < linesCount) {
-                if (useBlankLines) {
+                while (lastLine < linesCount) {
                     if (TextUtils.isEmptyLine(document, lastLine) &&
                         isDefaultPartition(partitioner, document.getLineOffset(lastLine))) {
                         break;
                     }
-                } else {
-                    for (String delim : statementDelimiters) {
-                        final int offset = TextUtils.getOffsetOf(document, lastLine, delim);
-                        if (offset >= 0 && isDefaultPartition(partitioner, offset)) {
-                            break;
-                        }
-                    }
+                    lastLine++;
                 }
-                lastLine++;
-            }
-            if (lastLine >= linesCount) {
-                lastLine = linesCount - 1;
+                if (lastLine >= linesCount) {
+                    lastLine = linesCount - 1;
+                }
+                startPos = document.getLineOffset(firstLine);
+                endPos = document.getLineOffset(lastLine) + document.getLineLength(lastLine);
+            } else if (isTokenIndexAvailable()) {
+                // Start from the end of previous statement. Query end is found by parser.
+                startPos = tokenIndex.getStatementStart(document, lineOffset);
             }
-            startPos = document.getLineOffset(firstLine);
-            endPos = document.getLineOffset(lastLine) + document.getLineLength(lastLine);
 
             // Move currentPos at line begin
             currentPos = lineOffset;
@@ -563,6 +564,17 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         return partitioner != null && SQLPartitionScanner.CONTENT_TYPE_SQL_MULTILINE_COMMENT.equals(partitioner.getContentType(currentPos));
     }
 
+    /**
+     * Token index is used in UI thread only. Script evaluation may redefine delimiters, so it uses its own scanner.
+     */
+    private boolean isTokenIndexAvailable() {
+        return !ruleManager.isEvalMode() && Display.getCurrent() != null;
+    }
+
+    private ITokenScanner getTokenScanner() {
+        return isTokenIndexAvailable() ? tokenIndex.createScanner() : ruleManager;
+    }
+
     protected void startScriptEvaluation() {
         ruleManager.startEval();
     }
@@ -578,16 +590,17 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         SQLDialect dialect = getSQLDialect();
 
         // Parse range
-        ruleManager.setRange(document, startPos, endPos - startPos);
+        final ITokenScanner scanner = getTokenScanner();
+        scanner.setRange(document, startPos, endPos - startPos);
         int statementStart = startPos;
         int bracketDepth = 0;
         boolean hasBlocks = false;
         boolean hasValuableTokens = false;
         boolean hasBlockHeader = false;
         for (; ; ) {
-            IToken token = ruleManager.nextToken();
-            int tokenOffset = ruleManager.getTokenOffset();
-            final int tokenLength = ruleManager.getTokenLength();
+            IToken token = scanner.nextToken();
+            int tokenOffset = scanner.getTokenOffset();
+            final int tokenLength = scanner.getTokenLength();
             boolean isDelimiter = token instanceof SQLDelimiterToken;
             String delimiterText = null;
             if (isDelimiter) {
@@ -725,12 +738,13 @@ public abstract class SQLEditorBase extends BaseTextEditor {
     protected List<SQLQueryParameter> parseParameters(IDocument document, SQLQuery query) {
         boolean execQuery = SQLUtils.isExecQuery(getSQLDialect(), query.getQuery());
         List<SQLQueryParameter> parameters = null;
-        ruleManager.setRange(document, query.getOffset(), query.getLength());
+        final ITokenScanner scanner = getTokenScanner();
+        scanner.setRange(document, query.getOffset(), query.getLength());
         int blockDepth = 0;
         for (;;) {
-            IToken token = ruleManager.nextToken();
-            int tokenOffset = ruleManager.getTokenOffset();
-            final int tokenLength = ruleManager.getTokenLength();
+            IToken token = scanner.nextToken();
+            int tokenOffset = scanner.getTokenOffset();
+            final int tokenLength = scanner.getTokenLength();
             if (token.isEOF() || tokenOffset > query.getOffset() + query.getLength()) {
                 break;
             }
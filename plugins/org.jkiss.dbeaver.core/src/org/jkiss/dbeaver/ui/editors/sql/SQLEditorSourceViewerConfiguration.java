@@ -31,6 +31,8 @@ import org.eclipse.jface.text.information.IInformationProvider;
 import org.eclipse.jface.text.information.InformationPresenter;
 import org.eclipse.jface.text.presentation.IPresentationReconciler;
 import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.reconciler.IReconciler;
+import org.eclipse.jface.text.reconciler.MonoReconciler;
 import org.eclipse.jface.text.rules.BufferedRuleBasedScanner;
 import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
 import org.eclipse.jface.text.rules.Token;
@@ -99,6 +101,18 @@ public class SQLEditorSourceViewerConfiguration extends TextSourceViewerConfigur
         this.hyperlinkDetector = new SQLHyperlinkDetector(editor, editor.getSyntaxManager());
     }
 
+    /**
+     * Reconciler updates statements folding.
+     * Spelling check of the base configuration is useless for SQL code so it is not used.
+     */
+    @Override
+    public IReconciler getReconciler(ISourceViewer sourceViewer)
+    {
+        MonoReconciler reconciler = new MonoReconciler(new SQLReconcilingStrategy(editor), true);
+        reconciler.setDelay(500);
+        return reconciler;
+    }
+
     @Override
     public IUndoManager getUndoManager(ISourceViewer sourceViewer) {
         return new TextViewerUndoManager(200);
@@ -274,7 +288,8 @@ public class SQLEditorSourceViewerConfiguration extends TextSourceViewerConfigur
         reconciler.setDocumentPartitioning(docPartitioning);
 
         // Add a "damager-repairer" for changes in default text (SQL code).
-        DefaultDamagerRepairer dr = new DefaultDamagerRepairer(ruleManager);
+        // Tokens are taken from the editor token index, so only changed text is lexed again.
+        DefaultDamagerRepairer dr = new DefaultDamagerRepairer(editor.getTokenIndex().createScanner());
 
         reconciler.setDamager(dr, IDocument.DEFAULT_CONTENT_TYPE);
         reconciler.setRepairer(dr, IDocument.DEFAULT_CONTENT_TYPE);
@@ -34,9 +34,11 @@ import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPScriptObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.impl.struct.ObjectScriptExporter;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.DBRRunnableWithProgress;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableWithResult;
 import org.jkiss.dbeaver.model.sql.SQLConstants;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
@@ -49,10 +51,13 @@ import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetSelection;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetModel;
 import org.jkiss.dbeaver.ui.controls.resultset.ResultSetRow;
+import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
 import org.jkiss.dbeaver.ui.dialogs.sql.ViewSQLDialog;
+import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
@@ -77,6 +82,7 @@ public class GenerateSQLContributor extends CompoundContributionItem {
         } else {
             List<DBSEntity> entities = new ArrayList<>();
             List<DBPScriptObject> scriptObjects = new ArrayList<>();
+            List<DBSObject> exportObjects = new ArrayList<>();
             for (Object sel : structuredSelection.toArray()) {
                 final DBSObject object =
                     ((DBNDatabaseNode)RuntimeUtils.getObjectAdapter(sel, DBNNode.class)).getObject();
@@ -86,6 +92,11 @@ public class GenerateSQLContributor extends CompoundContributionItem {
                 if (object instanceof DBPScriptObject) {
                     scriptObjects.add((DBPScriptObject) object);
                 }
+                if (object instanceof DBPScriptObject || object instanceof DBSObjectContainer) {
+                    if (exportObjects.isEmpty() || exportObjects.get(0).getDataSource() == object.getDataSource()) {
+                        exportObjects.add(object);
+                    }
+                }
             }
             if (!entities.isEmpty()) {
                 makeTableContributions(menu, entities);
@@ -93,6 +104,9 @@ public class GenerateSQLContributor extends CompoundContributionItem {
             if (!scriptObjects.isEmpty()) {
                 makeScriptContributions(menu, scriptObjects);
             }
+            if (!exportObjects.isEmpty()) {
+                makeExportContributions(menu, exportObjects);
+            }
         }
         return menu.toArray(new IContributionItem[menu.size()]);
     }
@@ -258,6 +272,58 @@ public class GenerateSQLContributor extends CompoundContributionItem {
         }));
     }
 
+    private void makeExportContributions(List<IContributionItem> menu, final List<DBSObject> objects)
+    {
+        if (menu.size() > 0) {
+            menu.add(new Separator());
+        }
+        menu.add(new ActionContributionItem(
+            new Action("DDL to file ...", DBeaverIcons.getImageDescriptor(UIIcon.SAVE_AS)) {
+                @Override
+                public void run()
+                {
+                    exportDDL(objects);
+                }
+            }));
+    }
+
+    private static void exportDDL(final List<DBSObject> objects)
+    {
+        final DBPDataSource dataSource = objects.get(0).getDataSource();
+        if (dataSource == null) {
+            return;
+        }
+        final File outputFile = DialogUtils.selectFileForSave(
+            DBeaverUI.getActiveWorkbenchShell(),
+            "Export DDL",
+            new String[] {"*.sql", "*.*"},
+            (objects.size() == 1 ? objects.get(0).getName() : dataSource.getContainer().getName()) + ".sql");
+        if (outputFile == null) {
+            return;
+        }
+        try {
+            DBeaverUI.runInProgressService(new DBRRunnableWithProgress() {
+                @Override
+                public void run(DBRProgressMonitor monitor) throws InvocationTargetException, InterruptedException
+                {
+                    try {
+                        ObjectScriptExporter exporter = new ObjectScriptExporter(
+                            monitor, dataSource, objects, ObjectScriptExporter.DEFAULT_MAX_CONNECTIONS);
+                        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile), GeneralUtils.DEFAULT_FILE_CHARSET))) {
+                            exporter.exportScript(monitor, out);
+                        }
+                    } catch (Exception e) {
+                        throw new InvocationTargetException(e);
+                    }
+                }
+            });
+        } catch (InvocationTargetException e) {
+            UIUtils.showErrorDialog(null, "DDL export", "Error exporting DDL to '" + outputFile.getAbsolutePath() + "'", e.getTargetException());
+        } catch (InterruptedException e) {
+            // do nothing
+        }
+    }
+
     private void makeResultSetContributions(List<IContributionItem> menu, IResultSetSelection rss)
     {
         final IResultSetController rsv = rss.getController();
@@ -371,7 +437,7 @@ public class GenerateSQLContributor extends CompoundContributionItem {
         DBNNode node = RuntimeUtils.getObjectAdapter(selection.getFirstElement(), DBNNode.class);
         if (node instanceof DBNDatabaseNode) {
             DBSObject object = ((DBNDatabaseNode) node).getObject();
-            if (object instanceof DBSTable || object instanceof DBPScriptObject) {
+            if (object instanceof DBSTable || object instanceof DBPScriptObject || object instanceof DBSObjectContainer) {
                 return true;
             }
         }
@@ -18,6 +18,7 @@
 package org.jkiss.dbeaver.ui.editors.sql.syntax;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
@@ -25,44 +26,39 @@ import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
 import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
 import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
-import org.jkiss.dbeaver.ui.editors.sql.SQLEditor;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.editors.sql.SQLEditorBase;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
- * SQLReconcilingStrategy
+ * SQLReconcilingStrategy.
+ * Updates statements folding. Statements are taken from the editor token index,
+ * only statements in the changed region are processed.
  */
 public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilingStrategyExtension
 {
-    private SQLEditor editor;
-    private IDocument document;
+    private static final Log log = Log.getLog(SQLReconcilingStrategy.class);
 
-    /**
-     * The offset of the next character to be read
-     */
-    protected int regionOffset;
+    private final SQLEditorBase editor;
+    private IDocument document;
 
-    /**
-     * The end offset of the range to be scanned
-     */
-    protected int regionLength;
+    public SQLReconcilingStrategy(SQLEditorBase editor)
+    {
+        this.editor = editor;
+    }
 
     /**
      * @return Returns the editor.
      */
-    public SQLEditor getEditor()
+    public SQLEditorBase getEditor()
     {
         return editor;
     }
 
-    public void setEditor(SQLEditor editor)
-    {
-        this.editor = editor;
-    }
-
     @Override
     public void setDocument(IDocument document)
     {
@@ -72,17 +68,13 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
     @Override
     public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion)
     {
-        regionOffset = dirtyRegion.getOffset();
-        regionLength = dirtyRegion.getLength();
-        calculatePositions();
+        calculatePositions(dirtyRegion.getOffset(), dirtyRegion.getLength());
     }
 
     @Override
     public void reconcile(IRegion partition)
     {
-        regionOffset = partition.getOffset();
-        regionLength = partition.getLength();
-        calculatePositions();
+        calculatePositions(partition.getOffset(), partition.getLength());
     }
 
     @Override
@@ -93,337 +85,122 @@ public class SQLReconcilingStrategy implements IReconcilingStrategy, IReconcilin
     @Override
     public void initialReconcile()
     {
-        regionOffset = 0;
-        regionLength = document.getLength();
-        calculatePositions();
+        calculatePositions(0, document.getLength());
     }
 
-    protected void calculatePositions()
+    /**
+     * Reconciler works in background thread while token index may be used only in UI thread
+     */
+    protected void calculatePositions(final int regionOffset, final int regionLength)
     {
-        ProjectionAnnotationModel annotationModel = editor.getAnnotationModel();
-        if (annotationModel == null) {
-            return;
-        }
-        Set<SQLScriptPosition> removedPositions = editor.getRuleManager().getRemovedPositions(true);
-        Set<SQLScriptPosition> addedPositions = editor.getRuleManager().getAddedPositions(true);
-
-        Annotation[] removedAnnotations = null;
-        if (!removedPositions.isEmpty()) {
-            removedAnnotations = new Annotation[removedPositions.size()];
-            int index = 0;
-            for (SQLScriptPosition pos : removedPositions) {
-                removedAnnotations[index++] = pos.getFoldingAnnotation();
-            }
-        }
-        Map<Annotation, Position> addedAnnotations = null;
-        if (!addedPositions.isEmpty()) {
-            addedAnnotations = new HashMap<>();
-            for (SQLScriptPosition pos : addedPositions) {
-                addedAnnotations.put(pos.getFoldingAnnotation(), pos);
-            }
-        }
-        if (removedAnnotations != null || addedAnnotations != null) {
-            annotationModel.modifyAnnotations(
-                removedAnnotations,
-                addedAnnotations,
-                null);
-        }
-/*
-        final List<Position> positions;
-
-        try {
-            positions = parseRegion();
-        } catch (BadLocationException e) {
-            e.printStackTrace();
-            return;
-        }
-*/
-
-/*
-        Display.getDefault().asyncExec(new Runnable()
-        {
+        UIUtils.runInDetachedUI(null, new Runnable() {
+            @Override
             public void run()
             {
-                editor.updateFoldingStructure(regionOffset, regionLength, positions);
+                if (!editor.isDisposed()) {
+                    updateFolding(regionOffset, regionLength);
+                }
             }
-
         });
-*/
     }
 
-    /**
-     * P
-     * @throws BadLocationException
-     *
-    private List<Position> parseRegion()
-        throws BadLocationException
+    private void updateFolding(int regionOffset, int regionLength)
     {
-        List<Position> positions = new ArrayList<Position>();
-        int endPosition = regionOffset + regionLength;
-        int statementStartPos = 0;
-        for (int pos = regionOffset; pos < endPosition; pos++) {
-            char ch = document.getChar(pos);
-            if (ch == STATEMENT_DIV) {
-                positions.add(new Position(statementStartPos, pos - statementStartPos));
-
-                statementStartPos = pos + 1;
-            }
+        final ProjectionAnnotationModel annotationModel = editor.getAnnotationModel();
+        final IDocument document = editor.getDocument();
+        if (annotationModel == null || document == null) {
+            return;
         }
-
-        // Add trailing position
-        if (statementStartPos < endPosition) {
-            positions.add(new Position(statementStartPos, endPosition));
+        // Document may be changed since region was reported
+        final int docLength = document.getLength();
+        final int fromOffset = Math.min(regionOffset, docLength);
+        final int toOffset = Math.min(regionOffset + regionLength, docLength);
+        final List<Position> statements = editor.getTokenIndex().getStatements(document, fromOffset, toOffset);
+        if (statements.isEmpty()) {
+            return;
+        }
+        final Position lastStatement = statements.get(statements.size() - 1);
+        final int updateEnd = lastStatement.getOffset() + lastStatement.getLength();
+        final int updateStart;
+        try {
+            updateStart = document.getLineOffset(document.getLineOfOffset(statements.get(0).getOffset()));
+        } catch (BadLocationException e) {
+            log.debug(e);
+            return;
         }
-        return positions;
-    }*/
-
-    /**
-     * emits tokens to {@link #positions}.
-     *
-     * @return number of newLines
-     * @throws BadLocationException
-     *
-    protected int recursiveTokens(int depth)
-        throws BadLocationException
-    {
-        int newLines = 0;
-        while (cNextPos < regionLength) {
-            while (cNextPos < regionLength) {
-                char ch = document.getChar(cNextPos++);
-                switch (ch) {
-                    case '<':
-                        int startOffset = cNextPos - 1;
-                        int startNewLines = newLines;
-                        int classification = classifyTag();
-                        String tagString = document.get(startOffset,
-                            Math.min(cNextPos - startOffset,
-                                regionLength - startOffset)); // this is to see where we are in the debugger
-                        newLines += cNewLines; // cNewLines is written by
-                        // classifyTag()
 
-                        switch (classification) {
-                            case START_TAG:
-                                newLines += recursiveTokens(depth + 1);
-                                if (newLines > startNewLines + 1) {
-                                    emitPosition(startOffset, cNextPos - startOffset);
-                                }
-                                break;
-                            case LEAF_TAG:
-                                if (newLines > startNewLines + 1) {
-                                    emitPosition(startOffset, cNextPos - startOffset);
-                                }
-                                break;
-                            case COMMENT_TAG:
-                                if (newLines > startNewLines + 1) {
-                                    emitPosition(startOffset, cNextPos - startOffset);
-                                }
-                                break;
-                            case PI_TAG:
-                                break;
-                            case END_TAG:
-                            case EOR_TAG:
-                                return newLines;
-                            default:
-                                break;
-                        }
-                        break;
-                    case '\n':
-                    case '\r':
-                        if ((ch == cLastNLChar) || (' ' == cLastNLChar)) {
-                            newLines++;
-                            cLastNLChar = ch;
-                        }
-                        break;
-                    default:
-                        break;
+        // Existing folding of these statements. It can't start before the line of the first statement.
+        final Map<Position, Annotation> oldAnnotations = new HashMap<>();
+        for (Iterator<Annotation> iter = annotationModel.getAnnotationIterator(updateStart, updateEnd - updateStart, false, true); iter.hasNext(); ) {
+            Annotation annotation = iter.next();
+            if (annotation instanceof ProjectionAnnotation) {
+                Position position = annotationModel.getPosition(annotation);
+                if (position != null) {
+                    oldAnnotations.put(new Position(position.getOffset(), position.getLength()), annotation);
                 }
             }
-
         }
-        return newLines;
-    }
 
-    protected void emitPosition(int startOffset, int length)
-    {
-        positions.add(new Position(startOffset, length));
-    }*/
-
-    /**
-     * classsifies a tag: <br />
-     * &lt;?...?&gt;: {@link #PI_TAG} <br />
-     * &lt;!...--&gt;: {@link #COMMENT_TAG} <br />
-     * &lt;...&gt;: {@link #START_TAG} <br />
-     * &lt;.../&gt;: {@link #LEAF_TAG} <br />
-     * &lt;/...&gt;: {@link #END_TAG} <br />
-     * &lt;...: {@link #EOR_TAG} (end of range reached before closing &gt; is
-     * found). <br />
-     * when this method is called, {@link #cNextPos} must point to the character
-     * after &lt;, when it returns, it points to the character after &gt; or
-     * after the range. About syntax errors: this method is not a validator, it
-     * is useful. Side effect: writes number of found newLines to
-     * {@link #cNewLines}.
-     *
-     * @return the tag classification
-     *
-    protected int classifyTag()
-    {
+        final Map<Annotation, Position> addedAnnotations = new HashMap<>();
         try {
-            char ch = document.getChar(cNextPos++);
-            cNewLines = 0;
-
-            // processing instruction?
-            if ('?' == ch) {
-                boolean piFlag = false;
-                while (cNextPos < regionLength) {
-                    ch = document.getChar(cNextPos++);
-                    if (('>' == ch) && piFlag)
-                        return PI_TAG;
-                    piFlag = ('?' == ch);
-                }
-                return EOR_TAG;
-            }
-
-            // comment?
-            if ('!' == ch) {
-                cNextPos++; // must be '-' but we don't care if not
-                cNextPos++; // must be '-' but we don't care if not
-                int commEnd = 0;
-                while (cNextPos < regionLength) {
-                    ch = document.getChar(cNextPos++);
-                    if (('>' == ch) && (commEnd >= 2))
-                        return COMMENT_TAG;
-                    if (('\n' == ch) || ('\r' == ch)) {
-                        if ((ch == cLastNLChar) || (' ' == cLastNLChar)) {
-                            cNewLines++;
-                            cLastNLChar = ch;
-                        }
-                    }
-                    if ('-' == ch) {
-                        commEnd++;
-                    } else {
-                        commEnd = 0;
-                    }
-                }
-                return EOR_TAG;
-            }
-
-            // consume whitespaces
-            while ((' ' == ch) || ('\t' == ch) || ('\n' == ch) || ('\r' == ch)) {
-                ch = document.getChar(cNextPos++);
-                if (cNextPos > regionLength)
-                    return EOR_TAG;
-            }
-
-            // end tag?
-            if ('/' == ch) {
-                while (cNextPos < regionLength) {
-                    ch = document.getChar(cNextPos++);
-                    if ('>' == ch) {
-                        cNewLines += eatToEndOfLine();
-                        return END_TAG;
-                    }
-                    if ('"' == ch) {
-                        ch = document.getChar(cNextPos++);
-                        while ((cNextPos < regionLength) && ('"' != ch)) {
-                            ch = document.getChar(cNextPos++);
-                        }
-                    } else if ('\'' == ch) {
-                        ch = document.getChar(cNextPos++);
-                        while ((cNextPos < regionLength) && ('\'' != ch)) {
-                            ch = document.getChar(cNextPos++);
-                        }
-                    }
+            for (Position statement : statements) {
+                Position foldPosition = getFoldPosition(document, statement);
+                if (foldPosition == null) {
+                    continue;
                 }
-                return EOR_TAG;
-            }
-
-            // start tag or leaf tag?
-            while (cNextPos < regionLength) {
-                ch = document.getChar(cNextPos++);
-                // end tag?
-                s:
-                switch (ch) {
-                    case '/':
-                        while (cNextPos < regionLength) {
-                            ch = document.getChar(cNextPos++);
-                            if ('>' == ch) {
-                                cNewLines += eatToEndOfLine();
-                                return LEAF_TAG;
-                            }
-                        }
-                        return EOR_TAG;
-                    case '"':
-                        while (cNextPos < regionLength) {
-                            ch = document.getChar(cNextPos++);
-                            if ('"' == ch)
-                                break s;
-                        }
-                        return EOR_TAG;
-                    case '\'':
-                        while (cNextPos < regionLength) {
-                            ch = document.getChar(cNextPos++);
-                            if ('\'' == ch)
-                                break s;
-                        }
-                        return EOR_TAG;
-                    case '>':
-                        cNewLines += eatToEndOfLine();
-                        return START_TAG;
-                    default:
-                        break;
+                if (oldAnnotations.remove(foldPosition) == null) {
+                    ProjectionAnnotation annotation = new ProjectionAnnotation();
+                    addedAnnotations.put(
+                        annotation,
+                        new SQLScriptPosition(foldPosition.getOffset(), foldPosition.getLength(), annotation));
                 }
-
             }
-            return EOR_TAG;
-
         } catch (BadLocationException e) {
-            // should not happen, but we treat it as end of range
-            return EOR_TAG;
+            log.debug(e);
+            return;
+        }
+        if (!oldAnnotations.isEmpty() || !addedAnnotations.isEmpty()) {
+            annotationModel.modifyAnnotations(
+                oldAnnotations.values().toArray(new Annotation[oldAnnotations.size()]),
+                addedAnnotations,
+                null);
         }
     }
 
-    protected int eatToEndOfLine()
+    /**
+     * Folding covers whole lines of the statement (and its delimiter).
+     * If statement starts after another statement on the same line then folding starts from the next line.
+     * Statements on a single line are not folded.
+     */
+    private static Position getFoldPosition(IDocument document, Position statement)
         throws BadLocationException
     {
-        if (cNextPos >= regionLength) {
-            return 0;
+        int start = statement.getOffset();
+        int end = start + statement.getLength();
+        // Skip leading and trailing spaces
+        while (start < end && Character.isWhitespace(document.getChar(start))) {
+            start++;
         }
-        char ch = document.getChar(cNextPos++);
-        // 1. eat all spaces and tabs
-        while ((cNextPos < regionLength) && ((' ' == ch) || ('\t' == ch))) {
-            ch = document.getChar(cNextPos++);
+        while (end > start && Character.isWhitespace(document.getChar(end - 1))) {
+            end--;
         }
-        if (cNextPos >= regionLength) {
-            cNextPos--;
-            return 0;
+        if (start == end) {
+            return null;
         }
-
-        // now ch is a new line or a non-whitespace
-        if ('\n' == ch) {
-            if (cNextPos < regionLength) {
-                ch = document.getChar(cNextPos++);
-                if ('\r' != ch) {
-                    cNextPos--;
-                }
-            } else {
-                cNextPos--;
+        int startLine = document.getLineOfOffset(start);
+        final int endLine = document.getLineOfOffset(end);
+        for (int i = document.getLineOffset(startLine); i < start; i++) {
+            if (!Character.isWhitespace(document.getChar(i))) {
+                startLine++;
+                break;
             }
-            return 1;
         }
-
-        if ('\r' == ch) {
-            if (cNextPos < regionLength) {
-                ch = document.getChar(cNextPos++);
-                if ('\n' != ch) {
-                    cNextPos--;
-                }
-            } else {
-                cNextPos--;
-            }
-            return 1;
+        if (startLine >= endLine) {
+            return null;
         }
+        final int foldStart = document.getLineOffset(startLine);
+        final int foldEnd = document.getLineOffset(endLine) + document.getLineLength(endLine);
+        return new Position(foldStart, foldEnd - foldStart);
+    }
 
-        return 0;
-    }*/
 }
-
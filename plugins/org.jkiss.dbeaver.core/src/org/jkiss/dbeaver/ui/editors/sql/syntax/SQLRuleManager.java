@@ -17,7 +17,6 @@
  */
 package org.jkiss.dbeaver.ui.editors.sql.syntax;
 
-import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.rules.*;
 import org.eclipse.swt.SWT;
@@ -50,11 +49,6 @@ public class SQLRuleManager extends RuleBasedScanner {
     private final IThemeManager themeManager;
     @NotNull
     private SQLSyntaxManager syntaxManager;
-    @NotNull
-    private TreeMap<Integer, SQLScriptPosition> positions = new TreeMap<>();
-    private Set<SQLScriptPosition> addedPositions = new HashSet<>();
-    private Set<SQLScriptPosition> removedPositions = new HashSet<>();
-
     private boolean evalMode;
 
     public SQLRuleManager(@NotNull SQLSyntaxManager syntaxManager)
@@ -84,32 +78,6 @@ public class SQLRuleManager extends RuleBasedScanner {
     {
     }
 
-    @NotNull
-    public Collection<? extends Position> getPositions(int offset, int length)
-    {
-        return positions.subMap(offset, offset + length).values();
-    }
-
-    @NotNull
-    public synchronized Set<SQLScriptPosition> getRemovedPositions(boolean clear)
-    {
-        Set<SQLScriptPosition> posList = removedPositions;
-        if (clear) {
-            removedPositions = new HashSet<>();
-        }
-        return posList;
-    }
-
-    @NotNull
-    public synchronized Set<SQLScriptPosition> getAddedPositions(boolean clear)
-    {
-        Set<SQLScriptPosition> posList = addedPositions;
-        if (clear) {
-            addedPositions = new HashSet<>();
-        }
-        return posList;
-    }
-
     public void refreshRules(DBPDataSource dataSource)
     {
         /*final Color backgroundColor = null;unassigned || dataSource != null ?
@@ -0,0 +1,532 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.editors.sql.syntax;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.ITokenScanner;
+import org.eclipse.jface.text.rules.Token;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.ui.editors.sql.syntax.tokens.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Token stream of the whole SQL document.
+ * <p/>
+ * Tokens are kept in arrays ordered by offset. After each document change only tokens around the
+ * changed text are dropped (this region is a "hole" in the token stream). The hole is re-lexed lazily
+ * when somebody reads tokens after its start. Lexing stops as soon as new tokens match old tokens
+ * which follow the hole, so an edit usually costs a few tokens.
+ * <p/>
+ * Index also keeps offsets of statement delimiters (delimiters outside of brackets and blocks).
+ * They are found lazily and are discarded after the changed text only.
+ * <p/>
+ * Index is not thread-safe and must be accessed in UI thread.
+ */
+public class SQLTokenIndex implements IDocumentListener {
+
+    private static final Log log = Log.getLog(SQLTokenIndex.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // How many characters to lex at once when tokens are read sequentially
+    private static final int LEX_CHUNK = 16 * 1024;
+
+    @NotNull
+    private final SQLRuleManager scanner;
+    @Nullable
+    private IDocument document;
+
+    // Tokens
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private IToken[] types = new IToken[INITIAL_CAPACITY];
+    private int count;
+
+    // Not lexed region. Tokens before holeIndex end at holeStart, token at holeIndex starts at holeEnd.
+    private boolean hasHole;
+    private int holeIndex;
+    private int holeStart;
+    private int holeEnd;
+
+    // Statement delimiters (starts and ends) found before delimScanOffset
+    private int[] delimStarts = new int[INITIAL_CAPACITY];
+    private int[] delimEnds = new int[INITIAL_CAPACITY];
+    private int delimCount;
+    private int delimScanOffset;
+    private final BlockState delimScanState = new BlockState();
+
+    public SQLTokenIndex(@NotNull SQLSyntaxManager syntaxManager)
+    {
+        this.scanner = new SQLRuleManager(syntaxManager);
+    }
+
+    /**
+     * Reloads lexer rules. All tokens are lexed again.
+     */
+    public void refreshRules(@Nullable DBPDataSource dataSource)
+    {
+        scanner.refreshRules(dataSource);
+        reset();
+    }
+
+    public void dispose()
+    {
+        setDocument(null);
+    }
+
+    /**
+     * Creates scanner which reads tokens of specified document from this index.
+     * Tokens which cross range bounds are truncated. Whitespaces are reported as well.
+     */
+    @NotNull
+    public ITokenScanner createScanner()
+    {
+        return new IndexScanner();
+    }
+
+    /**
+     * Returns start offset of the statement which contains specified offset.
+     * Statement starts after the previous statement delimiter.
+     */
+    public int getStatementStart(@NotNull IDocument document, int offset)
+    {
+        setDocument(document);
+        findDelimiters(offset);
+        int index = findDelimiterBefore(offset);
+        return index < 0 ? 0 : delimEnds[index];
+    }
+
+    /**
+     * Returns end offset of the statement which contains specified offset.
+     * Statement ends at the next statement delimiter or at the document end.
+     */
+    public int getStatementEnd(@NotNull IDocument document, int offset)
+    {
+        setDocument(document);
+        final int docLength = document.getLength();
+        for (int scanTo = offset; ; scanTo += LEX_CHUNK) {
+            findDelimiters(Math.min(scanTo, docLength));
+            int index = findDelimiterBefore(offset) + 1;
+            if (index < delimCount) {
+                return delimStarts[index];
+            }
+            if (scanTo >= docLength) {
+                return docLength;
+            }
+        }
+    }
+
+    /**
+     * Returns statements which intersect specified region. Statement positions don't include delimiters.
+     */
+    @NotNull
+    public List<Position> getStatements(@NotNull IDocument document, int fromOffset, int toOffset)
+    {
+        final int endOffset = getStatementEnd(document, toOffset);
+        final List<Position> statements = new ArrayList<>();
+        int index = findDelimiterBefore(fromOffset);
+        int start = index < 0 ? 0 : delimEnds[index];
+        for (index++; index < delimCount && delimStarts[index] < endOffset; index++) {
+            statements.add(new Position(start, delimStarts[index] - start));
+            start = delimEnds[index];
+        }
+        statements.add(new Position(start, endOffset - start));
+        return statements;
+    }
+
+    ////////////////////////////////////////////////////
+    // Document changes
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event)
+    {
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event)
+    {
+        final int changeOffset = event.getOffset();
+        final int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+        // Damaged region in the old document coordinates
+        int damageStart = changeOffset;
+        int damageEnd = changeOffset + event.getLength();
+        if (hasHole) {
+            damageStart = Math.min(damageStart, holeStart);
+            damageEnd = Math.max(damageEnd, holeEnd);
+        }
+        // Tokens which touch damaged region are lexed again. Previous token is included because
+        // new text may continue it (e.g. end of a word).
+        int first = findTokenAt(damageStart);
+        if (first < 0) {
+            first = 0;
+        } else if (first > 0 && offsets[first] == damageStart) {
+            first--;
+        }
+        int last = first;
+        while (last < count && offsets[last] < damageEnd) {
+            last++;
+        }
+        for (int i = last; i < count; i++) {
+            offsets[i] += delta;
+        }
+        removeTokens(first, last);
+
+        hasHole = true;
+        holeIndex = first;
+        holeStart = first == 0 ? 0 : offsets[first - 1] + lengths[first - 1];
+        holeEnd = first < count ? offsets[first] : event.getDocument().getLength();
+
+        // Delimiters after the damaged region will be found again
+        int delimIndex = findDelimiterBefore(holeStart);
+        while (delimIndex >= 0 && delimEnds[delimIndex] > holeStart) {
+            delimIndex--;
+        }
+        delimCount = delimIndex + 1;
+        delimScanOffset = delimCount == 0 ? 0 : delimEnds[delimCount - 1];
+        delimScanState.reset();
+    }
+
+    ////////////////////////////////////////////////////
+    // Lexer
+
+    private void setDocument(@Nullable IDocument newDocument)
+    {
+        if (newDocument == document) {
+            return;
+        }
+        if (document != null) {
+            document.removePrenotifiedDocumentListener(this);
+        }
+        document = newDocument;
+        if (document != null) {
+            // Prenotified listener is called before presentation reconciler
+            document.addPrenotifiedDocumentListener(this);
+        }
+        reset();
+    }
+
+    private void reset()
+    {
+        count = 0;
+        hasHole = true;
+        holeIndex = 0;
+        holeStart = 0;
+        holeEnd = document == null ? 0 : document.getLength();
+        delimCount = 0;
+        delimScanOffset = 0;
+        delimScanState.reset();
+    }
+
+    /**
+     * Lexes hole region until specified offset (or until new tokens match tokens after the hole)
+     */
+    private void lexTo(int toOffset)
+    {
+        if (!hasHole || holeStart > toOffset || document == null) {
+            return;
+        }
+        final int docLength = document.getLength();
+        int newCount = 0;
+        int[] newOffsets = new int[64], newLengths = new int[64];
+        IToken[] newTypes = new IToken[64];
+        // First old token which may follow new tokens
+        int next = holeIndex;
+        boolean converged = false;
+        int lexEnd = holeStart;
+
+        scanner.setRange(document, holeStart, docLength - holeStart);
+        for (; ; ) {
+            IToken token = scanner.nextToken();
+            if (token.isEOF()) {
+                // Nothing after the last token
+                next = count;
+                converged = true;
+                break;
+            }
+            final int tokenOffset = scanner.getTokenOffset();
+            final int tokenLength = scanner.getTokenLength();
+            if (tokenLength <= 0) {
+                log.debug("Empty SQL token at " + tokenOffset);
+                continue;
+            }
+            // Old tokens which start before this token are not valid anymore
+            while (next < count && offsets[next] < tokenOffset) {
+                next++;
+            }
+            if (next < count && offsets[next] == tokenOffset && lengths[next] == tokenLength && types[next] == token) {
+                // The rest of token stream wasn't affected by changes
+                converged = true;
+                break;
+            }
+            if (newCount == newOffsets.length) {
+                newOffsets = Arrays.copyOf(newOffsets, newCount * 2);
+                newLengths = Arrays.copyOf(newLengths, newCount * 2);
+                newTypes = Arrays.copyOf(newTypes, newCount * 2);
+            }
+            newOffsets[newCount] = tokenOffset;
+            newLengths[newCount] = tokenLength;
+            newTypes[newCount] = token;
+            newCount++;
+            lexEnd = tokenOffset + tokenLength;
+            if (lexEnd > toOffset) {
+                while (next < count && offsets[next] < lexEnd) {
+                    next++;
+                }
+                break;
+            }
+        }
+
+        // Replace hole tokens with new ones
+        final int removeCount = next - holeIndex;
+        final int newSize = count - removeCount + newCount;
+        ensureCapacity(newSize);
+        System.arraycopy(offsets, next, offsets, holeIndex + newCount, count - next);
+        System.arraycopy(lengths, next, lengths, holeIndex + newCount, count - next);
+        System.arraycopy(types, next, types, holeIndex + newCount, count - next);
+        System.arraycopy(newOffsets, 0, offsets, holeIndex, newCount);
+        System.arraycopy(newLengths, 0, lengths, holeIndex, newCount);
+        System.arraycopy(newTypes, 0, types, holeIndex, newCount);
+        Arrays.fill(types, newSize, count > newSize ? count : newSize, null);
+        count = newSize;
+
+        if (converged) {
+            hasHole = false;
+        } else {
+            holeIndex += newCount;
+            holeStart = lexEnd;
+            holeEnd = holeIndex < count ? offsets[holeIndex] : docLength;
+        }
+    }
+
+    /**
+     * Finds statement delimiters until specified offset.
+     */
+    private void findDelimiters(int toOffset)
+    {
+        if (delimScanOffset > toOffset || document == null) {
+            return;
+        }
+        lexTo(toOffset);
+        int index = findTokenAt(delimScanOffset);
+        if (index < 0) {
+            index = 0;
+        }
+        final int lexedCount = hasHole ? holeIndex : count;
+        for (; index < lexedCount && offsets[index] <= toOffset; index++) {
+            final int tokenOffset = offsets[index];
+            if (tokenOffset < delimScanOffset) {
+                continue;
+            }
+            final int tokenEnd = tokenOffset + lengths[index];
+            char tokenChar = 0;
+            if (lengths[index] == 1) {
+                try {
+                    tokenChar = document.getChar(tokenOffset);
+                } catch (BadLocationException e) {
+                    log.debug(e);
+                }
+            }
+            if (delimScanState.isDelimiter(types[index], tokenChar)) {
+                if (delimCount == delimStarts.length) {
+                    delimStarts = Arrays.copyOf(delimStarts, delimCount * 2);
+                    delimEnds = Arrays.copyOf(delimEnds, delimCount * 2);
+                }
+                delimStarts[delimCount] = tokenOffset;
+                delimEnds[delimCount] = tokenEnd;
+                delimCount++;
+                delimScanState.reset();
+            }
+            delimScanOffset = tokenEnd;
+        }
+    }
+
+    /**
+     * Index of the last delimiter which starts before specified offset or -1
+     */
+    private int findDelimiterBefore(int offset)
+    {
+        int low = 0, high = delimCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (delimStarts[mid] < offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Index of the last token which starts at or before specified offset or -1
+     */
+    private int findTokenAt(int offset)
+    {
+        int low = 0, high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void removeTokens(int from, int to)
+    {
+        if (from >= to) {
+            return;
+        }
+        System.arraycopy(offsets, to, offsets, from, count - to);
+        System.arraycopy(lengths, to, lengths, from, count - to);
+        System.arraycopy(types, to, types, from, count - to);
+        int newCount = count - (to - from);
+        Arrays.fill(types, newCount, count, null);
+        count = newCount;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > offsets.length) {
+            int newCapacity = Math.max(capacity, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+            types = Arrays.copyOf(types, newCapacity);
+        }
+    }
+
+    /**
+     * Brackets and blocks nesting. Statement delimiters inside brackets and blocks are ignored
+     * (the same way as in the query parser of SQL editor).
+     */
+    private static class BlockState {
+        int depth;
+        boolean hasBlocks;
+        boolean hasBlockHeader;
+
+        void reset()
+        {
+            depth = 0;
+            hasBlocks = false;
+            hasBlockHeader = false;
+        }
+
+        boolean isDelimiter(IToken token, char tokenChar)
+        {
+            if (tokenChar == '(' || tokenChar == '{' || tokenChar == '[') {
+                depth++;
+            } else if (tokenChar == ')' || tokenChar == '}' || tokenChar == ']') {
+                depth--;
+            }
+            if (token instanceof SQLBlockHeaderToken) {
+                depth++;
+                hasBlocks = true;
+                hasBlockHeader = true;
+            } else if (token instanceof SQLBlockToggleToken) {
+                if (depth == 1) {
+                    depth--;
+                } else if (depth == 0) {
+                    depth++;
+                }
+                hasBlocks = true;
+            } else if (token instanceof SQLBlockBeginToken) {
+                if (!hasBlockHeader) {
+                    depth++;
+                }
+                hasBlocks = true;
+            } else if (depth > 0 && token instanceof SQLBlockEndToken) {
+                if (hasBlocks) {
+                    depth--;
+                }
+                hasBlockHeader = false;
+            } else if (token instanceof SQLDelimiterToken) {
+                return depth <= 0;
+            } else if (token instanceof SQLSetDelimiterToken) {
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private class IndexScanner implements ITokenScanner {
+        private int rangeStart;
+        private int rangeEnd;
+        private int position;
+        private int tokenOffset;
+        private int tokenLength;
+
+        @Override
+        public void setRange(IDocument document, int offset, int length)
+        {
+            SQLTokenIndex.this.setDocument(document);
+            rangeStart = offset;
+            rangeEnd = offset + length;
+            lexTo(Math.min(rangeEnd, offset + LEX_CHUNK));
+            position = findTokenAt(offset);
+            if (position < 0) {
+                position = 0;
+            } else if (offsets[position] + lengths[position] <= offset) {
+                position++;
+            }
+        }
+
+        @Override
+        public IToken nextToken()
+        {
+            if (hasHole && position >= holeIndex && holeStart < rangeEnd) {
+                // Tokens before hole are not affected by lexing
+                lexTo(Math.min(rangeEnd, holeStart + LEX_CHUNK));
+            }
+            final int lexedCount = hasHole ? holeIndex : count;
+            if (position >= lexedCount || offsets[position] >= rangeEnd) {
+                tokenOffset = rangeEnd;
+                tokenLength = 0;
+                return Token.EOF;
+            }
+            tokenOffset = Math.max(offsets[position], rangeStart);
+            tokenLength = Math.min(offsets[position] + lengths[position], rangeEnd) - tokenOffset;
+            return types[position++];
+        }
+
+        @Override
+        public int getTokenOffset()
+        {
+            return tokenOffset;
+        }
+
+        @Override
+        public int getTokenLength()
+        {
+            return tokenLength;
+        }
+    }
+
+}
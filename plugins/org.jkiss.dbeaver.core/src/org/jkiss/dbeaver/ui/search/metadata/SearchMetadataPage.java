@@ -53,6 +53,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
     private static final String PROP_HISTORY = "search.metadata.history"; //$NON-NLS-1$
     private static final String PROP_OBJECT_TYPE = "search.metadata.object-type"; //$NON-NLS-1$
     private static final String PROP_SOURCES = "search.metadata.object-source"; //$NON-NLS-1$
+    private static final String PROP_SEARCH_IN_SOURCE = "search.metadata.search-in-source"; //$NON-NLS-1$
 
     private Table typesTable;
     private Combo searchText;
@@ -60,6 +61,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
 
     private String nameMask;
     private boolean caseSensitive;
+    private boolean searchInSource;
     private int maxResults;
     private int matchTypeIndex;
     private Set<DBSObjectType> checkedTypes = new HashSet<>();
@@ -149,6 +151,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
                     {
                         fillObjectTypes();
                         updateEnablement();
+                        scheduleSourceIndexing();
                         IStructuredSelection structSel = (IStructuredSelection) event.getSelection();
                         Object object = structSel.isEmpty() ? null : structSel.getFirstElement();
                         if (object instanceof DBNNode) {
@@ -234,6 +237,17 @@ public class SearchMetadataPage extends AbstractSearchPage {
                 });
                 caseCheckbox.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
 
+                final Button sourceCheckbox = UIUtils.createLabelCheckbox(settingsGroup, CoreMessages.dialog_search_objects_search_in_source, searchInSource);
+                sourceCheckbox.setToolTipText(CoreMessages.dialog_search_objects_search_in_source_tip);
+                sourceCheckbox.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e)
+                    {
+                        searchInSource = sourceCheckbox.getSelection();
+                        scheduleSourceIndexing();
+                    }
+                });
+                sourceCheckbox.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
             }
 
             Label otLabel = UIUtils.createControlLabel(settingsGroup, CoreMessages.dialog_search_objects_group_object_types);
@@ -303,6 +317,17 @@ public class SearchMetadataPage extends AbstractSearchPage {
         return DBUtils.getAdapter(DBSStructureAssistant.class, getSelectedDataSource());
     }
 
+    private void scheduleSourceIndexing()
+    {
+        if (searchInSource) {
+            // Build source index in background while user types search text
+            SearchSourceIndex sourceIndex = SearchSourceIndex.getIndex(getSelectedDataSource());
+            if (sourceIndex != null) {
+                sourceIndex.scheduleRefresh();
+            }
+        }
+    }
+
     private void fillObjectTypes()
     {
         DBSStructureAssistant assistant = getSelectedStructureAssistant();
@@ -382,6 +407,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
         params.setObjectNameMask(objectNameMask);
         params.setCaseSensitive(caseSensitive);
         params.setMaxResults(maxResults);
+        params.setSearchInSource(searchInSource);
         return SearchMetadataQuery.createQuery(dataSource, params);
 
     }
@@ -391,6 +417,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
     {
         nameMask = store.getString(PROP_MASK);
         caseSensitive = store.getBoolean(PROP_CASE_SENSITIVE);
+        searchInSource = store.getBoolean(PROP_SEARCH_IN_SOURCE);
         maxResults = store.getInt(PROP_MAX_RESULT);
         matchTypeIndex = store.getInt(PROP_MATCH_INDEX);
         for (int i = 0; ;i++) {
@@ -418,6 +445,7 @@ public class SearchMetadataPage extends AbstractSearchPage {
     {
         store.setValue(PROP_MASK, nameMask);
         store.setValue(PROP_CASE_SENSITIVE, caseSensitive);
+        store.setValue(PROP_SEARCH_IN_SOURCE, searchInSource);
         store.setValue(PROP_MAX_RESULT, maxResults);
         store.setValue(PROP_MATCH_INDEX, matchTypeIndex);
         saveTreeState(store, PROP_SOURCES, dataSourceTree);
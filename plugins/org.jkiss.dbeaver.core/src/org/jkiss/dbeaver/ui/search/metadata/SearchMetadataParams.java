@@ -33,6 +33,7 @@ public class SearchMetadataParams {
     private boolean caseSensitive;
     private int maxResults;
     private int matchType;
+    private boolean searchInSource;
 
     public SearchMetadataParams()
     {
@@ -97,4 +98,14 @@ public class SearchMetadataParams {
     {
         this.matchType = matchType;
     }
+
+    public boolean isSearchInSource()
+    {
+        return searchInSource;
+    }
+
+    public void setSearchInSource(boolean searchInSource)
+    {
+        this.searchInSource = searchInSource;
+    }
 }
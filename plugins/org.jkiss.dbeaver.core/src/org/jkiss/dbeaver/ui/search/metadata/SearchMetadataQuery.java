@@ -40,13 +40,16 @@ public class SearchMetadataQuery implements IObjectSearchQuery {
 
     private static final Log log = Log.getLog(SearchMetadataQuery.class);
 
+    private final DBPDataSource dataSource;
     private final DBSStructureAssistant structureAssistant;
     private final SearchMetadataParams params;
 
     private SearchMetadataQuery(
+        DBPDataSource dataSource,
         DBSStructureAssistant structureAssistant,
         SearchMetadataParams params)
     {
+        this.dataSource = dataSource;
         this.structureAssistant = structureAssistant;
         this.params = params;
     }
@@ -80,6 +83,10 @@ public class SearchMetadataQuery implements IObjectSearchQuery {
             }
 
             DBNModel navigatorModel = DBeaverCore.getInstance().getNavigatorModel();
+            if (params.isSearchInSource()) {
+                searchInSource(monitor, listener, navigatorModel, objectNameMask);
+                return;
+            }
             Collection<DBSObjectReference> objects = structureAssistant.findObjectsByMask(
                 monitor,
                 params.getParentObject(),
@@ -113,6 +120,48 @@ public class SearchMetadataQuery implements IObjectSearchQuery {
         }
     }
 
+    private void searchInSource(DBRProgressMonitor monitor, IObjectSearchListener listener, DBNModel navigatorModel, String objectNameMask)
+        throws DBException
+    {
+        SearchSourceIndex sourceIndex = SearchSourceIndex.getIndex(dataSource);
+        if (sourceIndex == null) {
+            throw new DBException("Source code search is not supported by [" + dataSource.getContainer().getName() + "]");
+        }
+        if (sourceIndex.isBuilt()) {
+            sourceIndex.scheduleRefresh();
+        } else {
+            // First search - build index right now
+            monitor.subTask("Index source code");
+            sourceIndex.refresh(monitor);
+        }
+        List<DBSObjectReference> objects = sourceIndex.search(
+            objectNameMask,
+            params.isCaseSensitive(),
+            params.getObjectTypes(),
+            params.getParentObject(),
+            params.getMaxResults());
+        List<DBNNode> nodes = new ArrayList<>();
+        for (DBSObjectReference reference : objects) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            try {
+                DBSObject object = reference.resolveObject(monitor);
+                if (object != null) {
+                    DBNNode node = navigatorModel.getNodeByObject(monitor, object, false);
+                    if (node != null) {
+                        nodes.add(node);
+                    }
+                }
+            } catch (DBException e) {
+                log.error(e);
+            }
+        }
+        if (!nodes.isEmpty()) {
+            listener.objectsFound(monitor, nodes);
+        }
+    }
+
     public static SearchMetadataQuery createQuery(
         DBPDataSource dataSource,
         SearchMetadataParams params)
@@ -122,7 +171,7 @@ public class SearchMetadataQuery implements IObjectSearchQuery {
         if (dataSource == null || assistant == null) {
             throw new DBException("Can't obtain database structure assistance from [" + dataSource + "]");
         }
-        return new SearchMetadataQuery(assistant, params);
+        return new SearchMetadataQuery(dataSource, assistant, params);
     }
 
 
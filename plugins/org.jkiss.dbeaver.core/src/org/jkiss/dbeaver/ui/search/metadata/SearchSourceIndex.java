@@ -0,0 +1,457 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.search.metadata;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectReference;
+import org.jkiss.dbeaver.model.struct.DBSObjectType;
+import org.jkiss.dbeaver.model.struct.DBSSourceIndexProvider;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Local inverted index over database objects source code (procedures, packages, triggers, views).
+ * Index is built in background from database dictionary and refreshed incrementally
+ * (only objects with changed modification time are re-read).
+ * Index is dropped when datasource disconnects.
+ */
+public class SearchSourceIndex {
+
+    private static final Log log = Log.getLog(SearchSourceIndex.class);
+
+    private static final long REFRESH_INTERVAL = 5 * 60 * 1000;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    // Datasource container id -> index
+    private static final Map<String, SearchSourceIndex> indexMap = new HashMap<>();
+    // Registries with disconnect listener
+    private static final Set<DBPDataSourceRegistry> listenedRegistries = Collections.newSetFromMap(new WeakHashMap<DBPDataSourceRegistry, Boolean>());
+
+    private static final DBPEventListener disconnectListener = new DBPEventListener() {
+        @Override
+        public void handleDataSourceEvent(DBPEvent event)
+        {
+            if (event.getObject() instanceof DBPDataSourceContainer &&
+                (event.getAction() == DBPEvent.Action.OBJECT_REMOVE ||
+                    (event.getAction() == DBPEvent.Action.OBJECT_UPDATE && Boolean.FALSE.equals(event.getEnabled()))))
+            {
+                SearchSourceIndex index;
+                synchronized (indexMap) {
+                    index = indexMap.remove(((DBPDataSourceContainer) event.getObject()).getId());
+                }
+                if (index != null) {
+                    index.dispose();
+                }
+            }
+        }
+    };
+
+    private static class IndexEntry {
+        DBSObjectReference object;
+        final long modifyTime;
+        final String source;
+
+        IndexEntry(DBSObjectReference object, long modifyTime, String source)
+        {
+            this.object = object;
+            this.modifyTime = modifyTime;
+            this.source = source;
+        }
+    }
+
+    private final DBPDataSource dataSource;
+    private final DBSSourceIndexProvider provider;
+    private final Object refreshLock = new Object();
+    // Object key -> entry
+    private final Map<String, IndexEntry> entries = new HashMap<>();
+    // Lower-case token -> object keys
+    private final Map<String, Set<String>> tokens = new TreeMap<>();
+    private volatile long lastRefreshTime;
+    private IndexRefreshJob refreshJob;
+
+    private SearchSourceIndex(DBPDataSource dataSource, DBSSourceIndexProvider provider)
+    {
+        this.dataSource = dataSource;
+        this.provider = provider;
+    }
+
+    /**
+     * Returns source index for specified datasource or null if datasource doesn't support source indexing
+     */
+    @Nullable
+    public static SearchSourceIndex getIndex(@Nullable DBPDataSource dataSource)
+    {
+        if (dataSource == null) {
+            return null;
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        SearchSourceIndex oldIndex = null;
+        try {
+            synchronized (indexMap) {
+                if (listenedRegistries.add(container.getRegistry())) {
+                    container.getRegistry().addDataSourceListener(disconnectListener);
+                }
+                SearchSourceIndex index = indexMap.get(container.getId());
+                if (index != null && index.dataSource != dataSource) {
+                    // Datasource was reconnected
+                    oldIndex = indexMap.remove(container.getId());
+                    index = null;
+                }
+                if (index == null) {
+                    DBSSourceIndexProvider provider = DBUtils.getAdapter(DBSSourceIndexProvider.class, dataSource);
+                    if (provider == null) {
+                        return null;
+                    }
+                    index = new SearchSourceIndex(dataSource, provider);
+                    indexMap.put(container.getId(), index);
+                }
+                return index;
+            }
+        } finally {
+            if (oldIndex != null) {
+                oldIndex.dispose();
+            }
+        }
+    }
+
+    /**
+     * Cancels index refresh and releases indexed sources
+     */
+    private void dispose()
+    {
+        IndexRefreshJob job;
+        synchronized (this) {
+            job = refreshJob;
+            entries.clear();
+            tokens.clear();
+            lastRefreshTime = 0;
+        }
+        if (job != null) {
+            job.cancel();
+        }
+    }
+
+    public boolean isBuilt()
+    {
+        return lastRefreshTime > 0;
+    }
+
+    public synchronized int getObjectCount()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Schedules background index refresh (if index wasn't refreshed recently)
+     */
+    public void scheduleRefresh()
+    {
+        if (System.currentTimeMillis() - lastRefreshTime < REFRESH_INTERVAL) {
+            return;
+        }
+        synchronized (this) {
+            if (refreshJob != null) {
+                return;
+            }
+            refreshJob = new IndexRefreshJob();
+        }
+        refreshJob.schedule();
+    }
+
+    /**
+     * Refreshes index. Reads source of new and changed objects and removes dropped ones.
+     */
+    public void refresh(DBRProgressMonitor monitor) throws DBException
+    {
+        synchronized (refreshLock) {
+            Collection<? extends DBSObjectReference> objects = provider.getSourceObjects(monitor);
+            Map<String, DBSObjectReference> actualObjects = new LinkedHashMap<>();
+            List<DBSObjectReference> changedObjects = new ArrayList<>();
+            synchronized (this) {
+                for (DBSObjectReference object : objects) {
+                    String key = makeObjectKey(object);
+                    actualObjects.put(key, object);
+                    IndexEntry entry = entries.get(key);
+                    long modifyTime = provider.getSourceModifyTime(object);
+                    if (entry == null || modifyTime == 0 || entry.modifyTime != modifyTime) {
+                        changedObjects.add(object);
+                    } else {
+                        // Keep reference to the actual object container
+                        entry.object = object;
+                    }
+                }
+            }
+            if (monitor.isCanceled()) {
+                return;
+            }
+            monitor.subTask("Read source of " + changedObjects.size() + " object(s)");
+            Map<DBSObjectReference, String> sources = provider.readObjectSources(monitor, changedObjects);
+            if (monitor.isCanceled()) {
+                return;
+            }
+
+            synchronized (this) {
+                for (Iterator<Map.Entry<String, IndexEntry>> iter = entries.entrySet().iterator(); iter.hasNext(); ) {
+                    Map.Entry<String, IndexEntry> entry = iter.next();
+                    if (!actualObjects.containsKey(entry.getKey())) {
+                        removeTokens(entry.getKey(), entry.getValue());
+                        iter.remove();
+                    }
+                }
+                for (DBSObjectReference object : changedObjects) {
+                    String key = makeObjectKey(object);
+                    IndexEntry oldEntry = entries.remove(key);
+                    if (oldEntry != null) {
+                        removeTokens(key, oldEntry);
+                    }
+                    String source = sources.get(object);
+                    if (source == null) {
+                        continue;
+                    }
+                    IndexEntry newEntry = new IndexEntry(object, provider.getSourceModifyTime(object), source);
+                    entries.put(key, newEntry);
+                    addTokens(key, newEntry);
+                }
+            }
+            lastRefreshTime = System.currentTimeMillis();
+            log.debug("Source index of '" + dataSource.getContainer().getName() + "' refreshed: " +
+                changedObjects.size() + " object(s) re-read, " + entries.size() + " total");
+        }
+    }
+
+    /**
+     * Searches objects which source contains specified text.
+     * @param mask          search mask. '%' and '_' are treated as LIKE wildcards
+     * @param caseSensitive case sensitive search
+     * @param objectTypes   object types filter (empty means any)
+     * @param parentObject  parent object filter (may be null)
+     * @param maxResults    maximum number of results
+     */
+    public List<DBSObjectReference> search(
+        @NotNull String mask,
+        boolean caseSensitive,
+        @Nullable Collection<DBSObjectType> objectTypes,
+        @Nullable DBSObject parentObject,
+        int maxResults)
+    {
+        Pattern pattern = makeSearchPattern(mask, caseSensitive);
+        List<DBSObjectReference> result = new ArrayList<>();
+        synchronized (this) {
+            Collection<String> candidates = findCandidates(mask);
+            for (String key : candidates) {
+                IndexEntry entry = entries.get(key);
+                if (entry == null || !isObjectMatches(entry.object, objectTypes, parentObject)) {
+                    continue;
+                }
+                if (pattern.matcher(entry.source).find()) {
+                    result.add(entry.object);
+                    if (result.size() >= maxResults) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Looks up candidate objects in inverted index.
+     * Each identifier from the mask must be a part of some token of object source.
+     * First and last identifiers may be truncated so we use substring match against index dictionary.
+     */
+    private Collection<String> findCandidates(String mask)
+    {
+        List<String> maskTokens = tokenize(mask);
+        if (maskTokens.isEmpty()) {
+            // Nothing to lookup - check all objects
+            return new ArrayList<>(entries.keySet());
+        }
+        Set<String> result = null;
+        for (String maskToken : maskTokens) {
+            Set<String> tokenObjects = new HashSet<>();
+            for (Map.Entry<String, Set<String>> token : tokens.entrySet()) {
+                if (token.getKey().contains(maskToken)) {
+                    tokenObjects.addAll(token.getValue());
+                }
+            }
+            if (result == null) {
+                result = tokenObjects;
+            } else {
+                result.retainAll(tokenObjects);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isObjectMatches(DBSObjectReference object, @Nullable Collection<DBSObjectType> objectTypes, @Nullable DBSObject parentObject)
+    {
+        if (objectTypes != null && !objectTypes.isEmpty()) {
+            boolean typeMatches = false;
+            for (DBSObjectType objectType : objectTypes) {
+                Class<? extends DBSObject> typeClass = objectType.getTypeClass();
+                if (typeClass != null && typeClass.isAssignableFrom(object.getObjectClass())) {
+                    typeMatches = true;
+                    break;
+                }
+            }
+            if (!typeMatches) {
+                return false;
+            }
+        }
+        if (parentObject != null && !(parentObject instanceof DBPDataSource)) {
+            for (DBSObject parent = object.getContainer(); ; parent = parent.getParentObject()) {
+                if (parent == null) {
+                    return false;
+                }
+                if (parent == parentObject) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addTokens(String key, IndexEntry entry)
+    {
+        for (String token : tokenize(entry.source)) {
+            Set<String> keys = tokens.get(token);
+            if (keys == null) {
+                keys = new HashSet<>();
+                tokens.put(token, keys);
+            }
+            keys.add(key);
+        }
+    }
+
+    private void removeTokens(String key, IndexEntry entry)
+    {
+        for (String token : tokenize(entry.source)) {
+            Set<String> keys = tokens.get(token);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    tokens.remove(token);
+                }
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            if (!isTokenPart(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isTokenPart(text.charAt(i))) {
+                i++;
+            }
+            if (i - start >= MIN_TOKEN_LENGTH) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static boolean isTokenPart(char c)
+    {
+        return Character.isLetterOrDigit(c) || c == '$' || c == '#';
+    }
+
+    private static Pattern makeSearchPattern(String mask, boolean caseSensitive)
+    {
+        // Trim leading/trailing wildcards - we search for substring anyway
+        int start = 0, end = mask.length();
+        while (start < end && mask.charAt(start) == '%') start++;
+        while (end > start && mask.charAt(end - 1) == '%') end--;
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            char c = mask.charAt(i);
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*?" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        int flags = Pattern.DOTALL;
+        if (!caseSensitive) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        return Pattern.compile(regex.toString(), flags);
+    }
+
+    private static String makeObjectKey(DBSObjectReference object)
+    {
+        String key = object.getObjectClass().getName() + ":" + object.getFullQualifiedName();
+        String description = object.getObjectDescription();
+        // Description distinguishes overloaded procedures
+        return description == null || description.isEmpty() ? key : key + "(" + description + ")";
+    }
+
+    private class IndexRefreshJob extends AbstractJob {
+
+        IndexRefreshJob()
+        {
+            super("Index source code of '" + dataSource.getContainer().getName() + "'");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            try {
+                if (dataSource.getContainer().isConnected()) {
+                    refresh(monitor);
+                }
+            } catch (Exception e) {
+                log.debug("Error indexing source code of '" + dataSource.getContainer().getName() + "': " + e.getMessage());
+            } finally {
+                synchronized (SearchSourceIndex.this) {
+                    refreshJob = null;
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -36,8 +36,10 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IWorkbenchPart;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.core.CoreCommands;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -45,8 +47,12 @@ import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
 import org.jkiss.dbeaver.ui.*;
 import org.jkiss.dbeaver.runtime.properties.PropertyCollector;
 import org.jkiss.dbeaver.ui.properties.PropertyTreeViewer;
+import org.jkiss.dbeaver.utils.PrefUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.text.DecimalFormat;
+import java.util.List;
+
 /**
  * ResultSetViewer
  */
@@ -61,6 +67,8 @@ public class ExplainPlanViewer implements IPropertyChangeListener
     private DBCQueryPlanner planner;
     private RefreshPlanAction refreshPlanAction;
     private ToggleViewAction toggleViewAction;
+    private ComparePlansAction comparePlansAction;
+    private AnalyseExecutionAction analyseExecutionAction;
     private final SashForm leftPanel;
 
     public ExplainPlanViewer(final IWorkbenchPart workbenchPart, Composite parent)
@@ -85,8 +93,16 @@ public class ExplainPlanViewer implements IPropertyChangeListener
                 @Override
                 protected void fillCustomActions(IContributionManager contributionManager) {
                     contributionManager.add(toggleViewAction);
+                    contributionManager.add(comparePlansAction);
+                    contributionManager.add(analyseExecutionAction);
                     contributionManager.add(refreshPlanAction);
                 }
+
+                @Override
+                protected void onPlanCaptured(PlanSnapshot plan, PlanSnapshot prevPlan)
+                {
+                    showPlanChanges(plan, prevPlan);
+                }
             };
             this.planTree.setShowDivider(true);
             this.planTree.createProgressPanel(composite);
@@ -170,6 +186,41 @@ public class ExplainPlanViewer implements IPropertyChangeListener
 
         this.refreshPlanAction = new RefreshPlanAction();
         this.refreshPlanAction.setEnabled(false);
+
+        this.comparePlansAction = new ComparePlansAction();
+        this.comparePlansAction.setEnabled(false);
+
+        this.analyseExecutionAction = new AnalyseExecutionAction();
+        this.analyseExecutionAction.setEnabled(false);
+    }
+
+    private void showPlanChanges(PlanSnapshot plan, PlanSnapshot prevPlan)
+    {
+        comparePlansAction.setEnabled(prevPlan != null);
+        if (plan == null || prevPlan == null) {
+            return;
+        }
+        PlanDiff diff = new PlanDiff(prevPlan, plan);
+        if (!diff.hasChanges()) {
+            return;
+        }
+        DecimalFormat costFormat = new DecimalFormat("#,##0.##");
+        StringBuilder info = new StringBuilder();
+        if (diff.isRegression()) {
+            info.append("Plan regression: ");
+        } else {
+            info.append("Plan changed: ");
+        }
+        if (prevPlan.getTotalCost() != null && plan.getTotalCost() != null) {
+            info.append("cost ")
+                .append(costFormat.format(prevPlan.getTotalCost()))
+                .append(" -> ")
+                .append(costFormat.format(plan.getTotalCost()));
+        }
+        if (diff.isAccessPathChanged()) {
+            info.append(" (access path changed)");
+        }
+        planTree.setInfo(info.toString());
     }
 
     public Control getControl()
@@ -191,6 +242,12 @@ public class ExplainPlanViewer implements IPropertyChangeListener
         }
         planTree.clearListData();
         refreshPlanAction.setEnabled(false);
+        comparePlansAction.setEnabled(false);
+        analyseExecutionAction.setEnabled(planner != null);
+        if (planner != null) {
+            analyseExecutionAction.setChecked(
+                getPlannerPreferences().getBoolean(ModelPreferences.PLAN_ANALYSE_EXECUTION));
+        }
     }
 
     @Override
@@ -217,6 +274,12 @@ public class ExplainPlanViewer implements IPropertyChangeListener
 
         refreshPlanAction.setEnabled(true);
         toggleViewAction.setEnabled(true);
+        comparePlansAction.setEnabled(false);
+    }
+
+    private DBPPreferenceStore getPlannerPreferences()
+    {
+        return planner.getDataSource().getContainer().getPreferenceStore();
     }
 
     private class RefreshPlanAction extends Action {
@@ -238,6 +301,48 @@ public class ExplainPlanViewer implements IPropertyChangeListener
         }
     }
 
+    private class ComparePlansAction extends Action {
+        private ComparePlansAction()
+        {
+            super("Compare with previous plans", DBeaverIcons.getImageDescriptor(UIIcon.COMPARE));
+        }
+
+        @Override
+        public void run()
+        {
+            if (planner == null) {
+                return;
+            }
+            List<PlanSnapshot> plans = PlanRepository.getInstance().getPlans(
+                planner.getDataSource().getContainer().getId(),
+                sqlText.getText());
+            if (plans.size() < 2) {
+                UIUtils.showMessageBox(getControl().getShell(), "Compare plans", "No previous plans of this query", SWT.ICON_INFORMATION);
+                return;
+            }
+            new PlanDiffDialog(getControl().getShell(), plans).open();
+        }
+    }
+
+    private class AnalyseExecutionAction extends Action {
+        private AnalyseExecutionAction()
+        {
+            super("Analyse execution", AS_CHECK_BOX);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(UIIcon.SQL_EXPLAIN_PLAN));
+            setToolTipText("Execute query to get actual plan statistics (if supported by database). Modifications are rolled back");
+        }
+
+        @Override
+        public void run()
+        {
+            if (planner != null) {
+                DBPPreferenceStore store = getPlannerPreferences();
+                store.setValue(ModelPreferences.PLAN_ANALYSE_EXECUTION, isChecked());
+                PrefUtils.savePreferenceStore(store);
+            }
+        }
+    }
+
     private class ToggleViewAction extends Action {
         private ToggleViewAction()
         {
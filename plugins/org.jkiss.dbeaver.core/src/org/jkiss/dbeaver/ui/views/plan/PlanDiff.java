@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.views.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Difference between two plans of the same query.
+ * Nodes are matched by their position in plan tree.
+ */
+public class PlanDiff {
+
+    // Cost growth which is treated as regression
+    public static final double REGRESSION_COST_RATIO = 1.5;
+
+    public enum ChangeType {
+        NONE,
+        COST,
+        ACCESS_PATH,
+        ADDED,
+        REMOVED
+    }
+
+    public static class Node {
+        private final PlanSnapshot.Node oldNode;
+        private final PlanSnapshot.Node newNode;
+        private final ChangeType changeType;
+        private final List<Node> nested = new ArrayList<>();
+
+        Node(PlanSnapshot.Node oldNode, PlanSnapshot.Node newNode)
+        {
+            this.oldNode = oldNode;
+            this.newNode = newNode;
+            if (oldNode == null) {
+                changeType = ChangeType.ADDED;
+            } else if (newNode == null) {
+                changeType = ChangeType.REMOVED;
+            } else if (!oldNode.isSameAccessPath(newNode)) {
+                changeType = ChangeType.ACCESS_PATH;
+            } else if (!equalValues(oldNode.getCost(), newNode.getCost()) || !equalValues(oldNode.getRowCount(), newNode.getRowCount())) {
+                changeType = ChangeType.COST;
+            } else {
+                changeType = ChangeType.NONE;
+            }
+        }
+
+        @Nullable
+        public PlanSnapshot.Node getOldNode()
+        {
+            return oldNode;
+        }
+
+        @Nullable
+        public PlanSnapshot.Node getNewNode()
+        {
+            return newNode;
+        }
+
+        @NotNull
+        public ChangeType getChangeType()
+        {
+            return changeType;
+        }
+
+        @NotNull
+        public List<Node> getNested()
+        {
+            return nested;
+        }
+
+        /**
+         * True if this node or any nested node was changed
+         */
+        public boolean hasChanges()
+        {
+            if (changeType != ChangeType.NONE) {
+                return true;
+            }
+            for (Node node : nested) {
+                if (node.hasChanges()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasAccessPathChanges()
+        {
+            if (changeType != ChangeType.NONE && changeType != ChangeType.COST) {
+                return true;
+            }
+            for (Node node : nested) {
+                if (node.hasAccessPathChanges()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final PlanSnapshot oldPlan;
+    private final PlanSnapshot newPlan;
+    private final List<Node> nodes;
+
+    public PlanDiff(@NotNull PlanSnapshot oldPlan, @NotNull PlanSnapshot newPlan)
+    {
+        this.oldPlan = oldPlan;
+        this.newPlan = newPlan;
+        this.nodes = compareNodes(oldPlan.getNodes(), newPlan.getNodes());
+    }
+
+    public PlanSnapshot getOldPlan()
+    {
+        return oldPlan;
+    }
+
+    public PlanSnapshot getNewPlan()
+    {
+        return newPlan;
+    }
+
+    @NotNull
+    public List<Node> getNodes()
+    {
+        return nodes;
+    }
+
+    public boolean hasChanges()
+    {
+        for (Node node : nodes) {
+            if (node.hasChanges()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isAccessPathChanged()
+    {
+        for (Node node : nodes) {
+            if (node.hasAccessPathChanges()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plan regressed if its total cost grew significantly
+     */
+    public boolean isRegression()
+    {
+        Double oldCost = oldPlan.getTotalCost();
+        Double newCost = newPlan.getTotalCost();
+        return oldCost != null && newCost != null && oldCost > 0 && newCost / oldCost >= REGRESSION_COST_RATIO;
+    }
+
+    private static List<Node> compareNodes(List<PlanSnapshot.Node> oldNodes, List<PlanSnapshot.Node> newNodes)
+    {
+        final int count = Math.max(oldNodes.size(), newNodes.size());
+        List<Node> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlanSnapshot.Node oldNode = i < oldNodes.size() ? oldNodes.get(i) : null;
+            PlanSnapshot.Node newNode = i < newNodes.size() ? newNodes.get(i) : null;
+            Node diffNode = new Node(oldNode, newNode);
+            diffNode.nested.addAll(compareNodes(
+                oldNode == null ? new ArrayList<PlanSnapshot.Node>() : oldNode.getNested(),
+                newNode == null ? new ArrayList<PlanSnapshot.Node>() : newNode.getNested()));
+            result.add(diffNode);
+        }
+        return result;
+    }
+
+    private static boolean equalValues(Double value1, Double value2)
+    {
+        if (value1 == null || value2 == null) {
+            return value1 == value2;
+        }
+        // Ignore rounding differences
+        return Math.abs(value1 - value2) <= Math.max(Math.abs(value1), Math.abs(value2)) * 0.001;
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.views.plan;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.utils.CommonUtils;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Shows difference between captured plans of the same query
+ */
+public class PlanDiffDialog extends BaseDialog {
+
+    private final List<PlanSnapshot> plans;
+    private final DecimalFormat numberFormat = new DecimalFormat("#,##0.##");
+    private final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM);
+
+    private Combo baseCombo;
+    private Label summaryLabel;
+    private Tree diffTree;
+
+    /**
+     * @param plans query plans, oldest first. The last plan is compared with one of previous plans.
+     */
+    public PlanDiffDialog(Shell shell, List<PlanSnapshot> plans)
+    {
+        super(shell, "Plan changes", UIIcon.COMPARE);
+        this.plans = plans;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent)
+    {
+        Composite composite = super.createDialogArea(parent);
+
+        Composite basePanel = UIUtils.createPlaceholder(composite, 2, 5);
+        basePanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        baseCombo = UIUtils.createLabelCombo(basePanel, "Compare with", SWT.DROP_DOWN | SWT.READ_ONLY);
+        for (int i = 0; i < plans.size() - 1; i++) {
+            baseCombo.add(getPlanTitle(plans.get(i)));
+        }
+        baseCombo.select(plans.size() - 2);
+        baseCombo.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e)
+            {
+                showDiff();
+            }
+        });
+
+        summaryLabel = new Label(composite, SWT.NONE);
+        summaryLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        diffTree = new Tree(composite, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 700;
+        gd.heightHint = 300;
+        diffTree.setLayoutData(gd);
+        diffTree.setHeaderVisible(true);
+        diffTree.setLinesVisible(true);
+        UIUtils.createTreeColumn(diffTree, SWT.LEFT, "Operation");
+        UIUtils.createTreeColumn(diffTree, SWT.LEFT, "Object");
+        UIUtils.createTreeColumn(diffTree, SWT.RIGHT, "Old cost");
+        UIUtils.createTreeColumn(diffTree, SWT.RIGHT, "New cost");
+        UIUtils.createTreeColumn(diffTree, SWT.RIGHT, "Old rows");
+        UIUtils.createTreeColumn(diffTree, SWT.RIGHT, "New rows");
+        UIUtils.createTreeColumn(diffTree, SWT.LEFT, "Change");
+
+        showDiff();
+
+        return composite;
+    }
+
+    private void showDiff()
+    {
+        int baseIndex = baseCombo.getSelectionIndex();
+        if (baseIndex < 0) {
+            return;
+        }
+        PlanDiff diff = new PlanDiff(plans.get(baseIndex), plans.get(plans.size() - 1));
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("Total cost: ")
+            .append(formatNumber(diff.getOldPlan().getTotalCost()))
+            .append(" -> ")
+            .append(formatNumber(diff.getNewPlan().getTotalCost()));
+        if (diff.isRegression()) {
+            summary.append(" (regression)");
+        }
+        if (diff.isAccessPathChanged()) {
+            summary.append("; access path changed");
+        } else if (!diff.hasChanges()) {
+            summary.append("; plans are identical");
+        }
+        summaryLabel.setText(summary.toString());
+
+        diffTree.setRedraw(false);
+        try {
+            diffTree.removeAll();
+            for (PlanDiff.Node node : diff.getNodes()) {
+                TreeItem item = new TreeItem(diffTree, SWT.NONE);
+                fillItem(item, node);
+            }
+            UIUtils.packColumns(diffTree, false, null);
+        } finally {
+            diffTree.setRedraw(true);
+        }
+    }
+
+    private void fillItem(TreeItem item, PlanDiff.Node node)
+    {
+        PlanSnapshot.Node oldNode = node.getOldNode();
+        PlanSnapshot.Node newNode = node.getNewNode();
+        PlanSnapshot.Node mainNode = newNode != null ? newNode : oldNode;
+        item.setData(node);
+        item.setText(0, CommonUtils.notEmpty(mainNode.getType()));
+        item.setText(1, CommonUtils.notEmpty(mainNode.getName()));
+        item.setText(2, oldNode == null ? "" : formatNumber(oldNode.getCost()));
+        item.setText(3, newNode == null ? "" : formatNumber(newNode.getCost()));
+        item.setText(4, oldNode == null ? "" : formatNumber(oldNode.getRowCount()));
+        item.setText(5, newNode == null ? "" : formatNumber(newNode.getRowCount()));
+        item.setText(6, getChangeTitle(node));
+        Color color = getChangeColor(node.getChangeType());
+        if (color != null) {
+            item.setForeground(color);
+        }
+        for (PlanDiff.Node nested : node.getNested()) {
+            fillItem(new TreeItem(item, SWT.NONE), nested);
+        }
+        item.setExpanded(node.hasChanges());
+    }
+
+    private String getChangeTitle(PlanDiff.Node node)
+    {
+        switch (node.getChangeType()) {
+            case COST: return "Cost changed";
+            case ACCESS_PATH: return "Was " + node.getOldNode();
+            case ADDED: return "Added";
+            case REMOVED: return "Removed";
+            default: return "";
+        }
+    }
+
+    private Color getChangeColor(PlanDiff.ChangeType changeType)
+    {
+        switch (changeType) {
+            case COST: return getShell().getDisplay().getSystemColor(SWT.COLOR_DARK_YELLOW);
+            case ACCESS_PATH:
+            case ADDED:
+            case REMOVED:
+                return getShell().getDisplay().getSystemColor(SWT.COLOR_DARK_RED);
+            default: return null;
+        }
+    }
+
+    private String getPlanTitle(PlanSnapshot plan)
+    {
+        String title = dateFormat.format(new Date(plan.getTimestamp()));
+        Double totalCost = plan.getTotalCost();
+        if (totalCost != null) {
+            title += " (cost " + formatNumber(totalCost) + ")";
+        }
+        return title;
+    }
+
+    private String formatNumber(Double value)
+    {
+        return value == null ? "" : numberFormat.format(value);
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent)
+    {
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId)
+    {
+        if (buttonId == IDialogConstants.CLOSE_ID) {
+            okPressed();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+}
@@ -21,6 +21,8 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.widgets.Composite;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
@@ -42,8 +44,12 @@ import java.util.Collection;
  */
 public class PlanNodesTree extends DatabaseObjectListControl<DBCPlanNode> {
 
+    private static final Log log = Log.getLog(PlanNodesTree.class);
+
     private DBCQueryPlanner planner;
     private String query;
+    private volatile PlanSnapshot lastPlan;
+    private volatile PlanSnapshot prevPlan;
 
     public PlanNodesTree(Composite parent, int style)
     {
@@ -74,6 +80,30 @@ public class PlanNodesTree extends DatabaseObjectListControl<DBCPlanNode> {
     {
         this.planner = planner;
         this.query = query;
+        this.lastPlan = null;
+        this.prevPlan = null;
+    }
+
+    /**
+     * Called in UI thread after plan was loaded and saved in plan repository
+     * @param plan captured plan. Null if plan doesn't provide costs
+     * @param prevPlan previously captured plan of the same query
+     */
+    protected void onPlanCaptured(@Nullable PlanSnapshot plan, @Nullable PlanSnapshot prevPlan)
+    {
+    }
+
+    private void capturePlan(DBCPlan plan)
+    {
+        try {
+            PlanSnapshot snapshot = PlanSnapshot.capture(planner.getDataSource().getContainer().getId(), plan);
+            if (snapshot != null) {
+                prevPlan = PlanRepository.getInstance().addPlan(snapshot);
+                lastPlan = snapshot;
+            }
+        } catch (Exception e) {
+            log.debug("Can't save plan in repository", e);
+        }
     }
 
     private static ITreeContentProvider CONTENT_PROVIDER = new ITreeContentProvider() {
@@ -137,6 +167,7 @@ public class PlanNodesTree extends DatabaseObjectListControl<DBCPlanNode> {
             try {
                 try (DBCSession session = DBUtils.openUtilSession(getProgressMonitor(), planner.getDataSource(), "Explain '" + query + "'")) {
                     DBCPlan plan = planner.planQueryExecution(session, query);
+                    capturePlan(plan);
                     return (Collection<DBCPlanNode>) plan.getPlanNodes();
                 }
             } catch (Throwable ex) {
@@ -158,6 +189,7 @@ public class PlanNodesTree extends DatabaseObjectListControl<DBCPlanNode> {
             } finally {
                 itemsViewer.getControl().setRedraw(true);
             }
+            onPlanCaptured(lastPlan, prevPlan);
         }
     }
 
@@ -0,0 +1,364 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.views.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverActivator;
+import org.jkiss.dbeaver.registry.RegistryConstants;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.SecurityUtils;
+import org.jkiss.utils.xml.SAXListener;
+import org.jkiss.utils.xml.SAXReader;
+import org.jkiss.utils.xml.XMLBuilder;
+import org.jkiss.utils.xml.XMLException;
+import org.xml.sax.Attributes;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Repository of captured execution plans.
+ * Plans are grouped by data source and normalized query hash, so plans of the same query
+ * with different literals are compared with each other.
+ */
+public class PlanRepository
+{
+    private static final Log log = Log.getLog(PlanRepository.class);
+
+    public static final String CONFIG_FILE_NAME = "plan-repository.xml"; //$NON-NLS-1$
+
+    public static final int MAX_QUERIES = 500;
+    public static final int MAX_PLANS_PER_QUERY = 10;
+
+    private static final String TAG_QUERY = "query"; //$NON-NLS-1$
+    private static final String TAG_TEXT = "text"; //$NON-NLS-1$
+    private static final String TAG_PLAN = "plan"; //$NON-NLS-1$
+    private static final String TAG_NODE = "node"; //$NON-NLS-1$
+    private static final String ATTR_DATASOURCE = "datasource"; //$NON-NLS-1$
+    private static final String ATTR_HASH = "hash"; //$NON-NLS-1$
+    private static final String ATTR_TIME = "time"; //$NON-NLS-1$
+    private static final String ATTR_COST = "cost"; //$NON-NLS-1$
+    private static final String ATTR_ROWS = "rows"; //$NON-NLS-1$
+    private static final String ATTR_ACTUAL_TIME = "actualTime"; //$NON-NLS-1$
+
+    private static PlanRepository instance;
+
+    // Least recently used queries are evicted first
+    private final Map<String, List<PlanSnapshot>> plans = new LinkedHashMap<String, List<PlanSnapshot>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<PlanSnapshot>> eldest)
+        {
+            return size() > MAX_QUERIES;
+        }
+    };
+
+    private PlanRepository()
+    {
+    }
+
+    public static synchronized PlanRepository getInstance()
+    {
+        if (instance == null) {
+            instance = new PlanRepository();
+            instance.loadPlans();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds plan in repository.
+     * @return previous plan of the same query or null
+     */
+    @Nullable
+    public synchronized PlanSnapshot addPlan(@NotNull PlanSnapshot plan)
+    {
+        final String key = makeKey(plan.getDataSourceId(), plan.getQueryHash());
+        List<PlanSnapshot> queryPlans = plans.get(key);
+        if (queryPlans == null) {
+            queryPlans = new ArrayList<>();
+            plans.put(key, queryPlans);
+        }
+        PlanSnapshot prevPlan = queryPlans.isEmpty() ? null : queryPlans.get(queryPlans.size() - 1);
+        queryPlans.add(plan);
+        while (queryPlans.size() > MAX_PLANS_PER_QUERY) {
+            queryPlans.remove(0);
+        }
+        savePlans();
+        return prevPlan;
+    }
+
+    /**
+     * Returns captured plans of the query, oldest first
+     */
+    @NotNull
+    public synchronized List<PlanSnapshot> getPlans(@NotNull String dataSourceId, @NotNull String query)
+    {
+        List<PlanSnapshot> queryPlans = plans.get(makeKey(dataSourceId, getQueryHash(query)));
+        return queryPlans == null ? Collections.<PlanSnapshot>emptyList() : new ArrayList<>(queryPlans);
+    }
+
+    private static String makeKey(String dataSourceId, String queryHash)
+    {
+        return dataSourceId + "/" + queryHash;
+    }
+
+    public static String getQueryHash(@NotNull String query)
+    {
+        return SecurityUtils.makeDigest(normalizeQuery(query));
+    }
+
+    /**
+     * Replaces literals with parameter marks, removes comments and redundant whitespaces.
+     * Keywords and unquoted identifiers are converted to lower case.
+     */
+    @NotNull
+    public static String normalizeQuery(@NotNull String query)
+    {
+        final int length = query.length();
+        final StringBuilder result = new StringBuilder(length);
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (c == '-' && i < length - 1 && query.charAt(i + 1) == '-') {
+                // Line comment
+                while (i < length && query.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (c == '/' && i < length - 1 && query.charAt(i + 1) == '*') {
+                // Block comment
+                int end = query.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 1;
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                result.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                // String literal. Doubled quotes are handled as two adjacent literals.
+                int end = query.indexOf('\'', i + 1);
+                i = end == -1 ? length : end;
+                if (result.length() == 0 || result.charAt(result.length() - 1) != '?') {
+                    result.append('?');
+                }
+            } else if (c == '"') {
+                // Quoted identifier - keep as is
+                int end = query.indexOf('"', i + 1);
+                if (end == -1) {
+                    end = length - 1;
+                }
+                result.append(query, i, end + 1);
+                i = end;
+            } else if (Character.isDigit(c) && (result.length() == 0 || !Character.isJavaIdentifierPart(result.charAt(result.length() - 1)))) {
+                // Numeric literal
+                while (i < length - 1 && (Character.isLetterOrDigit(query.charAt(i + 1)) || query.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                result.append('?');
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+        return result.toString();
+    }
+
+    private void loadPlans()
+    {
+        File storeFile = DBeaverActivator.getConfigurationFile(CONFIG_FILE_NAME);
+        if (!storeFile.exists()) {
+            return;
+        }
+        try (InputStream is = new FileInputStream(storeFile)) {
+            SAXReader parser = new SAXReader(is);
+            try {
+                parser.parse(new PlansParser());
+            } catch (XMLException ex) {
+                throw new DBException("Plan repository parse error", ex);
+            }
+        } catch (DBException ex) {
+            log.warn("Can't load plan repository from " + storeFile.getPath(), ex);
+        } catch (IOException ex) {
+            log.warn("IO error", ex);
+        }
+    }
+
+    private void savePlans()
+    {
+        File storeFile = DBeaverActivator.getConfigurationFile(CONFIG_FILE_NAME);
+        try (OutputStream os = new FileOutputStream(storeFile)) {
+            XMLBuilder xml = new XMLBuilder(os, GeneralUtils.DEFAULT_FILE_CHARSET_NAME);
+            xml.setButify(true);
+            xml.startElement("plans");
+            for (List<PlanSnapshot> queryPlans : plans.values()) {
+                if (queryPlans.isEmpty()) {
+                    continue;
+                }
+                PlanSnapshot lastPlan = queryPlans.get(queryPlans.size() - 1);
+                xml.startElement(TAG_QUERY);
+                xml.addAttribute(ATTR_DATASOURCE, lastPlan.getDataSourceId());
+                xml.addAttribute(ATTR_HASH, lastPlan.getQueryHash());
+                xml.startElement(TAG_TEXT);
+                xml.addText(lastPlan.getQuery());
+                xml.endElement();
+                for (PlanSnapshot plan : queryPlans) {
+                    xml.startElement(TAG_PLAN);
+                    xml.addAttribute(ATTR_TIME, plan.getTimestamp());
+                    for (PlanSnapshot.Node node : plan.getNodes()) {
+                        saveNode(xml, node);
+                    }
+                    xml.endElement();
+                }
+                xml.endElement();
+            }
+            xml.endElement();
+            xml.flush();
+        }
+        catch (IOException ex) {
+            log.warn("IO error", ex);
+        }
+    }
+
+    private static void saveNode(XMLBuilder xml, PlanSnapshot.Node node) throws IOException
+    {
+        xml.startElement(TAG_NODE);
+        xml.addAttribute(RegistryConstants.ATTR_TYPE, CommonUtils.notEmpty(node.getType()));
+        if (node.getName() != null) {
+            xml.addAttribute(RegistryConstants.ATTR_NAME, node.getName());
+        }
+        if (node.getCost() != null) {
+            xml.addAttribute(ATTR_COST, node.getCost());
+        }
+        if (node.getRowCount() != null) {
+            xml.addAttribute(ATTR_ROWS, node.getRowCount());
+        }
+        if (node.getActualTime() != null) {
+            xml.addAttribute(ATTR_ACTUAL_TIME, node.getActualTime());
+        }
+        for (PlanSnapshot.Node nested : node.getNested()) {
+            saveNode(xml, nested);
+        }
+        xml.endElement();
+    }
+
+    private class PlansParser implements SAXListener
+    {
+        private String curDataSourceId;
+        private String curQueryHash;
+        private StringBuilder curQueryText = new StringBuilder();
+        private boolean inText;
+        private long curPlanTime;
+        private List<PlanSnapshot.Node> curPlanNodes;
+        private final Deque<PlanSnapshot.Node> nodeStack = new ArrayDeque<>();
+        private final List<PlanSnapshot> curPlans = new ArrayList<>();
+
+        @Override
+        public void saxStartElement(SAXReader reader, String namespaceURI, String localName, Attributes atts)
+            throws XMLException
+        {
+            switch (localName) {
+                case TAG_QUERY:
+                    curDataSourceId = atts.getValue(ATTR_DATASOURCE);
+                    curQueryHash = atts.getValue(ATTR_HASH);
+                    curQueryText.setLength(0);
+                    curPlans.clear();
+                    break;
+                case TAG_TEXT:
+                    inText = true;
+                    break;
+                case TAG_PLAN:
+                    curPlanTime = CommonUtils.toLong(atts.getValue(ATTR_TIME));
+                    curPlanNodes = new ArrayList<>();
+                    break;
+                case TAG_NODE: {
+                    PlanSnapshot.Node node = new PlanSnapshot.Node(
+                        atts.getValue(RegistryConstants.ATTR_TYPE),
+                        atts.getValue(RegistryConstants.ATTR_NAME),
+                        parseDouble(atts.getValue(ATTR_COST)),
+                        parseDouble(atts.getValue(ATTR_ROWS)),
+                        parseDouble(atts.getValue(ATTR_ACTUAL_TIME)));
+                    if (!nodeStack.isEmpty()) {
+                        nodeStack.peek().getNested().add(node);
+                    } else if (curPlanNodes != null) {
+                        curPlanNodes.add(node);
+                    }
+                    nodeStack.push(node);
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void saxText(SAXReader reader, String data)
+            throws XMLException
+        {
+            if (inText) {
+                curQueryText.append(data);
+            }
+        }
+
+        @Override
+        public void saxEndElement(SAXReader reader, String namespaceURI, String localName)
+            throws XMLException
+        {
+            switch (localName) {
+                case TAG_TEXT:
+                    inText = false;
+                    break;
+                case TAG_NODE:
+                    nodeStack.pop();
+                    break;
+                case TAG_PLAN:
+                    if (curPlanNodes != null) {
+                        curPlans.add(new PlanSnapshot(curDataSourceId, curQueryHash, curQueryText.toString(), curPlanTime, curPlanNodes));
+                        curPlanNodes = null;
+                    }
+                    break;
+                case TAG_QUERY:
+                    if (curDataSourceId != null && curQueryHash != null && !curPlans.isEmpty()) {
+                        plans.put(makeKey(curDataSourceId, curQueryHash), new ArrayList<>(curPlans));
+                    }
+                    break;
+            }
+        }
+
+        private Double parseDouble(String value)
+        {
+            if (CommonUtils.isEmpty(value)) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+}
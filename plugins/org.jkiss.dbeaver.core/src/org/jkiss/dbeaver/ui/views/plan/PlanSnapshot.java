@@ -0,0 +1,225 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.views.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Captured execution plan.
+ * Keeps only access path and costs of plan nodes, so it doesn't reference database objects.
+ */
+public class PlanSnapshot {
+
+    public static class Node {
+        private final String type;
+        private final String name;
+        private final Double cost;
+        private final Double rowCount;
+        private final Double actualTime;
+        private final List<Node> nested = new ArrayList<>();
+
+        public Node(String type, String name, Double cost, Double rowCount, Double actualTime)
+        {
+            this.type = type;
+            this.name = name;
+            this.cost = cost;
+            this.rowCount = rowCount;
+            this.actualTime = actualTime;
+        }
+
+        public String getType()
+        {
+            return type;
+        }
+
+        @Nullable
+        public String getName()
+        {
+            return name;
+        }
+
+        @Nullable
+        public Double getCost()
+        {
+            return cost;
+        }
+
+        @Nullable
+        public Double getRowCount()
+        {
+            return rowCount;
+        }
+
+        @Nullable
+        public Double getActualTime()
+        {
+            return actualTime;
+        }
+
+        @NotNull
+        public List<Node> getNested()
+        {
+            return nested;
+        }
+
+        /**
+         * Nodes have the same access path if they do the same operation on the same object
+         */
+        public boolean isSameAccessPath(Node node)
+        {
+            return CommonUtils.equalObjects(type, node.type) && CommonUtils.equalObjects(name, node.name);
+        }
+
+        @Override
+        public String toString()
+        {
+            return name == null ? type : type + " " + name;
+        }
+    }
+
+    private final String dataSourceId;
+    private final String queryHash;
+    private final String query;
+    private final long timestamp;
+    private final List<Node> nodes;
+
+    public PlanSnapshot(String dataSourceId, String queryHash, String query, long timestamp, List<Node> nodes)
+    {
+        this.dataSourceId = dataSourceId;
+        this.queryHash = queryHash;
+        this.query = query;
+        this.timestamp = timestamp;
+        this.nodes = nodes;
+    }
+
+    public String getDataSourceId()
+    {
+        return dataSourceId;
+    }
+
+    public String getQueryHash()
+    {
+        return queryHash;
+    }
+
+    public String getQuery()
+    {
+        return query;
+    }
+
+    public long getTimestamp()
+    {
+        return timestamp;
+    }
+
+    @NotNull
+    public List<Node> getNodes()
+    {
+        return nodes;
+    }
+
+    /**
+     * Estimated cost of the whole plan (sum of root nodes costs). Null if plan has no costs.
+     */
+    @Nullable
+    public Double getTotalCost()
+    {
+        Double total = null;
+        for (Node node : nodes) {
+            if (node.getCost() != null) {
+                total = (total == null ? 0 : total) + node.getCost();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Actual execution time of the whole plan. Null if query wasn't executed by explain.
+     */
+    @Nullable
+    public Double getActualTime()
+    {
+        Double total = null;
+        for (Node node : nodes) {
+            if (node.getActualTime() != null) {
+                total = (total == null ? 0 : total) + node.getActualTime();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Makes snapshot of plan. Returns null if plan nodes do not provide cost information.
+     */
+    @Nullable
+    public static PlanSnapshot capture(@NotNull String dataSourceId, @NotNull DBCPlan plan)
+    {
+        Collection<? extends DBCPlanNode> planNodes = plan.getPlanNodes();
+        if (CommonUtils.isEmpty(planNodes)) {
+            return null;
+        }
+        List<Node> nodes = new ArrayList<>(planNodes.size());
+        for (DBCPlanNode planNode : planNodes) {
+            if (!(planNode instanceof DBCPlanCostNode)) {
+                return null;
+            }
+            nodes.add(captureNode((DBCPlanCostNode) planNode));
+        }
+        String query = plan.getQueryString();
+        return new PlanSnapshot(
+            dataSourceId,
+            PlanRepository.getQueryHash(query),
+            query,
+            System.currentTimeMillis(),
+            nodes);
+    }
+
+    private static Node captureNode(DBCPlanCostNode planNode)
+    {
+        Node node = new Node(
+            planNode.getNodeType(),
+            planNode.getNodeName(),
+            toDouble(planNode.getNodeCost()),
+            toDouble(planNode.getNodeRowCount()),
+            toDouble(planNode.getNodeActualTime()));
+        Collection<? extends DBCPlanNode> nested = planNode.getNested();
+        if (nested != null) {
+            for (DBCPlanNode child : nested) {
+                if (child instanceof DBCPlanCostNode) {
+                    node.getNested().add(captureNode((DBCPlanCostNode) child));
+                }
+            }
+        }
+        return node;
+    }
+
+    private static Double toDouble(Number value)
+    {
+        return value == null ? null : value.doubleValue();
+    }
+
+}
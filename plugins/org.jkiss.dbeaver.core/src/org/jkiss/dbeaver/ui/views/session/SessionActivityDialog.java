@@ -0,0 +1,301 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.views.session;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.sessions.SessionActivityHistory;
+import org.jkiss.dbeaver.runtime.sessions.SessionSampler;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.utils.PrefUtils;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.util.Date;
+
+/**
+ * Shows top activity of datasource sessions collected by session sampler
+ */
+public class SessionActivityDialog extends BaseDialog {
+
+    private static final String[] PERIOD_NAMES = { "Last 5 minutes", "Last 15 minutes", "Last hour", "All buffered samples" };
+    private static final long[] PERIOD_LENGTHS = { 5 * 60 * 1000L, 15 * 60 * 1000L, 60 * 60 * 1000L, 0 };
+    private static final String[] GROUP_NAMES = { "Query", "User", "Wait state" };
+    private static final SessionActivityHistory.GroupBy[] GROUP_TYPES = {
+        SessionActivityHistory.GroupBy.QUERY,
+        SessionActivityHistory.GroupBy.USER,
+        SessionActivityHistory.GroupBy.WAIT };
+    private static final char[] TIMELINE_BARS = { '▁', '▂', '▃', '▄', '▅', '▆', '▇', '█' };
+    private static final int TIMELINE_LENGTH = 30;
+    private static final int MAX_GROUPS = 100;
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private final SessionSampler sampler;
+    private final DecimalFormat numberFormat = new DecimalFormat("#,##0.##");
+    private final DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM);
+
+    private Button enableCheck;
+    private Spinner intervalSpinner;
+    private Combo periodCombo;
+    private Combo groupCombo;
+    private Label summaryLabel;
+    private Table activityTable;
+    // Last scheduled report job. Results of older jobs are ignored
+    private ReportJob reportJob;
+
+    public SessionActivityDialog(Shell shell, SessionSampler sampler)
+    {
+        super(shell, "Top activity - " + sampler.getContainer().getName(), UIIcon.EVENT);
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent)
+    {
+        Composite composite = super.createDialogArea(parent);
+
+        {
+            Composite samplerPanel = UIUtils.createPlaceholder(composite, 3, 5);
+            samplerPanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+            enableCheck = UIUtils.createCheckbox(samplerPanel, "Enable sessions sampling", SessionSampler.isSamplingEnabled(sampler.getContainer()));
+            intervalSpinner = UIUtils.createLabelSpinner(
+                samplerPanel,
+                "Sampling interval (sec)",
+                SessionSampler.getSamplingInterval(sampler.getContainer()),
+                1,
+                3600);
+            SelectionAdapter settingsListener = new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    saveSettings();
+                }
+            };
+            enableCheck.addSelectionListener(settingsListener);
+            intervalSpinner.addSelectionListener(settingsListener);
+        }
+
+        {
+            Composite reportPanel = UIUtils.createPlaceholder(composite, 5, 5);
+            reportPanel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+            SelectionAdapter reportListener = new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    showActivity();
+                }
+            };
+            periodCombo = UIUtils.createLabelCombo(reportPanel, "Period", SWT.DROP_DOWN | SWT.READ_ONLY);
+            for (String periodName : PERIOD_NAMES) {
+                periodCombo.add(periodName);
+            }
+            periodCombo.select(1);
+            periodCombo.addSelectionListener(reportListener);
+            groupCombo = UIUtils.createLabelCombo(reportPanel, "Group by", SWT.DROP_DOWN | SWT.READ_ONLY);
+            for (String groupName : GROUP_NAMES) {
+                groupCombo.add(groupName);
+            }
+            groupCombo.select(0);
+            groupCombo.addSelectionListener(reportListener);
+            Button refreshButton = UIUtils.createPushButton(reportPanel, "Refresh", null);
+            refreshButton.addSelectionListener(reportListener);
+        }
+
+        summaryLabel = new Label(composite, SWT.NONE);
+        summaryLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        activityTable = new Table(composite, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 800;
+        gd.heightHint = 350;
+        activityTable.setLayoutData(gd);
+        activityTable.setHeaderVisible(true);
+        activityTable.setLinesVisible(true);
+        UIUtils.createTableColumn(activityTable, SWT.LEFT, "Name");
+        UIUtils.createTableColumn(activityTable, SWT.RIGHT, "Samples");
+        UIUtils.createTableColumn(activityTable, SWT.RIGHT, "Avg active");
+        UIUtils.createTableColumn(activityTable, SWT.RIGHT, "%");
+        UIUtils.createTableColumn(activityTable, SWT.LEFT, "Timeline");
+
+        showActivity();
+
+        return composite;
+    }
+
+    private void saveSettings()
+    {
+        DBPPreferenceStore store = sampler.getContainer().getPreferenceStore();
+        store.setValue(ModelPreferences.SESSION_SAMPLER_ENABLED, enableCheck.getSelection());
+        store.setValue(ModelPreferences.SESSION_SAMPLER_INTERVAL, intervalSpinner.getSelection());
+        PrefUtils.savePreferenceStore(store);
+    }
+
+    /**
+     * Builds report in background (it may read spilled samples from disk) and shows it when ready
+     */
+    private void showActivity()
+    {
+        summaryLabel.setText("Building report ...");
+        reportJob = new ReportJob(
+            GROUP_TYPES[groupCombo.getSelectionIndex()],
+            PERIOD_LENGTHS[periodCombo.getSelectionIndex()]);
+        reportJob.schedule();
+    }
+
+    private void showReport(SessionActivityHistory.ActivityReport report)
+    {
+        int totalSamples = 0;
+        for (SessionActivityHistory.ActivityGroup group : report.getGroups()) {
+            totalSamples += group.getSampleCount();
+        }
+        int tickCount = report.getTickCount();
+        if (tickCount == 0) {
+            summaryLabel.setText(SessionSampler.isSamplingEnabled(sampler.getContainer()) ?
+                "No samples collected in this period" :
+                "Sessions sampling is disabled");
+        } else {
+            summaryLabel.setText(
+                dateFormat.format(new Date(report.getStartTime())) + " - " + dateFormat.format(new Date(report.getEndTime())) +
+                ": " + tickCount + " samples, average active sessions " + numberFormat.format((double) totalSamples / tickCount));
+        }
+
+        activityTable.setRedraw(false);
+        try {
+            activityTable.removeAll();
+            int groupCount = 0;
+            for (SessionActivityHistory.ActivityGroup group : report.getGroups()) {
+                if (groupCount++ >= MAX_GROUPS) {
+                    break;
+                }
+                TableItem item = new TableItem(activityTable, SWT.NONE);
+                String name = group.getName();
+                if (name.length() > MAX_NAME_LENGTH) {
+                    name = name.substring(0, MAX_NAME_LENGTH) + " ...";
+                }
+                item.setText(0, name);
+                item.setText(1, String.valueOf(group.getSampleCount()));
+                item.setText(2, numberFormat.format((double) group.getSampleCount() / Math.max(1, tickCount)));
+                item.setText(3, numberFormat.format(group.getSampleCount() * 100.0 / Math.max(1, totalSamples)));
+                item.setText(4, makeTimeline(group.getTimeline(), report.getBucketTicks()));
+            }
+            UIUtils.packColumns(activityTable);
+        } finally {
+            activityTable.setRedraw(true);
+        }
+    }
+
+    /**
+     * Renders average active sessions by time buckets as a bar string
+     */
+    private static String makeTimeline(int[] timeline, int[] bucketTicks)
+    {
+        double maxValue = 0;
+        for (int i = 0; i < timeline.length; i++) {
+            if (bucketTicks[i] > 0) {
+                maxValue = Math.max(maxValue, (double) timeline[i] / bucketTicks[i]);
+            }
+        }
+        StringBuilder text = new StringBuilder(timeline.length);
+        for (int i = 0; i < timeline.length; i++) {
+            if (bucketTicks[i] == 0 || timeline[i] == 0 || maxValue == 0) {
+                text.append(' ');
+            } else {
+                double value = (double) timeline[i] / bucketTicks[i];
+                int barIndex = (int) Math.round(value / maxValue * (TIMELINE_BARS.length - 1));
+                text.append(TIMELINE_BARS[barIndex]);
+            }
+        }
+        return text.toString();
+    }
+
+    private class ReportJob extends AbstractJob {
+        private final SessionActivityHistory.GroupBy groupBy;
+        private final long periodLength;
+        private final Display display;
+
+        ReportJob(SessionActivityHistory.GroupBy groupBy, long periodLength)
+        {
+            super("Build activity report of '" + sampler.getContainer().getName() + "'");
+            setUser(false);
+            setSystem(true);
+            this.groupBy = groupBy;
+            this.periodLength = periodLength;
+            this.display = activityTable.getDisplay();
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            SessionActivityHistory history = sampler.getHistory();
+            long endTime = System.currentTimeMillis();
+            long startTime;
+            if (periodLength > 0) {
+                startTime = endTime - periodLength;
+            } else {
+                long firstSampleTime = history.getFirstSampleTime();
+                startTime = firstSampleTime > 0 ? firstSampleTime : endTime;
+            }
+            final SessionActivityHistory.ActivityReport report = history.buildReport(
+                groupBy,
+                startTime,
+                endTime,
+                TIMELINE_LENGTH);
+            if (!display.isDisposed()) {
+                display.asyncExec(new Runnable() {
+                    @Override
+                    public void run()
+                    {
+                        if (!activityTable.isDisposed() && reportJob == ReportJob.this) {
+                            showReport(report);
+                        }
+                    }
+                });
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent)
+    {
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId)
+    {
+        if (buttonId == IDialogConstants.CLOSE_ID) {
+            okPressed();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+}
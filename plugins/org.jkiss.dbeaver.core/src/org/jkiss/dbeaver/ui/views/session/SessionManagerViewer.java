@@ -39,6 +39,7 @@ import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.runtime.properties.PropertyCollector;
+import org.jkiss.dbeaver.runtime.sessions.SessionSampler;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
@@ -194,6 +195,16 @@ public class SessionManagerViewer
         @Override
         protected void fillCustomActions(IContributionManager contributionManager) {
             contributeToToolbar(sessionManager, contributionManager);
+            if (sessionManager.getDataSource() != null) {
+                contributionManager.add(new Action("Top activity", DBeaverIcons.getImageDescriptor(UIIcon.EVENT)) {
+                    @Override
+                    public void run()
+                    {
+                        SessionSampler sampler = SessionSampler.getSampler(sessionManager.getDataSource().getContainer());
+                        new SessionActivityDialog(getShell(), sampler).open();
+                    }
+                });
+            }
             contributionManager.add(new Action("Refresh sessions", DBeaverIcons.getImageDescriptor(UIIcon.REFRESH)) {
                 @Override
                 public void run()
@@ -57,10 +57,15 @@ public class DelegatingLayoutManager implements LayoutManager {
 
     public void rearrange(IFigure container)
     {
-        graphLayoutManager.layout(container);
+        graphLayoutManager.rearrange(container);
         xyLayoutManager.cleanupConstraints();
     }
 
+    public void dispose()
+    {
+        graphLayoutManager.cancelLayout();
+    }
+
     @Override
     public void layout(IFigure container)
     {
@@ -20,25 +20,44 @@
  */
 package org.jkiss.dbeaver.ext.erd.layout;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.draw2d.AbstractLayout;
 import org.eclipse.draw2d.Animation;
+import org.eclipse.draw2d.Connection;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.swt.widgets.Display;
 import org.jkiss.dbeaver.ext.erd.layout.algorithm.direct.DirectedGraphLayoutVisitor;
+import org.jkiss.dbeaver.ext.erd.layout.algorithm.force.ForceDirectedGraphLayout;
 import org.jkiss.dbeaver.ext.erd.part.DiagramPart;
+import org.jkiss.dbeaver.ext.erd.part.NodePart;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
-import java.util.List;
+import java.util.*;
 
 
 /**
- * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram
+ * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram.
+ * Big diagrams are laid out with ForceDirectedGraphLayout in background job. Only nodes which have
+ * no bounds yet are placed (unless full rearrange was requested); until the job finishes they are
+ * placed in temporary rows below the other nodes.
  * @author Serge Rieder
  */
 public class GraphLayoutAuto extends AbstractLayout
 {
+    // Directed graph layout is too slow for bigger diagrams
+    public static final int BACKGROUND_LAYOUT_MIN_NODES = 100;
+
+    private static final int TEMP_SPACING = 20;
+    private static final int TEMP_ROW_WIDTH = 2000;
 
 	private DiagramPart diagram;
+    private LayoutJob layoutJob;
+    private boolean rearrangeRequested;
 
 	public GraphLayoutAuto(DiagramPart diagram)
 	{
@@ -62,6 +81,14 @@ public class GraphLayoutAuto extends AbstractLayout
 	@Override
     public void layout(IFigure container)
 	{
+        boolean rearrange = rearrangeRequested;
+        rearrangeRequested = false;
+        if (diagram.getChildren().size() >= BACKGROUND_LAYOUT_MIN_NODES) {
+            layoutInBackground(rearrange);
+            return;
+        }
+        cancelLayout();
+
         Animation.markBegin();
 /*
 		GraphAnimation.recordInitialState(container);
@@ -76,5 +103,171 @@ public class GraphLayoutAuto extends AbstractLayout
 
         Animation.run(400);
 	}
-	
-}
\ No newline at end of file
+
+    /**
+     * Lays out all nodes, including ones which already have bounds
+     */
+    public void rearrange(IFigure container)
+    {
+        rearrangeRequested = true;
+        layout(container);
+    }
+
+    /**
+     * Cancels background layout (if any)
+     */
+    public void cancelLayout()
+    {
+        if (layoutJob != null) {
+            layoutJob.cancel();
+            layoutJob = null;
+        }
+    }
+
+    private void layoutInBackground(boolean rearrange)
+    {
+        List<NodePart> parts = new ArrayList<>();
+        List<NodePart> newParts = new ArrayList<>();
+        Rectangle knownBounds = null;
+        for (Object child : diagram.getChildren()) {
+            NodePart part = (NodePart) child;
+            parts.add(part);
+            Rectangle bounds = part.getBounds();
+            if (bounds == null || rearrange) {
+                newParts.add(part);
+            }
+            if (bounds != null) {
+                Dimension size = part.getFigure().getPreferredSize();
+                Rectangle figureBounds = new Rectangle(bounds.x, bounds.y, size.width, size.height);
+                part.getFigure().setBounds(figureBounds);
+                knownBounds = knownBounds == null ? figureBounds.getCopy() : knownBounds.union(figureBounds);
+            }
+        }
+        if (newParts.isEmpty()) {
+            return;
+        }
+        if (!rearrange) {
+            placeTemporary(newParts, knownBounds);
+        }
+        if (!rearrange && layoutJob != null && layoutJob.containsAll(newParts)) {
+            // These nodes are being laid out already
+            return;
+        }
+        cancelLayout();
+        layoutJob = new LayoutJob(parts, rearrange);
+        layoutJob.schedule();
+    }
+
+    /**
+     * Places nodes in rows below the specified area
+     */
+    private void placeTemporary(List<NodePart> parts, Rectangle area)
+    {
+        int left = area == null ? TEMP_SPACING : area.x;
+        int rowWidth = area == null ? TEMP_ROW_WIDTH : Math.max(area.width, TEMP_ROW_WIDTH);
+        int x = left, y = area == null ? TEMP_SPACING : area.bottom() + TEMP_SPACING * 2, rowHeight = 0;
+        for (NodePart part : parts) {
+            Dimension size = part.getFigure().getPreferredSize();
+            if (x > left && x + size.width > left + rowWidth) {
+                x = left;
+                y += rowHeight + TEMP_SPACING;
+                rowHeight = 0;
+            }
+            part.getFigure().setBounds(new Rectangle(x, y, size.width, size.height));
+            x += size.width + TEMP_SPACING;
+            rowHeight = Math.max(rowHeight, size.height);
+        }
+    }
+
+    private void applyLayout(LayoutJob job, boolean completed)
+    {
+        if (job != layoutJob) {
+            return;
+        }
+        layoutJob = null;
+        if (!diagram.isActive()) {
+            return;
+        }
+        for (int i = 0; i < job.parts.length; i++) {
+            NodePart part = job.parts[i];
+            if (part.getParent() != diagram) {
+                // Removed during layout
+                continue;
+            }
+            IFigure figure = part.getFigure();
+            Rectangle bounds;
+            if (completed) {
+                Dimension size = figure.getPreferredSize();
+                bounds = new Rectangle(job.layout.getX(i), job.layout.getY(i), size.width, size.height);
+                figure.setBounds(bounds);
+            } else if (part.getBounds() == null) {
+                // Layout was canceled - keep temporary location
+                bounds = figure.getBounds().getCopy();
+            } else {
+                continue;
+            }
+            part.setBounds(bounds.getCopy());
+            diagram.setLayoutConstraint(part, figure, new Rectangle(bounds.x, bounds.y, -1, -1));
+            if (completed) {
+                // Bend points of the directed graph layout are not valid anymore
+                for (Object connectionPart : part.getSourceConnections()) {
+                    ((Connection) ((ConnectionEditPart) connectionPart).getFigure()).setRoutingConstraint(null);
+                }
+            }
+        }
+        diagram.getFigure().revalidate();
+        diagram.getFigure().repaint();
+    }
+
+    private class LayoutJob extends AbstractJob {
+        private final NodePart[] parts;
+        private final ForceDirectedGraphLayout layout = new ForceDirectedGraphLayout();
+
+        LayoutJob(List<NodePart> parts, boolean rearrange)
+        {
+            super("Layout diagram " + diagram.getDiagram().getName());
+            this.parts = parts.toArray(new NodePart[parts.size()]);
+            // Take snapshot of the diagram. Figures must be read in UI thread
+            Map<Object, Integer> partIndexes = new IdentityHashMap<>();
+            for (NodePart part : this.parts) {
+                Dimension size = part.getFigure().getPreferredSize();
+                int node = layout.addNode(size.width, size.height);
+                partIndexes.put(part, node);
+                Rectangle bounds = part.getBounds();
+                if (bounds != null && !rearrange) {
+                    layout.setFixedLocation(node, bounds.x, bounds.y);
+                }
+            }
+            for (NodePart part : this.parts) {
+                for (Object connectionPart : part.getSourceConnections()) {
+                    Integer target = partIndexes.get(((ConnectionEditPart) connectionPart).getTarget());
+                    if (target != null) {
+                        layout.addEdge(partIndexes.get(part), target);
+                    }
+                }
+            }
+        }
+
+        boolean containsAll(Collection<NodePart> nodeParts)
+        {
+            Set<NodePart> partSet = Collections.newSetFromMap(new IdentityHashMap<NodePart, Boolean>());
+            Collections.addAll(partSet, parts);
+            return partSet.containsAll(nodeParts);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            final boolean completed = layout.run(monitor);
+            Display.getDefault().asyncExec(new Runnable() {
+                @Override
+                public void run()
+                {
+                    applyLayout(LayoutJob.this, completed);
+                }
+            });
+            return completed ? Status.OK_STATUS : Status.CANCEL_STATUS;
+        }
+    }
+
+}
@@ -0,0 +1,757 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.erd.layout.algorithm.force;
+
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Layout of big graphs.
+ * Graph is split on connected components. Each component is placed with multilevel force-directed
+ * algorithm: graph is coarsened by merging linked nodes, the coarsest graph is placed with
+ * Fruchterman-Reingold algorithm and then it is refined level by level. Then components are packed in rows.
+ *
+ * Nodes with fixed location are never moved. Other nodes of their components are placed near
+ * the linked nodes, components without fixed nodes are placed below the existing ones (incremental layout).
+ *
+ * Layout works with plain node sizes and edges, so it may be run in any thread.
+ *
+ * @author Serge Rieder
+ */
+public class ForceDirectedGraphLayout {
+
+    private static final int NODE_SPACING = 40;
+    private static final int COMPONENT_SPACING = 80;
+    private static final int MARGIN = 20;
+    private static final int COARSEST_GRAPH_SIZE = 30;
+    private static final int COARSEST_ITERATIONS = 300;
+    private static final int REFINE_ITERATIONS = 60;
+    private static final int OVERLAP_REMOVAL_PASSES = 300;
+    // Dense components are expanded if overlaps can't be removed quickly
+    private static final int EXPAND_PERIOD = 20;
+    private static final double EXPAND_FACTOR = 1.1;
+
+    /**
+     * Graph of one coarsening level. Node locations are centers.
+     */
+    private static class Level {
+        final int size;
+        final double[] x;
+        final double[] y;
+        final double[] radius;
+        final boolean[] fixed;
+        int[][] adjacency;
+        // Index of coarse node (on the next level) for each node
+        int[] parent;
+
+        Level(int size)
+        {
+            this.size = size;
+            this.x = new double[size];
+            this.y = new double[size];
+            this.radius = new double[size];
+            this.fixed = new boolean[size];
+        }
+    }
+
+    private int nodeCount;
+    private int[] widths = new int[16];
+    private int[] heights = new int[16];
+    private double[] centerX = new double[16];
+    private double[] centerY = new double[16];
+    private boolean[] fixed = new boolean[16];
+    private int edgeCount;
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private boolean hasFixedNodes;
+
+    // Layout must be the same for the same graph
+    private final Random random = new Random(1);
+
+    /**
+     * Adds node
+     * @return node index
+     */
+    public int addNode(int width, int height)
+    {
+        if (nodeCount == widths.length) {
+            int capacity = nodeCount * 2;
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            centerX = Arrays.copyOf(centerX, capacity);
+            centerY = Arrays.copyOf(centerY, capacity);
+            fixed = Arrays.copyOf(fixed, capacity);
+        }
+        widths[nodeCount] = width;
+        heights[nodeCount] = height;
+        return nodeCount++;
+    }
+
+    /**
+     * Sets location of node top left corner. Node won't be moved by layout.
+     */
+    public void setFixedLocation(int node, int x, int y)
+    {
+        centerX[node] = x + widths[node] / 2.0;
+        centerY[node] = y + heights[node] / 2.0;
+        fixed[node] = true;
+        hasFixedNodes = true;
+    }
+
+    public void addEdge(int source, int target)
+    {
+        if (source == target) {
+            return;
+        }
+        if (edgeCount == edgeSources.length) {
+            edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+            edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+        }
+        edgeSources[edgeCount] = source;
+        edgeTargets[edgeCount] = target;
+        edgeCount++;
+    }
+
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    public int getX(int node)
+    {
+        return (int) Math.round(centerX[node] - widths[node] / 2.0);
+    }
+
+    public int getY(int node)
+    {
+        return (int) Math.round(centerY[node] - heights[node] / 2.0);
+    }
+
+    /**
+     * Places all nodes which are not fixed
+     * @return false if layout was canceled
+     */
+    public boolean run(DBRProgressMonitor monitor)
+    {
+        if (nodeCount == 0) {
+            return true;
+        }
+        List<int[]> components = findComponents();
+        monitor.beginTask("Layout diagram", components.size());
+        try {
+            List<int[]> newComponents = new ArrayList<>();
+            List<int[]> changedComponents = new ArrayList<>();
+            for (int[] component : components) {
+                boolean hasFixed = false, hasFree = false;
+                for (int node : component) {
+                    if (fixed[node]) {
+                        hasFixed = true;
+                    } else {
+                        hasFree = true;
+                    }
+                }
+                if (!hasFree) {
+                    monitor.worked(1);
+                    continue;
+                }
+                if (!placeComponent(component, monitor)) {
+                    return false;
+                }
+                if (!removeOverlaps(component, monitor)) {
+                    return false;
+                }
+                if (hasFixed) {
+                    changedComponents.add(component);
+                } else {
+                    newComponents.add(component);
+                }
+                monitor.worked(1);
+            }
+            packComponents(newComponents);
+            if (hasFixedNodes && !changedComponents.isEmpty()) {
+                // Incrementally placed nodes may overlap nodes of other components
+                int[] allNodes = new int[nodeCount];
+                for (int i = 0; i < nodeCount; i++) {
+                    allNodes[i] = i;
+                }
+                if (!removeOverlaps(allNodes, monitor)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private List<int[]> findComponents()
+    {
+        int[] roots = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            roots[i] = i;
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            int root1 = findRoot(roots, edgeSources[i]), root2 = findRoot(roots, edgeTargets[i]);
+            if (root1 != root2) {
+                roots[root1] = root2;
+            }
+        }
+        int[] componentIndex = new int[nodeCount];
+        Arrays.fill(componentIndex, -1);
+        int[] componentSizes = new int[nodeCount];
+        int componentCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            int root = findRoot(roots, i);
+            if (componentIndex[root] < 0) {
+                componentIndex[root] = componentCount++;
+            }
+            componentSizes[componentIndex[root]]++;
+        }
+        List<int[]> components = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            components.add(new int[componentSizes[i]]);
+        }
+        int[] filled = new int[componentCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int component = componentIndex[findRoot(roots, i)];
+            components.get(component)[filled[component]++] = i;
+        }
+        return components;
+    }
+
+    private static int findRoot(int[] roots, int node)
+    {
+        while (roots[node] != node) {
+            roots[node] = roots[roots[node]];
+            node = roots[node];
+        }
+        return node;
+    }
+
+    /**
+     * Places free nodes of connected component
+     */
+    private boolean placeComponent(int[] nodes, DBRProgressMonitor monitor)
+    {
+        Level base = makeBaseLevel(nodes);
+        boolean hasFixed = false;
+        for (int i = 0; i < base.size; i++) {
+            hasFixed |= base.fixed[i];
+        }
+        if (hasFixed) {
+            placeNearLinkedNodes(base);
+            if (!applyForces(base, REFINE_ITERATIONS * 2, averageIdealLength(base), monitor)) {
+                return false;
+            }
+        } else {
+            List<Level> levels = new ArrayList<>();
+            levels.add(base);
+            Level top = base;
+            while (top.size > COARSEST_GRAPH_SIZE) {
+                Level coarse = coarsen(top);
+                if (coarse == null) {
+                    break;
+                }
+                levels.add(coarse);
+                top = coarse;
+            }
+            double side = 0;
+            for (int i = 0; i < top.size; i++) {
+                double size = top.radius[i] * 2 + NODE_SPACING;
+                side += size * size;
+            }
+            side = Math.sqrt(side);
+            for (int i = 0; i < top.size; i++) {
+                top.x[i] = random.nextDouble() * side;
+                top.y[i] = random.nextDouble() * side;
+            }
+            if (!applyForces(top, COARSEST_ITERATIONS, side / 4, monitor)) {
+                return false;
+            }
+            for (int level = levels.size() - 2; level >= 0; level--) {
+                Level fine = levels.get(level);
+                Level coarse = levels.get(level + 1);
+                for (int i = 0; i < fine.size; i++) {
+                    int parent = fine.parent[i];
+                    fine.x[i] = coarse.x[parent] + (random.nextDouble() - 0.5) * coarse.radius[parent];
+                    fine.y[i] = coarse.y[parent] + (random.nextDouble() - 0.5) * coarse.radius[parent];
+                }
+                if (!applyForces(fine, REFINE_ITERATIONS, averageIdealLength(fine), monitor)) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < base.size; i++) {
+            if (!base.fixed[i]) {
+                centerX[nodes[i]] = base.x[i];
+                centerY[nodes[i]] = base.y[i];
+            }
+        }
+        return true;
+    }
+
+    private Level makeBaseLevel(int[] nodes)
+    {
+        Level level = new Level(nodes.length);
+        int[] localIndex = new int[nodeCount];
+        Arrays.fill(localIndex, -1);
+        for (int i = 0; i < nodes.length; i++) {
+            int node = nodes[i];
+            localIndex[node] = i;
+            level.x[i] = centerX[node];
+            level.y[i] = centerY[node];
+            level.fixed[i] = fixed[node];
+            level.radius[i] = Math.sqrt((double) widths[node] * widths[node] + (double) heights[node] * heights[node]) / 2;
+        }
+        int[] degrees = new int[nodes.length];
+        for (int i = 0; i < edgeCount; i++) {
+            int source = localIndex[edgeSources[i]];
+            if (source >= 0) {
+                degrees[source]++;
+                degrees[localIndex[edgeTargets[i]]]++;
+            }
+        }
+        level.adjacency = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            level.adjacency[i] = new int[degrees[i]];
+        }
+        Arrays.fill(degrees, 0);
+        for (int i = 0; i < edgeCount; i++) {
+            int source = localIndex[edgeSources[i]];
+            if (source >= 0) {
+                int target = localIndex[edgeTargets[i]];
+                level.adjacency[source][degrees[source]++] = target;
+                level.adjacency[target][degrees[target]++] = source;
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Merges pairs of linked nodes and pairs of leaves of the same node.
+     * @return coarse level or null if graph can't be coarsened effectively
+     */
+    private Level coarsen(Level level)
+    {
+        int size = level.size;
+        int[] parent = new int[size];
+        Arrays.fill(parent, -1);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[k];
+            order[k] = tmp;
+        }
+        int coarseSize = 0;
+        // Match each node with the smallest unmatched neighbor
+        for (int node : order) {
+            if (parent[node] >= 0) {
+                continue;
+            }
+            int match = -1;
+            for (int neighbor : level.adjacency[node]) {
+                if (parent[neighbor] < 0 && neighbor != node && (match < 0 || level.radius[neighbor] < level.radius[match])) {
+                    match = neighbor;
+                }
+            }
+            if (match >= 0) {
+                parent[node] = coarseSize;
+                parent[match] = coarseSize;
+                coarseSize++;
+            }
+        }
+        // Merge unmatched leaves of the same node (stars can't be coarsened by edges)
+        int[] pendingLeaf = new int[size];
+        Arrays.fill(pendingLeaf, -1);
+        for (int node : order) {
+            if (parent[node] >= 0) {
+                continue;
+            }
+            if (level.adjacency[node].length == 1) {
+                int hub = level.adjacency[node][0];
+                int leaf = pendingLeaf[hub];
+                if (leaf >= 0) {
+                    parent[leaf] = coarseSize;
+                    parent[node] = coarseSize;
+                    coarseSize++;
+                    pendingLeaf[hub] = -1;
+                } else {
+                    pendingLeaf[hub] = node;
+                }
+            }
+        }
+        for (int node : order) {
+            if (parent[node] < 0) {
+                parent[node] = coarseSize++;
+            }
+        }
+        if (coarseSize > size * 0.9) {
+            return null;
+        }
+
+        Level coarse = new Level(coarseSize);
+        for (int i = 0; i < size; i++) {
+            int p = parent[i];
+            coarse.radius[p] = Math.sqrt(coarse.radius[p] * coarse.radius[p] + level.radius[i] * level.radius[i]);
+        }
+        int[][] neighbors = new int[coarseSize][];
+        int[] marks = new int[coarseSize];
+        Arrays.fill(marks, -1);
+        // Children of each coarse node
+        int[] firstChild = new int[coarseSize], nextChild = new int[size];
+        Arrays.fill(firstChild, -1);
+        for (int i = 0; i < size; i++) {
+            nextChild[i] = firstChild[parent[i]];
+            firstChild[parent[i]] = i;
+        }
+        int[] buffer = new int[16];
+        for (int p = 0; p < coarseSize; p++) {
+            int count = 0;
+            for (int child = firstChild[p]; child >= 0; child = nextChild[child]) {
+                for (int neighbor : level.adjacency[child]) {
+                    int np = parent[neighbor];
+                    if (np != p && marks[np] != p) {
+                        marks[np] = p;
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = np;
+                    }
+                }
+            }
+            neighbors[p] = Arrays.copyOf(buffer, count);
+        }
+        coarse.adjacency = neighbors;
+        level.parent = parent;
+        return coarse;
+    }
+
+    /**
+     * Initial location of free nodes of component with fixed nodes: next to already placed linked node
+     */
+    private void placeNearLinkedNodes(Level level)
+    {
+        boolean[] placed = new boolean[level.size];
+        int[] queue = new int[level.size];
+        int head = 0, tail = 0;
+        for (int i = 0; i < level.size; i++) {
+            if (level.fixed[i]) {
+                placed[i] = true;
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int neighbor : level.adjacency[node]) {
+                if (!placed[neighbor]) {
+                    double angle = random.nextDouble() * Math.PI * 2;
+                    double distance = level.radius[node] + level.radius[neighbor] + NODE_SPACING;
+                    level.x[neighbor] = level.x[node] + Math.cos(angle) * distance;
+                    level.y[neighbor] = level.y[node] + Math.sin(angle) * distance;
+                    placed[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    private static double averageIdealLength(Level level)
+    {
+        double sum = 0;
+        for (int i = 0; i < level.size; i++) {
+            sum += level.radius[i] * 2 + NODE_SPACING;
+        }
+        return sum / level.size;
+    }
+
+    /**
+     * Fruchterman-Reingold iterations. Repulsion is calculated only for close nodes (grid cells).
+     */
+    private boolean applyForces(Level level, int iterations, double temperature, DBRProgressMonitor monitor)
+    {
+        int size = level.size;
+        if (size < 2) {
+            return true;
+        }
+        double maxRadius = 0;
+        for (int i = 0; i < size; i++) {
+            maxRadius = Math.max(maxRadius, level.radius[i]);
+        }
+        double cutoff = 2 * (2 * maxRadius + NODE_SPACING);
+        double[] dispX = new double[size], dispY = new double[size];
+        int[] next = new int[size];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            Arrays.fill(dispX, 0);
+            Arrays.fill(dispY, 0);
+
+            // Repulsion
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                minX = Math.min(minX, level.x[i]);
+                minY = Math.min(minY, level.y[i]);
+                maxX = Math.max(maxX, level.x[i]);
+                maxY = Math.max(maxY, level.y[i]);
+            }
+            double cellSize = cutoff;
+            while (((maxX - minX) / cellSize + 1) * ((maxY - minY) / cellSize + 1) > size * 4L) {
+                cellSize *= 2;
+            }
+            int gridWidth = (int) ((maxX - minX) / cellSize) + 1;
+            int gridHeight = (int) ((maxY - minY) / cellSize) + 1;
+            int[] cells = new int[gridWidth * gridHeight];
+            Arrays.fill(cells, -1);
+            for (int i = 0; i < size; i++) {
+                int cell = (int) ((level.y[i] - minY) / cellSize) * gridWidth + (int) ((level.x[i] - minX) / cellSize);
+                next[i] = cells[cell];
+                cells[cell] = i;
+            }
+            for (int i = 0; i < size; i++) {
+                int cellX = (int) ((level.x[i] - minX) / cellSize), cellY = (int) ((level.y[i] - minY) / cellSize);
+                for (int gy = Math.max(cellY - 1, 0); gy <= Math.min(cellY + 1, gridHeight - 1); gy++) {
+                    for (int gx = Math.max(cellX - 1, 0); gx <= Math.min(cellX + 1, gridWidth - 1); gx++) {
+                        for (int k = cells[gy * gridWidth + gx]; k >= 0; k = next[k]) {
+                            if (k == i) {
+                                continue;
+                            }
+                            double dx = level.x[i] - level.x[k], dy = level.y[i] - level.y[k];
+                            double distance = Math.sqrt(dx * dx + dy * dy);
+                            if (distance < 0.01) {
+                                dx = random.nextDouble() - 0.5;
+                                dy = random.nextDouble() - 0.5;
+                                distance = 0.01;
+                            }
+                            if (distance > cutoff) {
+                                continue;
+                            }
+                            double ideal = level.radius[i] + level.radius[k] + NODE_SPACING;
+                            double force = ideal * ideal / distance;
+                            dispX[i] += dx / distance * force;
+                            dispY[i] += dy / distance * force;
+                        }
+                    }
+                }
+            }
+
+            // Attraction
+            for (int i = 0; i < size; i++) {
+                for (int k : level.adjacency[i]) {
+                    double dx = level.x[i] - level.x[k], dy = level.y[i] - level.y[k];
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    if (distance < 0.01) {
+                        continue;
+                    }
+                    double ideal = level.radius[i] + level.radius[k] + NODE_SPACING;
+                    double force = distance * distance / ideal;
+                    dispX[i] -= dx / distance * force;
+                    dispY[i] -= dy / distance * force;
+                }
+            }
+
+            double limit = temperature * (1.0 - (double) iteration / iterations) + 1;
+            for (int i = 0; i < size; i++) {
+                if (level.fixed[i]) {
+                    continue;
+                }
+                double length = Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+                if (length > 0) {
+                    double shift = Math.min(length, limit);
+                    level.x[i] += dispX[i] / length * shift;
+                    level.y[i] += dispY[i] / length * shift;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves free nodes apart until their bounds (with spacing) don't intersect
+     */
+    private boolean removeOverlaps(int[] nodes, DBRProgressMonitor monitor)
+    {
+        int maxSize = 0;
+        boolean canExpand = true;
+        for (int node : nodes) {
+            maxSize = Math.max(maxSize, Math.max(widths[node], heights[node]));
+            canExpand &= !fixed[node];
+        }
+        double cellSize = maxSize + NODE_SPACING;
+        int[] next = new int[nodeCount];
+        for (int pass = 0; pass < OVERLAP_REMOVAL_PASSES; pass++) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int node : nodes) {
+                minX = Math.min(minX, centerX[node]);
+                minY = Math.min(minY, centerY[node]);
+                maxX = Math.max(maxX, centerX[node]);
+                maxY = Math.max(maxY, centerY[node]);
+            }
+            while (((maxX - minX) / cellSize + 1) * ((maxY - minY) / cellSize + 1) > nodes.length * 4L) {
+                cellSize *= 2;
+            }
+            int gridWidth = (int) ((maxX - minX) / cellSize) + 1;
+            int gridHeight = (int) ((maxY - minY) / cellSize) + 1;
+            int[] cells = new int[gridWidth * gridHeight];
+            Arrays.fill(cells, -1);
+            for (int node : nodes) {
+                int cell = (int) ((centerY[node] - minY) / cellSize) * gridWidth + (int) ((centerX[node] - minX) / cellSize);
+                next[node] = cells[cell];
+                cells[cell] = node;
+            }
+            boolean moved = false;
+            for (int node : nodes) {
+                int cellX = (int) ((centerX[node] - minX) / cellSize), cellY = (int) ((centerY[node] - minY) / cellSize);
+                for (int gy = Math.max(cellY - 1, 0); gy <= Math.min(cellY + 1, gridHeight - 1); gy++) {
+                    for (int gx = Math.max(cellX - 1, 0); gx <= Math.min(cellX + 1, gridWidth - 1); gx++) {
+                        for (int other = cells[gy * gridWidth + gx]; other >= 0; other = next[other]) {
+                            if (other <= node || (fixed[node] && fixed[other])) {
+                                continue;
+                            }
+                            double dx = centerX[other] - centerX[node], dy = centerY[other] - centerY[node];
+                            double overlapX = (widths[node] + widths[other]) / 2.0 + NODE_SPACING / 2 - Math.abs(dx);
+                            double overlapY = (heights[node] + heights[other]) / 2.0 + NODE_SPACING / 2 - Math.abs(dy);
+                            if (overlapX <= 0 || overlapY <= 0) {
+                                continue;
+                            }
+                            // Separate by the axis with the smaller overlap
+                            double shiftX = 0, shiftY = 0;
+                            if (overlapX < overlapY) {
+                                shiftX = dx < 0 ? -overlapX - 1 : overlapX + 1;
+                            } else {
+                                shiftY = dy < 0 ? -overlapY - 1 : overlapY + 1;
+                            }
+                            double share = fixed[node] ? 1 : (fixed[other] ? 0 : 0.5);
+                            centerX[other] += shiftX * share;
+                            centerY[other] += shiftY * share;
+                            centerX[node] -= shiftX * (1 - share);
+                            centerY[node] -= shiftY * (1 - share);
+                            moved = true;
+                        }
+                    }
+                }
+            }
+            if (!moved) {
+                break;
+            }
+            if (canExpand && pass % EXPAND_PERIOD == EXPAND_PERIOD - 1) {
+                double[] bounds = getBounds(nodes, false);
+                double middleX = (bounds[0] + bounds[2]) / 2, middleY = (bounds[1] + bounds[3]) / 2;
+                for (int node : nodes) {
+                    centerX[node] = middleX + (centerX[node] - middleX) * EXPAND_FACTOR;
+                    centerY[node] = middleY + (centerY[node] - middleY) * EXPAND_FACTOR;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs components in rows (biggest first). If there are fixed nodes then components are placed below them.
+     */
+    private void packComponents(List<int[]> components)
+    {
+        if (components.isEmpty()) {
+            return;
+        }
+        final int count = components.size();
+        final double[][] bounds = new double[count][];
+        double totalArea = 0, maxWidth = 0;
+        for (int i = 0; i < count; i++) {
+            bounds[i] = getBounds(components.get(i), false);
+            double width = bounds[i][2] - bounds[i][0], height = bounds[i][3] - bounds[i][1];
+            totalArea += (width + COMPONENT_SPACING) * (height + COMPONENT_SPACING);
+            maxWidth = Math.max(maxWidth, width);
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2)
+            {
+                return Double.compare(bounds[o2][3] - bounds[o2][1], bounds[o1][3] - bounds[o1][1]);
+            }
+        });
+
+        double startX = MARGIN, startY = MARGIN;
+        double rowWidth = Math.max(maxWidth, Math.sqrt(totalArea) * 1.5);
+        if (hasFixedNodes) {
+            int[] fixedNodes = new int[nodeCount];
+            int fixedCount = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                if (fixed[i]) {
+                    fixedNodes[fixedCount++] = i;
+                }
+            }
+            double[] fixedBounds = getBounds(Arrays.copyOf(fixedNodes, fixedCount), true);
+            startX = fixedBounds[0];
+            startY = fixedBounds[3] + COMPONENT_SPACING;
+            rowWidth = Math.max(rowWidth, fixedBounds[2] - fixedBounds[0]);
+        }
+        double x = startX, y = startY, rowHeight = 0;
+        for (int index : order) {
+            double[] componentBounds = bounds[index];
+            double width = componentBounds[2] - componentBounds[0], height = componentBounds[3] - componentBounds[1];
+            if (x > startX && x + width > startX + rowWidth) {
+                x = startX;
+                y += rowHeight + COMPONENT_SPACING;
+                rowHeight = 0;
+            }
+            double shiftX = x - componentBounds[0], shiftY = y - componentBounds[1];
+            for (int node : components.get(index)) {
+                centerX[node] += shiftX;
+                centerY[node] += shiftY;
+            }
+            x += width + COMPONENT_SPACING;
+            rowHeight = Math.max(rowHeight, height);
+        }
+    }
+
+    /**
+     * @return min x, min y, max x, max y of nodes
+     */
+    private double[] getBounds(int[] nodes, boolean fixedOnly)
+    {
+        double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int node : nodes) {
+            if (fixedOnly && !fixed[node]) {
+                continue;
+            }
+            bounds[0] = Math.min(bounds[0], centerX[node] - widths[node] / 2.0);
+            bounds[1] = Math.min(bounds[1], centerY[node] - heights[node] / 2.0);
+            bounds[2] = Math.max(bounds[2], centerX[node] + widths[node] / 2.0);
+            bounds[3] = Math.max(bounds[3], centerY[node] + heights[node] / 2.0);
+        }
+        return bounds;
+    }
+
+}
@@ -90,6 +90,9 @@ public class DiagramPart extends PropertyAwarePart {
     public void deactivate()
     {
         resetFonts();
+        if (delegatingLayoutManager != null) {
+            delegatingLayoutManager.dispose();
+        }
         getViewer().getEditDomain().getCommandStack().removeCommandStackListener(stackListener);
         super.deactivate();
     }
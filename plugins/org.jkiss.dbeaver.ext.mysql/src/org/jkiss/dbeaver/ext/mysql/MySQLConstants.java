@@ -73,6 +73,7 @@ public class MySQLConstants {
     public static final String COL_DEFAULT_COLLATION_NAME = "DEFAULT_COLLATION_NAME";
     public static final String COL_SQL_PATH = "SQL_PATH";
 
+    public static final String COL_NAME = "NAME";
     public static final String COL_TABLE_SCHEMA = "TABLE_SCHEMA";
     public static final String COL_TABLE_NAME = "TABLE_NAME";
     public static final String COL_TABLE_TYPE = "TABLE_TYPE";
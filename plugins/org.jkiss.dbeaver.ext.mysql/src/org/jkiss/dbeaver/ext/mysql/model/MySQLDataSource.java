@@ -54,6 +54,8 @@ import org.jkiss.utils.CommonUtils;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
@@ -162,6 +164,34 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
         }
     }
 
+    @Override
+    protected boolean resetPooledConnection(@NotNull Connection connection) throws SQLException {
+        // There is no SQL statement for session reset. Use driver API:
+        // MySQL Connector/J resets session with COM_CHANGE_USER/COM_RESET_CONNECTION, MariaDB driver with COM_RESET_CONNECTION.
+        for (String methodName : new String[] { "resetServerState", "reset" }) {
+            Method resetMethod;
+            try {
+                resetMethod = connection.getClass().getMethod(methodName);
+            } catch (NoSuchMethodException e) {
+                continue;
+            }
+            try {
+                resetMethod.invoke(connection);
+                return true;
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException) {
+                    throw (SQLException) e.getTargetException();
+                }
+                log.debug("Error resetting connection state", e.getTargetException());
+                return false;
+            } catch (IllegalAccessException e) {
+                log.debug("Can't reset connection state", e);
+                return false;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected SQLDialect createSQLDialect(@NotNull JDBCDatabaseMetaData metaData) {
         return new MySQLDialect(metaData);
@@ -589,6 +619,8 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
     {
         if (adapter == DBSStructureAssistant.class) {
             return new MySQLStructureAssistant(this);
+        } else if (adapter == DBSSourceIndexProvider.class) {
+            return new MySQLSourceIndexProvider(this);
         } else if (adapter == DBAServerSessionManager.class) {
             return new MySQLSessionManager(this);
         }
@@ -0,0 +1,239 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ext.mysql.MySQLConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.struct.AbstractObjectReference;
+import org.jkiss.dbeaver.model.impl.struct.RelationalObjectType;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectReference;
+import org.jkiss.dbeaver.model.struct.DBSSourceIndexProvider;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * MySQL source index provider.
+ * Objects and sources are read from information_schema ROUTINES, TRIGGERS and VIEWS.
+ * Modification time is known for routines (LAST_ALTERED) and triggers (CREATED) only,
+ * views are re-read on each refresh.
+ */
+public class MySQLSourceIndexProvider implements DBSSourceIndexProvider
+{
+    // Max number of object names in one source query
+    private static final int MAX_NAMES_PER_QUERY = 100;
+
+    private enum SourceKind {
+        ROUTINE(MySQLConstants.META_TABLE_ROUTINES, MySQLConstants.COL_ROUTINE_SCHEMA, MySQLConstants.COL_ROUTINE_NAME, MySQLConstants.COL_ROUTINE_DEFINITION, "LAST_ALTERED"),
+        TRIGGER(MySQLConstants.META_TABLE_TRIGGERS, MySQLConstants.COL_TRIGGER_SCHEMA, MySQLConstants.COL_TRIGGER_NAME, MySQLConstants.COL_TRIGGER_ACTION_STATEMENT, "CREATED"),
+        VIEW(MySQLConstants.META_TABLE_VIEWS, MySQLConstants.COL_TABLE_SCHEMA, MySQLConstants.COL_TABLE_NAME, MySQLConstants.COL_VIEW_DEFINITION, null);
+
+        private final String table;
+        private final String schemaColumn;
+        private final String nameColumn;
+        private final String sourceColumn;
+        private final String timeColumn;
+
+        SourceKind(String table, String schemaColumn, String nameColumn, String sourceColumn, String timeColumn)
+        {
+            this.table = table;
+            this.schemaColumn = schemaColumn;
+            this.nameColumn = nameColumn;
+            this.sourceColumn = sourceColumn;
+            this.timeColumn = timeColumn;
+        }
+    }
+
+    private final MySQLDataSource dataSource;
+
+    public MySQLSourceIndexProvider(MySQLDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Collection<? extends DBSObjectReference> getSourceObjects(DBRProgressMonitor monitor)
+        throws DBException
+    {
+        List<SourceObjectReference> objects = new ArrayList<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read source objects")) {
+            for (SourceKind kind : SourceKind.values()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                    "SELECT " + kind.schemaColumn + "," + kind.nameColumn + "," +
+                        (kind.timeColumn == null ? "NULL" : kind.timeColumn) + " FROM " + kind.table))
+                {
+                    try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                        while (dbResult.next()) {
+                            MySQLCatalog catalog = dataSource.getCatalog(dbResult.getString(1));
+                            if (catalog == null || catalog.isSystem()) {
+                                continue;
+                            }
+                            SourceObjectReference object = new SourceObjectReference(catalog, dbResult.getString(2), kind);
+                            Timestamp modifyTime = dbResult.getTimestamp(3);
+                            if (modifyTime != null) {
+                                object.modifyTime = modifyTime.getTime();
+                            }
+                            objects.add(object);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return objects;
+    }
+
+    @Override
+    public long getSourceModifyTime(DBSObjectReference object)
+    {
+        return object instanceof SourceObjectReference ? ((SourceObjectReference) object).modifyTime : 0;
+    }
+
+    @Override
+    public Map<DBSObjectReference, String> readObjectSources(DBRProgressMonitor monitor, Collection<? extends DBSObjectReference> objects)
+        throws DBException
+    {
+        // Group objects by source kind and catalog
+        Map<SourceKind, Map<MySQLCatalog, List<SourceObjectReference>>> groups = new EnumMap<>(SourceKind.class);
+        for (DBSObjectReference object : objects) {
+            if (object instanceof SourceObjectReference) {
+                SourceObjectReference sourceObject = (SourceObjectReference) object;
+                Map<MySQLCatalog, List<SourceObjectReference>> catalogObjects = groups.get(sourceObject.kind);
+                if (catalogObjects == null) {
+                    catalogObjects = new LinkedHashMap<>();
+                    groups.put(sourceObject.kind, catalogObjects);
+                }
+                List<SourceObjectReference> list = catalogObjects.get(sourceObject.getCatalog());
+                if (list == null) {
+                    list = new ArrayList<>();
+                    catalogObjects.put(sourceObject.getCatalog(), list);
+                }
+                list.add(sourceObject);
+            }
+        }
+
+        Map<DBSObjectReference, String> sources = new IdentityHashMap<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read objects source code")) {
+            for (Map.Entry<SourceKind, Map<MySQLCatalog, List<SourceObjectReference>>> group : groups.entrySet()) {
+                for (Map.Entry<MySQLCatalog, List<SourceObjectReference>> entry : group.getValue().entrySet()) {
+                    readCatalogSources(session, group.getKey(), entry.getKey(), entry.getValue(), sources);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return sources;
+    }
+
+    private void readCatalogSources(JDBCSession session, SourceKind kind, MySQLCatalog catalog, List<SourceObjectReference> objects, Map<DBSObjectReference, String> sources)
+        throws SQLException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        monitor.subTask("Read source code of catalog " + catalog.getName());
+        for (int start = 0; start < objects.size(); start += MAX_NAMES_PER_QUERY) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            List<SourceObjectReference> chunk = objects.subList(start, Math.min(start + MAX_NAMES_PER_QUERY, objects.size()));
+            Set<String> names = new LinkedHashSet<>();
+            for (SourceObjectReference object : chunk) {
+                names.add(object.getName());
+            }
+            Map<String, String> chunkSources = new HashMap<>();
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT " + kind.nameColumn + "," + kind.sourceColumn + " FROM " + kind.table + "\n" +
+                    "WHERE " + kind.schemaColumn + "=? AND " + kind.nameColumn + " IN (" + SQLUtils.generateParamList(names.size()) + ")"))
+            {
+                int paramIndex = 1;
+                dbStat.setString(paramIndex++, catalog.getName());
+                for (String name : names) {
+                    dbStat.setString(paramIndex++, name);
+                }
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        String name = dbResult.getString(1);
+                        String source = dbResult.getString(2);
+                        if (source != null) {
+                            // Procedure and function may have the same name
+                            String prevSource = chunkSources.get(name);
+                            chunkSources.put(name, prevSource == null ? source : prevSource + "\n" + source);
+                        }
+                    }
+                }
+            }
+            for (SourceObjectReference object : chunk) {
+                String source = chunkSources.get(object.getName());
+                if (source != null) {
+                    sources.put(object, source);
+                }
+            }
+        }
+    }
+
+    private static class SourceObjectReference extends AbstractObjectReference {
+        private final SourceKind kind;
+        private long modifyTime;
+
+        SourceObjectReference(MySQLCatalog catalog, String name, SourceKind kind)
+        {
+            super(name, catalog, null,
+                kind == SourceKind.ROUTINE ? MySQLProcedure.class : kind == SourceKind.TRIGGER ? MySQLTrigger.class : MySQLView.class,
+                kind == SourceKind.ROUTINE ? RelationalObjectType.TYPE_PROCEDURE : kind == SourceKind.TRIGGER ? RelationalObjectType.TYPE_TRIGGER : RelationalObjectType.TYPE_TABLE);
+            this.kind = kind;
+        }
+
+        MySQLCatalog getCatalog()
+        {
+            return (MySQLCatalog) getContainer();
+        }
+
+        @Override
+        public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException
+        {
+            DBSObject object;
+            switch (kind) {
+                case ROUTINE:
+                    object = getCatalog().getProcedure(monitor, getName());
+                    break;
+                case TRIGGER:
+                    object = getCatalog().getTrigger(monitor, getName());
+                    break;
+                default:
+                    object = getCatalog().getTableCache().getObject(monitor, getCatalog(), getName());
+                    break;
+            }
+            if (object == null) {
+                throw new DBException("Object '" + getName() + "' not found in catalog '" + getCatalog().getName() + "'");
+            }
+            return object;
+        }
+    }
+
+}
@@ -88,6 +88,66 @@ public class MySQLTable extends MySQLTableBase
         }
     }
 
+    /**
+     * Reads status of all tables of catalog with one SHOW TABLE STATUS
+     */
+    public static class AdditionalInfoLoader implements IPropertyBulkLoader<MySQLTable> {
+        @Override
+        public void loadLazyProperties(DBRProgressMonitor monitor, Collection<MySQLTable> objects) throws DBException
+        {
+            Map<MySQLCatalog, Map<String, MySQLTable>> catalogTables = new LinkedHashMap<>();
+            for (MySQLTable table : objects) {
+                if (table.additionalInfo.loaded || !table.isPersisted()) {
+                    continue;
+                }
+                Map<String, MySQLTable> tables = catalogTables.get(table.getContainer());
+                if (tables == null) {
+                    tables = new HashMap<>();
+                    catalogTables.put(table.getContainer(), tables);
+                }
+                tables.put(table.getName(), table);
+            }
+            for (Map.Entry<MySQLCatalog, Map<String, MySQLTable>> entry : catalogTables.entrySet()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                MySQLCatalog catalog = entry.getKey();
+                Map<String, MySQLTable> tables = entry.getValue();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, catalog.getDataSource(), "Load status of tables")) {
+                    try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                        "SHOW TABLE STATUS FROM " + DBUtils.getQuotedIdentifier(catalog))) {
+                        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                String tableName = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_NAME);
+                                MySQLTable table = tables.remove(tableName);
+                                if (table == null && tableName != null) {
+                                    // Fill other cached tables as well
+                                    MySQLTableBase cachedTable = catalog.getTableCache().getCachedObject(tableName);
+                                    if (cachedTable instanceof MySQLTable) {
+                                        table = (MySQLTable) cachedTable;
+                                    }
+                                }
+                                if (table != null) {
+                                    synchronized (table.additionalInfo) {
+                                        if (!table.additionalInfo.loaded) {
+                                            table.fetchAdditionalInfo(dbResult);
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, catalog.getDataSource());
+                }
+                // Tables which weren't found
+                for (MySQLTable table : tables.values()) {
+                    table.additionalInfo.loaded = true;
+                }
+            }
+        }
+    }
+
     private SimpleObjectCache<MySQLTable, MySQLTableForeignKey> foreignKeys = new SimpleObjectCache<>();
     private final PartitionCache partitionCache = new PartitionCache();
 
@@ -106,7 +166,7 @@ public class MySQLTable extends MySQLTableBase
     }
 
     @PropertyGroup()
-    @LazyProperty(cacheValidator = AdditionalInfoValidator.class)
+    @LazyProperty(cacheValidator = AdditionalInfoValidator.class, bulkLoader = AdditionalInfoLoader.class)
     public AdditionalInfo getAdditionalInfo(DBRProgressMonitor monitor) throws DBCException
     {
         synchronized (additionalInfo) {
@@ -223,29 +283,7 @@ public class MySQLTable extends MySQLTableBase
                 "SHOW TABLE STATUS FROM " + DBUtils.getQuotedIdentifier(getContainer()) + " LIKE '" + getName() + "'")) {
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     if (dbResult.next()) {
-                        // filer table description (for INNODB it contains some system information)
-                        String desc = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_COMMENT);
-                        if (desc != null) {
-                            if (desc.startsWith(INNODB_COMMENT)) {
-                                desc = "";
-                            } else if (!CommonUtils.isEmpty(desc)) {
-                                int divPos = desc.indexOf("; " + INNODB_COMMENT);
-                                if (divPos != -1) {
-                                    desc = desc.substring(0, divPos);
-                                }
-                            }
-                            additionalInfo.description = desc;
-                        }
-                        additionalInfo.engine = dataSource.getEngine(JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_ENGINE));
-                        additionalInfo.rowCount = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_TABLE_ROWS);
-                        additionalInfo.autoIncrement = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_AUTO_INCREMENT);
-                        additionalInfo.createTime = JDBCUtils.safeGetTimestamp(dbResult, MySQLConstants.COL_CREATE_TIME);
-                        additionalInfo.collation = dataSource.getCollation(JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_COLLATION));
-                        if (additionalInfo.collation != null) {
-                            additionalInfo.charset = additionalInfo.collation.getCharset();
-                        }
-                        additionalInfo.avgRowLength = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_AVG_ROW_LENGTH);
-                        additionalInfo.dataLength = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_DATA_LENGTH);
+                        fetchAdditionalInfo(dbResult);
                     }
                     additionalInfo.loaded = true;
                 }
@@ -255,6 +293,35 @@ public class MySQLTable extends MySQLTableBase
         }
     }
 
+    private void fetchAdditionalInfo(JDBCResultSet dbResult)
+    {
+        MySQLDataSource dataSource = getDataSource();
+        // filer table description (for INNODB it contains some system information)
+        String desc = JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_COMMENT);
+        if (desc != null) {
+            if (desc.startsWith(INNODB_COMMENT)) {
+                desc = "";
+            } else if (!CommonUtils.isEmpty(desc)) {
+                int divPos = desc.indexOf("; " + INNODB_COMMENT);
+                if (divPos != -1) {
+                    desc = desc.substring(0, divPos);
+                }
+            }
+            additionalInfo.description = desc;
+        }
+        additionalInfo.engine = dataSource.getEngine(JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_ENGINE));
+        additionalInfo.rowCount = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_TABLE_ROWS);
+        additionalInfo.autoIncrement = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_AUTO_INCREMENT);
+        additionalInfo.createTime = JDBCUtils.safeGetTimestamp(dbResult, MySQLConstants.COL_CREATE_TIME);
+        additionalInfo.collation = dataSource.getCollation(JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_COLLATION));
+        if (additionalInfo.collation != null) {
+            additionalInfo.charset = additionalInfo.collation.getCharset();
+        }
+        additionalInfo.avgRowLength = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_AVG_ROW_LENGTH);
+        additionalInfo.dataLength = JDBCUtils.safeGetLong(dbResult, MySQLConstants.COL_DATA_LENGTH);
+        additionalInfo.loaded = true;
+    }
+
     private List<MySQLTableForeignKey> loadForeignKeys(DBRProgressMonitor monitor, boolean references)
         throws DBException
     {
@@ -17,6 +17,7 @@
  */
 package org.jkiss.dbeaver.ext.mysql.model.plan;
 
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -28,7 +29,7 @@ import java.util.List;
 /**
  * MySQL execution plan node
  */
-public class MySQLPlanNode implements DBCPlanNode {
+public class MySQLPlanNode implements DBCPlanCostNode {
 
     private long id;
     private String selectType;
@@ -139,6 +140,37 @@ public class MySQLPlanNode implements DBCPlanNode {
         return extra;
     }
 
+    @Override
+    public String getNodeType()
+    {
+        return selectType + " " + type;
+    }
+
+    @Override
+    public String getNodeName()
+    {
+        return key == null ? table : table + "." + key;
+    }
+
+    @Override
+    public Number getNodeCost()
+    {
+        // MySQL doesn't report cost in tabular EXPLAIN
+        return null;
+    }
+
+    @Override
+    public Number getNodeRowCount()
+    {
+        return rowCount;
+    }
+
+    @Override
+    public Number getNodeActualTime()
+    {
+        return null;
+    }
+
     @Override
     public String toString() {
         return table + " " + type + " " + key;
@@ -17,7 +17,8 @@
  */
 package org.jkiss.dbeaver.ext.mysql.model.session;
 
-import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
+import org.jkiss.utils.CommonUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -26,7 +27,7 @@ import java.sql.ResultSet;
 /**
  * MySQL session
  */
-public class MySQLSession implements DBAServerSession {
+public class MySQLSession implements DBAServerSessionActivity {
     private long pid;
     private String user;
     private String host;
@@ -95,6 +96,25 @@ public class MySQLSession implements DBAServerSession {
         return info;
     }
 
+    @Override
+    public String getSessionUser()
+    {
+        return user;
+    }
+
+    @Override
+    public String getSessionWait()
+    {
+        // Thread state is the closest thing to wait event in the process list
+        return CommonUtils.isEmpty(state) ? null : state;
+    }
+
+    @Override
+    public boolean isSessionActive()
+    {
+        return !"Sleep".equalsIgnoreCase(command) && !"Daemon".equalsIgnoreCase(command);
+    }
+
     @Override
     public String toString()
     {
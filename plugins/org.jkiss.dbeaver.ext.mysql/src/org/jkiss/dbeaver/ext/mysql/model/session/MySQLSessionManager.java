@@ -56,7 +56,11 @@ public class MySQLSessionManager implements DBAServerSessionManager<MySQLSession
     public Collection<MySQLSession> getSessions(DBCSession session, Map<String, Object> options) throws DBException
     {
         try {
-            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement("SHOW FULL PROCESSLIST")) {
+            boolean activeOnly = options != null && Boolean.TRUE.equals(options.get(OPTION_ACTIVE_ONLY));
+            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement(
+                activeOnly ?
+                    "SELECT * FROM information_schema.PROCESSLIST WHERE COMMAND NOT IN ('Sleep','Daemon') AND ID<>CONNECTION_ID()" :
+                    "SHOW FULL PROCESSLIST")) {
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     List<MySQLSession> sessions = new ArrayList<>();
                     while (dbResult.next()) {
@@ -25,8 +25,10 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.ext.oracle.OracleDataSourceProvider;
 import org.jkiss.dbeaver.ext.oracle.model.plan.OraclePlanAnalyser;
+import org.jkiss.dbeaver.ext.oracle.model.session.OracleServerSessionManager;
 import org.jkiss.dbeaver.ext.oracle.oci.OCIUtils;
 import org.jkiss.dbeaver.model.*;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
 import org.jkiss.dbeaver.model.connection.DBPClientHome;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.exec.*;
@@ -420,6 +422,12 @@ public class OracleDataSource extends JDBCDataSource
     public Object getAdapter(Class adapter) {
         if (adapter == DBSStructureAssistant.class) {
             return new OracleStructureAssistant(this);
+        } else if (adapter == DBSSourceIndexProvider.class) {
+            return new OracleSourceIndexProvider(this);
+        } else if (adapter == DBSObjectScriptGenerator.class) {
+            return new OracleScriptGenerator(this);
+        } else if (adapter == DBAServerSessionManager.class) {
+            return new OracleServerSessionManager(getDefaultContext(false));
         }
         return super.getAdapter(adapter);
     }
@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.oracle.model.source.OracleSourceObject;
+import org.jkiss.dbeaver.model.DBPScriptObject;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBSObjectScriptGenerator;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Oracle bulk DDL generator.
+ * DBMS_METADATA transforms are set once per connection, then DDL of each object is read with GET_DDL.
+ */
+public class OracleScriptGenerator implements DBSObjectScriptGenerator
+{
+    private static final Log log = Log.getLog(OracleScriptGenerator.class);
+
+    private final OracleDataSource dataSource;
+
+    public OracleScriptGenerator(OracleDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public int getMaxConnections()
+    {
+        return 8;
+    }
+
+    @Override
+    public List<DBSObject> collectScriptObjects(DBRProgressMonitor monitor, DBSObjectContainer container)
+        throws DBException
+    {
+        List<DBSObject> result = new ArrayList<>();
+        if (container instanceof OracleSchema) {
+            OracleSchema schema = (OracleSchema) container;
+            monitor.subTask("Read objects of " + schema.getName());
+            result.addAll(schema.getSequences(monitor));
+            for (OracleDataType dataType : schema.getDataTypes(monitor)) {
+                if (dataType.getSchema() == schema) {
+                    result.add(dataType);
+                }
+            }
+            result.addAll(schema.getTables(monitor));
+            result.addAll(schema.getViews(monitor));
+            result.addAll(schema.getMaterializedViews(monitor));
+            result.addAll(schema.getProcedures(monitor));
+            result.addAll(schema.getPackages(monitor));
+            result.addAll(schema.getTriggers(monitor));
+        } else {
+            for (DBSObject child : container.getChildren(monitor)) {
+                if (child instanceof DBPScriptObject) {
+                    result.add(child);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void prepareSession(DBRProgressMonitor monitor, DBCSession session)
+        throws DBException
+    {
+        try {
+            OracleUtils.setDDLTransforms((JDBCSession) session, OracleDDLFormat.getCurrentFormat(dataSource));
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+    }
+
+    @Override
+    public String generateObjectScript(DBRProgressMonitor monitor, DBCSession session, DBSObject object)
+        throws DBException
+    {
+        String objectType;
+        String schemaName = null;
+        if (object instanceof OracleTableBase) {
+            objectType = ((OracleTableBase) object).getTableTypeName();
+            schemaName = ((OracleTableBase) object).getContainer().getName();
+        } else if (object instanceof OracleSourceObject) {
+            objectType = ((OracleSourceObject) object).getSourceType().name();
+        } else if (object instanceof OracleSequence) {
+            objectType = "SEQUENCE";
+        } else if (object instanceof DBPScriptObject) {
+            return ((DBPScriptObject) object).getObjectDefinitionText(monitor);
+        } else {
+            return null;
+        }
+        if (object instanceof OracleSchemaObject) {
+            schemaName = ((OracleSchemaObject) object).getSchema().getName();
+        } else if (object instanceof OracleDataType && ((OracleDataType) object).getSchema() != null) {
+            schemaName = ((OracleDataType) object).getSchema().getName();
+        } else if (object instanceof OracleProcedureStandalone) {
+            schemaName = ((OracleProcedureStandalone) object).getSchema().getName();
+        }
+        try {
+            String ddl = OracleUtils.readDDL((JDBCSession) session, objectType, object.getName(), schemaName);
+            if (ddl == null) {
+                log.warn("No DDL for " + objectType + " '" + DBUtils.getObjectFullName(object) + "'");
+            }
+            return ddl;
+        } catch (SQLException e) {
+            if (object instanceof OracleTableBase) {
+                log.error("Error generating Oracle DDL. Generate default.", e);
+                return JDBCUtils.generateTableDDL(monitor, (OracleTableBase) object, true);
+            }
+            throw new DBException(e, dataSource);
+        }
+    }
+
+}
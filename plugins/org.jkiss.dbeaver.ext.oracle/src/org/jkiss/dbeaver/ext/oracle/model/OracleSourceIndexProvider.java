@@ -0,0 +1,232 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.struct.AbstractObjectReference;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectReference;
+import org.jkiss.dbeaver.model.struct.DBSSourceIndexProvider;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Oracle source index provider.
+ * Objects and their modification times are read from ALL_OBJECTS (LAST_DDL_TIME) in one query.
+ * Sources are read from ALL_SOURCE (ALL_VIEWS for views) for many objects of the same schema at once.
+ */
+public class OracleSourceIndexProvider implements DBSSourceIndexProvider
+{
+    // Max number of object names in one source query
+    private static final int MAX_NAMES_PER_QUERY = 100;
+
+    private final OracleDataSource dataSource;
+
+    public OracleSourceIndexProvider(OracleDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Collection<? extends DBSObjectReference> getSourceObjects(DBRProgressMonitor monitor)
+        throws DBException
+    {
+        Map<String, SourceObjectReference> objects = new LinkedHashMap<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read source objects")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT OWNER,OBJECT_NAME,OBJECT_TYPE,LAST_DDL_TIME FROM " +
+                    OracleUtils.getAdminAllViewPrefix(dataSource) + "OBJECTS\n" +
+                    "WHERE OBJECT_TYPE IN ('PROCEDURE','FUNCTION','PACKAGE','PACKAGE BODY','TRIGGER','VIEW')"))
+            {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        if (monitor.isCanceled()) {
+                            break;
+                        }
+                        String owner = dbResult.getString(1);
+                        String name = dbResult.getString(2);
+                        String type = dbResult.getString(3);
+                        if (type.endsWith(" BODY")) {
+                            type = type.substring(0, type.length() - 5);
+                        }
+                        OracleObjectType objectType = OracleObjectType.getByType(type);
+                        if (objectType == null) {
+                            continue;
+                        }
+                        String key = makeKey(owner, name, objectType == OracleObjectType.TRIGGER);
+                        SourceObjectReference object = objects.get(key);
+                        if (object == null) {
+                            OracleSchema schema = dataSource.getSchema(monitor, owner);
+                            if (schema == null || schema.isSystem()) {
+                                continue;
+                            }
+                            object = new SourceObjectReference(schema, name, objectType);
+                            objects.put(key, object);
+                        }
+                        Timestamp ddlTime = dbResult.getTimestamp(4);
+                        // Package time is the latest time of its specification and body
+                        if (ddlTime != null && object.modifyTime < ddlTime.getTime()) {
+                            object.modifyTime = ddlTime.getTime();
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return objects.values();
+    }
+
+    @Override
+    public long getSourceModifyTime(DBSObjectReference object)
+    {
+        return object instanceof SourceObjectReference ? ((SourceObjectReference) object).modifyTime : 0;
+    }
+
+    @Override
+    public Map<DBSObjectReference, String> readObjectSources(DBRProgressMonitor monitor, Collection<? extends DBSObjectReference> objects)
+        throws DBException
+    {
+        // Group objects by schema. Views are read from ALL_VIEWS, all other objects from ALL_SOURCE
+        Map<OracleSchema, List<SourceObjectReference>> schemaObjects = new LinkedHashMap<>();
+        Map<OracleSchema, List<SourceObjectReference>> schemaViews = new LinkedHashMap<>();
+        for (DBSObjectReference object : objects) {
+            if (object instanceof SourceObjectReference) {
+                SourceObjectReference sourceObject = (SourceObjectReference) object;
+                Map<OracleSchema, List<SourceObjectReference>> groups =
+                    sourceObject.getObjectType() == OracleObjectType.VIEW ? schemaViews : schemaObjects;
+                List<SourceObjectReference> list = groups.get(sourceObject.getSchema());
+                if (list == null) {
+                    list = new ArrayList<>();
+                    groups.put(sourceObject.getSchema(), list);
+                }
+                list.add(sourceObject);
+            }
+        }
+
+        Map<DBSObjectReference, String> sources = new IdentityHashMap<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read objects source code")) {
+            for (Map.Entry<OracleSchema, List<SourceObjectReference>> entry : schemaObjects.entrySet()) {
+                readSchemaSources(session, entry.getKey(), entry.getValue(), false, sources);
+            }
+            for (Map.Entry<OracleSchema, List<SourceObjectReference>> entry : schemaViews.entrySet()) {
+                readSchemaSources(session, entry.getKey(), entry.getValue(), true, sources);
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return sources;
+    }
+
+    private void readSchemaSources(JDBCSession session, OracleSchema schema, List<SourceObjectReference> objects, boolean views, Map<DBSObjectReference, String> sources)
+        throws SQLException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        monitor.subTask("Read source code of schema " + schema.getName());
+        for (int start = 0; start < objects.size(); start += MAX_NAMES_PER_QUERY) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            List<SourceObjectReference> chunk = objects.subList(start, Math.min(start + MAX_NAMES_PER_QUERY, objects.size()));
+            Set<String> names = new LinkedHashSet<>();
+            for (SourceObjectReference object : chunk) {
+                names.add(object.getName());
+            }
+            String sql = views ?
+                "SELECT 'VIEW',VIEW_NAME,TEXT FROM " + OracleUtils.getAdminAllViewPrefix(dataSource) + "VIEWS\n" +
+                    "WHERE OWNER=? AND VIEW_NAME IN (" + SQLUtils.generateParamList(names.size()) + ")" :
+                "SELECT TYPE,NAME,TEXT FROM " + OracleUtils.getAdminAllViewPrefix(dataSource) + "SOURCE\n" +
+                    "WHERE OWNER=? AND NAME IN (" + SQLUtils.generateParamList(names.size()) + ")\n" +
+                    "AND TYPE IN ('PROCEDURE','FUNCTION','PACKAGE','PACKAGE BODY','TRIGGER')\n" +
+                    "ORDER BY NAME,TYPE,LINE";
+            Map<String, StringBuilder> chunkSources = new HashMap<>();
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(sql)) {
+                int paramIndex = 1;
+                dbStat.setString(paramIndex++, schema.getName());
+                for (String name : names) {
+                    dbStat.setString(paramIndex++, name);
+                }
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        // Package specification goes before package body (ordered by type)
+                        String key = makeKey(schema.getName(), dbResult.getString(2), "TRIGGER".equals(dbResult.getString(1)));
+                        StringBuilder source = chunkSources.get(key);
+                        if (source == null) {
+                            source = new StringBuilder(200);
+                            chunkSources.put(key, source);
+                        }
+                        String text = dbResult.getString(3);
+                        if (text != null) {
+                            source.append(text);
+                        }
+                    }
+                }
+            }
+            for (SourceObjectReference object : chunk) {
+                StringBuilder source = chunkSources.get(
+                    makeKey(schema.getName(), object.getName(), object.getObjectType() == OracleObjectType.TRIGGER));
+                if (source != null) {
+                    sources.put(object, source.toString());
+                }
+            }
+        }
+    }
+
+    private static String makeKey(String owner, String name, boolean trigger)
+    {
+        // Triggers have their own namespace
+        return trigger ? owner + "." + name + "#T" : owner + "." + name;
+    }
+
+    private static class SourceObjectReference extends AbstractObjectReference {
+        private long modifyTime;
+
+        SourceObjectReference(OracleSchema schema, String name, OracleObjectType objectType)
+        {
+            super(name, schema, null, objectType.getTypeClass(), objectType);
+        }
+
+        OracleSchema getSchema()
+        {
+            return (OracleSchema) getContainer();
+        }
+
+        @Override
+        public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException
+        {
+            OracleObjectType objectType = (OracleObjectType) getObjectType();
+            DBSObject object = objectType.findObject(monitor, getSchema(), getName());
+            if (object == null) {
+                throw new DBException(objectType.getTypeName() + " '" + getName() + "' not found in schema '" + getSchema().getName() + "'");
+            }
+            return object;
+        }
+    }
+
+}
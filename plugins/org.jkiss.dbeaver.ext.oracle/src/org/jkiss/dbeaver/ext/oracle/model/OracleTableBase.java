@@ -34,6 +34,7 @@ import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
 import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTableColumn;
 import org.jkiss.dbeaver.model.meta.Association;
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
 import org.jkiss.dbeaver.model.meta.IPropertyCacheValidator;
 import org.jkiss.dbeaver.model.meta.LazyProperty;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -45,7 +46,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.util.*;
 
 /**
  * OracleTable base
@@ -77,6 +78,58 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
         }
     }
 
+    /**
+     * Reads comments of all tables (views) of schema with one query
+     */
+    public static class CommentsLoader implements IPropertyBulkLoader<OracleTableBase> {
+        @Override
+        public void loadLazyProperties(DBRProgressMonitor monitor, Collection<OracleTableBase> objects) throws DBException
+        {
+            // Group by schema and table type
+            Map<String, Map<String, OracleTableBase>> groups = new LinkedHashMap<>();
+            for (OracleTableBase table : objects) {
+                if (table.comment != null || !table.isPersisted()) {
+                    continue;
+                }
+                String groupKey = table.getTableTypeName() + " " + table.getSchema().getName();
+                Map<String, OracleTableBase> tables = groups.get(groupKey);
+                if (tables == null) {
+                    tables = new HashMap<>();
+                    groups.put(groupKey, tables);
+                }
+                tables.put(table.getName(), table);
+            }
+            for (Map<String, OracleTableBase> tables : groups.values()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                OracleTableBase firstTable = tables.values().iterator().next();
+                OracleSchema schema = firstTable.getSchema();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, schema.getDataSource(), "Load table comments")) {
+                    try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                        "SELECT TABLE_NAME,COMMENTS FROM ALL_TAB_COMMENTS WHERE OWNER=? AND TABLE_TYPE=?")) {
+                        dbStat.setString(1, schema.getName());
+                        dbStat.setString(2, firstTable.getTableTypeName());
+                        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                OracleTableBase table = tables.remove(dbResult.getString(1));
+                                if (table != null) {
+                                    table.setLoadedComment(dbResult.getString(2));
+                                }
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBException(e, schema.getDataSource());
+                }
+                // No comments
+                for (OracleTableBase table : tables.values()) {
+                    table.setLoadedComment(null);
+                }
+            }
+        }
+    }
+
     public abstract TableAdditionalInfo getAdditionalInfo();
 
     protected abstract String getTableTypeName();
@@ -135,7 +188,7 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
     }
 
     @Property(viewable = true, editable = true, updatable = true, order = 100)
-    @LazyProperty(cacheValidator = CommentsValidator.class)
+    @LazyProperty(cacheValidator = CommentsValidator.class, bulkLoader = CommentsLoader.class)
     public synchronized String getComment(DBRProgressMonitor monitor)
         throws DBException
     {
@@ -157,6 +210,13 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
         return comment;
     }
 
+    private synchronized void setLoadedComment(@Nullable String comment)
+    {
+        if (this.comment == null) {
+            this.comment = CommonUtils.notEmpty(comment);
+        }
+    }
+
     void loadColumnComments(DBRProgressMonitor monitor) {
         try {
             try (JDBCSession session = DBUtils.openMetaSession(monitor, getDataSource(), "Load table column comments")) {
@@ -37,7 +37,7 @@ import org.jkiss.dbeaver.model.struct.DBSObjectLazy;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.util.*;
 
 /**
  * Oracle physical table
@@ -131,8 +131,8 @@ public abstract class OracleTablePhysical extends OracleTableBase implements DBS
     }
 
     @PropertyGroup
-    @LazyProperty(cacheValidator = PartitionInfoValidator.class)
-    public PartitionInfo getPartitionInfo(DBRProgressMonitor monitor) throws DBException
+    @LazyProperty(cacheValidator = PartitionInfoValidator.class, bulkLoader = PartitionInfoLoader.class)
+    public synchronized PartitionInfo getPartitionInfo(DBRProgressMonitor monitor) throws DBException
     {
         if (partitionInfo == null && partitioned) {
             try (final JDBCSession session = DBUtils.openMetaSession(monitor, getDataSource(), "Load partitioning info")) {
@@ -251,4 +251,52 @@ public abstract class OracleTablePhysical extends OracleTableBase implements DBS
         }
     }
 
+    /**
+     * Reads partitioning info of all partitioned tables of schema with one query
+     */
+    public static class PartitionInfoLoader implements IPropertyBulkLoader<OracleTablePhysical> {
+        @Override
+        public void loadLazyProperties(DBRProgressMonitor monitor, Collection<OracleTablePhysical> objects) throws DBException
+        {
+            Map<OracleSchema, Map<String, OracleTablePhysical>> schemaTables = new LinkedHashMap<>();
+            for (OracleTablePhysical table : objects) {
+                if (!table.partitioned || table.partitionInfo != null) {
+                    continue;
+                }
+                Map<String, OracleTablePhysical> tables = schemaTables.get(table.getContainer());
+                if (tables == null) {
+                    tables = new HashMap<>();
+                    schemaTables.put(table.getContainer(), tables);
+                }
+                tables.put(table.getName(), table);
+            }
+            for (Map.Entry<OracleSchema, Map<String, OracleTablePhysical>> entry : schemaTables.entrySet()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                OracleSchema schema = entry.getKey();
+                Map<String, OracleTablePhysical> tables = entry.getValue();
+                try (final JDBCSession session = DBUtils.openMetaSession(monitor, schema.getDataSource(), "Load partitioning info")) {
+                    try (JDBCPreparedStatement dbStat = session.prepareStatement("SELECT * FROM ALL_PART_TABLES WHERE OWNER=?")) {
+                        dbStat.setString(1, schema.getName());
+                        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                OracleTablePhysical table = tables.get(JDBCUtils.safeGetString(dbResult, "TABLE_NAME"));
+                                if (table != null) {
+                                    synchronized (table) {
+                                        if (table.partitionInfo == null) {
+                                            table.partitionInfo = new PartitionInfo(monitor, schema.getDataSource(), dbResult);
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBException(e, schema.getDataSource());
+                }
+            }
+        }
+    }
+
 }
@@ -17,6 +17,7 @@
  */
 package org.jkiss.dbeaver.ext.oracle.model;
 
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.oracle.model.source.OracleSourceObject;
@@ -68,15 +69,7 @@ public class OracleUtils {
         assert(dataSource != null);
         monitor.beginTask("Load sources for " + objectType + " '" + objectFullName + "'...", 1);
         try (final JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load source code for " + objectType + " '" + objectFullName + "'")) {
-            JDBCUtils.executeProcedure(
-                session,
-                "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'STORAGE'," + ddlFormat.isShowStorage() + "); end;");
-            JDBCUtils.executeProcedure(
-                session,
-                "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'TABLESPACE'," + ddlFormat.isShowTablespace() + ");  end;");
-            JDBCUtils.executeProcedure(
-                session,
-                "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SEGMENT_ATTRIBUTES'," + ddlFormat.isShowSegments() + ");  end;");
+            setDDLTransforms(session, ddlFormat);
 /*
             String curSchema = null;
             if (schema != null) {
@@ -89,23 +82,13 @@ public class OracleUtils {
             }
 */
 
-            try (JDBCPreparedStatement dbStat = session.prepareStatement(
-                "SELECT DBMS_METADATA.GET_DDL(?,?" +
-                    (schema == null ? "" : ",?") +
-                    ") TXT " +
-                    "FROM DUAL")) {
-                dbStat.setString(1, objectType);
-                dbStat.setString(2, object.getName());
-                if (schema != null) {
-                    dbStat.setString(3, schema.getName());
-                }
-                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
-                    if (dbResult.next()) {
-                        return dbResult.getString(1);
-                    } else {
-                        log.warn("No DDL for " + objectType + " '" + objectFullName + "'");
-                        return "-- EMPTY DDL";
-                    }
+            try {
+                String ddl = readDDL(session, objectType, object.getName(), schema == null ? null : schema.getName());
+                if (ddl != null) {
+                    return ddl;
+                } else {
+                    log.warn("No DDL for " + objectType + " '" + objectFullName + "'");
+                    return "-- EMPTY DDL";
                 }
             } finally {
 /*
@@ -126,6 +109,49 @@ public class OracleUtils {
         }
     }
 
+    /**
+     * Sets DBMS_METADATA session transforms. Transforms are kept until the end of session
+     * so it is enough to set them once per connection.
+     */
+    public static void setDDLTransforms(JDBCSession session, OracleDDLFormat ddlFormat) throws SQLException
+    {
+        JDBCUtils.executeProcedure(
+            session,
+            "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'STORAGE'," + ddlFormat.isShowStorage() + "); end;");
+        JDBCUtils.executeProcedure(
+            session,
+            "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'TABLESPACE'," + ddlFormat.isShowTablespace() + ");  end;");
+        JDBCUtils.executeProcedure(
+            session,
+            "begin DBMS_METADATA.SET_TRANSFORM_PARAM(DBMS_METADATA.SESSION_TRANSFORM,'SEGMENT_ATTRIBUTES'," + ddlFormat.isShowSegments() + ");  end;");
+    }
+
+    /**
+     * Reads object DDL with DBMS_METADATA.GET_DDL. Returns null if there is no DDL.
+     */
+    @Nullable
+    public static String readDDL(JDBCSession session, String objectType, String objectName, @Nullable String schemaName) throws SQLException
+    {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement(
+            "SELECT DBMS_METADATA.GET_DDL(?,?" +
+                (schemaName == null ? "" : ",?") +
+                ") TXT " +
+                "FROM DUAL")) {
+            dbStat.setString(1, objectType);
+            dbStat.setString(2, objectName);
+            if (schemaName != null) {
+                dbStat.setString(3, schemaName);
+            }
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                if (dbResult.next()) {
+                    return dbResult.getString(1);
+                } else {
+                    return null;
+                }
+            }
+        }
+    }
+
     public static void setCurrentSchema(JDBCSession session, String schema) throws SQLException {
         JDBCUtils.executeSQL(session,
             "ALTER SESSION SET CURRENT_SCHEMA=" + DBUtils.getQuotedIdentifier(session.getDataSource(), schema));
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.meta.IPropertyBulkLoader;
 import org.jkiss.dbeaver.model.meta.LazyProperty;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.meta.PropertyGroup;
@@ -37,6 +38,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.*;
 
 /**
  * OracleView
@@ -79,6 +81,59 @@ public class OracleView extends OracleTableBase implements OracleSourceObject
         public void setSuperView(OracleView superView) { this.superView = superView; }
     }
 
+    /**
+     * Reads additional info of all views of schema with one query
+     */
+    public static class AdditionalInfoLoader implements IPropertyBulkLoader<OracleView> {
+        @Override
+        public void loadLazyProperties(DBRProgressMonitor monitor, Collection<OracleView> objects) throws DBException
+        {
+            Map<OracleSchema, Map<String, OracleView>> schemaViews = new LinkedHashMap<>();
+            for (OracleView view : objects) {
+                if (view.additionalInfo.loaded || !view.isPersisted()) {
+                    continue;
+                }
+                Map<String, OracleView> views = schemaViews.get(view.getContainer());
+                if (views == null) {
+                    views = new HashMap<>();
+                    schemaViews.put(view.getContainer(), views);
+                }
+                views.put(view.getName(), view);
+            }
+            for (Map.Entry<OracleSchema, Map<String, OracleView>> entry : schemaViews.entrySet()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                OracleSchema schema = entry.getKey();
+                Map<String, OracleView> views = entry.getValue();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, schema.getDataSource(), "Load views status")) {
+                    try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                        "SELECT VIEW_NAME,TEXT,TYPE_TEXT,OID_TEXT,VIEW_TYPE_OWNER,VIEW_TYPE,SUPERVIEW_NAME\n" +
+                            "FROM SYS.ALL_VIEWS WHERE OWNER=?")) {
+                        dbStat.setString(1, schema.getName());
+                        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                            while (dbResult.next()) {
+                                OracleView view = views.remove(JDBCUtils.safeGetString(dbResult, "VIEW_NAME"));
+                                if (view != null) {
+                                    synchronized (view.additionalInfo) {
+                                        if (!view.additionalInfo.loaded) {
+                                            view.fetchAdditionalInfo(monitor, dbResult);
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DBCException(e, schema.getDataSource());
+                }
+                for (OracleView view : views.values()) {
+                    view.additionalInfo.loaded = true;
+                }
+            }
+        }
+    }
+
     private final AdditionalInfo additionalInfo = new AdditionalInfo();
 
     public OracleView(OracleSchema schema, String name)
@@ -148,7 +203,7 @@ public class OracleView extends OracleTableBase implements OracleSourceObject
     }
 
     @PropertyGroup()
-    @LazyProperty(cacheValidator = AdditionalInfoValidator.class)
+    @LazyProperty(cacheValidator = AdditionalInfoValidator.class, bulkLoader = AdditionalInfoLoader.class)
     public AdditionalInfo getAdditionalInfo(DBRProgressMonitor monitor) throws DBException
     {
         synchronized (additionalInfo) {
@@ -187,16 +242,7 @@ public class OracleView extends OracleTableBase implements OracleSourceObject
                 dbStat.setString(2, getName());
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     if (dbResult.next()) {
-                        additionalInfo.setText(JDBCUtils.safeGetString(dbResult, "TEXT"));
-                        additionalInfo.setTypeText(JDBCUtils.safeGetStringTrimmed(dbResult, "TYPE_TEXT"));
-                        additionalInfo.setOidText(JDBCUtils.safeGetStringTrimmed(dbResult, "OID_TEXT"));
-                        additionalInfo.typeOwner = JDBCUtils.safeGetStringTrimmed(dbResult, "VIEW_TYPE_OWNER");
-                        additionalInfo.typeName = JDBCUtils.safeGetStringTrimmed(dbResult, "VIEW_TYPE");
-
-                        String superViewName = JDBCUtils.safeGetString(dbResult, "SUPERVIEW_NAME");
-                        if (!CommonUtils.isEmpty(superViewName)) {
-                            additionalInfo.setSuperView(getContainer().getView(monitor, superViewName));
-                        }
+                        fetchAdditionalInfo(monitor, dbResult);
                     }
                     additionalInfo.loaded = true;
                 }
@@ -207,6 +253,21 @@ public class OracleView extends OracleTableBase implements OracleSourceObject
         }
     }
 
+    private void fetchAdditionalInfo(DBRProgressMonitor monitor, JDBCResultSet dbResult) throws DBException
+    {
+        additionalInfo.setText(JDBCUtils.safeGetString(dbResult, "TEXT"));
+        additionalInfo.setTypeText(JDBCUtils.safeGetStringTrimmed(dbResult, "TYPE_TEXT"));
+        additionalInfo.setOidText(JDBCUtils.safeGetStringTrimmed(dbResult, "OID_TEXT"));
+        additionalInfo.typeOwner = JDBCUtils.safeGetStringTrimmed(dbResult, "VIEW_TYPE_OWNER");
+        additionalInfo.typeName = JDBCUtils.safeGetStringTrimmed(dbResult, "VIEW_TYPE");
+
+        String superViewName = JDBCUtils.safeGetString(dbResult, "SUPERVIEW_NAME");
+        if (!CommonUtils.isEmpty(superViewName)) {
+            additionalInfo.setSuperView(getContainer().getView(monitor, superViewName));
+        }
+        additionalInfo.loaded = true;
+    }
+
     @Override
     public DBEPersistAction[] getCompileActions()
     {
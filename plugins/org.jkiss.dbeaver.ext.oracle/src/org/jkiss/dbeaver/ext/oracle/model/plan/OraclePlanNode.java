@@ -21,7 +21,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ext.oracle.model.OracleDataSource;
 import org.jkiss.dbeaver.ext.oracle.model.OracleObjectType;
 import org.jkiss.dbeaver.ext.oracle.model.OracleTablePhysical;
-import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -38,7 +38,7 @@ import java.util.List;
 /**
  * Oracle execution plan node
  */
-public class OraclePlanNode implements DBCPlanNode {
+public class OraclePlanNode implements DBCPlanCostNode {
 
     private final OracleDataSource dataSource;
     private String statement_id;
@@ -242,6 +242,37 @@ public class OraclePlanNode implements DBCPlanNode {
         return bytes;
     }
 
+    @Override
+    public String getNodeType()
+    {
+        return getOperation();
+    }
+
+    @Override
+    public String getNodeName()
+    {
+        return objectName;
+    }
+
+    @Override
+    public Number getNodeCost()
+    {
+        return cost;
+    }
+
+    @Override
+    public Number getNodeRowCount()
+    {
+        return cardinality;
+    }
+
+    @Override
+    public Number getNodeActualTime()
+    {
+        // EXPLAIN PLAN doesn't execute query
+        return null;
+    }
+
     @Override
     public String toString()
     {
@@ -17,7 +17,7 @@
  */
 package org.jkiss.dbeaver.ext.oracle.model.session;
 
-import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 
@@ -27,7 +27,7 @@ import java.sql.Timestamp;
 /**
 * Session
 */
-public class OracleServerSession implements DBAServerSession {
+public class OracleServerSession implements DBAServerSessionActivity {
     private String sid;
     private String serial;
     private String user;
@@ -36,6 +36,7 @@ public class OracleServerSession implements DBAServerSession {
     private String state;
     private String sql;
     private String event;
+    private String waitClass;
     private Timestamp logonTime;
     private String serviceName;
 
@@ -53,6 +54,7 @@ public class OracleServerSession implements DBAServerSession {
         this.state = JDBCUtils.safeGetString(dbResult, "STATE");
         this.sql = JDBCUtils.safeGetString(dbResult, "SQL_TEXT");
         this.event = JDBCUtils.safeGetString(dbResult, "EVENT");
+        this.waitClass = JDBCUtils.safeGetString(dbResult, "WAIT_CLASS");
         this.logonTime = JDBCUtils.safeGetTimestamp(dbResult, "LOGON_TIME");
         this.serviceName = JDBCUtils.safeGetString(dbResult, "SERVICE_NAME");
 
@@ -103,12 +105,18 @@ public class OracleServerSession implements DBAServerSession {
     }
 
     @Property(category = "Session", order = 7)
+    public String getWaitClass()
+    {
+        return waitClass;
+    }
+
+    @Property(category = "Session", order = 8)
     public Timestamp getLogonTime()
     {
         return logonTime;
     }
 
-    @Property(category = "Session", order = 8)
+    @Property(category = "Session", order = 9)
     public String getServiceName()
     {
         return serviceName;
@@ -143,6 +151,26 @@ public class OracleServerSession implements DBAServerSession {
         return sql;
     }
 
+    @Override
+    public String getSessionUser()
+    {
+        return user;
+    }
+
+    @Override
+    public String getSessionWait()
+    {
+        // STATE other than WAITING means that session is on CPU and EVENT is the last wait
+        return "WAITING".equals(state) ? event : null;
+    }
+
+    @Override
+    public boolean isSessionActive()
+    {
+        // WAIT_CLASS of session on CPU is the class of the last wait, which is often idle (e.g. waiting for client call)
+        return "ACTIVE".equals(status) && (!"WAITING".equals(state) || !"Idle".equals(waitClass));
+    }
+
     @Override
     public String toString()
     {
@@ -57,10 +57,12 @@ public class OracleServerSessionManager implements DBAServerSessionManager<Oracl
     public Collection<OracleServerSession> getSessions(DBCSession session, Map<String, Object> options) throws DBException
     {
         try {
+            boolean activeOnly = options != null && Boolean.TRUE.equals(options.get(OPTION_ACTIVE_ONLY));
             try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement(
                 "SELECT s.*,sq.SQL_TEXT FROM V$SESSION s\n" +
-                    "LEFT OUTER JOIN V$SQL sq ON sq.SQL_ID=s.SQL_ID\n" +
-                    "WHERE s.TYPE='USER'")) {
+                    "LEFT OUTER JOIN V$SQL sq ON sq.SQL_ID=s.SQL_ID AND sq.CHILD_NUMBER=s.SQL_CHILD_NUMBER\n" +
+                    "WHERE s.TYPE='USER'" +
+                    (activeOnly ? " AND s.STATUS='ACTIVE' AND (s.STATE<>'WAITING' OR s.WAIT_CLASS<>'Idle') AND s.SID<>SYS_CONTEXT('USERENV','SID')" : ""))) {
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     List<OracleServerSession> sessions = new ArrayList<>();
                     while (dbResult.next()) {
@@ -37,9 +37,12 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSTypedObject;
 
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -399,4 +402,84 @@ public class PostgreUtils {
         }
     }
 
+
+    /**
+     * Executes COPY ... TO STDOUT using driver's CopyManager.
+     * Driver classes are not visible for plugin so API is called by reflection.
+     * @return number of copied rows
+     */
+    public static long copyOut(@NotNull JDBCSession session, @NotNull String sql, @NotNull Writer writer) throws DBCException {
+        final Object connection = session.getOriginal();
+        try {
+            final Object copyManager = connection.getClass().getMethod("getCopyAPI").invoke(connection);
+            final Method copyOutMethod = copyManager.getClass().getMethod("copyOut", String.class, Writer.class);
+            final Object rowCount = copyOutMethod.invoke(copyManager, sql, writer);
+            return rowCount instanceof Number ? ((Number) rowCount).longValue() : 0;
+        } catch (InvocationTargetException e) {
+            final Throwable cause = e.getTargetException();
+            if (cause instanceof SQLException) {
+                throw new DBCException((SQLException) cause, session.getDataSource());
+            }
+            throw new DBCException("Error copying data", cause, session.getDataSource());
+        } catch (Exception e) {
+            throw new DBCException("COPY API is not supported by driver", e, session.getDataSource());
+        }
+    }
+
+    /**
+     * Replaces row delimiters in CSV produced by COPY (always LF) with the specified line separator.
+     * Line feeds inside quoted values are kept as is.
+     */
+    public static class CSVLineSeparatorWriter extends FilterWriter {
+
+        private final char quoteChar;
+        private final String lineSeparator;
+        private boolean inQuotes;
+
+        public CSVLineSeparatorWriter(Writer out, char quoteChar, String lineSeparator) {
+            super(out);
+            this.quoteChar = quoteChar;
+            this.lineSeparator = lineSeparator;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == quoteChar) {
+                // Escaped quotes toggle the state twice
+                inQuotes = !inQuotes;
+            } else if (c == '\n' && !inQuotes) {
+                out.write(lineSeparator);
+                return;
+            }
+            out.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int start = off;
+            for (int i = off; i < off + len; i++) {
+                char c = cbuf[i];
+                if (c == quoteChar) {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    out.write(cbuf, start, i - start);
+                    out.write(lineSeparator);
+                    start = i + 1;
+                }
+            }
+            out.write(cbuf, start, off + len - start);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            write(str.toCharArray(), off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Do not close target writer
+            flush();
+        }
+    }
+
 }
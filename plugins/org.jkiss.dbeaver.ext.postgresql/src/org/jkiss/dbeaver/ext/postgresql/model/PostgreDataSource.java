@@ -30,10 +30,12 @@ import org.jkiss.dbeaver.ext.postgresql.PostgreDataSourceProvider;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.ext.postgresql.model.jdbc.PostgreJdbcFactory;
 import org.jkiss.dbeaver.ext.postgresql.model.plan.PostgrePlanAnalyser;
+import org.jkiss.dbeaver.ext.postgresql.model.session.PostgreSessionManager;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPErrorAssistant;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -52,6 +54,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -131,6 +134,26 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
         }
     }
 
+    @Override
+    protected boolean resetPooledConnection(@NotNull Connection connection) throws SQLException {
+        if (!isServerVersionAtLeast(8, 3)) {
+            return false;
+        }
+        // Same as DISCARD ALL but keeps prepared statements (driver keeps server-side statements in its own cache)
+        try (Statement dbStat = connection.createStatement()) {
+            dbStat.execute("CLOSE ALL");
+            dbStat.execute("SET SESSION AUTHORIZATION DEFAULT");
+            dbStat.execute("RESET ALL");
+            dbStat.execute("UNLISTEN *");
+            dbStat.execute("SELECT pg_catalog.pg_advisory_unlock_all()");
+            dbStat.execute("DISCARD TEMP");
+            if (isServerVersionAtLeast(9, 4)) {
+                dbStat.execute("DISCARD SEQUENCES");
+            }
+        }
+        return true;
+    }
+
     @Override
     protected PostgreDialect createSQLDialect(@NotNull JDBCDatabaseMetaData metaData) {
         return new PostgreDialect(metaData);
@@ -386,12 +409,11 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
     {
         if (adapter == DBSStructureAssistant.class) {
             return new PostgreStructureAssistant(this);
-        }
-/*
-        else if (adapter == DBAServerSessionManager.class) {
+        } else if (adapter == DBSSourceIndexProvider.class) {
+            return new PostgreSourceIndexProvider(this);
+        } else if (adapter == DBAServerSessionManager.class) {
             return new PostgreSessionManager(this);
         }
-*/
         return super.getAdapter(adapter);
     }
 
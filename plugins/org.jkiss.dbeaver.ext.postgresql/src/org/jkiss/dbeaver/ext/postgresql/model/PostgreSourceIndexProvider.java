@@ -0,0 +1,181 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.struct.AbstractObjectReference;
+import org.jkiss.dbeaver.model.impl.struct.RelationalObjectType;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectReference;
+import org.jkiss.dbeaver.model.struct.DBSSourceIndexProvider;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * PostgreSQL source index provider.
+ * Functions and views are read from pg_proc and pg_class of the default database.
+ * PostgreSQL doesn't keep modification time of functions and views, so sources are re-read on each refresh
+ * (with a few queries for all objects).
+ * Triggers are not indexed - trigger code is in trigger functions.
+ */
+public class PostgreSourceIndexProvider implements DBSSourceIndexProvider
+{
+    // Max number of object ids in one source query
+    private static final int MAX_OIDS_PER_QUERY = 1000;
+
+    private final PostgreDataSource dataSource;
+
+    public PostgreSourceIndexProvider(PostgreDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Collection<? extends DBSObjectReference> getSourceObjects(DBRProgressMonitor monitor)
+        throws DBException
+    {
+        PostgreDatabase database = dataSource.getDefaultInstance();
+        List<SourceObjectReference> objects = new ArrayList<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read source objects")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT p.oid,p.proname,p.pronamespace," +
+                    (dataSource.isServerVersionAtLeast(8, 4) ? "pg_catalog.pg_get_function_identity_arguments(p.oid)" : "NULL") +
+                    " FROM pg_catalog.pg_proc p"))
+            {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                readObjects(monitor, database, dbStat, false, objects);
+            }
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT c.oid,c.relname,c.relnamespace,NULL FROM pg_catalog.pg_class c WHERE c.relkind IN ('v','m')"))
+            {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                readObjects(monitor, database, dbStat, true, objects);
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return objects;
+    }
+
+    private void readObjects(DBRProgressMonitor monitor, PostgreDatabase database, JDBCPreparedStatement dbStat, boolean views, List<SourceObjectReference> objects)
+        throws SQLException, DBException
+    {
+        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+            while (dbResult.next()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                PostgreSchema schema = database.getSchema(monitor, dbResult.getLong(3));
+                if (schema == null || schema.isSystem()) {
+                    continue;
+                }
+                objects.add(new SourceObjectReference(schema, dbResult.getLong(1), dbResult.getString(2), dbResult.getString(4), views));
+            }
+        }
+    }
+
+    @Override
+    public long getSourceModifyTime(DBSObjectReference object)
+    {
+        return 0;
+    }
+
+    @Override
+    public Map<DBSObjectReference, String> readObjectSources(DBRProgressMonitor monitor, Collection<? extends DBSObjectReference> objects)
+        throws DBException
+    {
+        Map<Long, SourceObjectReference> procedures = new LinkedHashMap<>();
+        Map<Long, SourceObjectReference> views = new LinkedHashMap<>();
+        for (DBSObjectReference object : objects) {
+            if (object instanceof SourceObjectReference) {
+                SourceObjectReference sourceObject = (SourceObjectReference) object;
+                (sourceObject.view ? views : procedures).put(sourceObject.oid, sourceObject);
+            }
+        }
+        Map<DBSObjectReference, String> sources = new IdentityHashMap<>();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read objects source code")) {
+            readSources(session, "SELECT p.oid,p.prosrc FROM pg_catalog.pg_proc p WHERE p.oid IN ", procedures, sources);
+            readSources(session, "SELECT c.oid,pg_catalog.pg_get_viewdef(c.oid) FROM pg_catalog.pg_class c WHERE c.oid IN ", views, sources);
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+        return sources;
+    }
+
+    private void readSources(JDBCSession session, String query, Map<Long, SourceObjectReference> objects, Map<DBSObjectReference, String> sources)
+        throws SQLException
+    {
+        List<Long> oids = new ArrayList<>(objects.keySet());
+        for (int start = 0; start < oids.size(); start += MAX_OIDS_PER_QUERY) {
+            if (session.getProgressMonitor().isCanceled()) {
+                break;
+            }
+            List<Long> chunk = oids.subList(start, Math.min(start + MAX_OIDS_PER_QUERY, oids.size()));
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(query + "(" + SQLUtils.generateParamList(chunk.size()) + ")")) {
+                int paramIndex = 1;
+                for (Long oid : chunk) {
+                    dbStat.setLong(paramIndex++, oid);
+                }
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        SourceObjectReference object = objects.get(dbResult.getLong(1));
+                        String source = dbResult.getString(2);
+                        if (object != null && source != null) {
+                            sources.put(object, source);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static class SourceObjectReference extends AbstractObjectReference {
+        private final long oid;
+        private final boolean view;
+
+        SourceObjectReference(PostgreSchema schema, long oid, String name, String arguments, boolean view)
+        {
+            // Function arguments distinguish overloaded functions
+            super(name, schema, arguments, view ? PostgreViewBase.class : PostgreProcedure.class,
+                view ? RelationalObjectType.TYPE_TABLE : RelationalObjectType.TYPE_PROCEDURE);
+            this.oid = oid;
+            this.view = view;
+        }
+
+        @Override
+        public DBSObject resolveObject(DBRProgressMonitor monitor) throws DBException
+        {
+            PostgreSchema schema = (PostgreSchema) getContainer();
+            DBSObject object = view ? schema.getTable(monitor, oid) : schema.getProcedure(monitor, oid);
+            if (object == null) {
+                throw new DBException("Object '" + getName() + "' not found in schema '" + schema.getName() + "'");
+            }
+            return object;
+        }
+    }
+
+}
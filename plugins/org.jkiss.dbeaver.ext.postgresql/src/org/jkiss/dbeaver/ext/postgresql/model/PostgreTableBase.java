@@ -21,8 +21,12 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.postgresql.PostgreUtils;
 import org.jkiss.dbeaver.model.DBPNamedObject2;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
@@ -30,9 +34,14 @@ import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
 import org.jkiss.dbeaver.model.meta.Association;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
 import org.jkiss.dbeaver.model.struct.DBSEntityAssociation;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamNativeCSVSource;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamCSVFormat;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
@@ -41,7 +50,7 @@ import java.util.List;
 /**
  * PostgreTable base
  */
-public abstract class PostgreTableBase extends JDBCTable<PostgreDataSource, PostgreSchema> implements PostgreClass, PostgreScriptObject, DBPNamedObject2
+public abstract class PostgreTableBase extends JDBCTable<PostgreDataSource, PostgreSchema> implements PostgreClass, PostgreScriptObject, DBPNamedObject2, IStreamNativeCSVSource
 {
     private static final Log log = Log.getLog(PostgreTableBase.class);
 
@@ -170,4 +179,52 @@ public abstract class PostgreTableBase extends JDBCTable<PostgreDataSource, Post
         return true;
     }
 
+    @Override
+    public boolean isNativeCSVSupported(@NotNull DBCSession session)
+    {
+        // COPY (query) TO is supported since 8.2
+        return session instanceof JDBCSession && getDataSource().isServerVersionAtLeast(8, 2);
+    }
+
+    @Override
+    public long exportNativeCSV(
+        @NotNull DBCSession session,
+        @Nullable DBDDataFilter dataFilter,
+        @NotNull StreamCSVFormat format,
+        @NotNull Writer writer)
+        throws DBCException
+    {
+        StringBuilder query = new StringBuilder(100);
+        query.append("COPY (SELECT * FROM ").append(getFullQualifiedName()).append(" ").append(DEFAULT_TABLE_ALIAS);
+        if (dataFilter != null && dataFilter.hasConditions()) {
+            query.append("\nWHERE "); //$NON-NLS-1$
+            SQLUtils.appendConditionString(dataFilter, getDataSource(), DEFAULT_TABLE_ALIAS, query, true);
+        }
+        if (dataFilter != null && dataFilter.hasOrdering()) {
+            query.append("\nORDER BY "); //$NON-NLS-1$
+            SQLUtils.appendOrderString(dataFilter, getDataSource(), DEFAULT_TABLE_ALIAS, query);
+        }
+        query.append(")\nTO STDOUT WITH CSV");
+        if (format.isHeader()) {
+            query.append(" HEADER");
+        }
+        query.append(" DELIMITER ").append(SQLUtils.quoteString(String.valueOf(format.getDelimiter())));
+        query.append(" QUOTE ").append(SQLUtils.quoteString(String.valueOf(format.getQuoteChar())));
+
+        session.getProgressMonitor().subTask("Copy data of " + getName());
+        Writer copyWriter = writer;
+        if (!format.getRowDelimiter().equals("\n")) {
+            copyWriter = new PostgreUtils.CSVLineSeparatorWriter(writer, format.getQuoteChar(), format.getRowDelimiter());
+        }
+        try {
+            return PostgreUtils.copyOut((JDBCSession) session, query.toString(), copyWriter);
+        } finally {
+            try {
+                copyWriter.flush();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+        }
+    }
+
 }
@@ -18,6 +18,7 @@
 package org.jkiss.dbeaver.ext.postgresql.model.plan;
 
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -65,6 +66,21 @@ public class PostgrePlanAnalyser implements DBCPlan {
 
     public void explain(DBCSession session)
         throws DBCException
+    {
+        if (session.getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.PLAN_ANALYSE_EXECUTION)) {
+            explainAnalyse(session);
+        } else {
+            // Plain EXPLAIN doesn't execute query
+            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement("EXPLAIN (FORMAT XML) " + query)) {
+                readPlan(dbStat);
+            } catch (SQLException e) {
+                throw new DBCException(e, session.getDataSource());
+            }
+        }
+    }
+
+    private void explainAnalyse(DBCSession session)
+        throws DBCException
     {
         JDBCSession connection = (JDBCSession) session;
         boolean oldAutoCommit = false;
@@ -74,14 +90,7 @@ public class PostgrePlanAnalyser implements DBCPlan {
                 connection.setAutoCommit(false);
             }
             try (JDBCPreparedStatement dbStat = connection.prepareStatement("EXPLAIN (FORMAT XML, ANALYSE) " + query)) {
-                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
-                    if (dbResult.next()) {
-                        SQLXML planXML = dbResult.getSQLXML(1);
-                        parsePlan(planXML);
-                    }
-                } catch (XMLException e) {
-                    throw new DBCException("Can't parse plan XML", e);
-                }
+                readPlan(dbStat);
             }
         } catch (SQLException e) {
             throw new DBCException(e, session.getDataSource());
@@ -98,6 +107,17 @@ public class PostgrePlanAnalyser implements DBCPlan {
         }
     }
 
+    private void readPlan(JDBCPreparedStatement dbStat) throws SQLException, DBCException {
+        try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+            if (dbResult.next()) {
+                SQLXML planXML = dbResult.getSQLXML(1);
+                parsePlan(planXML);
+            }
+        } catch (XMLException e) {
+            throw new DBCException("Can't parse plan XML", e);
+        }
+    }
+
     private void parsePlan(SQLXML planXML) throws SQLException, XMLException {
         rootNodes = new ArrayList<>();
         Document planDocument = XMLUtils.parseDocument(planXML.getBinaryStream());
@@ -20,6 +20,7 @@ package org.jkiss.dbeaver.ext.postgresql.model.plan;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.DBPPropertySource;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
 import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.dbeaver.model.impl.PropertyDescriptor;
@@ -37,7 +38,7 @@ import java.util.Map;
 /**
  * Postgre execution plan node
  */
-public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
+public class PostgrePlanNode implements DBCPlanCostNode, DBPPropertySource {
 
     public static final String ATTR_NODE_TYPE = "Node-Type";
     public static final String ATTR_RELATION_NAME = "Relation-Name";
@@ -45,6 +46,8 @@ public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
     public static final String ATTR_TOTAL_COST = "Total-Cost";
     public static final String ATTR_STARTUP_COST = "Startup-Cost";
     public static final String ATTR_INDEX_NAME = "Index-Name";
+    public static final String ATTR_PLAN_ROWS = "Plan-Rows";
+    public static final String ATTR_ACTUAL_TOTAL_TIME = "Actual-Total-Time";
 
     private PostgrePlanNode parent;
     private List<PostgrePlanNode> nested;
@@ -52,6 +55,7 @@ public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
     private String nodeType;
     private String entity;
     private String cost;
+    private String totalCost;
     private Map<String, String> attributes = new LinkedHashMap<>();
 
     public PostgrePlanNode(PostgrePlanNode parent, Element element) {
@@ -73,7 +77,7 @@ public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
             entity = attributes.get(ATTR_INDEX_NAME);
         }
         String startCost = attributes.remove(ATTR_STARTUP_COST);
-        String totalCost = attributes.remove(ATTR_TOTAL_COST);
+        totalCost = attributes.remove(ATTR_TOTAL_COST);
         cost = startCost + " - " + totalCost;
 
         Element nestedPlansElement = XMLUtils.getChildElement(element, "Plans");
@@ -88,6 +92,7 @@ public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
     }
 
     @Property(order = 0, viewable = true)
+    @Override
     public String getNodeType() {
         return nodeType;
     }
@@ -102,6 +107,38 @@ public class PostgrePlanNode implements DBCPlanNode, DBPPropertySource {
         return cost;
     }
 
+    @Override
+    public String getNodeName() {
+        return entity;
+    }
+
+    @Override
+    public Number getNodeCost() {
+        return parseNumber(totalCost);
+    }
+
+    @Override
+    public Number getNodeRowCount() {
+        return parseNumber(attributes.get(ATTR_PLAN_ROWS));
+    }
+
+    @Override
+    public Number getNodeActualTime() {
+        return parseNumber(attributes.get(ATTR_ACTUAL_TOTAL_TIME));
+    }
+
+    @Nullable
+    private static Number parseNumber(String value) {
+        if (CommonUtils.isEmpty(value)) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @Override
     public DBCPlanNode getParent()
     {
@@ -17,7 +17,8 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.model.session;
 
-import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.utils.CommonUtils;
@@ -28,7 +29,7 @@ import java.util.Date;
 /**
  * PostgreSQL session
  */
-public class PostgreSession implements DBAServerSession {
+public class PostgreSession implements DBAServerSessionActivity {
     private static final String CAT_CLIENT = "Client";
     private static final String CAT_TIMING = "Timings";
 
@@ -43,9 +44,10 @@ public class PostgreSession implements DBAServerSession {
     private Date queryStart;
     private Date stateChange;
     private String state;
+    private String waitEvent;
     private String appName;
 
-    public PostgreSession(ResultSet dbResult) {
+    public PostgreSession(PostgreDataSource dataSource, ResultSet dbResult) {
         this.pid = JDBCUtils.safeGetLong(dbResult, "pid");
         this.user = JDBCUtils.safeGetString(dbResult, "usename");
         this.clientHost = JDBCUtils.safeGetString(dbResult, "client_hostname");
@@ -62,6 +64,15 @@ public class PostgreSession implements DBAServerSession {
         this.stateChange = JDBCUtils.safeGetTimestamp(dbResult, "state_change");
 
         this.state = JDBCUtils.safeGetString(dbResult, "state");
+        if (dataSource.isServerVersionAtLeast(9, 6)) {
+            String waitEventType = JDBCUtils.safeGetString(dbResult, "wait_event_type");
+            String waitEventName = JDBCUtils.safeGetString(dbResult, "wait_event");
+            if (waitEventType != null) {
+                this.waitEvent = waitEventName == null ? waitEventType : waitEventType + ": " + waitEventName;
+            }
+        } else if (JDBCUtils.safeGetBoolean(dbResult, "waiting")) {
+            this.waitEvent = "Lock";
+        }
         this.appName = JDBCUtils.safeGetString(dbResult, "application_name");
     }
 
@@ -125,6 +136,12 @@ public class PostgreSession implements DBAServerSession {
         return state;
     }
 
+    @Property(viewable = true, order = 8)
+    public String getWaitEvent()
+    {
+        return waitEvent;
+    }
+
     @Property(viewable = true, order = 100)
     public String getBriefQuery() {
         if (query != null && query.length() > 50) {
@@ -140,6 +157,24 @@ public class PostgreSession implements DBAServerSession {
         return query;
     }
 
+    @Override
+    public String getSessionUser()
+    {
+        return user;
+    }
+
+    @Override
+    public String getSessionWait()
+    {
+        return waitEvent;
+    }
+
+    @Override
+    public boolean isSessionActive()
+    {
+        return "active".equals(state);
+    }
+
     @Override
     public String toString()
     {
@@ -56,11 +56,14 @@ public class PostgreSessionManager implements DBAServerSessionManager<PostgreSes
     public Collection<PostgreSession> getSessions(DBCSession session, Map<String, Object> options) throws DBException
     {
         try {
-            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement("SELECT sa.* FROM pg_catalog.pg_stat_activity sa")) {
+            boolean activeOnly = options != null && Boolean.TRUE.equals(options.get(OPTION_ACTIVE_ONLY));
+            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement(
+                "SELECT sa.* FROM pg_catalog.pg_stat_activity sa" +
+                    (activeOnly ? " WHERE sa.state='active' AND sa.pid<>pg_catalog.pg_backend_pid()" : ""))) {
                 try (JDBCResultSet dbResult = dbStat.executeQuery()) {
                     List<PostgreSession> sessions = new ArrayList<>();
                     while (dbResult.next()) {
-                        sessions.add(new PostgreSession(dbResult));
+                        sessions.add(new PostgreSession(dataSource, dbResult));
                     }
                     return sessions;
                 }
@@ -52,6 +52,21 @@ public final class ModelPreferences
     public static final String CONTENT_CACHE_MAX_SIZE = "content.cache.maxsize"; //$NON-NLS-1$
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
+    public static final String META_PARALLEL_CONNECT = "database.meta.parallel.connect"; //$NON-NLS-1$
+
+    // Pool of physical connections for isolated contexts
+    public static final String CONNECTION_POOL_ENABLED = "database.connection.pool.enabled"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_MAX_IDLE = "database.connection.pool.maxIdle"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "database.connection.pool.idleTimeout"; //$NON-NLS-1$
+    // Per-context prepared statements cache
+    public static final String STATEMENT_CACHE_ENABLED = "database.statement.cache.enabled"; //$NON-NLS-1$
+    public static final String STATEMENT_CACHE_SIZE = "database.statement.cache.size"; //$NON-NLS-1$
+    // Execute query during explain to get actual plan statistics (if supported by database)
+    public static final String PLAN_ANALYSE_EXECUTION = "database.plan.analyse.execution"; //$NON-NLS-1$
+    // Background sampling of active server sessions (per connection)
+    public static final String SESSION_SAMPLER_ENABLED = "database.session.sampler.enabled"; //$NON-NLS-1$
+    public static final String SESSION_SAMPLER_INTERVAL = "database.session.sampler.interval"; //$NON-NLS-1$
+    public static final String SESSION_SAMPLER_HISTORY_SIZE = "database.session.sampler.history.size"; //$NON-NLS-1$
 
     // Network
     public static final String NET_TUNNEL_PORT_MIN = "net.tunnel.port.min"; //$NON-NLS-1$
@@ -105,6 +120,16 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, MEMORY_CONTENT_MAX_SIZE, 10000);
         PrefUtils.setDefaultPreferenceValue(store, META_SEPARATE_CONNECTION, true);
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_PARALLEL_CONNECT, true);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_ENABLED, true);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_MAX_IDLE, 4);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_IDLE_TIMEOUT, 300);
+        PrefUtils.setDefaultPreferenceValue(store, STATEMENT_CACHE_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, STATEMENT_CACHE_SIZE, 50);
+        PrefUtils.setDefaultPreferenceValue(store, PLAN_ANALYSE_EXECUTION, true);
+        PrefUtils.setDefaultPreferenceValue(store, SESSION_SAMPLER_ENABLED, false);
+        PrefUtils.setDefaultPreferenceValue(store, SESSION_SAMPLER_INTERVAL, 5);
+        PrefUtils.setDefaultPreferenceValue(store, SESSION_SAMPLER_HISTORY_SIZE, 100000);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_HEX_ENCODING, GeneralUtils.getDefaultFileEncoding());
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, false);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_BLOB, false);
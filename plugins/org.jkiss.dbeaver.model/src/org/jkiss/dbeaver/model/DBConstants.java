@@ -41,6 +41,7 @@ public class DBConstants {
     public static final String PROP_ID_MAX_LENGTH = "maxLength"; //NON-NLS-1
     public static final String PROP_ID_NOT_NULL = "notNull"; //NON-NLS-1
     public static final String PARAM_INIT_ON_TEST = "initOnTest"; //NON-NLS-1
+    public static final String PARAM_CONNECTION_POOL = "connectionPool"; //NON-NLS-1
 
     public static final String INTERNAL_PROP_PREFIX = "@dbeaver-"; //NON-NLS-1
     public static final String DEFAULT_DRIVER_PROP_PREFIX = INTERNAL_PROP_PREFIX + "default-"; //NON-NLS-1
@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.Nullable;
+
+/**
+ * Server session which provides activity details.
+ * Used by active sessions sampler to group activity by user and wait state.
+ */
+public interface DBAServerSessionActivity extends DBAServerSession {
+
+    String getSessionUser();
+
+    /**
+     * Wait event (or wait class) of the session. Null if session doesn't wait (e.g. runs on CPU).
+     */
+    @Nullable
+    String getSessionWait();
+
+    /**
+     * Session executes a call right now (is not idle)
+     */
+    boolean isSessionActive();
+
+}
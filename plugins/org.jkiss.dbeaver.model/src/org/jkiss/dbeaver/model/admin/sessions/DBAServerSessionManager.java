@@ -30,6 +30,12 @@ import java.util.Map;
  */
 public interface DBAServerSessionManager<SESSION_TYPE extends DBAServerSession> {
 
+    /**
+     * Option for {@link #getSessions}: read only active sessions (excluding idle ones and the current session).
+     * Managers which can't filter sessions on server side may ignore it.
+     */
+    String OPTION_ACTIVE_ONLY = "activeOnly";
+
     DBPDataSource getDataSource();
 
     Collection<SESSION_TYPE> getSessions(DBCSession session, Map<String, Object> options)
@@ -0,0 +1,57 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.exec.plan;
+
+import org.jkiss.code.Nullable;
+
+/**
+ * Execution plan node which provides access path and cost information.
+ * Used to compare plans of the same query.
+ */
+public interface DBCPlanCostNode extends DBCPlanNode {
+
+    /**
+     * Node operation (access path), e.g. full scan or index scan
+     */
+    String getNodeType();
+
+    /**
+     * Name of accessed object (table or index). Null if node doesn't access any object.
+     */
+    @Nullable
+    String getNodeName();
+
+    /**
+     * Estimated cost. Null if database doesn't provide cost.
+     */
+    @Nullable
+    Number getNodeCost();
+
+    /**
+     * Estimated row count
+     */
+    @Nullable
+    Number getNodeRowCount();
+
+    /**
+     * Actual execution time in milliseconds. Null if query wasn't executed.
+     */
+    @Nullable
+    Number getNodeActualTime();
+
+}
@@ -31,6 +31,8 @@ import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -48,6 +50,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    private boolean[] executedRows;
 
     /**
      * Constructs new batch
@@ -102,13 +105,17 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             }
         }
 
-        boolean useBatch = session.getDataSource().getInfo().supportsBatchUpdates() && reuseStatement;
+        // Generated keys are read after each execution so batches can't be used with keys receiver
+        boolean useBatch = session.getDataSource().getInfo().supportsBatchUpdates() && reuseStatement && keysReceiver == null;
         if (values.size() <= 1) {
             useBatch = false;
         }
 
         DBCStatistics statistics = new DBCStatistics();
         DBCStatement statement = null;
+        if (actions == null) {
+            executedRows = new boolean[values.size()];
+        }
 
         try {
             // Here we'll try to reuse prepared statement.
@@ -119,27 +126,25 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             boolean[] prevNulls = new boolean[attributes.length];
             boolean[] nulls = new boolean[attributes.length];
             int statementsInBatch = 0;
+            int batchStartRow = 0;
 
-            for (Object[] rowValues : values) {
+            for (int rowIndex = 0; rowIndex < values.size(); rowIndex++) {
+                Object[] rowValues = values.get(rowIndex);
                 boolean reuse = reuseStatement;
                 if (reuse) {
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
-                    if (!Arrays.equals(prevNulls, nulls) && statementsInBatch > 0) {
-                        reuse = false;
-                    }
-                    System.arraycopy(nulls, 0, prevNulls, 0, nulls.length);
-                    if (!reuse && statementsInBatch > 0) {
-                        // Flush batch
-                        if (actions == null) {
-                            flushBatch(statistics, statement);
+                    if (statement != null && !Arrays.equals(prevNulls, nulls)) {
+                        // Flush batch and prepare new statement
+                        if (statementsInBatch > 0 && actions == null) {
+                            flushBatch(statistics, statement, batchStartRow, statementsInBatch);
                         }
                         statement.close();
                         statement = null;
                         statementsInBatch = 0;
-                        reuse = true;
                     }
+                    System.arraycopy(nulls, 0, prevNulls, 0, nulls.length);
                 }
                 if (statement == null || !reuse) {
                     statement = prepareStatement(session, rowValues);
@@ -150,12 +155,16 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                     if (actions == null) {
                         if (useBatch) {
                             statement.addToBatch();
+                            if (statementsInBatch == 0) {
+                                batchStartRow = rowIndex;
+                            }
                             statementsInBatch++;
                         } else {
                             // Execute each row separately
                             long startTime = System.currentTimeMillis();
                             executeStatement(statement);
                             statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                            executedRows[rowIndex] = true;
 
                             long rowCount = statement.getUpdateRowCount();
                             if (rowCount > 0) {
@@ -190,7 +199,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
 
             if (statementsInBatch > 0) {
                 if (actions == null) {
-                    flushBatch(statistics, statement);
+                    flushBatch(statistics, statement, batchStartRow, statementsInBatch);
                 }
                 statement.close();
                 statement = null;
@@ -204,9 +213,34 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
-    private void flushBatch(DBCStatistics statistics, DBCStatement statement) throws DBCException {
+    @Nullable
+    @Override
+    public boolean[] getExecutedRows()
+    {
+        return executedRows;
+    }
+
+    private void flushBatch(DBCStatistics statistics, DBCStatement statement, int batchStartRow, int batchSize) throws DBCException {
         long startTime = System.currentTimeMillis();
-        int[] updatedRows = statement.executeStatementBatch();
+        int[] updatedRows;
+        try {
+            updatedRows = statement.executeStatementBatch();
+        } catch (DBCException e) {
+            // Driver reports statements executed before the error (or all statements if it continues after errors)
+            for (Throwable ex = e; ex != null; ex = ex.getCause()) {
+                if (ex instanceof BatchUpdateException) {
+                    int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+                    if (updateCounts != null) {
+                        for (int i = 0; i < updateCounts.length && i < batchSize; i++) {
+                            executedRows[batchStartRow + i] = updateCounts[i] != Statement.EXECUTE_FAILED;
+                        }
+                    }
+                    break;
+                }
+            }
+            throw e;
+        }
+        Arrays.fill(executedRows, batchStartRow, batchStartRow + batchSize, true);
         statistics.addExecuteTime(System.currentTimeMillis() - startTime);
         if (!ArrayUtils.isEmpty(updatedRows)) {
             for (int rows : updatedRows) {
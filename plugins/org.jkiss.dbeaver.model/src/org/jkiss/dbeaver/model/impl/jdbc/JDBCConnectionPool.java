@@ -0,0 +1,295 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pool of physical connections used by isolated execution contexts.
+ * Returned connections are rolled back, their session state is reset by the data source and
+ * their auto-commit, isolation level, catalog and schema are restored.
+ * Connections which can't be reset by the data source are closed instead of pooling.
+ * Drivers may disable pooling with driver parameter {@link DBConstants#PARAM_CONNECTION_POOL}.
+ * Active schema/catalog is re-applied by the data source each time context is initialized.
+ * Idle connections are validated before reuse and closed after idle timeout.
+ */
+public class JDBCConnectionPool {
+
+    private static final Log log = Log.getLog(JDBCConnectionPool.class);
+
+    private static class PooledConnection {
+        final Connection connection;
+        final boolean autoCommit;
+        final int isolationLevel;
+        final String catalog;
+        final String schema;
+        long releaseTime;
+
+        PooledConnection(Connection connection, boolean autoCommit, int isolationLevel, String catalog, String schema)
+        {
+            this.connection = connection;
+            this.autoCommit = autoCommit;
+            this.isolationLevel = isolationLevel;
+            this.catalog = catalog;
+            this.schema = schema;
+        }
+    }
+
+    private final JDBCDataSource dataSource;
+    // Idle connections. Most recently used are in the head
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    // Initial state of connections which are in use now
+    private final List<PooledConnection> activeConnections = new ArrayList<>();
+    private volatile boolean closed = false;
+    private EvictJob evictJob;
+
+    public JDBCConnectionPool(@NotNull JDBCDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isEnabled()
+    {
+        return !closed &&
+            getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_POOL_ENABLED) &&
+            CommonUtils.getBoolean(dataSource.getContainer().getDriver().getDriverParameter(DBConstants.PARAM_CONNECTION_POOL), true);
+    }
+
+    /**
+     * Returns idle connection or opens new one
+     */
+    @NotNull
+    public Connection acquireConnection(@NotNull DBRProgressMonitor monitor, @NotNull String purpose)
+        throws DBCException
+    {
+        for (;;) {
+            PooledConnection pooled;
+            synchronized (this) {
+                pooled = idleConnections.pollFirst();
+            }
+            if (pooled == null) {
+                break;
+            }
+            monitor.subTask("Validate pooled connection");
+            if (JDBCUtils.isConnectionAlive(pooled.connection)) {
+                synchronized (this) {
+                    activeConnections.add(pooled);
+                }
+                return pooled.connection;
+            }
+            log.debug("Pooled connection is broken - close it");
+            dataSource.closeConnection(pooled.connection);
+        }
+
+        Connection connection = dataSource.openConnection(monitor, purpose);
+        boolean autoCommit = true;
+        int isolationLevel = Connection.TRANSACTION_NONE;
+        String catalog = null, schema = null;
+        try {
+            autoCommit = connection.getAutoCommit();
+            isolationLevel = connection.getTransactionIsolation();
+            catalog = connection.getCatalog();
+        } catch (Throwable e) {
+            log.debug("Can't read initial connection state", e);
+        }
+        try {
+            schema = connection.getSchema();
+        } catch (Throwable e) {
+            // JDBC 4.1 method. Not supported by old drivers.
+        }
+        synchronized (this) {
+            activeConnections.add(new PooledConnection(connection, autoCommit, isolationLevel, catalog, schema));
+        }
+        return connection;
+    }
+
+    /**
+     * Returns connection into the pool. Closes it if pool is full or connection state can't be reset.
+     */
+    public void releaseConnection(@NotNull Connection connection)
+    {
+        PooledConnection pooled = null;
+        synchronized (this) {
+            for (Iterator<PooledConnection> iter = activeConnections.iterator(); iter.hasNext(); ) {
+                PooledConnection pc = iter.next();
+                if (pc.connection == connection) {
+                    pooled = pc;
+                    iter.remove();
+                    break;
+                }
+            }
+        }
+        if (pooled == null || !isEnabled() || !resetConnection(pooled)) {
+            dataSource.closeConnection(connection);
+            return;
+        }
+        int maxIdle = getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE);
+        PooledConnection evicted = null;
+        synchronized (this) {
+            pooled.releaseTime = System.currentTimeMillis();
+            idleConnections.addFirst(pooled);
+            if (idleConnections.size() > maxIdle) {
+                evicted = idleConnections.pollLast();
+            }
+            scheduleEviction();
+        }
+        if (evicted != null) {
+            dataSource.closeConnection(evicted.connection);
+        }
+    }
+
+    /**
+     * Closes all idle connections. Active connections are closed by their contexts.
+     */
+    public void close()
+    {
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+            if (evictJob != null) {
+                evictJob.cancel();
+                evictJob = null;
+            }
+        }
+        for (PooledConnection pc : toClose) {
+            dataSource.closeConnection(pc.connection);
+        }
+    }
+
+    public synchronized int getIdleCount()
+    {
+        return idleConnections.size();
+    }
+
+    private boolean resetConnection(PooledConnection pooled)
+    {
+        Connection connection = pooled.connection;
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                // Session state is reset out of transaction
+                connection.setAutoCommit(true);
+            }
+            // Session variables, temporary tables, etc
+            if (!dataSource.resetPooledConnection(connection)) {
+                return false;
+            }
+            if (connection.getAutoCommit() != pooled.autoCommit) {
+                connection.setAutoCommit(pooled.autoCommit);
+            }
+            if (pooled.isolationLevel != Connection.TRANSACTION_NONE &&
+                connection.getTransactionIsolation() != pooled.isolationLevel)
+            {
+                connection.setTransactionIsolation(pooled.isolationLevel);
+            }
+            if (pooled.catalog != null && !pooled.catalog.equals(connection.getCatalog())) {
+                connection.setCatalog(pooled.catalog);
+            }
+            if (pooled.schema != null) {
+                try {
+                    if (!pooled.schema.equals(connection.getSchema())) {
+                        connection.setSchema(pooled.schema);
+                    }
+                } catch (AbstractMethodError e) {
+                    // JDBC 4.1 method. Not supported by old drivers.
+                }
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            log.debug("Can't reset pooled connection state", e);
+            return false;
+        }
+    }
+
+    private void evictIdleConnections()
+    {
+        long idleTimeout = getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT) * 1000L;
+        long minReleaseTime = System.currentTimeMillis() - idleTimeout;
+        List<PooledConnection> toClose = new ArrayList<>();
+        synchronized (this) {
+            // Oldest connections are in the tail
+            while (!idleConnections.isEmpty() && idleConnections.peekLast().releaseTime <= minReleaseTime) {
+                toClose.add(idleConnections.pollLast());
+            }
+        }
+        for (PooledConnection pc : toClose) {
+            dataSource.closeConnection(pc.connection);
+        }
+        synchronized (this) {
+            evictJob = null;
+            scheduleEviction();
+        }
+    }
+
+    private void scheduleEviction()
+    {
+        if (evictJob == null && !closed && !idleConnections.isEmpty()) {
+            long idleTimeout = getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT) * 1000L;
+            long delay = idleConnections.peekLast().releaseTime + idleTimeout - System.currentTimeMillis();
+            evictJob = new EvictJob();
+            evictJob.schedule(Math.max(delay, 0) + 1000);
+        }
+    }
+
+    @NotNull
+    private DBPPreferenceStore getPreferenceStore()
+    {
+        return dataSource.getContainer().getPreferenceStore();
+    }
+
+    private class EvictJob extends AbstractJob {
+        EvictJob()
+        {
+            super("Close idle connections of " + dataSource.getContainer().getName());
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            evictIdleConnections();
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -18,6 +18,8 @@
 package org.jkiss.dbeaver.model.impl.jdbc;
 
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -38,6 +40,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCConnectionImpl;
 import org.jkiss.dbeaver.model.meta.Property;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.MonitorRunnableContext;
 import org.jkiss.dbeaver.model.sql.SQLDataSource;
@@ -76,12 +79,17 @@ public abstract class JDBCDataSource
     protected final JDBCExecutionContext executionContext;
     @Nullable
     protected JDBCExecutionContext metaContext;
+    // Opens metadata connection in parallel with the rest of data source open. Consumed by initialize()
+    @Nullable
+    private MetaConnectJob metaConnectJob;
     @NotNull
     protected final List<JDBCExecutionContext> allContexts = new ArrayList<>();
     @NotNull
     protected volatile DBPDataSourceInfo dataSourceInfo;
     protected volatile SQLDialect sqlDialect;
     protected final JDBCFactory jdbcFactory;
+    @NotNull
+    private final JDBCConnectionPool connectionPool;
 
     private int databaseMajorVersion;
     private int databaseMinorVersion;
@@ -93,8 +101,27 @@ public abstract class JDBCDataSource
         this.sqlDialect = BasicSQLDialect.INSTANCE;
         this.jdbcFactory = createJdbcFactory();
         this.container = container;
+        this.connectionPool = new JDBCConnectionPool(this);
         this.executionContext = new JDBCExecutionContext(this, "Main");
-        this.executionContext.connect(monitor, null, null, false);
+
+        Connection mainConnection = null;
+        if (isSeparateMetaContext() && container.getPreferenceStore().getBoolean(ModelPreferences.META_PARALLEL_CONNECT)) {
+            // Login with main connection first. Metadata connection is opened only after successful login,
+            // otherwise each wrong password would be counted by server as two failed logins.
+            // Then open metadata connection in background while main context and data source are initialized.
+            mainConnection = openConnection(monitor, "Main");
+            metaConnectJob = new MetaConnectJob();
+            metaConnectJob.schedule();
+        }
+        try {
+            this.executionContext.connect(monitor, null, null, false, mainConnection);
+        } catch (DBException e) {
+            if (metaConnectJob != null) {
+                metaConnectJob.abandon();
+                metaConnectJob = null;
+            }
+            throw e;
+        }
     }
 
     protected Connection openConnection(@NotNull DBRProgressMonitor monitor, @NotNull String purpose)
@@ -225,15 +252,33 @@ public abstract class JDBCDataSource
     @Override
     public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException
     {
-        JDBCExecutionContext context = new JDBCExecutionContext(this, purpose);
+        JDBCExecutionContext context = new JDBCExecutionContext(this, purpose, connectionPool.isEnabled());
         context.connect(monitor, null, null, true);
         return context;
     }
 
+    /**
+     * Pool of physical connections used by isolated contexts
+     */
+    @NotNull
+    public JDBCConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     protected void initializeContextState(@NotNull DBRProgressMonitor monitor, @NotNull JDBCExecutionContext context, boolean setActiveObject) throws DBCException {
 
     }
 
+    /**
+     * Resets session state (session variables, temporary tables, etc) of connection returned to the connection pool.
+     * Called out of transaction. Auto-commit, isolation level, catalog and schema are restored by the pool after reset,
+     * so by default there is nothing else to reset.
+     * @return false if session state can't be reset. Such connections are closed instead of pooling.
+     */
+    protected boolean resetPooledConnection(@NotNull Connection connection) throws SQLException {
+        return true;
+    }
+
     @NotNull
     protected JDBCConnectionImpl createConnection(
         @NotNull DBRProgressMonitor monitor,
@@ -288,10 +333,15 @@ public abstract class JDBCDataSource
     public void initialize(@NotNull DBRProgressMonitor monitor)
         throws DBException
     {
-        if (!container.getDriver().isEmbedded() && container.getPreferenceStore().getBoolean(ModelPreferences.META_SEPARATE_CONNECTION)) {
+        if (isSeparateMetaContext()) {
             synchronized (this) {
+                Connection openedConnection = null;
+                if (this.metaConnectJob != null) {
+                    openedConnection = this.metaConnectJob.waitForConnection(monitor);
+                    this.metaConnectJob = null;
+                }
                 this.metaContext = new JDBCExecutionContext(this, "Metadata");
-                this.metaContext.connect(monitor, true, null, false);
+                this.metaContext.connect(monitor, true, null, false, openedConnection);
             }
         }
         try (JDBCSession session = DBUtils.openMetaSession(monitor, this, ModelMessages.model_jdbc_read_database_meta_data)) {
@@ -338,9 +388,20 @@ public abstract class JDBCDataSource
             if (metaContext != null) {
                 metaContext.close();
             }
+            if (metaConnectJob != null) {
+                // Data source wasn't initialized
+                metaConnectJob.abandon();
+                metaConnectJob = null;
+            }
+            connectionPool.close();
         }
     }
 
+    private boolean isSeparateMetaContext()
+    {
+        return !container.getDriver().isEmbedded() && container.getPreferenceStore().getBoolean(ModelPreferences.META_SEPARATE_CONNECTION);
+    }
+
     public boolean isServerVersionAtLeast(int major, int minor) {
         if (databaseMajorVersion < major) {
             return false;
@@ -618,4 +679,83 @@ public abstract class JDBCDataSource
     public DBDValueHandler getDefaultValueHandler() {
         return JDBCObjectValueHandler.INSTANCE;
     }
+
+    /**
+     * Opens metadata connection in parallel with main context initialization
+     */
+    private class MetaConnectJob extends AbstractJob {
+        private Connection connection;
+        private Throwable error;
+        private boolean abandoned;
+
+        MetaConnectJob()
+        {
+            super("Open metadata connection to " + container.getName());
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            long startTime = System.currentTimeMillis();
+            Connection newConnection = null;
+            Throwable newError = null;
+            try {
+                newConnection = openConnection(monitor, "Metadata");
+                log.debug("Metadata connection opened in " + (System.currentTimeMillis() - startTime) + "ms");
+            } catch (Throwable e) {
+                newError = e;
+            }
+            synchronized (this) {
+                if (abandoned) {
+                    // Nobody waits for this connection anymore
+                    if (newConnection != null) {
+                        closeConnection(newConnection);
+                    }
+                    return Status.OK_STATUS;
+                }
+                connection = newConnection;
+                error = newError;
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Waits for job end.
+         * @return opened connection or null if connect failed. In this case connection will be opened again by initialize()
+         */
+        @Nullable
+        Connection waitForConnection(DBRProgressMonitor monitor)
+        {
+            monitor.subTask("Wait for metadata connection");
+            try {
+                join();
+            } catch (InterruptedException e) {
+                log.debug("Interrupted while opening metadata connection");
+            }
+            synchronized (this) {
+                abandoned = true;
+                if (error != null) {
+                    log.debug("Can't open metadata connection in background", error);
+                }
+                return connection;
+            }
+        }
+
+        /**
+         * Nobody will use connection. Close it right now or once it is opened.
+         */
+        void abandon()
+        {
+            synchronized (this) {
+                abandoned = true;
+                if (connection != null) {
+                    closeConnection(connection);
+                    connection = null;
+                }
+            }
+        }
+    }
+
 }
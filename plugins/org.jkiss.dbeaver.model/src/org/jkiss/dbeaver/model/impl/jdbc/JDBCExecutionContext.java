@@ -22,6 +22,8 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
@@ -45,10 +47,19 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Connection connection;
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
+    // Physical connection is taken from (and returned to) data source connection pool
+    private final boolean pooled;
+    private volatile JDBCStatementCache statementCache;
 
     public JDBCExecutionContext(@NotNull JDBCDataSource dataSource, String purpose)
+    {
+        this(dataSource, purpose, false);
+    }
+
+    public JDBCExecutionContext(@NotNull JDBCDataSource dataSource, String purpose, boolean pooled)
     {
         super(dataSource, purpose);
+        this.pooled = pooled;
     }
 
     @NotNull
@@ -56,12 +67,29 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection;
     }
 
+    /**
+     * Prepared statements cache. Null if caching is disabled or context is not connected.
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public void connect(DBRProgressMonitor monitor) throws DBCException
     {
         connect(monitor, null, null, false);
     }
 
     void connect(@NotNull DBRProgressMonitor monitor, Boolean autoCommit, @Nullable Integer txnLevel, boolean forceActiveObject) throws DBCException
+    {
+        connect(monitor, autoCommit, txnLevel, forceActiveObject, null);
+    }
+
+    /**
+     * Connects context.
+     * @param openedConnection physical connection opened in advance (e.g. in parallel with other context). May be null.
+     */
+    void connect(@NotNull DBRProgressMonitor monitor, Boolean autoCommit, @Nullable Integer txnLevel, boolean forceActiveObject, @Nullable Connection openedConnection) throws DBCException
     {
         if (connection != null) {
             log.error("Reopening not-closed connection");
@@ -70,10 +98,23 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         boolean connectionReadOnly = dataSource.getContainer().isConnectionReadOnly();
         DBExecUtils.startContextInitiation(this);
         try {
-            this.connection = dataSource.openConnection(monitor, purpose);
+            if (openedConnection != null) {
+                this.connection = openedConnection;
+            } else {
+                this.connection = pooled ?
+                    dataSource.getConnectionPool().acquireConnection(monitor, purpose) :
+                    dataSource.openConnection(monitor, purpose);
+            }
             if (this.connection == null) {
                 throw new DBCException("Null connection returned");
             }
+            DBPPreferenceStore preferenceStore = dataSource.getContainer().getPreferenceStore();
+            if (preferenceStore.getBoolean(ModelPreferences.STATEMENT_CACHE_ENABLED)) {
+                int cacheSize = preferenceStore.getInt(ModelPreferences.STATEMENT_CACHE_SIZE);
+                if (cacheSize > 0) {
+                    this.statementCache = new JDBCStatementCache(cacheSize);
+                }
+            }
 
             // Get defaults from preferences
             if (autoCommit == null) {
@@ -192,8 +233,17 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            if (statementCache != null) {
+                // Cached statements belong to the physical connection
+                statementCache.invalidate();
+                statementCache = null;
+            }
             if (connection != null) {
-                this.dataSource.closeConnection(connection);
+                if (pooled) {
+                    this.dataSource.getConnectionPool().releaseConnection(connection);
+                } else {
+                    this.dataSource.closeConnection(connection);
+                }
                 connection = null;
             }
             super.closeContext();
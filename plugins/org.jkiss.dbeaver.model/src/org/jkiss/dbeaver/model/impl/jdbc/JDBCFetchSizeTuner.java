@@ -0,0 +1,270 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.struct.DBSTypedObject;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result set fetch size controller.
+ * <p/>
+ * Initial fetch size is taken from the driver profile and limited by the fetch buffer size
+ * (estimated row width multiplied by fetch size). During the read fetch size grows while
+ * fetch round trips take most of the read time (e.g. on high-latency links).
+ * The final fetch size is remembered for the data source and entity and used for the next reads.
+ */
+public class JDBCFetchSizeTuner {
+
+    private static final Log log = Log.getLog(JDBCFetchSizeTuner.class);
+
+    // Max size of rows fetched at once (in bytes)
+    public static final long FETCH_BUFFER_SIZE = 4 * 1024 * 1024;
+    public static final int MIN_FETCH_SIZE = 10;
+
+    // Fetch is latency bound if round trip takes more than this part of read time
+    private static final double LATENCY_BOUND_RATIO = 0.5;
+    private static final int MAX_REMEMBERED_SIZES = 1000;
+
+    // Estimated sizes of values in driver buffers
+    private static final int ROW_OVERHEAD = 16;
+    private static final int DEFAULT_VALUE_SIZE = 256;
+    private static final int MAX_STRING_SIZE = 4000;
+    private static final int LOB_VALUE_SIZE = 4000;
+    private static final int COMPLEX_VALUE_SIZE = 1024;
+
+    private static class DriverProfile {
+        final String driverClassPrefix;
+        final int initialSize;
+        final int maxSize;
+
+        DriverProfile(String driverClassPrefix, int initialSize, int maxSize)
+        {
+            this.driverClassPrefix = driverClassPrefix;
+            this.initialSize = initialSize;
+            this.maxSize = maxSize;
+        }
+    }
+
+    private static final DriverProfile DEFAULT_PROFILE = new DriverProfile("", 200, 10000);
+
+    // Drivers with zero max size ignore fetch size (MySQL reads the whole result set or streams it row by row)
+    private static final DriverProfile[] DRIVER_PROFILES = {
+        new DriverProfile("oracle.jdbc.", 500, 10000),
+        new DriverProfile("org.postgresql.", 1000, 20000),
+        new DriverProfile("com.ibm.db2.", 500, 10000),
+        new DriverProfile("com.microsoft.sqlserver.", 256, 10000),
+        new DriverProfile("net.sourceforge.jtds.", 256, 10000),
+        new DriverProfile("com.mysql.", 0, 0),
+        new DriverProfile("org.mariadb.", 0, 0),
+    };
+
+    // Tuned fetch sizes by data source and entity
+    private static final Map<String, Integer> tunedSizes = Collections.synchronizedMap(
+        new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest)
+            {
+                return size() > MAX_REMEMBERED_SIZES;
+            }
+        });
+
+    @Nullable
+    private final String sizeKey;
+    private final int maxSize;
+    private final boolean adaptive;
+    private int fetchSize;
+
+    // Current fetch window statistics
+    private int windowRows;
+    private long windowStart;
+    private long maxRowWait;
+    private boolean windowCompleted;
+
+    private JDBCFetchSizeTuner(@Nullable String sizeKey, int fetchSize, int maxSize, boolean adaptive)
+    {
+        this.sizeKey = sizeKey;
+        this.fetchSize = fetchSize;
+        this.maxSize = maxSize;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Creates fetch size controller for the entity read.
+     * @param entityName  full entity name. Tuned fetch size is remembered for it.
+     * @param attributes  attributes of read rows
+     * @param rowLimit    max number of read rows (including skipped rows) or 0 if rows aren't limited
+     * @param fixedSize   fetch size configured by user or 0. Fixed fetch size is not adjusted (but it is limited by fetch buffer size).
+     * @return controller or null if driver doesn't support fetch size
+     */
+    @Nullable
+    public static JDBCFetchSizeTuner create(
+        @NotNull DBPDataSource dataSource,
+        @Nullable String entityName,
+        @NotNull Collection<? extends DBSTypedObject> attributes,
+        long rowLimit,
+        int fixedSize)
+    {
+        final DriverProfile profile = getDriverProfile(dataSource);
+        if (profile.maxSize <= 0) {
+            return null;
+        }
+        int maxSize = getMaxFetchSize(attributes, profile.maxSize);
+        if (rowLimit > 0 && rowLimit < maxSize) {
+            maxSize = Math.max((int) rowLimit, 1);
+        }
+        if (fixedSize > 0) {
+            return new JDBCFetchSizeTuner(null, Math.min(fixedSize, maxSize), maxSize, false);
+        }
+        final String sizeKey = entityName == null ? null : dataSource.getContainer().getId() + "/" + entityName;
+        Integer tunedSize = sizeKey == null ? null : tunedSizes.get(sizeKey);
+        int fetchSize = tunedSize != null ? tunedSize : profile.initialSize;
+        return new JDBCFetchSizeTuner(sizeKey, Math.max(Math.min(fetchSize, maxSize), 1), maxSize, true);
+    }
+
+    /**
+     * Max fetch size for rows of specified attributes (limited by fetch buffer size)
+     */
+    public static int getMaxFetchSize(@NotNull Collection<? extends DBSTypedObject> attributes, int maxSize)
+    {
+        final long rowWidth = estimateRowWidth(attributes);
+        return (int) Math.max(MIN_FETCH_SIZE, Math.min(maxSize, FETCH_BUFFER_SIZE / rowWidth));
+    }
+
+    /**
+     * Estimates size of row values in driver buffers (in bytes)
+     */
+    public static long estimateRowWidth(@NotNull Collection<? extends DBSTypedObject> attributes)
+    {
+        long width = ROW_OVERHEAD;
+        for (DBSTypedObject attribute : attributes) {
+            width += estimateValueWidth(attribute);
+        }
+        return width;
+    }
+
+    private static long estimateValueWidth(DBSTypedObject attribute)
+    {
+        final long maxLength = attribute.getMaxLength();
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return 4;
+            case NUMERIC:
+                return 16;
+            case DATETIME:
+                return 12;
+            case ROWID:
+                return 20;
+            case STRING:
+            case BINARY:
+                // Drivers may reserve max length in fetch buffers. Characters may take 2 bytes.
+                if (maxLength <= 0) {
+                    return DEFAULT_VALUE_SIZE;
+                }
+                return Math.min(maxLength, MAX_STRING_SIZE) * 2;
+            case CONTENT:
+                // LOB locators with prefetched data
+                return LOB_VALUE_SIZE;
+            default:
+                if (attribute.getDataKind().isComplex()) {
+                    return COMPLEX_VALUE_SIZE;
+                }
+                return DEFAULT_VALUE_SIZE;
+        }
+    }
+
+    @NotNull
+    private static DriverProfile getDriverProfile(DBPDataSource dataSource)
+    {
+        final DBPDriver driver = dataSource.getContainer().getDriver();
+        final String driverClassName = driver == null ? null : driver.getDriverClassName();
+        if (driverClassName != null) {
+            for (DriverProfile profile : DRIVER_PROFILES) {
+                if (driverClassName.startsWith(profile.driverClassPrefix)) {
+                    return profile;
+                }
+            }
+        }
+        return DEFAULT_PROFILE;
+    }
+
+    public int getFetchSize()
+    {
+        return fetchSize;
+    }
+
+    /**
+     * Called after each fetched row. Increases fetch size if round trips take most of the read time.
+     * Each window of fetchSize rows contains one round trip - the longest row fetch.
+     * @param fetchTime time of the row fetch call only (nanoseconds). Row processing time must not be included:
+     *                  slow consumers would look like network latency then.
+     */
+    public void rowFetched(@NotNull DBCResultSet resultSet, long fetchTime)
+    {
+        if (!adaptive) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (windowStart == 0) {
+            // First rows are fetched on query execution
+            windowStart = now;
+            return;
+        }
+        maxRowWait = Math.max(maxRowWait, fetchTime);
+        if (++windowRows < fetchSize) {
+            return;
+        }
+        windowCompleted = true;
+        final long windowTime = now - windowStart;
+        if (fetchSize < maxSize && windowTime > 0 && maxRowWait > windowTime * LATENCY_BOUND_RATIO) {
+            final int newSize = (int) Math.min((long) fetchSize * 2, maxSize);
+            if (resultSet instanceof JDBCResultSet) {
+                try {
+                    ((JDBCResultSet) resultSet).setFetchSize(newSize);
+                    fetchSize = newSize;
+                } catch (Throwable e) {
+                    log.debug("Can't change result set fetch size", e);
+                }
+            }
+        }
+        windowRows = 0;
+        maxRowWait = 0;
+        windowStart = now;
+    }
+
+    /**
+     * Remembers fetch size for next reads of the same entity
+     */
+    public void finish()
+    {
+        if (adaptive && windowCompleted && sizeKey != null) {
+            tunedSizes.put(sizeKey, fetchSize);
+        }
+    }
+
+}
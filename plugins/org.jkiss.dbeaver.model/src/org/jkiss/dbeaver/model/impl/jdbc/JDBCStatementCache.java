@@ -0,0 +1,219 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * LRU cache of prepared statements of one execution context.
+ * Statement is taken out of the cache while it is in use and returned back when its wrapper is closed.
+ * Statement parameters and limits are reset on return.
+ * Cache is invalidated when context connection is closed.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    public static final int DEFAULT_HOLDABILITY = -1;
+
+    private static class StatementKey {
+        final String sql;
+        final int resultSetType;
+        final int resultSetConcurrency;
+        final int resultSetHoldability;
+
+        StatementKey(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+        {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.resultSetHoldability = resultSetHoldability;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey key = (StatementKey) obj;
+            return resultSetType == key.resultSetType &&
+                resultSetConcurrency == key.resultSetConcurrency &&
+                resultSetHoldability == key.resultSetHoldability &&
+                sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return sql.hashCode() + resultSetType * 31 + resultSetConcurrency * 17 + resultSetHoldability;
+        }
+    }
+
+    private static class CachedStatement {
+        final StatementKey key;
+        final PreparedStatement statement;
+        // Initial statement settings
+        int maxRows;
+        int fetchSize;
+        int queryTimeout;
+
+        CachedStatement(StatementKey key, PreparedStatement statement)
+        {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<StatementKey, CachedStatement> idleStatements;
+    private final Map<PreparedStatement, CachedStatement> usedStatements = new IdentityHashMap<>();
+    private long hitCount;
+    private long missCount;
+
+    public JDBCStatementCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+        this.idleStatements = new LinkedHashMap<StatementKey, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest)
+            {
+                if (size() > JDBCStatementCache.this.maxSize) {
+                    closeStatement(eldest.getValue().statement);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns cached statement or prepares new one
+     */
+    @NotNull
+    public synchronized PreparedStatement prepareStatement(
+        @NotNull Connection connection,
+        @NotNull String sql,
+        int resultSetType,
+        int resultSetConcurrency,
+        int resultSetHoldability)
+        throws SQLException
+    {
+        StatementKey key = new StatementKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        CachedStatement cached = idleStatements.remove(key);
+        if (cached != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            PreparedStatement statement;
+            if (resultSetHoldability != DEFAULT_HOLDABILITY) {
+                statement = connection.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+            } else if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+                statement = connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+            } else {
+                statement = connection.prepareStatement(sql);
+            }
+            cached = new CachedStatement(key, statement);
+            try {
+                cached.maxRows = statement.getMaxRows();
+                cached.fetchSize = statement.getFetchSize();
+                cached.queryTimeout = statement.getQueryTimeout();
+            } catch (SQLException e) {
+                // Can't restore settings of this statement - so do not cache it at all
+                log.debug("Can't read statement settings", e);
+                return statement;
+            }
+        }
+        usedStatements.put(cached.statement, cached);
+        return cached.statement;
+    }
+
+    /**
+     * Returns statement into the cache.
+     * @return false if statement doesn't belong to this cache and has to be closed by caller
+     */
+    public synchronized boolean releaseStatement(@NotNull PreparedStatement statement)
+    {
+        CachedStatement cached = usedStatements.remove(statement);
+        if (cached == null) {
+            return false;
+        }
+        try {
+            statement.clearParameters();
+            try {
+                statement.clearBatch();
+            } catch (SQLException e) {
+                // Batches not supported
+            }
+            if (statement.getMaxRows() != cached.maxRows) {
+                statement.setMaxRows(cached.maxRows);
+            }
+            if (statement.getFetchSize() != cached.fetchSize) {
+                statement.setFetchSize(cached.fetchSize);
+            }
+            if (statement.getQueryTimeout() != cached.queryTimeout) {
+                statement.setQueryTimeout(cached.queryTimeout);
+            }
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            log.debug("Can't reset cached statement", e);
+            closeStatement(statement);
+            return true;
+        }
+        CachedStatement prevStatement = idleStatements.put(cached.key, cached);
+        if (prevStatement != null) {
+            // The same query was prepared twice - keep only one
+            closeStatement(prevStatement.statement);
+        }
+        return true;
+    }
+
+    /**
+     * Closes all idle statements. Statements which are in use now will be closed by their owners.
+     */
+    public synchronized void invalidate()
+    {
+        for (CachedStatement cached : idleStatements.values()) {
+            closeStatement(cached.statement);
+        }
+        idleStatements.clear();
+        usedStatements.clear();
+        if (hitCount > 0 || missCount > 0) {
+            log.debug("Statement cache invalidated (" + hitCount + " hits, " + missCount + " misses)");
+        }
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    private static void closeStatement(PreparedStatement statement)
+    {
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Can't close cached statement", e);
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import org.jkiss.dbeaver.model.impl.AbstractSession;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCException;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCStatementCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
@@ -211,7 +212,9 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
     public JDBCPreparedStatement prepareStatement(String sql)
         throws SQLException
     {
-        return createPreparedStatementImpl(getOriginal().prepareStatement(sql), sql);
+        return createPreparedStatementImpl(
+            prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, JDBCStatementCache.DEFAULT_HOLDABILITY),
+            sql);
     }
 
     @NotNull
@@ -373,7 +376,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         throws SQLException
     {
         return createPreparedStatementImpl(
-            getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency),
+            prepareCachedStatement(sql, resultSetType, resultSetConcurrency, JDBCStatementCache.DEFAULT_HOLDABILITY),
             sql);
     }
 
@@ -481,7 +484,7 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         throws SQLException
     {
         return createPreparedStatementImpl(
-            getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+            prepareCachedStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
             sql);
     }
 
@@ -668,6 +671,26 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         }
     }
 
+    /**
+     * Takes statement from context statement cache (if enabled) or prepares new one.
+     * Cached statements are returned into the cache by JDBCStatementImpl.close
+     */
+    private PreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+        throws SQLException
+    {
+        JDBCStatementCache statementCache = context.getStatementCache();
+        if (statementCache != null) {
+            return statementCache.prepareStatement(getOriginal(), sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+        if (resultSetHoldability != JDBCStatementCache.DEFAULT_HOLDABILITY) {
+            return getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        } else if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            return getOriginal().prepareStatement(sql, resultSetType, resultSetConcurrency);
+        } else {
+            return getOriginal().prepareStatement(sql);
+        }
+    }
+
     protected JDBCStatement createStatementImpl(Statement original)
         throws SQLException,IllegalArgumentException
     {
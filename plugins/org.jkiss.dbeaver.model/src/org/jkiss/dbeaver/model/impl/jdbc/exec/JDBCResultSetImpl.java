@@ -35,6 +35,7 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -53,6 +54,8 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     private long maxRows = -1;
     private boolean fake;
     private boolean disableLogging;
+    // Column indexes by labels (each label is resolved with driver's findColumn once per result set)
+    private Map<String, Integer> columnIndexes;
 
     public static JDBCResultSet makeResultSet(@NotNull JDBCSession session, @Nullable JDBCStatement statement, @NotNull ResultSet original, String description, boolean disableLogging)
         throws SQLException
@@ -160,7 +163,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Object getAttributeValue(String name) throws DBCException {
         checkNotEmpty();
         try {
-            return original.getObject(name);
+            return original.getObject(getColumnIndex(name));
         }
         catch (SQLException e) {
             throw new DBCException(e, session.getDataSource());
@@ -190,6 +193,21 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         }
     }
 
+    private int getColumnIndex(String columnLabel)
+        throws SQLException
+    {
+        checkNotEmpty();
+        if (columnIndexes == null) {
+            columnIndexes = new HashMap<>();
+        }
+        Integer index = columnIndexes.get(columnLabel);
+        if (index == null) {
+            index = original.findColumn(columnLabel);
+            columnIndexes.put(columnLabel, index);
+        }
+        return index;
+    }
+
     @Override
     public boolean nextRow()
         throws DBCException
@@ -467,7 +485,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getString(columnLabel);
+        return original.getString(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -475,7 +493,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBoolean(columnLabel);
+        return original.getBoolean(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -483,7 +501,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getByte(columnLabel);
+        return original.getByte(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -491,7 +509,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getShort(columnLabel);
+        return original.getShort(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -499,7 +517,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getInt(columnLabel);
+        return original.getInt(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -507,7 +525,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getLong(columnLabel);
+        return original.getLong(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -515,7 +533,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getFloat(columnLabel);
+        return original.getFloat(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -523,7 +541,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getDouble(columnLabel);
+        return original.getDouble(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -532,7 +550,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBigDecimal(columnLabel, scale);
+        return original.getBigDecimal(getColumnIndex(columnLabel), scale);
     }
 
     @Override
@@ -540,7 +558,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBytes(columnLabel);
+        return original.getBytes(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -548,7 +566,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getDate(columnLabel);
+        return original.getDate(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -556,7 +574,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getTime(columnLabel);
+        return original.getTime(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -564,7 +582,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getTimestamp(columnLabel);
+        return original.getTimestamp(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -572,7 +590,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getAsciiStream(columnLabel);
+        return original.getAsciiStream(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -581,7 +599,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getUnicodeStream(columnLabel);
+        return original.getUnicodeStream(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -589,7 +607,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getBinaryStream(columnLabel);
+        return original.getBinaryStream(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -634,14 +652,14 @@ public class JDBCResultSetImpl implements JDBCResultSet {
         throws SQLException
     {
         checkNotEmpty();
-        return original.getObject(columnLabel);
+        return original.getObject(getColumnIndex(columnLabel));
     }
 
     @Override
     public int findColumn(String columnLabel)
         throws SQLException
     {
-        return original.findColumn(columnLabel);
+        return getColumnIndex(columnLabel);
     }
 
     @Override
@@ -655,7 +673,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Reader getCharacterStream(String columnLabel)
         throws SQLException
     {
-        return original.getCharacterStream(columnLabel);
+        return original.getCharacterStream(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -669,7 +687,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public BigDecimal getBigDecimal(String columnLabel)
         throws SQLException
     {
-        return original.getBigDecimal(columnLabel);
+        return original.getBigDecimal(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1173,35 +1191,35 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Object getObject(String columnLabel, Map<String, Class<?>> map)
         throws SQLException
     {
-        return original.getObject(columnLabel, map);
+        return original.getObject(getColumnIndex(columnLabel), map);
     }
 
     @Override
     public Ref getRef(String columnLabel)
         throws SQLException
     {
-        return original.getRef(columnLabel);
+        return original.getRef(getColumnIndex(columnLabel));
     }
 
     @Override
     public Blob getBlob(String columnLabel)
         throws SQLException
     {
-        return original.getBlob(columnLabel);
+        return original.getBlob(getColumnIndex(columnLabel));
     }
 
     @Override
     public Clob getClob(String columnLabel)
         throws SQLException
     {
-        return original.getClob(columnLabel);
+        return original.getClob(getColumnIndex(columnLabel));
     }
 
     @Override
     public Array getArray(String columnLabel)
         throws SQLException
     {
-        return original.getArray(columnLabel);
+        return original.getArray(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1215,7 +1233,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Date getDate(String columnLabel, Calendar cal)
         throws SQLException
     {
-        return original.getDate(columnLabel, cal);
+        return original.getDate(getColumnIndex(columnLabel), cal);
     }
 
     @Override
@@ -1229,7 +1247,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Time getTime(String columnLabel, Calendar cal)
         throws SQLException
     {
-        return original.getTime(columnLabel, cal);
+        return original.getTime(getColumnIndex(columnLabel), cal);
     }
 
     @Override
@@ -1243,7 +1261,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Timestamp getTimestamp(String columnLabel, Calendar cal)
         throws SQLException
     {
-        return original.getTimestamp(columnLabel, cal);
+        return original.getTimestamp(getColumnIndex(columnLabel), cal);
     }
 
     @Override
@@ -1257,7 +1275,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public URL getURL(String columnLabel)
         throws SQLException
     {
-        return original.getURL(columnLabel);
+        return original.getURL(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1327,7 +1345,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public RowId getRowId(String columnLabel)
         throws SQLException
     {
-        return original.getRowId(columnLabel);
+        return original.getRowId(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1397,7 +1415,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public NClob getNClob(String columnLabel)
         throws SQLException
     {
-        return original.getNClob(columnLabel);
+        return original.getNClob(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1411,7 +1429,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public SQLXML getSQLXML(String columnLabel)
         throws SQLException
     {
-        return original.getSQLXML(columnLabel);
+        return original.getSQLXML(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1439,7 +1457,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public String getNString(String columnLabel)
         throws SQLException
     {
-        return original.getNString(columnLabel);
+        return original.getNString(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -1453,7 +1471,7 @@ public class JDBCResultSetImpl implements JDBCResultSet {
     public Reader getNCharacterStream(String columnLabel)
         throws SQLException
     {
-        return original.getNCharacterStream(columnLabel);
+        return original.getNCharacterStream(getColumnIndex(columnLabel));
     }
 
     @Override
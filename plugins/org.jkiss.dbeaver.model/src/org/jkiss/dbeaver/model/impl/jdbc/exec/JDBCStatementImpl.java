@@ -22,12 +22,15 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCStatementCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 
@@ -512,15 +515,30 @@ public class JDBCStatementImpl<STATEMENT extends Statement> implements JDBCState
             QMUtils.getDefaultHandler().handleStatementClose(this, updateCount);
         }
 
-        // Close statement
+        // Close statement (or return it into the context statement cache)
         try {
-            getOriginal().close();
+            if (!releaseCachedStatement()) {
+                getOriginal().close();
+            }
         }
         catch (Throwable e) {
             log.error("Can't close statement", e); //$NON-NLS-1$
         }
     }
 
+    private boolean releaseCachedStatement()
+    {
+        if (!(original instanceof PreparedStatement) || original instanceof CallableStatement) {
+            return false;
+        }
+        DBCExecutionContext context = connection.getExecutionContext();
+        if (context instanceof JDBCExecutionContext) {
+            JDBCStatementCache statementCache = ((JDBCExecutionContext) context).getStatementCache();
+            return statementCache != null && statementCache.releaseStatement((PreparedStatement) original);
+        }
+        return false;
+    }
+
     ////////////////////////////////////
     // Other
 
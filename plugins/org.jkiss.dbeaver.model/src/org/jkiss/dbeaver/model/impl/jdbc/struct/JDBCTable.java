@@ -32,6 +32,7 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCFetchSizeTuner;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCColumnMetaData;
 import org.jkiss.dbeaver.model.impl.struct.AbstractTable;
@@ -44,6 +45,8 @@ import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -109,8 +112,9 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         DBPDataSource dataSource = session.getDataSource();
         DBRProgressMonitor monitor = session.getProgressMonitor();
+        Collection<? extends DBSEntityAttribute> attributes = null;
         try {
-            readRequiredMeta(monitor);
+            attributes = readRequiredMeta(monitor);
         } catch (DBException e) {
             log.warn(e);
         }
@@ -169,15 +173,20 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (monitor.isCanceled()) {
                 return statistics;
             }
-            if (dbStat instanceof JDBCStatement && maxRows > 0) {
-                boolean useFetchSize = getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
-                if (useFetchSize) {
-                    try {
-                        ((JDBCStatement) dbStat).setFetchSize(
-                            firstRow < 0 || maxRows <= 0 ? DEFAULT_READ_FETCH_SIZE : (int) (firstRow + maxRows));
-                    } catch (Exception e) {
-                        log.warn(e);
+            JDBCFetchSizeTuner fetchSizeTuner = null;
+            if (dbStat instanceof JDBCStatement) {
+                final int fixedFetchSize = getConfiguredFetchSize(firstRow, maxRows);
+                fetchSizeTuner = createFetchSizeTuner(attributes, firstRow, maxRows, fixedFetchSize);
+                try {
+                    if (fetchSizeTuner != null) {
+                        ((JDBCStatement) dbStat).setFetchSize(fetchSizeTuner.getFetchSize());
+                    } else if (fixedFetchSize > 0) {
+                        // Fetch size isn't tuned for this driver - use configured one
+                        ((JDBCStatement) dbStat).setFetchSize(fixedFetchSize);
                     }
+                } catch (Exception e) {
+                    log.warn(e);
+                    fetchSizeTuner = null;
                 }
             }
 
@@ -207,20 +216,30 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
                         startTime = System.currentTimeMillis();
                         long rowCount = 0;
+                        // Only driver fetch time is measured for fetch size tuning (receiver may wait for consumers)
+                        long rowFetchStart = System.nanoTime();
                         while (dbResult.nextRow()) {
+                            final long rowFetchTime = System.nanoTime() - rowFetchStart;
                             if (monitor.isCanceled() || (hasLimits && rowCount >= maxRows)) {
                                 // Fetch not more than max rows
                                 break;
                             }
                             dataReceiver.fetchRow(session, dbResult);
+                            if (fetchSizeTuner != null) {
+                                fetchSizeTuner.rowFetched(dbResult, rowFetchTime);
+                            }
                             rowCount++;
                             if (rowCount % 100 == 0) {
                                 monitor.subTask(rowCount + ModelMessages.model_jdbc__rows_fetched);
                                 monitor.worked(100);
                             }
+                            rowFetchStart = System.nanoTime();
                         }
                         statistics.setFetchTime(System.currentTimeMillis() - startTime);
                         statistics.setRowsFetched(rowCount);
+                        if (fetchSizeTuner != null) {
+                            fetchSizeTuner.finish();
+                        }
                     } finally {
                         // First - close cursor
                         try {
@@ -243,6 +262,34 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         }
     }
 
+    /**
+     * Fetch size configured in preferences (page size) or 0
+     */
+    private int getConfiguredFetchSize(long firstRow, long maxRows)
+    {
+        if (!getDataSource().getContainer().getPreferenceStore().getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE)) {
+            return 0;
+        }
+        return firstRow >= 0 && maxRows > 0 ? (int) Math.min(firstRow + maxRows, Integer.MAX_VALUE) : DEFAULT_READ_FETCH_SIZE;
+    }
+
+    /**
+     * Fetch size depends on the driver, row width and previous reads of this table.
+     * Fetch size configured in preferences is used as is (if it fits fetch buffer).
+     * @param attributes table attributes read by {@link #readRequiredMeta} (null if they can't be read)
+     */
+    @Nullable
+    private JDBCFetchSizeTuner createFetchSizeTuner(@Nullable Collection<? extends DBSEntityAttribute> attributes, long firstRow, long maxRows, int fixedSize)
+    {
+        final long rowLimit = firstRow >= 0 && maxRows > 0 ? firstRow + maxRows : 0;
+        return JDBCFetchSizeTuner.create(
+            getDataSource(),
+            getFullQualifiedName(),
+            attributes == null ? Collections.<DBSEntityAttribute>emptyList() : attributes,
+            rowLimit,
+            fixedSize);
+    }
+
     protected void appendSelectSource(DBRProgressMonitor monitor, StringBuilder query, String tableAlias, DBDPseudoAttribute rowIdAttribute) {
         if (rowIdAttribute != null) {
             // If we have pseudo attributes then query gonna be more complex
@@ -381,7 +428,8 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
         DBSAttributeBase[] attributes = ArrayUtils.concatArrays(updateAttributes, keyAttributes);
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, false) {
+        // Statement text depends only on key nulls so it can be reused (and batched) for rows with the same null keys
+        return new ExecuteBatchImpl(attributes, keysReceiver, true) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, Object[] attributeValues) throws DBCException {
@@ -445,7 +493,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(keyAttributes, null, false) {
+        return new ExecuteBatchImpl(keyAttributes, null, true) {
             @NotNull
             @Override
             protected DBCStatement prepareStatement(@NotNull DBCSession session, Object[] attributeValues) throws DBCException {
@@ -562,13 +610,15 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     /**
      * Reads and caches metadata which is required for data requests
      * @param monitor progress monitor
+     * @return table attributes
      * @throws DBCException on error
      */
-    private void readRequiredMeta(DBRProgressMonitor monitor)
+    @Nullable
+    private Collection<? extends DBSEntityAttribute> readRequiredMeta(DBRProgressMonitor monitor)
         throws DBCException
     {
         try {
-            getAttributes(monitor);
+            return getAttributes(monitor);
         }
         catch (DBException e) {
             throw new DBCException("Can't cache table columns", e);
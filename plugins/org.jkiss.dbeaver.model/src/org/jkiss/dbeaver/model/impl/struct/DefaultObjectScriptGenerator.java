@@ -0,0 +1,99 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.struct;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPScriptObject;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.impl.jdbc.struct.JDBCTable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBSObjectScriptGenerator;
+import org.jkiss.dbeaver.model.struct.rdb.DBSProcedure;
+import org.jkiss.dbeaver.model.struct.rdb.DBSProcedureContainer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Default script generator.
+ * Table DDL is generated by table SQLObjectEditor, other objects provide their own definition text.
+ * Container structure is read in bulk before generation so DDL is built from metadata caches
+ * and there is no need in parallel connections.
+ */
+public class DefaultObjectScriptGenerator implements DBSObjectScriptGenerator
+{
+
+    @Override
+    public int getMaxConnections()
+    {
+        return 1;
+    }
+
+    @Override
+    public List<DBSObject> collectScriptObjects(DBRProgressMonitor monitor, DBSObjectContainer container)
+        throws DBException
+    {
+        monitor.subTask("Read structure of " + container.getName());
+        container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ALL);
+
+        List<DBSObject> result = new ArrayList<>();
+        Collection<? extends DBSObject> children = container.getChildren(monitor);
+        if (children != null) {
+            for (DBSObject child : children) {
+                if (child instanceof DBPScriptObject) {
+                    result.add(child);
+                }
+            }
+        }
+        if (container instanceof DBSProcedureContainer) {
+            Collection<? extends DBSProcedure> procedures = ((DBSProcedureContainer) container).getProcedures(monitor);
+            if (procedures != null) {
+                for (DBSProcedure procedure : procedures) {
+                    if (procedure instanceof DBPScriptObject) {
+                        result.add(procedure);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void prepareSession(DBRProgressMonitor monitor, DBCSession session)
+        throws DBException
+    {
+        // Nothing to prepare
+    }
+
+    @Override
+    public String generateObjectScript(DBRProgressMonitor monitor, DBCSession session, DBSObject object)
+        throws DBException
+    {
+        if (object instanceof JDBCTable) {
+            return JDBCUtils.generateTableDDL(monitor, (JDBCTable) object, false);
+        } else if (object instanceof DBPScriptObject) {
+            return ((DBPScriptObject) object).getObjectDefinitionText(monitor);
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPScriptObject;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLConstants;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBSObjectScriptGenerator;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk DDL export.
+ * Objects DDL is generated by datasource {@link DBSObjectScriptGenerator} (or {@link DefaultObjectScriptGenerator})
+ * using a small pool of isolated connections. Each connection is prepared once.
+ * Generated DDL is written to the output in the original objects order as soon as it becomes available.
+ */
+public class ObjectScriptExporter
+{
+    private static final Log log = Log.getLog(ObjectScriptExporter.class);
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    private final DBPDataSource dataSource;
+    private final DBSObjectScriptGenerator generator;
+    private final int maxConnections;
+
+    private final List<DBSObject> objects = new ArrayList<>();
+    private final String[] scripts;
+    private final AtomicInteger nextObject = new AtomicInteger();
+    private volatile Throwable workerError;
+
+    public ObjectScriptExporter(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource, @NotNull Collection<? extends DBSObject> sourceObjects, int maxConnections)
+        throws DBException
+    {
+        this.dataSource = dataSource;
+        DBSObjectScriptGenerator dsGenerator = DBUtils.getAdapter(DBSObjectScriptGenerator.class, dataSource);
+        this.generator = dsGenerator != null ? dsGenerator : new DefaultObjectScriptGenerator();
+        this.maxConnections = Math.max(1, Math.min(maxConnections, generator.getMaxConnections()));
+
+        for (DBSObject object : sourceObjects) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            if (object instanceof DBSObjectContainer && !(object instanceof DBPScriptObject)) {
+                objects.addAll(generator.collectScriptObjects(monitor, (DBSObjectContainer) object));
+            } else {
+                objects.add(object);
+            }
+        }
+        this.scripts = new String[objects.size()];
+    }
+
+    public List<DBSObject> getObjects()
+    {
+        return objects;
+    }
+
+    /**
+     * Generates DDL of all objects and writes it to the output
+     */
+    public void exportScript(@NotNull DBRProgressMonitor monitor, @NotNull Writer out)
+        throws DBException, IOException
+    {
+        int workerCount = Math.min(maxConnections, objects.size());
+        monitor.beginTask("Generate DDL of " + objects.size() + " object(s)", objects.size());
+        try {
+            if (workerCount <= 1) {
+                // Generate in current thread using meta session
+                try (DBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Generate DDL")) {
+                    generator.prepareSession(monitor, session);
+                    for (int i = 0; i < objects.size() && !monitor.isCanceled(); i++) {
+                        DBSObject object = objects.get(i);
+                        monitor.subTask(DBUtils.getObjectFullName(object));
+                        writeScript(out, object, generateScript(monitor, session, object));
+                        monitor.worked(1);
+                    }
+                }
+                return;
+            }
+
+            List<Thread> workers = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                Thread worker = new Thread(new ScriptWorker(new WorkerMonitor(monitor)), "DDL export worker " + (i + 1));
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+            try {
+                // Write scripts in objects order
+                for (int i = 0; i < objects.size(); i++) {
+                    String script;
+                    synchronized (scripts) {
+                        while (scripts[i] == null && workerError == null && !monitor.isCanceled()) {
+                            scripts.wait(500);
+                        }
+                        script = scripts[i];
+                        scripts[i] = null;
+                    }
+                    if (workerError != null) {
+                        throw new DBException("Error generating DDL", workerError, dataSource);
+                    }
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                    DBSObject object = objects.get(i);
+                    monitor.subTask(DBUtils.getObjectFullName(object));
+                    writeScript(out, object, script);
+                    monitor.worked(1);
+                }
+            } catch (InterruptedException e) {
+                throw new DBException("DDL export interrupted", e);
+            } finally {
+                // Stop workers
+                nextObject.set(objects.size());
+                for (Thread worker : workers) {
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                }
+            }
+        } finally {
+            out.flush();
+            monitor.done();
+        }
+    }
+
+    private String generateScript(DBRProgressMonitor monitor, DBCSession session, DBSObject object)
+    {
+        try {
+            String script = generator.generateObjectScript(monitor, session, object);
+            return script == null ? "" : script;
+        } catch (Throwable e) {
+            // Do not stop the whole export because of a single object
+            log.debug("Error generating DDL of '" + DBUtils.getObjectFullName(object) + "'", e);
+            return SQLUtils.generateCommentLine(dataSource, "Error generating DDL: " + e.getMessage());
+        }
+    }
+
+    private void writeScript(Writer out, DBSObject object, String script)
+        throws IOException
+    {
+        out.write(SQLUtils.generateCommentLine(dataSource, DBUtils.getObjectFullName(object)));
+        script = script.trim();
+        if (!script.isEmpty()) {
+            out.write(script);
+            if (!script.endsWith(SQLConstants.DEFAULT_STATEMENT_DELIMITER)) {
+                out.write(SQLConstants.DEFAULT_STATEMENT_DELIMITER);
+            }
+            out.write(GeneralUtils.getDefaultLineSeparator());
+        }
+        out.write(GeneralUtils.getDefaultLineSeparator());
+    }
+
+    private class ScriptWorker implements Runnable {
+
+        private final DBRProgressMonitor monitor;
+
+        ScriptWorker(DBRProgressMonitor monitor)
+        {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void run()
+        {
+            try (DBCExecutionContext context = dataSource.openIsolatedContext(monitor, "DDL export")) {
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.META, "Generate DDL")) {
+                    generator.prepareSession(monitor, session);
+                    for (;;) {
+                        int index = nextObject.getAndIncrement();
+                        if (index >= objects.size() || monitor.isCanceled()) {
+                            break;
+                        }
+                        String script = generateScript(monitor, session, objects.get(index));
+                        synchronized (scripts) {
+                            scripts[index] = script;
+                            scripts.notifyAll();
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                workerError = e;
+                synchronized (scripts) {
+                    scripts.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Worker threads share cancellation state with the main monitor but do not report progress
+     */
+    private static class WorkerMonitor extends ProxyProgressMonitor {
+
+        WorkerMonitor(DBRProgressMonitor original)
+        {
+            super(original);
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork)
+        {
+        }
+
+        @Override
+        public void done()
+        {
+        }
+
+        @Override
+        public void subTask(String name)
+        {
+        }
+
+        @Override
+        public void worked(int work)
+        {
+        }
+
+        @Override
+        public synchronized void startBlock(DBRBlockingObject object, String taskName)
+        {
+        }
+
+        @Override
+        public synchronized void endBlock()
+        {
+        }
+    }
+
+}
@@ -31,4 +31,9 @@ public @interface LazyProperty {
 
     Class<? extends IPropertyCacheValidator> cacheValidator();
 
+    /**
+     * Loader of this property for many objects at once. Supported for top-level properties only.
+     */
+    Class<? extends IPropertyBulkLoader> bulkLoader() default IPropertyBulkLoader.class;
+
 }
@@ -48,6 +48,14 @@ public interface DBSDataManipulator extends DBSDataContainer {
         @NotNull
         void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions) throws DBCException;
 
+        /**
+         * Status of rows of the last execute() call (in order they were added).
+         * If execute() failed then rows executed before the error (or reported as executed by driver) are true.
+         * @return row statuses or null if execute() wasn't called
+         */
+        @Nullable
+        boolean[] getExecutedRows();
+
         void close();
     }
 
@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.List;
+
+/**
+ * Generates DDL of many database objects (bulk schema export).
+ * Generation may be spread across several connections. Each connection is prepared once
+ * with {@link #prepareSession} and then used to generate DDL of many objects.
+ */
+public interface DBSObjectScriptGenerator
+{
+
+    /**
+     * Maximum number of connections which may be used for generation in parallel.
+     * 1 means that generation doesn't benefit from separate connections (e.g. DDL is built from metadata caches).
+     */
+    int getMaxConnections();
+
+    /**
+     * Collects objects of specified container whose DDL should be exported.
+     * Objects are returned in script order (e.g. sequences and types before tables, tables before views).
+     */
+    List<DBSObject> collectScriptObjects(DBRProgressMonitor monitor, DBSObjectContainer container)
+        throws DBException;
+
+    /**
+     * Prepares session for DDL generation. Called once per connection.
+     */
+    void prepareSession(DBRProgressMonitor monitor, DBCSession session)
+        throws DBException;
+
+    /**
+     * Generates object DDL using prepared session.
+     * May be called from different threads (each thread uses its own session).
+     * @return DDL or null if object has no DDL
+     */
+    String generateObjectScript(DBRProgressMonitor monitor, DBCSession session, DBSObject object)
+        throws DBException;
+
+}
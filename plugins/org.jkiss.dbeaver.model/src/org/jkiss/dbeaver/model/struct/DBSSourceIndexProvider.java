@@ -0,0 +1,55 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Provides source code of database objects (procedures, packages, triggers, views) for local source index.
+ * Objects and their sources are read from the database dictionary, not from metadata caches
+ * (caches do not know about objects created after they were loaded and keep once loaded source).
+ * Index is refreshed incrementally: only sources of objects with changed modification time are re-read.
+ */
+public interface DBSSourceIndexProvider
+{
+
+    /**
+     * Returns references to all objects with source code
+     */
+    Collection<? extends DBSObjectReference> getSourceObjects(DBRProgressMonitor monitor)
+        throws DBException;
+
+    /**
+     * Returns time of the last source modification of object returned by the last {@link #getSourceObjects} call.
+     * Returns 0 if modification time is unknown - then source is re-read on each index refresh.
+     */
+    long getSourceModifyTime(DBSObjectReference object);
+
+    /**
+     * Reads source text of specified objects.
+     * Implementations should read sources of many objects at once where possible.
+     * @return source by object. Objects without source may be omitted.
+     */
+    Map<DBSObjectReference, String> readObjectSources(DBRProgressMonitor monitor, Collection<? extends DBSObjectReference> objects)
+        throws DBException;
+
+}